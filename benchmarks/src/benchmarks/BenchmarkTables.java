@@ -0,0 +1,40 @@
+package moonlightsgambit.benchmarks;
+
+import java.util.random.RandomGenerator;
+import moonlightsgambit.LobbyConfig;
+import moonlightsgambit.MoonlightsGambit;
+import moonlightsgambit.characters.GameCharacter;
+import moonlightsgambit.enums.Role;
+import moonlightsgambit.simulation.RandomPolicy;
+import moonlightsgambit.utils.RandomStreams;
+
+// Seated headless tables shared by the benchmarks, the same for every run
+public final class BenchmarkTables {
+    public static final long SEED = 42L;
+
+    private BenchmarkTables() {
+        throw new IllegalStateException("Utility class - cannot be instantiated");
+    }
+
+    // Random-policy game for a lobby of the given size, roles dealt with a fixed seed, at the start of cycle 1
+    public static MoonlightsGambit seated(int seats) {
+        LobbyConfig config = LobbyConfig.ofSize(seats);
+        MoonlightsGambit game = new MoonlightsGambit(new RandomPolicy(), config);
+        RandomGenerator random = new RandomStreams(SEED).forGame(0);
+        game.setRandom(random);
+
+        Role[] deck = config.roleDeck();
+        for (int i = deck.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            Role swap = deck[i];
+            deck[i] = deck[j];
+            deck[j] = swap;
+        }
+        GameCharacter[] players = new GameCharacter[seats];
+        for (int seat = 0; seat < seats; seat++) {
+            players[seat] = GameCharacter.forRole(deck[seat], "Player" + seat);
+        }
+        game.setPlayers(players);
+        return game;
+    }
+}
@@ -0,0 +1,45 @@
+package moonlightsgambit.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import moonlightsgambit.MoonlightsGambit;
+import moonlightsgambit.characters.GameCharacter;
+import moonlightsgambit.enums.Role;
+import org.openjdk.jmh.annotations.*;
+
+// Per-cycle checks of the game loop on a seated table
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameLoopBenchmark {
+    @Param({ "4", "64", "256" })
+    public int seats;
+
+    private MoonlightsGambit game;
+
+    @Setup
+    public void seatTable() {
+        game = BenchmarkTables.seated(seats);
+        // Every Reaper hunts the seat after them, so lobbies resolve several victims per night
+        List<GameCharacter> players = game.getPlayerView();
+        for (GameCharacter player : players) {
+            if (player.getRole() == Role.REAPER) {
+                game.recordHunt(player, players.get((player.getSeat() + 1) % seats));
+            }
+        }
+    }
+
+    @Benchmark
+    public boolean checkGameEndCondition() {
+        game.checkGameEndCondition();
+        return game.isGameOver();
+    }
+
+    @Benchmark
+    public List<GameCharacter> processNightActions() {
+        return game.processNightActions();
+    }
+}
@@ -0,0 +1,34 @@
+package moonlightsgambit.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import moonlightsgambit.LobbyConfig;
+import moonlightsgambit.MoonlightsGambit;
+import moonlightsgambit.simulation.RandomPolicy;
+import moonlightsgambit.utils.RandomStreams;
+import org.openjdk.jmh.annotations.*;
+
+// Complete random-policy games, one game per operation
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HeadlessGameBenchmark {
+    @Param({ "4", "16", "64" })
+    public int seats;
+
+    private MoonlightsGambit game;
+
+    @Setup
+    public void createGame() {
+        game = new MoonlightsGambit(new RandomPolicy(), LobbyConfig.ofSize(seats));
+        game.setRandom(new RandomStreams(BenchmarkTables.SEED).forGame(0));
+    }
+
+    @Benchmark
+    public int playGame() {
+        game.startGame();
+        return game.getCycle();
+    }
+}
@@ -0,0 +1,57 @@
+package moonlightsgambit.evaluation;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import moonlightsgambit.benchmarks.BenchmarkTables;
+import moonlightsgambit.enums.DecisionKind;
+import moonlightsgambit.enums.Role;
+import moonlightsgambit.selfplay.DecisionColumn;
+import org.openjdk.jmh.annotations.*;
+
+// One model score over a fixed mix of night targets and votes, with seeded weights in place of a trained model
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EvaluationModelBenchmark {
+    private static final int OPTIONS = 1024;
+    private static final int SEATS = 4;
+
+    private EvaluationModel model;
+    private final DecisionKind[] kinds = new DecisionKind[OPTIONS];
+    private final Role[] roles = new Role[OPTIONS];
+    private final int[] alive = new int[OPTIONS];
+    private final int[] known = new int[OPTIONS];
+    private final int[] votes = new int[OPTIONS];
+    private final double[] enemyChances = new double[OPTIONS];
+    private int option;
+
+    @Setup
+    public void createModel() {
+        SplittableRandom random = new SplittableRandom(BenchmarkTables.SEED);
+        double[] weights = new double[EvaluationModel.WEIGHTS];
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = random.nextDouble(-1, 1);
+        }
+        model = new EvaluationModel(weights);
+        Role[] allRoles = Role.values();
+        for (int i = 0; i < OPTIONS; i++) {
+            kinds[i] = random.nextBoolean() ? DecisionKind.NIGHT : DecisionKind.VOTE;
+            roles[i] = allRoles[random.nextInt(allRoles.length)];
+            alive[i] = random.nextInt(2, SEATS + 1);
+            known[i] = random.nextInt(DecisionColumn.KNOWN_ENEMY + 1);
+            votes[i] = random.nextInt(alive[i]);
+            enemyChances[i] = random.nextInt(4) == 0 ? -1 : random.nextDouble();
+        }
+    }
+
+    @Benchmark
+    public double score() {
+        int i = option;
+        option = (i + 1) & (OPTIONS - 1);
+        return model.score(kinds[i], roles[i], SEATS, alive[i], i & 3, known[i], (i & 7) == 0, votes[i],
+                (i & 1) == 0, enemyChances[i]);
+    }
+}
@@ -0,0 +1,50 @@
+package moonlightsgambit.phases;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import moonlightsgambit.MoonlightsGambit;
+import moonlightsgambit.benchmarks.BenchmarkTables;
+import moonlightsgambit.characters.GameCharacter;
+import org.openjdk.jmh.annotations.*;
+
+// Target lists and vote counting; lives in the phases package to reach the package-private steps
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PhaseBenchmark {
+    @Param({ "4", "64", "256" })
+    public int seats;
+
+    private MoonlightsGambit game;
+    private List<GameCharacter> alive;
+    private final MoonPhase moonPhase = new MoonPhase();
+    private final VotingPhase votingPhase = new VotingPhase();
+    private int actor;
+
+    @Setup
+    public void seatTable() {
+        game = BenchmarkTables.seated(seats);
+        alive = game.getAlivePlayers();
+        // Everyone accuses seat 0, who accuses seat 1: one clear majority to find
+        votingPhase.initializeVotes(seats);
+        for (GameCharacter voter : alive) {
+            votingPhase.countVote(alive.get(voter.getSeat() == 0 ? 1 : 0));
+        }
+    }
+
+    // Builds the next actor's targets and picks the middle one, as a policy would
+    @Benchmark
+    public GameCharacter buildTargetList() {
+        actor = actor + 1 == alive.size() ? 0 : actor + 1;
+        List<GameCharacter> targets = moonPhase.buildTargetList(alive.get(actor), actor, game);
+        return targets.get(targets.size() / 2);
+    }
+
+    @Benchmark
+    public GameCharacter determineEliminated() {
+        return votingPhase.determineEliminated(game.getConsole(), alive);
+    }
+}
@@ -0,0 +1,48 @@
+package moonlightsgambit.utils;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import moonlightsgambit.MoonlightsGambit;
+import moonlightsgambit.benchmarks.BenchmarkTables;
+import moonlightsgambit.characters.GameCharacter;
+import org.openjdk.jmh.annotations.*;
+
+// Scoring of one Destiny Draw round over a fixed mix of draws and keep/redraw choices
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DestinyDrawBenchmark {
+    private static final int ROUNDS = 1024;
+
+    private DestinyDraw duel;
+    private final int[] draws1 = new int[ROUNDS];
+    private final int[] draws2 = new int[ROUNDS];
+    private final boolean[] keeps1 = new boolean[ROUNDS];
+    private final boolean[] keeps2 = new boolean[ROUNDS];
+    private int round;
+
+    @Setup
+    public void createDuel() {
+        MoonlightsGambit game = BenchmarkTables.seated(4);
+        List<GameCharacter> players = game.getPlayerView();
+        duel = new DestinyDraw(players.get(0), players.get(1), game);
+        SplittableRandom random = new SplittableRandom(BenchmarkTables.SEED);
+        for (int i = 0; i < ROUNDS; i++) {
+            draws1[i] = random.nextInt(DestinyDraw.MAX_CARD_VALUE) + DestinyDraw.MIN_CARD_VALUE;
+            draws2[i] = random.nextInt(DestinyDraw.MAX_CARD_VALUE) + DestinyDraw.MIN_CARD_VALUE;
+            keeps1[i] = random.nextBoolean();
+            keeps2[i] = random.nextBoolean();
+        }
+    }
+
+    @Benchmark
+    public void resolveRound() {
+        int i = round;
+        round = (i + 1) & (ROUNDS - 1);
+        duel.resolveRound(draws1[i], draws2[i], keeps1[i], keeps2[i]);
+    }
+}
@@ -0,0 +1,99 @@
+package moonlightsgambit;
+
+import java.util.Arrays;
+import moonlightsgambit.enums.Role;
+import moonlightsgambit.enums.Team;
+
+// Seat count and role mix of a table; the classic table seats exactly one of each role
+public final class LobbyConfig {
+    private static final Role[] ROLES = Role.values();
+
+    public static final int MIN_SEATS = 4;
+    public static final int MAX_SEATS = 256;
+    public static final LobbyConfig CLASSIC = new LobbyConfig(1, 1, 1, 1);
+
+    private final int[] roleCounts;
+    private final int seatCount;
+
+    public LobbyConfig(int believers, int seekers, int reapers, int saboteurs) {
+        if (believers < 0 || seekers < 0 || reapers < 0 || saboteurs < 0) {
+            throw new IllegalArgumentException("Role counts cannot be negative");
+        }
+        if (believers + seekers == 0 || reapers + saboteurs == 0) {
+            throw new IllegalArgumentException("Both teams need at least one player");
+        }
+        int seats = believers + seekers + reapers + saboteurs;
+        if (seats < MIN_SEATS || seats > MAX_SEATS) {
+            throw new IllegalArgumentException("Seat count must be between " + MIN_SEATS + " and " + MAX_SEATS);
+        }
+        this.roleCounts = new int[ROLES.length];
+        this.roleCounts[Role.BELIEVER.ordinal()] = believers;
+        this.roleCounts[Role.SEEKER.ordinal()] = seekers;
+        this.roleCounts[Role.REAPER.ordinal()] = reapers;
+        this.roleCounts[Role.SABOTEUR.ordinal()] = saboteurs;
+        this.seatCount = seats;
+    }
+
+    // Evenly split lobby: teams of equal size (Light takes the odd seat), roles split evenly within each team
+    public static LobbyConfig ofSize(int seats) {
+        if (seats < MIN_SEATS || seats > MAX_SEATS) {
+            throw new IllegalArgumentException("Seat count must be between " + MIN_SEATS + " and " + MAX_SEATS);
+        }
+        int evil = seats / 2;
+        int good = seats - evil;
+        return new LobbyConfig(good - good / 2, good / 2, evil - evil / 2, evil / 2);
+    }
+
+    public int getSeatCount() {
+        return seatCount;
+    }
+
+    public int getRoleCount(Role role) {
+        return roleCounts[role.ordinal()];
+    }
+
+    public int getTeamSize(Team team) {
+        int size = 0;
+        for (Role role : ROLES) {
+            if (role.getTeam() == team) size += roleCounts[role.ordinal()];
+        }
+        return size;
+    }
+
+    // True for the original four-seat table, which keeps its state in a PackedState long
+    public boolean isClassic() {
+        return equals(CLASSIC);
+    }
+
+    // Every role dealt once per copy, in Role order (shuffle before dealing)
+    public Role[] roleDeck() {
+        Role[] deck = new Role[seatCount];
+        int next = 0;
+        for (Role role : ROLES) {
+            for (int i = 0; i < roleCounts[role.ordinal()]; i++) {
+                deck[next++] = role;
+            }
+        }
+        return deck;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof LobbyConfig config && Arrays.equals(roleCounts, config.roleCounts);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(roleCounts);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder().append(seatCount).append(" seats (");
+        for (Role role : ROLES) {
+            if (role.ordinal() > 0) text.append(", ");
+            text.append(roleCounts[role.ordinal()]).append(' ').append(role.getDisplayName());
+        }
+        return text.append(')').toString();
+    }
+}
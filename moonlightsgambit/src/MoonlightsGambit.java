@@ -1,56 +1,220 @@
 package moonlightsgambit;
 
 import moonlightsgambit.characters.*;
+import moonlightsgambit.controllers.HumanController;
+import moonlightsgambit.enums.DeathCause;
+import moonlightsgambit.enums.Ending;
+import moonlightsgambit.enums.EventType;
+import moonlightsgambit.enums.Role;
 import moonlightsgambit.enums.Team;
+import moonlightsgambit.interfaces.CheckpointListener;
+import moonlightsgambit.interfaces.DecisionPolicy;
+import moonlightsgambit.interfaces.GameConsole;
+import moonlightsgambit.interfaces.GameEventSink;
 import moonlightsgambit.interfaces.GamePhase;
+import moonlightsgambit.interfaces.PlayerController;
 import moonlightsgambit.phases.*;
+import moonlightsgambit.simulation.DeathRecord;
+import moonlightsgambit.simulation.GameResult;
+import moonlightsgambit.state.LobbyState;
+import moonlightsgambit.state.PackedState;
+import moonlightsgambit.state.SeatProjection;
+import moonlightsgambit.state.TableProjection;
+import moonlightsgambit.state.Zobrist;
 import moonlightsgambit.utils.GameUtils;
+import moonlightsgambit.utils.SilentConsole;
+import moonlightsgambit.utils.TerminalConsole;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.random.RandomGenerator;
 // Main game controller managing game state and flow
 public class MoonlightsGambit {
-    private GameCharacter[] players = new GameCharacter[4];
+    private final LobbyConfig config;
+    private final int seatCount;
+    private GameCharacter[] players;
+    private List<GameCharacter> playerView = List.of();
+    private final List<List<GameCharacter>> aliveViews = new ArrayList<>(1 << PackedState.SEATS);
     private boolean gameOver = false;
     private boolean specialEnding = false;
-    private GameCharacter huntTarget;
-    private final List<GameCharacter> playersToSabotageNextRound = new ArrayList<>();
+    // Classic tables keep their state in a packed long; larger lobbies use a LobbyState once seated
+    private long state = PackedState.withCycle(0L, 1);
+    private long stateHash = Zobrist.hash(state);
+    private LobbyState lobby;
+    private final List<GameCharacter> lobbyAlive = new ArrayList<>();
+    private final List<GameCharacter> lobbyAliveView = Collections.unmodifiableList(lobbyAlive);
+    private boolean lobbyAliveStale;
+    private final List<GameCharacter> nightVictims = new ArrayList<>();
+    private final List<GameCharacter> nightVictimsView = Collections.unmodifiableList(nightVictims);
+    private Ending ending;
+    private Team winningTeam;
+    private final int[] deathOrder;
+    private final DeathCause[] deathCauses;
+    private final int[] deathCycles;
+    private int deathCount;
+    private final GameConsole console;
+    private final DecisionPolicy policy;
+    // Seats taken over by their own controller, e.g. a bot filling an empty seat; null seats use the default
+    private final PlayerController[] controllers;
+    private GameEventSink eventSink;
+    private TableProjection projection;
+    private RandomGenerator random = new SplittableRandom();
+    private CheckpointListener checkpointListener;
+    // Names the players were matched under; null when the table asks every seat for a name
+    private String[] seatNames;
+    // Next phase to run in the current cycle (index into initializeGamePhases)
+    private int phaseIndex;
+    // Destiny Draw in progress, kept on the table so a checkpoint between rounds resumes the duel
+    private boolean duelInProgress;
+    private int duelSeat1;
+    private int duelSeat2;
+    private int duelRound;
+    private int duelScore1;
+    private int duelScore2;
     
     // Constant for game configuration
-    private static final int MAX_PLAYERS = 4;
+    private static final int HEADLESS_CYCLES_PER_SEAT = 25;
+    private static final String CYCLE_BORDER = "*".repeat(50);
+
+    // Snapshot layout: version, flags, phase, ending, winner, seats, table state, deaths, duel, names
+    private static final byte SNAPSHOT_VERSION = 1;
+    private static final int SNAPSHOT_HEADER_BYTES = 5 + Short.BYTES;
+    private static final int SNAPSHOT_DEATH_BYTES = Short.BYTES + 1 + Integer.BYTES;
+    private static final int SNAPSHOT_DUEL_BYTES = 2 * Short.BYTES + Integer.BYTES + 2;
+    private static final int SNAPSHOT_MAX_NAME_BYTES = 255;
+    private static final int SNAPSHOT_SEATED = 1;
+    private static final int SNAPSHOT_GAME_OVER = 1 << 1;
+    private static final int SNAPSHOT_SPECIAL_ENDING = 1 << 2;
+    private static final int SNAPSHOT_LOBBY = 1 << 3;
+    private static final int SNAPSHOT_DUEL = 1 << 4;
+    private static final int PHASE_COUNT = 5;
+    private static final Ending[] ENDINGS = Ending.values();
+    private static final Team[] TEAMS = Team.values();
+    private static final DeathCause[] DEATH_CAUSES = DeathCause.values();
+
+    // Creates an interactive game played at the terminal
+    public MoonlightsGambit() {
+        this(new TerminalConsole());
+    }
+
+    // Creates an interactive classic game played on the given console
+    public MoonlightsGambit(GameConsole console) {
+        this(console, LobbyConfig.CLASSIC);
+    }
+
+    // Creates an interactive game for the given lobby played on the given console
+    public MoonlightsGambit(GameConsole console, LobbyConfig config) {
+        this(console, null, config);
+        if (console == null) {
+            throw new IllegalArgumentException("Console cannot be null");
+        }
+    }
+
+    // Creates a headless classic game whose choices all come from the given policy
+    public MoonlightsGambit(DecisionPolicy policy) {
+        this(policy, LobbyConfig.CLASSIC);
+    }
+
+    // Creates a headless game for the given lobby whose choices all come from the given policy
+    public MoonlightsGambit(DecisionPolicy policy, LobbyConfig config) {
+        this(SilentConsole.INSTANCE, policy, config);
+        if (policy == null) {
+            throw new IllegalArgumentException("Decision policy cannot be null");
+        }
+    }
+
+    private MoonlightsGambit(GameConsole console, DecisionPolicy policy, LobbyConfig config) {
+        if (config == null) {
+            throw new IllegalArgumentException("Lobby config cannot be null");
+        }
+        this.console = console;
+        this.policy = policy;
+        this.config = config;
+        this.seatCount = config.getSeatCount();
+        this.players = new GameCharacter[seatCount];
+        this.deathOrder = new int[seatCount];
+        this.deathCauses = new DeathCause[seatCount];
+        this.deathCycles = new int[seatCount];
+        this.controllers = new PlayerController[seatCount];
+    }
 
     // Resets game to initial state
     public void resetGame() {
-        this.players = new GameCharacter[MAX_PLAYERS];
+        this.players = new GameCharacter[seatCount];
+        this.playerView = List.of();
+        this.aliveViews.clear();
         this.gameOver = false;
         this.specialEnding = false;
-        this.playersToSabotageNextRound.clear();
+        this.state = PackedState.withCycle(0L, 1);
+        this.stateHash = Zobrist.hash(state);
+        this.lobby = null;
+        this.lobbyAlive.clear();
+        this.nightVictims.clear();
+        this.ending = null;
+        this.winningTeam = null;
+        this.deathCount = 0;
+        this.phaseIndex = 0;
+        this.duelInProgress = false;
     }
 
     // Starts main game loop and manages phases
     public void startGame() {
         resetGame();
-        
+        if (policy != null && policy.usesProjection()) {
+            ensureProjection();
+        }
+        recordEvent(EventType.GAME_START, PackedState.NO_SEAT, PackedState.NO_SEAT, seatCount);
+        playCycles();
+    }
+
+    // Continues a game restored with restoreSnapshot from the exact point it was captured
+    public void resumeGame() {
+        if (gameOver) {
+            throw new IllegalStateException("Restored game is already over");
+        }
+        playCycles();
+    }
+
+    private void playCycles() {
         GamePhase[] phases = initializeGamePhases();
 
-        int cycle = 1;
         while (!gameOver) {
-            
-            List<GameCharacter> alivePlayers = getAlivePlayers();
-            if (isFinalTwoScenario(alivePlayers)) {
-                handleFinalTwo(alivePlayers);
+            int cycle = getCycle();
+            boolean cycleStart = phaseIndex == 0;
+            if (cycleStart && isHeadless() && cycle > HEADLESS_CYCLES_PER_SEAT * seatCount) {
+                recordEnding(Ending.CYCLE_LIMIT, null);
+                gameOver = true;
+                specialEnding = true;
                 break;
             }
 
-            if (cycle > 1) {
-                applySabotageForThisRound();
+            if (duelInProgress || isFinalTwoScenario()) {
+                handleFinalTwo(getAlivePlayers());
+                break;
+            }
+
+            // A restored checkpoint may sit right after the phase that wiped out a team
+            if (isTeamEliminated()) {
+                gameOver = true;
+                break;
+            }
+
+            if (cycleStart) {
+                if (cycle > 1) {
+                    applySabotageForThisRound();
+                }
+                recordEvent(EventType.CYCLE_START, PackedState.NO_SEAT, PackedState.NO_SEAT, cycle);
             }
 
             executeGamePhases(phases, cycle);
             
             if (gameOver) break;
             
-            cycle++;
             resetNightActions();
             checkGameEndCondition();
+            phaseIndex = 0;
+            checkpoint();
         }
 
         if (!specialEnding) {
@@ -58,6 +222,18 @@ public class MoonlightsGambit {
         }
     }
 
+    // Returns structured outcome of the last completed game
+    public GameResult getResult() {
+        if (!gameOver) {
+            throw new IllegalStateException("Game has not finished yet");
+        }
+        List<DeathRecord> deaths = new ArrayList<>(deathCount);
+        for (int i = 0; i < deathCount; i++) {
+            deaths.add(new DeathRecord(players[deathOrder[i]], deathCauses[i], deathCycles[i]));
+        }
+        return new GameResult(winningTeam, ending, getCycle(), deaths);
+    }
+
     // Initializes all game phases
     private GamePhase[] initializeGamePhases() {
         return new GamePhase[] { 
@@ -70,20 +246,22 @@ public class MoonlightsGambit {
     }
 
     public void displayCycleHeader(int cycle) {
-        GameUtils.clearScreen();
-        System.out.printf("\n--- CYCLE %d ---%n", cycle);
-        System.out.println("*".repeat(50));
-        GameUtils.ENTERKey();
+        console.clearScreen();
+        console.printf("\n--- CYCLE %d ---%n", cycle);
+        console.println(CYCLE_BORDER);
+        console.waitForEnter();
     }
 
-    // Executes all game phases for current cycle
+    // Executes the remaining game phases for current cycle, from phaseIndex on
     private void executeGamePhases(GamePhase[] phases, int cycle) {
-        for (GamePhase phase : phases) {
-            if (gameOver) break;
-            if (phase == null) continue;
+        while (phaseIndex < phases.length && !gameOver) {
+            GamePhase phase = phases[phaseIndex];
         
             // Skip setup phases after first cycle
-            if (shouldSkipPhase(phase, cycle)) continue;
+            if (phase == null || shouldSkipPhase(phase, cycle)) {
+                phaseIndex++;
+                continue;
+            }
         
             // Display cycle header before MoonPhase for cycles after tie
             if (cycle > 1 && phase instanceof MoonPhase) {
@@ -91,12 +269,20 @@ public class MoonlightsGambit {
             }
         
             phase.executePhase(this);
+            phaseIndex++;
+            checkpoint();
         
             // Check for final two condition after each phase
-            if (getAlivePlayers().size() == 2 && !gameOver) {
+            if (isFinalTwoScenario() && !gameOver) {
                 handleFinalTwo(getAlivePlayers());
                 break;
             }
+
+            // In large lobbies one dawn can wipe out a whole team
+            if (isTeamEliminated()) {
+                gameOver = true;
+                break;
+            }
         }
     }
 
@@ -105,25 +291,179 @@ public class MoonlightsGambit {
         return cycle > 1 && (phase instanceof GameSetup || phase instanceof IntroPhase);
     }
     
+    // Read-only alive players in seat order. Classic tables build one list per alive mask when seated;
+    // lobbies refill a single list after deaths, so hold on to it only until the next death.
     public List<GameCharacter> getAlivePlayers() {
-        List<GameCharacter> alive = new ArrayList<>();
-        for (GameCharacter player : players) {
-            if (player != null && player.isAlive()) {
-                alive.add(player);
+        if (lobby != null) {
+            if (lobbyAliveStale) {
+                rebuildLobbyAlive();
             }
+            return lobbyAliveView;
+        }
+        if (aliveViews.isEmpty()) {
+            return List.of();
+        }
+        return aliveViews.get(PackedState.aliveMask(state));
+    }
+
+    private void rebuildLobbyAlive() {
+        lobbyAlive.clear();
+        for (int seat = lobby.nextAlive(0); seat != PackedState.NO_SEAT; seat = lobby.nextAlive(seat + 1)) {
+            lobbyAlive.add(players[seat]);
         }
-        return alive;
+        lobbyAliveStale = false;
+    }
+
+    public int getAliveCount() {
+        return lobby != null ? lobby.aliveCount() : PackedState.aliveCount(state);
     }
 
     public GameCharacter[] getPlayers() { 
         return Arrays.copyOf(players, players.length);
     }
+
+    // Read-only view of the seated players without copying (empty before setup)
+    public List<GameCharacter> getPlayerView() {
+        return playerView;
+    }
     
+    // Seats the players and moves their roles and statuses into the table state
     public void setPlayers(GameCharacter[] players) { 
-        if (players == null || players.length != MAX_PLAYERS) {
-            throw new IllegalArgumentException("Players array must be non-null and length " + MAX_PLAYERS);
+        if (players == null || players.length != seatCount) {
+            throw new IllegalArgumentException("Players array must be non-null and length " + seatCount);
+        }
+        for (GameCharacter player : players) {
+            if (player == null) {
+                throw new IllegalArgumentException("Players array cannot contain null seats");
+            }
+        }
+        if (config.isClassic()) {
+            seatClassicPlayers(players);
+        } else {
+            seatLobbyPlayers(players);
+        }
+        for (int seat = 0; seat < seatCount; seat++) {
+            this.players[seat].bindToTable(this, seat);
+            recordEvent(EventType.ROLE_DEALT, seat, PackedState.NO_SEAT, this.players[seat].getRole().ordinal());
+        }
+        playerView = List.of(this.players);
+    }
+
+    private void seatClassicPlayers(GameCharacter[] players) {
+        long packed = PackedState.withCycle(0L, getCycle());
+        for (int seat = 0; seat < PackedState.SEATS; seat++) {
+            GameCharacter player = players[seat];
+            packed = PackedState.withRole(packed, seat, player.getRole());
+            packed = PackedState.withAlive(packed, seat, player.isAlive());
+            packed = PackedState.withBlessed(packed, seat, player.isBlessed());
+            packed = PackedState.withBlocked(packed, seat, player.isAbilityBlocked());
         }
         this.players = Arrays.copyOf(players, players.length);
+        setState(packed);
+        buildAliveViews();
+    }
+
+    private void seatLobbyPlayers(GameCharacter[] players) {
+        Role[] roles = new Role[seatCount];
+        for (int seat = 0; seat < seatCount; seat++) {
+            roles[seat] = players[seat].getRole();
+        }
+        LobbyState seated = new LobbyState(roles, getCycle());
+        for (int seat = 0; seat < seatCount; seat++) {
+            GameCharacter player = players[seat];
+            seated.setAlive(seat, player.isAlive());
+            seated.setBlessed(seat, player.isBlessed());
+            seated.setBlocked(seat, player.isAbilityBlocked());
+        }
+        this.players = Arrays.copyOf(players, players.length);
+        this.lobby = seated;
+        this.lobbyAliveStale = true;
+    }
+
+    // Precomputes the read-only alive list for every alive mask of the classic table
+    private void buildAliveViews() {
+        aliveViews.clear();
+        List<GameCharacter> alive = new ArrayList<>(PackedState.SEATS);
+        for (int mask = 0; mask <= PackedState.ALL_SEATS; mask++) {
+            alive.clear();
+            for (int seat = 0; seat < PackedState.SEATS; seat++) {
+                if ((mask & (1 << seat)) != 0) {
+                    alive.add(players[seat]);
+                }
+            }
+            aliveViews.add(List.copyOf(alive));
+        }
+    }
+
+    public LobbyConfig getLobbyConfig() {
+        return config;
+    }
+
+    public int getSeatCount() {
+        return seatCount;
+    }
+
+    // Packed table state (see PackedState for the layout); only classic tables have one
+    public long getState() {
+        requireClassicState();
+        return state;
+    }
+
+    // Replaces the table state, keeping the Zobrist hash in step incrementally
+    public void setState(long state) {
+        requireClassicState();
+        this.stateHash = Zobrist.update(stateHash, this.state, state);
+        this.state = state;
+    }
+
+    public long getStateHash() {
+        requireClassicState();
+        return stateHash;
+    }
+
+    private void requireClassicState() {
+        if (lobby != null) {
+            throw new IllegalStateException("Lobby tables have no packed state");
+        }
+    }
+
+    /* ---------- SEAT STATUS (used by seated characters) ---------- */
+
+    public boolean isSeatAlive(int seat) {
+        return lobby != null ? lobby.isAlive(seat) : PackedState.isAlive(state, seat);
+    }
+
+    public void setSeatAlive(int seat, boolean alive) {
+        if (lobby != null) {
+            lobby.setAlive(seat, alive);
+            lobbyAliveStale = true;
+        } else {
+            setState(PackedState.withAlive(state, seat, alive));
+        }
+    }
+
+    public boolean isSeatBlessed(int seat) {
+        return lobby != null ? lobby.isBlessed(seat) : PackedState.isBlessed(state, seat);
+    }
+
+    public void setSeatBlessed(int seat, boolean blessed) {
+        if (lobby != null) {
+            lobby.setBlessed(seat, blessed);
+        } else {
+            setState(PackedState.withBlessed(state, seat, blessed));
+        }
+    }
+
+    public boolean isSeatBlocked(int seat) {
+        return lobby != null ? lobby.isBlocked(seat) : PackedState.isBlocked(state, seat);
+    }
+
+    public void setSeatBlocked(int seat, boolean blocked) {
+        if (lobby != null) {
+            lobby.setBlocked(seat, blocked);
+        } else {
+            setState(PackedState.withBlocked(state, seat, blocked));
+        }
     }
     
     public boolean isGameOver() { 
@@ -138,72 +478,506 @@ public class MoonlightsGambit {
         this.specialEnding = specialEnding; 
     }
 
-    private void applySabotageForThisRound() {
-        // Reset all player states
-        for (GameCharacter player : players) {
-            if (player != null) { 
-                player.setAbilityBlocked(false); 
-                player.setBlessed(false); 
+    public int getCycle() {
+        return lobby != null ? lobby.cycle() : PackedState.cycle(state);
+    }
+
+    public GameConsole getConsole() {
+        return console;
+    }
+
+    public DecisionPolicy getPolicy() {
+        return policy;
+    }
+
+    // Headless games have no console and take every choice from their policy
+    public boolean isHeadless() {
+        return policy != null;
+    }
+
+    // Who makes the seat's choices: its own controller if it has one, else the policy in a headless game, else
+    // the player at the console
+    public PlayerController getController(int seat) {
+        PlayerController controller = controllers[seat];
+        if (controller != null) {
+            return controller;
+        }
+        return policy != null ? policy : HumanController.INSTANCE;
+    }
+
+    // Hands a seat to another controller (null gives it back to the default), at any point of the game.
+    // A controller deciding from the seat's projection gets one started from the table as it stands.
+    public void setController(int seat, PlayerController controller) {
+        if (seat < 0 || seat >= seatCount) {
+            throw new IllegalArgumentException("Seat out of range: " + seat);
+        }
+        controllers[seat] = controller;
+        if (controller != null && controller.usesProjection()) {
+            ensureProjection();
+        }
+    }
+
+    // Random stream for role dealing, Destiny Draw cards and random policies; private to this game
+    public RandomGenerator getRandom() {
+        return random;
+    }
+
+    // Replaces the random stream, e.g. with RandomStreams.forGame(index) before a reproducible game
+    public void setRandom(RandomGenerator random) {
+        if (random == null) {
+            throw new IllegalArgumentException("Random generator cannot be null");
+        }
+        this.random = random;
+    }
+
+    // Seats players under names chosen before the game, e.g. by matchmaking, instead of asking for them
+    // (null asks again); throws IllegalArgumentException unless every seat gets a valid, unique name
+    public void setSeatNames(String[] names) {
+        if (names != null) {
+            GameSetup.validateSeatNames(names, seatCount);
+        }
+        this.seatNames = names == null ? null : names.clone();
+    }
+
+    // Pre-chosen name of a seat, or null when the player is asked at setup
+    public String getSeatName(int seat) {
+        return seatNames == null ? null : seatNames[seat];
+    }
+
+    // Notified at every resumable point from now on (null stops checkpointing)
+    public void setCheckpointListener(CheckpointListener checkpointListener) {
+        this.checkpointListener = checkpointListener;
+    }
+
+    // Tells the checkpoint listener, if any, that the game can be resumed from here
+    public void checkpoint() {
+        if (checkpointListener != null) {
+            checkpointListener.onCheckpoint(this);
+        }
+    }
+
+    // Receives every action from now on (null stops recording), e.g. an EventJournal
+    public void setEventSink(GameEventSink eventSink) {
+        this.eventSink = eventSink;
+    }
+
+    // Keeps what each seat knows from now on (null stops); must be set before the game starts, or be rebuilt
+    // from the game's journal, as it only follows events
+    public void setProjection(TableProjection projection) {
+        if (projection != null && projection.getSeatCount() != seatCount) {
+            throw new IllegalArgumentException("Projection must have " + seatCount + " seats");
+        }
+        this.projection = projection;
+    }
+
+    private void ensureProjection() {
+        if (projection == null) {
+            projection = new TableProjection(seatCount);
+            seedProjection();
+        }
+    }
+
+    // Starts the projection over from the table as it stands: the roles dealt and the deaths so far. What seats
+    // learned privately before this point is not part of the table state; replay the journal to keep it.
+    private void seedProjection() {
+        int cycle = getCycle();
+        projection.onEvent(EventType.GAME_START, cycle, PackedState.NO_SEAT, PackedState.NO_SEAT, seatCount);
+        if (playerView.isEmpty()) {
+            return;
+        }
+        for (int seat = 0; seat < seatCount; seat++) {
+            projection.onEvent(EventType.ROLE_DEALT, cycle, seat, PackedState.NO_SEAT, players[seat].getRole().ordinal());
+        }
+        for (int i = 0; i < deathCount; i++) {
+            projection.onEvent(EventType.DEATH, deathCycles[i], deathOrder[i], PackedState.NO_SEAT,
+                    deathCauses[i].ordinal());
+        }
+        projection.onEvent(EventType.CYCLE_START, cycle, PackedState.NO_SEAT, PackedState.NO_SEAT, cycle);
+    }
+
+    // What one seat knows, for the bot or client playing it; requires a projection
+    public SeatProjection getSeatProjection(int seat) {
+        if (projection == null) {
+            throw new IllegalStateException("No projection set for this game");
+        }
+        return projection.getSeat(seat);
+    }
+
+    // Passes an action to the event sink and projection, if any; seats use PackedState.NO_SEAT when absent
+    public void recordEvent(EventType type, int actor, int target, int value) {
+        int cycle = getCycle();
+        if (eventSink != null) {
+            eventSink.onEvent(type, cycle, actor, target, value);
+        }
+        if (projection != null) {
+            projection.onEvent(type, cycle, actor, target, value);
+        }
+    }
+
+    // Removes a player from the game and records the death
+    public void eliminatePlayer(GameCharacter player, DeathCause cause) {
+        player.setAlive(false);
+        recordEvent(EventType.DEATH, player.getSeat(), PackedState.NO_SEAT, cause.ordinal());
+        deathOrder[deathCount] = player.getSeat();
+        deathCauses[deathCount] = cause;
+        deathCycles[deathCount] = getCycle();
+        deathCount++;
+    }
+
+    // Records how the game ended; the first ending recorded wins
+    public void recordEnding(Ending ending, Team winningTeam) {
+        if (this.ending == null) {
+            this.ending = ending;
+            this.winningTeam = winningTeam;
+            recordEvent(EventType.GAME_END, PackedState.NO_SEAT,
+                    winningTeam == null ? PackedState.NO_SEAT : winningTeam.ordinal(), ending.ordinal());
+        }
+    }
+
+    /* ---------- DESTINY DRAW PROGRESS ---------- */
+
+    public boolean isDuelInProgress() {
+        return duelInProgress;
+    }
+
+    // First (0) or second (1) player of the duel in progress
+    public GameCharacter getDuelist(int index) {
+        requireDuel();
+        return players[index == 0 ? duelSeat1 : duelSeat2];
+    }
+
+    // Rounds completed in the duel in progress
+    public int getDuelRound() {
+        requireDuel();
+        return duelRound;
+    }
+
+    // Score of the first (0) or second (1) duelist
+    public int getDuelScore(int index) {
+        requireDuel();
+        return index == 0 ? duelScore1 : duelScore2;
+    }
+
+    // Called by DestinyDraw after every round
+    public void updateDuel(GameCharacter player1, GameCharacter player2, int round, int score1, int score2) {
+        this.duelInProgress = true;
+        this.duelSeat1 = player1.getSeat();
+        this.duelSeat2 = player2.getSeat();
+        this.duelRound = round;
+        this.duelScore1 = score1;
+        this.duelScore2 = score2;
+    }
+
+    public void endDuel() {
+        this.duelInProgress = false;
+    }
+
+    private void requireDuel() {
+        if (!duelInProgress) {
+            throw new IllegalStateException("No Destiny Draw in progress");
+        }
+    }
+
+    /* ---------- SNAPSHOTS ---------- */
+
+    // Upper bound on the bytes writeSnapshot needs for this table
+    public int snapshotCapacity() {
+        return SNAPSHOT_HEADER_BYTES + Math.max(Long.BYTES, LobbyState.snapshotSize(seatCount))
+                + Short.BYTES + seatCount * SNAPSHOT_DEATH_BYTES + SNAPSHOT_DUEL_BYTES
+                + seatCount * (1 + SNAPSHOT_MAX_NAME_BYTES);
+    }
+
+    // Writes everything needed to resume this game where it stands: table state, flags, phase position,
+    // deaths, any Destiny Draw in progress and the player names. The console, policy, sinks and random
+    // stream belong to the host and are not included. Uses the buffer's byte order.
+    public void writeSnapshot(ByteBuffer out) {
+        boolean seated = !playerView.isEmpty();
+        int flags = (seated ? SNAPSHOT_SEATED : 0)
+                | (gameOver ? SNAPSHOT_GAME_OVER : 0)
+                | (specialEnding ? SNAPSHOT_SPECIAL_ENDING : 0)
+                | (lobby != null ? SNAPSHOT_LOBBY : 0)
+                | (duelInProgress ? SNAPSHOT_DUEL : 0);
+        out.put(SNAPSHOT_VERSION);
+        out.put((byte) flags);
+        out.put((byte) phaseIndex);
+        out.put((byte) (ending == null ? 0 : ending.ordinal() + 1));
+        out.put((byte) (winningTeam == null ? 0 : winningTeam.ordinal() + 1));
+        out.putShort((short) seatCount);
+        if (lobby != null) {
+            lobby.writeTo(out);
+        } else {
+            out.putLong(state);
+        }
+        out.putShort((short) deathCount);
+        for (int i = 0; i < deathCount; i++) {
+            out.putShort((short) deathOrder[i]);
+            out.put((byte) deathCauses[i].ordinal());
+            out.putInt(deathCycles[i]);
+        }
+        if (duelInProgress) {
+            out.putShort((short) duelSeat1);
+            out.putShort((short) duelSeat2);
+            out.putInt(duelRound);
+            out.put((byte) duelScore1);
+            out.put((byte) duelScore2);
+        }
+        if (seated) {
+            for (GameCharacter player : players) {
+                putName(out, player.getName());
             }
         }
-        
-        // Apply sabotage to targeted players
-        for (GameCharacter player : playersToSabotageNextRound) {
-            if (player != null && player.isAlive()) {
-                player.setAbilityBlocked(true);
+    }
+
+    // Replaces this game with one written by writeSnapshot for the same lobby; continue it with resumeGame.
+    // The whole snapshot is read and checked before anything changes: a truncated or corrupt one throws
+    // IllegalArgumentException and leaves this game as it was.
+    public void restoreSnapshot(ByteBuffer in) {
+        try {
+            restoreValidSnapshot(in);
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Snapshot is truncated", e);
+        }
+    }
+
+    private void restoreValidSnapshot(ByteBuffer in) {
+        int version = in.get();
+        if (version != SNAPSHOT_VERSION) {
+            throw new IllegalArgumentException("Unsupported snapshot version: " + version);
+        }
+        int flags = in.get();
+        int phase = in.get();
+        Ending restoredEnding = snapshotValue(ENDINGS, Byte.toUnsignedInt(in.get()) - 1, "ending");
+        Team restoredWinner = snapshotValue(TEAMS, Byte.toUnsignedInt(in.get()) - 1, "team");
+        int seats = Short.toUnsignedInt(in.getShort());
+        if (seats != seatCount || ((flags & SNAPSHOT_LOBBY) != 0 && config.isClassic())) {
+            throw new IllegalArgumentException("Snapshot was taken at a different table than " + config);
+        }
+        if (phase < 0 || phase > PHASE_COUNT) {
+            throw new IllegalArgumentException("Invalid phase in snapshot: " + phase);
+        }
+
+        LobbyState restoredLobby = null;
+        long restoredState = 0L;
+        if ((flags & SNAPSHOT_LOBBY) != 0) {
+            restoredLobby = LobbyState.readFrom(in);
+            if (restoredLobby.getSeatCount() != seatCount) {
+                throw new IllegalArgumentException("Snapshot lobby state has " + restoredLobby.getSeatCount()
+                        + " seats");
+            }
+        } else {
+            restoredState = in.getLong();
+        }
+        int deaths = Short.toUnsignedInt(in.getShort());
+        if (deaths > seatCount) {
+            throw new IllegalArgumentException("Invalid death count in snapshot: " + deaths);
+        }
+        int[] restoredOrder = new int[deaths];
+        DeathCause[] restoredCauses = new DeathCause[deaths];
+        int[] restoredCycles = new int[deaths];
+        for (int i = 0; i < deaths; i++) {
+            restoredOrder[i] = snapshotSeat(in.getShort());
+            restoredCauses[i] = snapshotValue(DEATH_CAUSES, Byte.toUnsignedInt(in.get()), "death cause");
+            restoredCycles[i] = in.getInt();
+        }
+        boolean duel = (flags & SNAPSHOT_DUEL) != 0;
+        int seat1 = 0;
+        int seat2 = 0;
+        int round = 0;
+        int score1 = 0;
+        int score2 = 0;
+        if (duel) {
+            seat1 = snapshotSeat(in.getShort());
+            seat2 = snapshotSeat(in.getShort());
+            if (seat1 == seat2) {
+                throw new IllegalArgumentException("Snapshot duel has the same seat twice: " + seat1);
+            }
+            round = in.getInt();
+            score1 = in.get();
+            score2 = in.get();
+        }
+        GameCharacter[] restoredPlayers = new GameCharacter[seatCount];
+        boolean seated = (flags & SNAPSHOT_SEATED) != 0;
+        if (seated) {
+            for (int seat = 0; seat < seatCount; seat++) {
+                Role role = restoredLobby != null ? restoredLobby.role(seat) : PackedState.role(restoredState, seat);
+                restoredPlayers[seat] = GameCharacter.forRole(role, getName(in));
             }
         }
-        playersToSabotageNextRound.clear();
+
+        // Valid: replace the game
+        resetGame();
+        if (restoredLobby != null) {
+            lobby = restoredLobby;
+            lobbyAliveStale = true;
+        } else {
+            state = restoredState;
+            stateHash = Zobrist.hash(state);
+        }
+        System.arraycopy(restoredOrder, 0, deathOrder, 0, deaths);
+        System.arraycopy(restoredCauses, 0, deathCauses, 0, deaths);
+        System.arraycopy(restoredCycles, 0, deathCycles, 0, deaths);
+        deathCount = deaths;
+        if (duel) {
+            duelInProgress = true;
+            duelSeat1 = seat1;
+            duelSeat2 = seat2;
+            duelRound = round;
+            duelScore1 = score1;
+            duelScore2 = score2;
+        }
+        if (seated) {
+            for (int seat = 0; seat < seatCount; seat++) {
+                GameCharacter player = restoredPlayers[seat];
+                player.setOrder(seat + 1);
+                player.bindToTable(this, seat);
+                players[seat] = player;
+            }
+            playerView = List.of(players);
+            if (lobby == null) {
+                buildAliveViews();
+            }
+        }
+        gameOver = (flags & SNAPSHOT_GAME_OVER) != 0;
+        specialEnding = (flags & SNAPSHOT_SPECIAL_ENDING) != 0;
+        phaseIndex = phase;
+        ending = restoredEnding;
+        winningTeam = restoredWinner;
+        if (projection != null) {
+            seedProjection();
+        }
+    }
+
+    // Length byte and UTF-8 bytes; ASCII names are copied without allocating
+    private static void putName(ByteBuffer out, String name) {
+        int length = name.length();
+        boolean ascii = length <= SNAPSHOT_MAX_NAME_BYTES;
+        for (int i = 0; ascii && i < length; i++) {
+            ascii = name.charAt(i) < 0x80;
+        }
+        if (ascii) {
+            out.put((byte) length);
+            for (int i = 0; i < length; i++) {
+                out.put((byte) name.charAt(i));
+            }
+            return;
+        }
+        byte[] encoded = name.getBytes(StandardCharsets.UTF_8);
+        if (encoded.length > SNAPSHOT_MAX_NAME_BYTES) {
+            throw new IllegalStateException("Player name is too long for a snapshot: " + name);
+        }
+        out.put((byte) encoded.length);
+        out.put(encoded);
+    }
+
+    private static String getName(ByteBuffer in) {
+        byte[] encoded = new byte[Byte.toUnsignedInt(in.get())];
+        in.get(encoded);
+        return new String(encoded, StandardCharsets.UTF_8);
+    }
+
+    // Seat index read from a snapshot, checked against this table
+    private int snapshotSeat(int seat) {
+        if (seat < 0 || seat >= seatCount) {
+            throw new IllegalArgumentException("Invalid seat in snapshot: " + seat);
+        }
+        return seat;
+    }
+
+    // Enum constant for a snapshot code; -1 stands for none
+    private static <T> T snapshotValue(T[] values, int code, String kind) {
+        if (code == -1) {
+            return null;
+        }
+        if (code < 0 || code >= values.length) {
+            throw new IllegalArgumentException("Invalid " + kind + " in snapshot: " + code);
+        }
+        return values[code];
+    }
+
+    // Resets statuses and blocks every living player sabotaged last night
+    private void applySabotageForThisRound() {
+        if (lobby != null) {
+            lobby.beginRound();
+        } else {
+            setState(PackedState.beginRound(state));
+        }
     }
 
-    public void recordHunt(GameCharacter target) { 
-        this.huntTarget = target; 
+    // Classic tables keep the last hunt; lobbies keep every Reaper's hunt
+    public void recordHunt(GameCharacter hunter, GameCharacter target) { 
+        recordEvent(EventType.HUNT, hunter.getSeat(), target == null ? PackedState.NO_SEAT : target.getSeat(), 0);
+        if (lobby != null) {
+            if (target != null) {
+                lobby.addHunt(target.getSeat());
+            }
+        } else {
+            setState(PackedState.withHunt(state, target == null ? PackedState.NO_SEAT : target.getSeat())); 
+        }
     }
     
-    public void recordSabotage(GameCharacter target) {
-        playersToSabotageNextRound.add(target); 
+    public void recordSabotage(GameCharacter saboteur, GameCharacter target) {
+        if (target == null) {
+            return;
+        }
+        recordEvent(EventType.SABOTAGE, saboteur.getSeat(), target.getSeat(), 0);
+        if (lobby != null) {
+            lobby.addSabotage(target.getSeat());
+        } else {
+            setState(PackedState.withSabotage(state, target.getSeat()));
+        }
     }
 
-    // Processes night actions and determines outcomes
-    public GameCharacter processNightActions() {
-        if (huntTarget != null && !huntTarget.isBlessed()) {
-            return huntTarget;
+    // Resolves tonight's hunts: every hunted player still unblessed at dawn, in seat order.
+    // The returned list is reused and only valid until the next night resolves.
+    public List<GameCharacter> processNightActions() {
+        nightVictims.clear();
+        if (lobby != null) {
+            for (int seat = lobby.nextNightVictim(0); seat != PackedState.NO_SEAT; seat = lobby.nextNightVictim(seat + 1)) {
+                nightVictims.add(players[seat]);
+            }
+        } else {
+            int victim = PackedState.nightVictim(state);
+            if (victim != PackedState.NO_SEAT) {
+                nightVictims.add(players[victim]);
+            }
         }
-        return null;
+        return nightVictimsView;
     }
 
+    // Clears night statuses and the hunt, and moves on to the next cycle
     private void resetNightActions() {
-        for (GameCharacter player : players) {
-            if (player != null) {
-                player.resetNightAction();
-            }
+        if (lobby != null) {
+            lobby.endCycle();
+        } else {
+            setState(PackedState.endCycle(state));
         }
-        huntTarget = null;
     }
 
     // Checks if game end conditions are met
     public void checkGameEndCondition() {
-        List<GameCharacter> alivePlayers = getAlivePlayers();
-        int goodCount = 0, evilCount = 0;
-        
-        for (GameCharacter player : alivePlayers) {
-            if (player.getTeam() == Team.GOOD) {
-                goodCount++;
-            } else if (player.getTeam() == Team.EVIL) {
-                evilCount++;
-            }
+        if (isTeamEliminated()) {
+            gameOver = true;
         }
+    }
+
+    // True once either team has no living members at a seated table
+    private boolean isTeamEliminated() {
+        if (playerView.isEmpty()) {
+            return false;
+        }
+        return aliveOnTeam(Team.GOOD) == 0 || aliveOnTeam(Team.EVIL) == 0;
+    }
 
-        if (goodCount == 0 && evilCount > 0) { 
-            gameOver = true; 
-        } else if (evilCount == 0 && goodCount > 0) { 
-            gameOver = true; 
+    private int aliveOnTeam(Team team) {
+        if (lobby != null) {
+            return lobby.aliveCount(team);
         }
+        return Integer.bitCount(PackedState.aliveMask(state) & PackedState.teamMask(state, team));
     }
 
     // Checks if only two players remain
-    private boolean isFinalTwoScenario(List<GameCharacter> alivePlayers) {
-        return alivePlayers.size() == 2;
+    private boolean isFinalTwoScenario() {
+        return getAliveCount() == 2;
     }
 
     // Handles final two players scenario
@@ -224,10 +998,11 @@ public class MoonlightsGambit {
 
     private void handleSameTeamVictory(GameCharacter player1, GameCharacter player2) {
         if (player1.getTeam() == Team.GOOD) {
-            NarrativeEnding.printGoodEnding(player1, player2);
+            NarrativeEnding.printGoodEnding(console, player1, player2);
         } else { 
-            NarrativeEnding.printEvilEnding(player1, player2);
+            NarrativeEnding.printEvilEnding(console, player1, player2);
         }
+        recordEnding(Ending.SAME_TEAM, player1.getTeam());
         gameOver = true;
         specialEnding = true;
     }
@@ -235,6 +1010,7 @@ public class MoonlightsGambit {
     private void displayShortFinalResults() {
         List<GameCharacter> alivePlayers = getAlivePlayers();
         Team winningTeam = determineWinningTeam(alivePlayers);
+        recordEnding(Ending.TEAM_ELIMINATED, winningTeam);
 
         displayGameConclusionHeader();
         displayPlayerResults(winningTeam);
@@ -250,10 +1026,10 @@ public class MoonlightsGambit {
     }
 
     private void displayGameConclusionHeader() {
-        GameUtils.clearScreen();
-        System.out.println("=".repeat(50));
-        System.out.println(GameUtils.GAME_CONCLUDED);
-        System.out.println("=".repeat(50));
+        console.clearScreen();
+        console.println("=".repeat(50));
+        console.println(GameUtils.GAME_CONCLUDED);
+        console.println("=".repeat(50));
     }
 
     private void displayPlayerResults(Team winningTeam) {
@@ -264,7 +1040,7 @@ public class MoonlightsGambit {
             String fate = GameUtils.getFate(victorious);
             String roleDisplay = getRoleNameForDisplay(player);
             
-            System.out.printf("""
+            console.printf("""
                               
                               %s as %s    %s%n""", player.getName(), roleDisplay, fate);
         }
@@ -272,30 +1048,30 @@ public class MoonlightsGambit {
 
     // Shows victory message based on winning team
     private void displayVictoryMessage(Team winningTeam) {
-        System.out.println("\n" + "-".repeat(50));
+        console.println("\n" + "-".repeat(50));
         
         if (winningTeam == null) {
-            System.out.println("THE GAME ENDED IN AN UNKNOWN STATE");
+            console.println("THE GAME ENDED IN AN UNKNOWN STATE");
         } else {
             switch (winningTeam) {
                 case GOOD -> {
-                    System.out.println("\n" + GameUtils.LIGHT_PREVAILED);
-                    System.out.println("Justice and order are restored to Artemia Academy");
+                    console.println("\n" + GameUtils.LIGHT_PREVAILED);
+                    console.println("Justice and order are restored to Artemia Academy");
                 }
                 case EVIL -> {
-                    System.out.println("\n" + GameUtils.SHADOWS_TRIUMPHED);
-                    System.out.println("Darkness descends upon Artemia Academy");
+                    console.println("\n" + GameUtils.SHADOWS_TRIUMPHED);
+                    console.println("Darkness descends upon Artemia Academy");
                 }
-                default -> System.out.println("THE GAME ENDED IN AN UNKNOWN STATE");
+                default -> console.println("THE GAME ENDED IN AN UNKNOWN STATE");
             }
         }
     }
 
     // Shows fate conclusion message
     private void displayFateConclusion() {
-        System.out.println("\n" + "=".repeat(50));
-        System.out.println(GameUtils.FATE_HAS_SPOKEN);
-        System.out.println("=".repeat(50));
+        console.println("\n" + "=".repeat(50));
+        console.println(GameUtils.FATE_HAS_SPOKEN);
+        console.println("=".repeat(50));
     }
 
     // Gets display name for character roles
@@ -308,19 +1084,19 @@ public class MoonlightsGambit {
     }
     
     public void displayFriendshipRemains() {
-        System.out.println("=".repeat(52));
-        System.out.println("          FRIENDSHIP SURVIVES THE DARKNESS");
-        System.out.println("=".repeat(52));
-        System.out.println("\nCalisto and Luna choose friendship over conflict...");
-        System.out.println("Their bond remains, though forever changed...");
+        console.println("=".repeat(52));
+        console.println("          FRIENDSHIP SURVIVES THE DARKNESS");
+        console.println("=".repeat(52));
+        console.println("\nCalisto and Luna choose friendship over conflict...");
+        console.println("Their bond remains, though forever changed...");
     }
 
     public void displayBondsBroken() {
-        System.out.println("=".repeat(50));
-        System.out.println("            BONDS SHATTER IN THE NIGHT");
-        System.out.println("=".repeat(50));
-        System.out.println("\nFriendship gives way to duty and conflict...");
-        System.out.println("The final choice leads to confrontation...");
+        console.println("=".repeat(50));
+        console.println("            BONDS SHATTER IN THE NIGHT");
+        console.println("=".repeat(50));
+        console.println("\nFriendship gives way to duty and conflict...");
+        console.println("The final choice leads to confrontation...");
     }
 
     public void displayDestinyDrawGameConcluded(Team winningTeam) {
@@ -1,62 +1,151 @@
 package moonlightsgambit;
 
-import java.io.IOException;
-import java.util.Scanner;
-import moonlightsgambit.utils.GameUtils;
+import java.nio.ByteBuffer;
+import moonlightsgambit.interfaces.CheckpointListener;
+import moonlightsgambit.interfaces.GameConsole;
+import moonlightsgambit.interfaces.GameEventSink;
+import moonlightsgambit.utils.OutputPacing;
+import moonlightsgambit.utils.SessionEndedException;
+import moonlightsgambit.utils.TerminalConsole;
 
 // Main entry point for the Moonlight's Gambit game
 public class MoonlightsGambitGame {    
+    // A failing game resumes from its last checkpoint at most this many times before giving up
+    private static final int MAX_RESUMES = 3;
+
+    // Optional arguments: lobby size for a large table (default is the classic four seats), then the
+    // narration pacing - interactive (default), fast or virtual
     public static void main(String[] args) {
-        displayGameWelcome();
+        LobbyConfig config = args.length > 0 ? LobbyConfig.ofSize(Integer.parseInt(args[0])) : LobbyConfig.CLASSIC;
+        OutputPacing pacing = args.length > 1 ? OutputPacing.of(args[1]) : OutputPacing.INTERACTIVE;
+        TerminalConsole console = new TerminalConsole(pacing);
+        try {
+            playSessions(console, config);
+        } finally {
+            console.close();
+        }
+    }
+
+    // Runs the welcome, game and play-again loop on the given console
+    public static void playSessions(GameConsole console) {
+        playSessions(console, LobbyConfig.CLASSIC);
+    }
+
+    // Runs the welcome, game and play-again loop for the given lobby
+    public static void playSessions(GameConsole console, LobbyConfig config) {
+        playSessions(console, config, null);
+    }
+
+    // Runs the loop with every game's actions sent to the event sink (may be null)
+    public static void playSessions(GameConsole console, LobbyConfig config, GameEventSink eventSink) {
+        playSessions(console, config, eventSink, null);
+    }
+
+    // Runs the loop for a table whose players were already named, e.g. by matchmaking (null asks every seat)
+    public static void playSessions(GameConsole console, LobbyConfig config, GameEventSink eventSink,
+                                    String[] seatNames) {
+        displayGameWelcome(console);
         
         do {
-            runGameSession();
-        } while (shouldPlayAgain());
+            runGameSession(console, config, eventSink, seatNames);
+        } while (shouldPlayAgain(console));
     }
     
     // Shows game welcome message
-    private static void displayGameWelcome() {
-        System.out.println("\nInitializing Moonlight's Gambit...");
-        GameUtils.ENTERKey();
+    private static void displayGameWelcome(GameConsole console) {
+        console.println("\nInitializing Moonlight's Gambit...");
+        console.waitForEnter();
     }
     
-    private static void runGameSession() {
-        try {
-            MoonlightsGambit game = new MoonlightsGambit();
-            game.startGame();
-        } catch (Exception e) {
-            handleGameError(e);
+    // Plays one game, resuming it from the last phase checkpoint if the engine fails. Closed input, an interrupt
+    // or an abandoned table end the session instead: replaying the game would only run into them again.
+    private static void runGameSession(GameConsole console, LobbyConfig config, GameEventSink eventSink,
+                                       String[] seatNames) {
+        SessionCheckpoint checkpoint = new SessionCheckpoint();
+        for (int resumes = 0; ; resumes++) {
+            try {
+                MoonlightsGambit game = new MoonlightsGambit(console, config);
+                game.setSeatNames(seatNames);
+                game.setEventSink(eventSink);
+                game.setCheckpointListener(checkpoint);
+                if (!checkpoint.restoreInto(game)) {
+                    game.startGame();
+                } else if (!game.isGameOver()) {
+                    game.resumeGame();
+                }
+                return;
+            } catch (SessionEndedException e) {
+                throw e;
+            } catch (RuntimeException e) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new SessionEndedException("Session interrupted", e);
+                }
+                boolean resume = checkpoint.isTaken() && resumes < MAX_RESUMES;
+                handleGameError(console, e, resume);
+                if (!resume) {
+                    return;
+                }
+            }
         }
     }
     
-    private static void handleGameError(Exception e) {
-        System.out.println("\n[ERROR] An unexpected error occurred during the game.");
-        System.out.println("The game session will now restart.");
-        System.out.println("Error details: " + e.getMessage());
-        GameUtils.ENTERKey();
+    private static void handleGameError(GameConsole console, RuntimeException e, boolean resume) {
+        console.println("\n[ERROR] An unexpected error occurred during the game.");
+        console.println(resume ? "The game will resume from the last checkpoint." : "The game session will now restart.");
+        console.println("Error details: " + e.getMessage());
+        console.waitForEnter();
+    }
+
+    // Keeps the latest snapshot of the session's game in one reusable buffer
+    private static final class SessionCheckpoint implements CheckpointListener {
+        private ByteBuffer snapshot;
+        private boolean taken;
+
+        @Override
+        public void onCheckpoint(MoonlightsGambit game) {
+            if (snapshot == null) {
+                snapshot = ByteBuffer.allocate(game.snapshotCapacity());
+            }
+            snapshot.clear();
+            game.writeSnapshot(snapshot);
+            snapshot.flip();
+            taken = true;
+        }
+
+        boolean isTaken() {
+            return taken;
+        }
+
+        // Restores the last snapshot into the game; false if there is none yet
+        boolean restoreInto(MoonlightsGambit game) {
+            if (!taken) {
+                return false;
+            }
+            game.restoreSnapshot(snapshot.duplicate());
+            return true;
+        }
     }
 
     // Asks the user whether to start a new game.
-    private static boolean shouldPlayAgain() {
-        GameUtils.ENTERKey();
-        GameUtils.clearScreen();
-        Scanner sc = new Scanner(System.in);
-        System.out.println("~*~*".repeat(23));
-        GameUtils.typeText("The story ends... but every ending is a new beginning!", 25);
-        int choice = GameUtils.safeReadInt(sc, 1, 2, "Would you like to play again?  (1 - NO , 2 - YES):");
+    private static boolean shouldPlayAgain(GameConsole console) {
+        console.waitForEnter();
+        console.clearScreen();
+        console.println("~*~*".repeat(23));
+        console.typeText("The story ends... but every ending is a new beginning!", 25);
+        int choice = console.readInt(1, 2, "Would you like to play again?  (1 - NO , 2 - YES):", 1);
         
         if (choice == 1) {          // 1 = stop
-            displayGoodbye();
+            displayGoodbye(console);
             return false;
         }
         
         return true;                // 2 = restart
     }
 
-    private static void displayGoodbye() {
-        GameUtils.typeText("\nYou did it! Another tale of love and loyalty written in the stars.", 30);
-        GameUtils.typeText("Thanks for playing our little moonlit drama, hope you had as much fun as we did making it!", 30);
-        GameUtils.typeText("Until next time, players!", 40);
-        GameUtils.typeText("~*~*".repeat(23), 8);
+    private static void displayGoodbye(GameConsole console) {
+        console.typeText("\nYou did it! Another tale of love and loyalty written in the stars.", 30);
+        console.typeText("Thanks for playing our little moonlit drama, hope you had as much fun as we did making it!", 30);
+        console.typeText("Until next time, players!", 40);
+        console.typeText("~*~*".repeat(23), 8);
     }
 }
@@ -1,8 +1,10 @@
 package moonlightsgambit.characters;
 
 import moonlightsgambit.MoonlightsGambit;
+import moonlightsgambit.enums.EventType;
+import moonlightsgambit.enums.Role;
 import moonlightsgambit.enums.Team;
-import moonlightsgambit.utils.GameUtils;
+import moonlightsgambit.interfaces.GameConsole;
 
 // The Seeker character - investigates other players
 public class Calisto extends GameCharacter {
@@ -11,6 +13,11 @@ public class Calisto extends GameCharacter {
     private static final String ROLE_DESCRIPTION = "The Seeker (Good Team)";
     private static final String LORE_DESCRIPTION = "His intuition pierces through shadows.";
     private static final String ACTION_PROMPT = "Choose a player to investigate: ";
+    // Menu for the last two standing; option 2 is peace
+    private static final String PEACE_PROMPT = """
+                                       1. Chaos - Uphold the truth, even if it breaks your oldest bond
+                                       2. Peace - Choose friendship over duty, forgive the betrayal
+                                       Choice (1 or 2):""";
  
     // Constructor
     public Calisto(String name) {
@@ -20,25 +27,28 @@ public class Calisto extends GameCharacter {
     // Perform night action
     @Override
     protected void executeAction(GameCharacter target, MoonlightsGambit game) {
-        GameUtils.typeText(String.format("[RESULT] %s is %s", 
-                          target.getName(), target.getRoleName()), TEXT_DELAY_MS);
+        game.getConsole().typef(TEXT_DELAY_MS, "[RESULT] %s is %s", 
+                          target.getName(), target.getRoleName());
+        game.recordEvent(EventType.INVESTIGATE, getSeat(), target.getSeat(), target.getRole().ordinal());
     }
     
     @Override
-    protected void displayActionMessage(GameCharacter target) {
-        GameUtils.typeText(String.format("[INVESTIGATE] %s investigates %s!", 
-                          getName(), target.getName()), TEXT_DELAY_MS);
+    protected void displayActionMessage(GameCharacter target, GameConsole console) {
+        console.typef(TEXT_DELAY_MS, "[INVESTIGATE] %s investigates %s!", 
+                          getName(), target.getName());
     }
     
     @Override
-    protected void displayAbilityBlockedMessage() {
-        GameUtils.typeText(String.format("[BLOCKED] A dark fog clouds %s's vision - the truth remains hidden!", 
-                          getName()), TEXT_DELAY_MS);
+    protected void displayAbilityBlockedMessage(GameConsole console) {
+        console.typef(TEXT_DELAY_MS, "[BLOCKED] A dark fog clouds %s's vision - the truth remains hidden!", 
+                          getName());
     }
     
     //Abstract method implementations for role details
+    @Override public Role getRole() { return Role.SEEKER; }
     @Override public String getRoleDescription() { return ROLE_DESCRIPTION; }
     @Override public String getActionPrompt() { return ACTION_PROMPT; }
+    @Override public String getPeacePrompt() { return PEACE_PROMPT; }
     @Override public String getLoreDescription() { return LORE_DESCRIPTION; }
     @Override public String getRoleName() { return ROLE_NAME; }
 }
@@ -1,8 +1,11 @@
 package moonlightsgambit.characters;
 
 import moonlightsgambit.MoonlightsGambit;
+import moonlightsgambit.enums.EventType;
+import moonlightsgambit.enums.Role;
 import moonlightsgambit.enums.Team;
-import moonlightsgambit.utils.GameUtils;
+import moonlightsgambit.interfaces.GameConsole;
+import moonlightsgambit.state.PackedState;
 
 // The Believer character - protects other players
 public class Elara extends GameCharacter {
@@ -11,6 +14,11 @@ public class Elara extends GameCharacter {
     private static final String ROLE_DESCRIPTION = "The Believer (Good Team)";
     private static final String LORE_DESCRIPTION = "Her faith shines brighter than the moon.";
     private static final String ACTION_PROMPT = "Choose a player to protect with divine light (0 to protect yourself): ";
+    // Menu for the last two standing; option 2 is peace
+    private static final String PEACE_PROMPT = """
+                                       1. Chaos - Fight for your cause, even if it destroys your love
+                                       2. Peace - Choose love over war, embrace the person behind the role
+                                       Choice (1 or 2):""";
 
     // Constructor
     public Elara(String name) {
@@ -24,18 +32,19 @@ public class Elara extends GameCharacter {
         // Check if Elara is ability blocked (sabotaged THIS round)
         if (isAbilityBlocked()) {
             // Show that she's trying but gets blocked
-            GameUtils.typeText(String.format("[PROTECT] %s calls upon the divine light...", getName()), TEXT_DELAY_MS);
-            displayAbilityBlockedMessage();
+            game.getConsole().typef(TEXT_DELAY_MS, "[PROTECT] %s calls upon the divine light...", getName());
+            displayAbilityBlockedMessage(game.getConsole());
+            game.recordEvent(EventType.ACTION_BLOCKED, getSeat(), target == null ? PackedState.NO_SEAT : target.getSeat(), 0);
             return; // Stop here - blessing fails
         }
     
         if (!validateTarget(target)) {
-            displayInvalidTargetMessage(target);
+            displayInvalidTargetMessage(target, game.getConsole());
             return;
         }
     
         // Normal protection flow
-        displayActionMessage(target);
+        displayActionMessage(target, game.getConsole());
         executeAction(target, game);
     }
     
@@ -49,24 +58,27 @@ public class Elara extends GameCharacter {
     @Override
     protected void executeAction(GameCharacter target, MoonlightsGambit game) {
         target.setBlessed(true);
+        game.recordEvent(EventType.BLESS, getSeat(), target.getSeat(), 0);
     }
     
     @Override
-    protected void displayActionMessage(GameCharacter target) {
+    protected void displayActionMessage(GameCharacter target, GameConsole console) {
         String protectionTarget = (target == this) ? "herself" : target.getName();
-        GameUtils.typeText(String.format("[PROTECT] %s channels divine light to protect %s!", 
-                          getName(), protectionTarget), TEXT_DELAY_MS);
+        console.typef(TEXT_DELAY_MS, "[PROTECT] %s channels divine light to protect %s!", 
+                          getName(), protectionTarget);
     }
     
     @Override
-    protected void displayAbilityBlockedMessage() {
-        GameUtils.typeText(String.format("[BLOCKED] A shadow disrupts %s's prayer - the blessing fails to hold!", 
-                          getName()), TEXT_DELAY_MS);
+    protected void displayAbilityBlockedMessage(GameConsole console) {
+        console.typef(TEXT_DELAY_MS, "[BLOCKED] A shadow disrupts %s's prayer - the blessing fails to hold!", 
+                          getName());
     }
     
     //Abstract method implementations for role details
+    @Override public Role getRole() { return Role.BELIEVER; }
     @Override public String getRoleDescription() { return ROLE_DESCRIPTION; }
     @Override public String getActionPrompt() { return ACTION_PROMPT; }
+    @Override public String getPeacePrompt() { return PEACE_PROMPT; }
     @Override public String getLoreDescription() { return LORE_DESCRIPTION; }
     @Override public String getRoleName() { return ROLE_NAME; }
 }
@@ -1,8 +1,11 @@
 package moonlightsgambit.characters;
 
+import moonlightsgambit.enums.EventType;
+import moonlightsgambit.enums.Role;
 import moonlightsgambit.enums.Team;
 import moonlightsgambit.MoonlightsGambit;
-import moonlightsgambit.utils.GameUtils;
+import moonlightsgambit.interfaces.GameConsole;
+import moonlightsgambit.state.PackedState;
 
 // Base class for all game characters
 public abstract class GameCharacter {
@@ -25,6 +28,10 @@ public abstract class GameCharacter {
     private boolean isBlessed;
     private int order; 
 
+    // Once seated at a table, alive/blessed/blocked live in the table's state
+    private MoonlightsGambit table;
+    private int seat = PackedState.NO_SEAT;
+
     // Constructor
     public GameCharacter(String name, Team team) {
         validateConstructorParameters(name, team);
@@ -36,6 +43,19 @@ public abstract class GameCharacter {
         this.order = 0;
     }
 
+    // Creates the character that plays the given role
+    public static GameCharacter forRole(Role role, String name) {
+        if (role == null) {
+            throw new IllegalArgumentException("Role cannot be null");
+        }
+        return switch (role) {
+            case BELIEVER -> new Elara(name);
+            case SEEKER -> new Calisto(name);
+            case REAPER -> new Orion(name);
+            case SABOTEUR -> new Luna(name);
+        };
+    }
+
     // Validation for constructor parameters
     private void validateConstructorParameters(String name, Team team) {
         if (name == null || name.trim().isEmpty()) {
@@ -51,34 +71,35 @@ public abstract class GameCharacter {
         validateGameInstance(game);
         
         if (!validateTarget(target)) {
-            displayInvalidTargetMessage(target);
+            displayInvalidTargetMessage(target, game.getConsole());
             return;
         }
         
         if (isAbilityBlocked()) {
-            displayAbilityBlockedMessage();
+            displayAbilityBlockedMessage(game.getConsole());
+            game.recordEvent(EventType.ACTION_BLOCKED, getSeat(), target.getSeat(), 0);
             return;
         }
         
-        displayActionMessage(target);
+        displayActionMessage(target, game.getConsole());
         executeAction(target, game);
     }
     
     //Abstract methods for role-specific actions
     protected abstract void executeAction(GameCharacter target, MoonlightsGambit game);
-    protected abstract void displayActionMessage(GameCharacter target);
-    protected abstract void displayAbilityBlockedMessage();
+    protected abstract void displayActionMessage(GameCharacter target, GameConsole console);
+    protected abstract void displayAbilityBlockedMessage(GameConsole console);
     
     //Protected helper methods
     protected boolean validateTarget(GameCharacter target) {
         return target != null && target.isAlive();
     }
     
-    protected void displayInvalidTargetMessage(GameCharacter target) {
+    protected void displayInvalidTargetMessage(GameCharacter target, GameConsole console) {
         if (target == null) {
-            GameUtils.typeText(ERROR_NO_TARGET, TEXT_DELAY_MS);
+            console.typeText(ERROR_NO_TARGET, TEXT_DELAY_MS);
         } else if (!target.isAlive()) {
-            GameUtils.typeText(String.format(ERROR_TARGET_DEAD, target.getName()), TEXT_DELAY_MS);
+            console.typef(TEXT_DELAY_MS, ERROR_TARGET_DEAD, target.getName());
         }
     }
     
@@ -90,8 +111,8 @@ public abstract class GameCharacter {
     
     public void resetNightAction() {
         // Reset night-specific statuses
-        this.abilityBlocked = false;
-        this.isBlessed = false;
+        setAbilityBlocked(false);
+        setBlessed(false);
     }
     
     // Called from GameSetup.java line 60
@@ -102,6 +123,20 @@ public abstract class GameCharacter {
     public int getOrder() {
         return this.order;
     }
+
+    // Called from MoonlightsGambit.setPlayers after the seat's state has been packed
+    public void bindToTable(MoonlightsGambit table, int seat) {
+        if (table == null) {
+            throw new IllegalArgumentException("Game instance cannot be null");
+        }
+        this.table = table;
+        this.seat = seat;
+    }
+
+    // Seat index at the bound table, or PackedState.NO_SEAT
+    public int getSeat() {
+        return seat;
+    }
     
     //Getter and Setter methods
     public String getName() { 
@@ -117,11 +152,15 @@ public abstract class GameCharacter {
     }
 
     public boolean isAlive() { 
-        return isAlive; 
+        return table == null ? isAlive : table.isSeatAlive(seat); 
     }
 
     public void setAlive(boolean alive) { 
-        isAlive = alive; 
+        if (table == null) {
+            isAlive = alive;
+        } else {
+            table.setSeatAlive(seat, alive);
+        }
     }
   
     public Team getTeam() { 
@@ -136,30 +175,40 @@ public abstract class GameCharacter {
     }
 
     public boolean isAbilityBlocked() { 
-        return abilityBlocked; 
+        return table == null ? abilityBlocked : table.isSeatBlocked(seat); 
     }
 
     public void setAbilityBlocked(boolean blocked) { 
-        abilityBlocked = blocked; 
+        if (table == null) {
+            abilityBlocked = blocked;
+        } else {
+            table.setSeatBlocked(seat, blocked);
+        }
     }
 
     public boolean isBlessed() { 
-        return isBlessed; 
+        return table == null ? isBlessed : table.isSeatBlessed(seat); 
     }
 
     public void setBlessed(boolean blessed) { 
-        isBlessed = blessed; 
+        if (table == null) {
+            isBlessed = blessed;
+        } else {
+            table.setSeatBlessed(seat, blessed);
+        }
     }
 
     //Abstract methods for role-specific info
+    public abstract Role getRole();
     public abstract String getRoleDescription();
     public abstract String getActionPrompt();
+    public abstract String getPeacePrompt();
     public abstract String getLoreDescription();
     public abstract String getRoleName();
 
     @Override
     public String toString() {
         return String.format("%s - %s [%s]", name, getRoleDescription(), 
-                           isAlive ? "ALIVE" : "DEAD");
+                           isAlive() ? "ALIVE" : "DEAD");
     }
 }
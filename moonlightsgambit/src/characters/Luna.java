@@ -1,8 +1,9 @@
 package moonlightsgambit.characters;
 
 import moonlightsgambit.MoonlightsGambit;
+import moonlightsgambit.enums.Role;
 import moonlightsgambit.enums.Team;
-import moonlightsgambit.utils.GameUtils;
+import moonlightsgambit.interfaces.GameConsole;
 
 // The Saboteur character - blocks abilities of other players
 public class Luna extends GameCharacter {
@@ -11,6 +12,11 @@ public class Luna extends GameCharacter {
     private static final String ROLE_DESCRIPTION = "The Saboteur (Evil Team)";
     private static final String LORE_DESCRIPTION = "Her chaos disrupts the natural order.";
     private static final String ACTION_PROMPT = "Choose a player to sabotage (block ability NEXT round): ";
+    // Menu for the last two standing; option 2 is peace
+    private static final String PEACE_PROMPT = """
+                                       1. Chaos - See your mission through, no turning back now
+                                       2. Peace - Remember what you were before the shadows called
+                                       Choice (1 or 2):""";
     
     // Constructor
     public Luna(String name) {
@@ -22,15 +28,15 @@ public class Luna extends GameCharacter {
         validateGameInstance(game);
 
         if (!validateTarget(target)) {
-            displayInvalidTargetMessage(target);
+            displayInvalidTargetMessage(target, game.getConsole());
             return;
         }
 
         // ALWAYS show sabotage message (even if target is blessed)
-        displayActionMessage(target);  
+        displayActionMessage(target, game.getConsole());  
 
         // Record sabotage for NEXT ROUND (works even if target is blessed!)
-        game.recordSabotage(target);
+        game.recordSabotage(this, target);
     }
     
     // Validate target (cannot target self)
@@ -46,31 +52,33 @@ public class Luna extends GameCharacter {
     }
     
     @Override
-    protected void displayActionMessage(GameCharacter target) {
-        GameUtils.typeText(String.format("[SABOTAGE] %s weaves chaos around %s!", 
-                          getName(), target.getName()), TEXT_DELAY_MS);
+    protected void displayActionMessage(GameCharacter target, GameConsole console) {
+        console.typef(TEXT_DELAY_MS, "[SABOTAGE] %s weaves chaos around %s!", 
+                          getName(), target.getName());
     }
     
     @Override
-    protected void displayAbilityBlockedMessage() {
-        GameUtils.typeText(String.format("[BLOCKED] A shadow disrupts %s's focus - her chaos fails!", 
-                          getName()), TEXT_DELAY_MS);
+    protected void displayAbilityBlockedMessage(GameConsole console) {
+        console.typef(TEXT_DELAY_MS, "[BLOCKED] A shadow disrupts %s's focus - her chaos fails!", 
+                          getName());
     }
     
     @Override
-    protected void displayInvalidTargetMessage(GameCharacter target) {
+    protected void displayInvalidTargetMessage(GameCharacter target, GameConsole console) {
         if (target == null) {
-            GameUtils.typeText(ERROR_NO_TARGET, TEXT_DELAY_MS);
+            console.typeText(ERROR_NO_TARGET, TEXT_DELAY_MS);
         } else if (!target.isAlive()) {
-            GameUtils.typeText(String.format(ERROR_TARGET_DEAD, target.getName()), TEXT_DELAY_MS);
+            console.typef(TEXT_DELAY_MS, ERROR_TARGET_DEAD, target.getName());
         } else if (target == this) {
-            GameUtils.typeText(String.format(ERROR_SELF_TARGET, getName()), TEXT_DELAY_MS);
+            console.typef(TEXT_DELAY_MS, ERROR_SELF_TARGET, getName());
         }
     }
     
     //Abstract method implementations for role details
+    @Override public Role getRole() { return Role.SABOTEUR; }
     @Override public String getRoleDescription() { return ROLE_DESCRIPTION; }
     @Override public String getActionPrompt() { return ACTION_PROMPT; }
+    @Override public String getPeacePrompt() { return PEACE_PROMPT; }
     @Override public String getLoreDescription() { return LORE_DESCRIPTION; }
     @Override public String getRoleName() { return ROLE_NAME; }
 }
@@ -1,8 +1,10 @@
 package moonlightsgambit.characters;
 
 import moonlightsgambit.MoonlightsGambit;
+import moonlightsgambit.enums.EventType;
+import moonlightsgambit.enums.Role;
 import moonlightsgambit.enums.Team;
-import moonlightsgambit.utils.GameUtils;
+import moonlightsgambit.interfaces.GameConsole;
 
 // The Reaper character - hunts other players
 public class Orion extends GameCharacter {
@@ -11,6 +13,11 @@ public class Orion extends GameCharacter {
     private static final String ROLE_DESCRIPTION = "The Reaper (Evil Team)";
     private static final String LORE_DESCRIPTION = "His touch brings silence to the night.";
     private static final String ACTION_PROMPT = "Choose a player to hunt under the moonlight: ";
+    // Menu for the last two standing; option 2 is peace
+    private static final String PEACE_PROMPT = """
+                                       1. Chaos - Complete your mission, no matter the cost
+                                       2. Peace - Lay down your blade for the love you found
+                                       Choice (1 or 2):""";
     
     // Constructor
     public Orion(String name) {
@@ -22,19 +29,20 @@ public class Orion extends GameCharacter {
         validateGameInstance(game);
         
         if (!validateTarget(target)) {
-            displayInvalidTargetMessage(target);
+            displayInvalidTargetMessage(target, game.getConsole());
             return;
         }
         
-        displayActionMessage(target);
+        displayActionMessage(target, game.getConsole());
         
         if (isAbilityBlocked()) {
-            displayAbilityBlockedMessage();
+            displayAbilityBlockedMessage(game.getConsole());
+            game.recordEvent(EventType.ACTION_BLOCKED, getSeat(), target.getSeat(), 0);
             return;
         }
         
         if (!target.isBlessed()) {
-            game.recordHunt(target);
+            game.recordHunt(this, target);
         }
         // Silent failure if target is blessed
     }
@@ -46,20 +54,22 @@ public class Orion extends GameCharacter {
     }
     
     @Override
-    protected void displayActionMessage(GameCharacter target) {
-        GameUtils.typeText(String.format("[HUNT] %s marks %s for the reaping!", 
-                          getName(), target.getName()), TEXT_DELAY_MS);
+    protected void displayActionMessage(GameCharacter target, GameConsole console) {
+        console.typef(TEXT_DELAY_MS, "[HUNT] %s marks %s for the reaping!", 
+                          getName(), target.getName());
     }
     
     @Override
-    protected void displayAbilityBlockedMessage() {
-        GameUtils.typeText(String.format("[BLOCKED] A shadow disrupts %s's focus - the hunt fails!", 
-                          getName()), TEXT_DELAY_MS);
+    protected void displayAbilityBlockedMessage(GameConsole console) {
+        console.typef(TEXT_DELAY_MS, "[BLOCKED] A shadow disrupts %s's focus - the hunt fails!", 
+                          getName());
     }
     
     //Abstract method implementations for role details
+    @Override public Role getRole() { return Role.REAPER; }
     @Override public String getRoleDescription() { return ROLE_DESCRIPTION; }
     @Override public String getActionPrompt() { return ACTION_PROMPT; }
+    @Override public String getPeacePrompt() { return PEACE_PROMPT; }
     @Override public String getLoreDescription() { return LORE_DESCRIPTION; }
     @Override public String getRoleName() { return ROLE_NAME; }
 }
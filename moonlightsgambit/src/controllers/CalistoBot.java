@@ -0,0 +1,16 @@
+package moonlightsgambit.controllers;
+
+import moonlightsgambit.state.SeatProjection;
+
+// The Seeker: investigates the seat the last vote's tally accused most among those whose role she does not know yet
+// (any of them on the first night, before any tally), and lets the night pass once she knows them all
+final class CalistoBot extends RoleBot {
+
+    @Override
+    int nightScore(SeatProjection view, int seat) {
+        if (view.getKnownRole(seat) != null) {
+            return NEVER;
+        }
+        return UNKNOWN + view.getVotesAgainst(seat);
+    }
+}
@@ -0,0 +1,22 @@
+package moonlightsgambit.controllers;
+
+import moonlightsgambit.enums.Team;
+import moonlightsgambit.state.SeatProjection;
+
+// The Believer: shields a seat known to be good, else herself, but never a known enemy
+final class ElaraBot extends RoleBot {
+    private static final int KNOWN_ALLY = SUSPECT;
+    private static final int SELF = UNKNOWN + 1;
+
+    @Override
+    int nightScore(SeatProjection view, int seat) {
+        if (seat == view.getSeat()) {
+            return SELF;
+        }
+        Team team = view.getKnownTeam(seat);
+        if (team == null) {
+            return UNKNOWN;
+        }
+        return team == Team.GOOD ? KNOWN_ALLY : NEVER;
+    }
+}
@@ -0,0 +1,42 @@
+package moonlightsgambit.controllers;
+
+import java.util.List;
+import moonlightsgambit.MoonlightsGambit;
+import moonlightsgambit.characters.GameCharacter;
+import moonlightsgambit.interfaces.DecisionPolicy;
+import moonlightsgambit.state.SeatProjection;
+
+// Rule-based bot for any role: decides from nothing but the seat's projection, in one pass over the options.
+// Stateless and shareable; hand it a single seat with MoonlightsGambit.setController (e.g. to fill an empty seat
+// at a live table), or every seat as the policy of a headless game.
+public final class HeuristicBot implements DecisionPolicy {
+
+    @Override
+    public int chooseNightTarget(GameCharacter actor, List<GameCharacter> targets, MoonlightsGambit game) {
+        SeatProjection view = game.getSeatProjection(actor.getSeat());
+        return RoleBot.forRole(view.getRole()).choose(view, targets, true, game.getRandom());
+    }
+
+    @Override
+    public int chooseVoteTarget(GameCharacter voter, List<GameCharacter> candidates, MoonlightsGambit game) {
+        SeatProjection view = game.getSeatProjection(voter.getSeat());
+        return RoleBot.forRole(view.getRole()).choose(view, candidates, false, game.getRandom());
+    }
+
+    @Override
+    public boolean choosePeace(GameCharacter player, GameCharacter partner, MoonlightsGambit game) {
+        SeatProjection view = game.getSeatProjection(player.getSeat());
+        return RoleBot.forRole(view.getRole()).choosePeace(view, partner.getSeat());
+    }
+
+    @Override
+    public boolean keepCard(GameCharacter player, int card, int ownScore, int opponentScore, MoonlightsGambit game) {
+        SeatProjection view = game.getSeatProjection(player.getSeat());
+        return RoleBot.forRole(view.getRole()).keepCard(card, ownScore, opponentScore, game.getRandom());
+    }
+
+    @Override
+    public boolean usesProjection() {
+        return true;
+    }
+}
@@ -0,0 +1,86 @@
+package moonlightsgambit.controllers;
+
+import java.util.List;
+import moonlightsgambit.MoonlightsGambit;
+import moonlightsgambit.characters.Elara;
+import moonlightsgambit.characters.GameCharacter;
+import moonlightsgambit.interfaces.GameConsole;
+import moonlightsgambit.interfaces.PlayerController;
+
+// Controller for a player at the game's console (or a remote seat behind it): lists the options and reads the
+// choice. The phase has already turned the console to the player's seat. A player who lets the turn deadline pass
+// passes at night, abstains from the vote, chooses peace and keeps the card.
+public final class HumanController implements PlayerController {
+    public static final HumanController INSTANCE = new HumanController();
+
+    private static final int CHAOS_CHOICE = 1;
+    private static final int PEACE_CHOICE = 2;
+    private static final int KEEP_CHOICE = 1;
+    private static final int REDRAW_CHOICE = 2;
+    // Ballot of a voter who let the turn deadline pass
+    private static final int ABSTAIN = 0;
+
+    private HumanController() {
+    }
+
+    @Override
+    public int chooseNightTarget(GameCharacter actor, List<GameCharacter> targets, MoonlightsGambit game) {
+        if (targets.isEmpty()) {
+            return PASS;
+        }
+        GameConsole console = game.getConsole();
+        // Elara lists herself first, as 0
+        int first = actor instanceof Elara ? 0 : 1;
+        console.println("\nAlive players to target:");
+        for (int i = 0; i < targets.size(); i++) {
+            console.printf("%d. %s%n", first + i, targets.get(i).getName());
+        }
+        int choice = console.readInt(first, first + targets.size() - 1, actor.getActionPrompt(), first - 1);
+        return choice < first ? PASS : choice - first;
+    }
+
+    @Override
+    public int chooseVoteTarget(GameCharacter voter, List<GameCharacter> candidates, MoonlightsGambit game) {
+        GameConsole console = game.getConsole();
+        console.println("Alive players:");
+        for (int i = 0; i < candidates.size(); i++) {
+            GameCharacter candidate = candidates.get(i);
+            if (candidate == voter) {
+                console.printf("%d. %s (You)%n", i + 1, candidate.getName());
+            } else {
+                console.printf("%d. %s%n", i + 1, candidate.getName());
+            }
+        }
+        while (true) {
+            int pick = console.readInt(1, candidates.size(), "Choose a player to vote (enter number): ", ABSTAIN);
+            if (pick == ABSTAIN) {
+                return PASS;
+            }
+            if (candidates.get(pick - 1) != voter) {
+                return pick - 1;
+            }
+            console.println("  You cannot vote for yourself, please choose someone else!");
+        }
+    }
+
+    @Override
+    public boolean choosePeace(GameCharacter player, GameCharacter partner, MoonlightsGambit game) {
+        int choice = game.getConsole().readInt(CHAOS_CHOICE, PEACE_CHOICE, player.getPeacePrompt(), PEACE_CHOICE);
+        return choice == PEACE_CHOICE;
+    }
+
+    @Override
+    public boolean keepCard(GameCharacter player, int card, int ownScore, int opponentScore, MoonlightsGambit game) {
+        GameConsole console = game.getConsole();
+        console.printf("\n%s, you drew %d.\n", player.getName(), card);
+        console.println("1. KEEP this fate | 2. RISK a redraw");
+        int choice = console.readInt(KEEP_CHOICE, REDRAW_CHOICE, "Choose (1 or 2): ", KEEP_CHOICE);
+        console.waitForEnter();
+        return choice == KEEP_CHOICE;
+    }
+
+    @Override
+    public boolean usesProjection() {
+        return false;
+    }
+}
@@ -0,0 +1,14 @@
+package moonlightsgambit.controllers;
+
+import moonlightsgambit.enums.Role;
+import moonlightsgambit.state.SeatProjection;
+
+// The Saboteur: blocks the Believer if she knows who it is, so tomorrow's hunt cannot be shielded, then the Seeker,
+// then anyone not known to be an ally
+final class LunaBot extends RoleBot {
+
+    @Override
+    int nightScore(SeatProjection view, int seat) {
+        return enemyScore(view, seat, Role.BELIEVER, Role.SEEKER);
+    }
+}
@@ -0,0 +1,128 @@
+package moonlightsgambit.controllers;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import moonlightsgambit.MoonlightsGambit;
+import moonlightsgambit.characters.GameCharacter;
+import moonlightsgambit.enums.Role;
+import moonlightsgambit.evaluation.EvaluationModel;
+import moonlightsgambit.interfaces.DecisionPolicy;
+import moonlightsgambit.state.SeatProjection;
+
+// Searching bot: information-set Monte Carlo tree search within a fixed time budget per decision.
+// Each search runs one independent tree per thread of its pool (root parallelism, see SearchWorker) and plays the
+// option most visited across all trees. Like HeuristicBot it decides from the seat's projection only, and it falls
+// back to the heuristic where a playout cannot tell options apart: the Seeker's investigations, Destiny Draw
+// cards, and searches that ran out of time before a single playout. Given an EvaluationModel, playouts follow the
+// model's choices rather than the rule-based ones.
+// Shareable across seats and tables; searches from different games may run at the same time.
+public final class MctsBot implements DecisionPolicy {
+    private final long budgetNanos;
+    private final ForkJoinPool pool;
+    private final EvaluationModel playoutModel;
+    private final HeuristicBot fallback = new HeuristicBot();
+    private final AtomicLong playouts = new AtomicLong();
+
+    public MctsBot(long budgetMillis) {
+        this(budgetMillis, ForkJoinPool.commonPool());
+    }
+
+    public MctsBot(long budgetMillis, ForkJoinPool pool) {
+        this(budgetMillis, pool, null);
+    }
+
+    // playoutModel may be null for the rule-based playout policy
+    public MctsBot(long budgetMillis, ForkJoinPool pool, EvaluationModel playoutModel) {
+        if (budgetMillis <= 0) {
+            throw new IllegalArgumentException("Search budget must be positive: " + budgetMillis);
+        }
+        if (pool == null) {
+            throw new IllegalArgumentException("Pool cannot be null");
+        }
+        this.budgetNanos = TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+        this.pool = pool;
+        this.playoutModel = playoutModel;
+    }
+
+    // Playouts run by every search of this bot so far
+    public long getPlayoutCount() {
+        return playouts.get();
+    }
+
+    @Override
+    public int chooseNightTarget(GameCharacter actor, List<GameCharacter> targets, MoonlightsGambit game) {
+        SeatProjection view = game.getSeatProjection(actor.getSeat());
+        if (view.getRole() == Role.SEEKER) {
+            return fallback.chooseNightTarget(actor, targets, game);
+        }
+        SearchRoot root = SearchRoot.night(view, game.getLobbyConfig().roleDeck(), targets);
+        int best = search(root, game);
+        return best < 0 ? fallback.chooseNightTarget(actor, targets, game) : indexOf(targets, root.options[best]);
+    }
+
+    @Override
+    public int chooseVoteTarget(GameCharacter voter, List<GameCharacter> candidates, MoonlightsGambit game) {
+        SeatProjection view = game.getSeatProjection(voter.getSeat());
+        SearchRoot root = SearchRoot.vote(view, game.getLobbyConfig().roleDeck(), candidates);
+        int best = search(root, game);
+        return best < 0 ? fallback.chooseVoteTarget(voter, candidates, game) : indexOf(candidates, root.options[best]);
+    }
+
+    @Override
+    public boolean choosePeace(GameCharacter player, GameCharacter partner, MoonlightsGambit game) {
+        SeatProjection view = game.getSeatProjection(player.getSeat());
+        SearchRoot root = SearchRoot.peace(view, game.getLobbyConfig().roleDeck(), partner.getSeat(), partner.getRole());
+        int best = search(root, game);
+        return best < 0 ? fallback.choosePeace(player, partner, game) : root.options[best] == SearchRoot.PEACE_OFFERED;
+    }
+
+    @Override
+    public boolean keepCard(GameCharacter player, int card, int ownScore, int opponentScore, MoonlightsGambit game) {
+        return fallback.keepCard(player, card, ownScore, opponentScore, game);
+    }
+
+    @Override
+    public boolean usesProjection() {
+        return true;
+    }
+
+    // Index into root.options of the option most visited across all workers, or -1 if none was tried
+    private int search(SearchRoot root, MoonlightsGambit game) {
+        long deadline = System.nanoTime() + budgetNanos;
+        SplittableRandom seeds = new SplittableRandom(game.getRandom().nextLong());
+        SearchWorker[] workers = new SearchWorker[pool.getParallelism()];
+        for (int i = 0; i < workers.length; i++) {
+            workers[i] = new SearchWorker(root, playoutModel, deadline, seeds.split());
+            pool.execute(workers[i]);
+        }
+
+        long[] visits = new long[root.options.length];
+        double[] rewards = new double[root.options.length];
+        for (SearchWorker worker : workers) {
+            worker.join();
+            worker.addRootStatistics(visits, rewards);
+            playouts.addAndGet(worker.getPlayouts());
+        }
+        int best = -1;
+        for (int i = 0; i < visits.length; i++) {
+            // Most visits wins; the higher mean reward breaks a tie
+            if (visits[i] > 0 && (best < 0 || visits[i] > visits[best]
+                    || (visits[i] == visits[best] && rewards[i] > rewards[best]))) {
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    private static int indexOf(List<GameCharacter> players, int seat) {
+        for (int i = 0; i < players.size(); i++) {
+            if (players.get(i).getSeat() == seat) {
+                return i;
+            }
+        }
+        throw new IllegalStateException("Searched option is not on offer: seat " + seat);
+    }
+}
@@ -0,0 +1,101 @@
+package moonlightsgambit.controllers;
+
+import java.util.List;
+import java.util.random.RandomGenerator;
+import moonlightsgambit.MoonlightsGambit;
+import moonlightsgambit.characters.GameCharacter;
+import moonlightsgambit.enums.DecisionKind;
+import moonlightsgambit.enums.Role;
+import moonlightsgambit.enums.Team;
+import moonlightsgambit.evaluation.EvaluationModel;
+import moonlightsgambit.interfaces.DecisionPolicy;
+import moonlightsgambit.interfaces.PlayerController;
+import moonlightsgambit.selfplay.DecisionColumn;
+import moonlightsgambit.state.SeatProjection;
+
+// Learned bot: takes the night target or vote whose features give the seat the best modelled chance to win
+// (see EvaluationModel), ties at random. Features are read from the seat's projection, exactly as the self-play
+// recorder reads them. Falls back to the heuristic for the Seeker's investigations, peace and Destiny Draw cards,
+// which the model does not score. Stateless and shareable, like HeuristicBot.
+public final class ModelBot implements DecisionPolicy {
+    private final EvaluationModel model;
+    private final HeuristicBot fallback = new HeuristicBot();
+
+    public ModelBot(EvaluationModel model) {
+        if (model == null) {
+            throw new IllegalArgumentException("Model cannot be null");
+        }
+        this.model = model;
+    }
+
+    @Override
+    public int chooseNightTarget(GameCharacter actor, List<GameCharacter> targets, MoonlightsGambit game) {
+        SeatProjection view = game.getSeatProjection(actor.getSeat());
+        if (view.getRole() == Role.SEEKER) {
+            return fallback.chooseNightTarget(actor, targets, game);
+        }
+        return choose(DecisionKind.NIGHT, view, targets, game.getRandom());
+    }
+
+    @Override
+    public int chooseVoteTarget(GameCharacter voter, List<GameCharacter> candidates, MoonlightsGambit game) {
+        return choose(DecisionKind.VOTE, game.getSeatProjection(voter.getSeat()), candidates, game.getRandom());
+    }
+
+    @Override
+    public boolean choosePeace(GameCharacter player, GameCharacter partner, MoonlightsGambit game) {
+        return fallback.choosePeace(player, partner, game);
+    }
+
+    @Override
+    public boolean keepCard(GameCharacter player, int card, int ownScore, int opponentScore, MoonlightsGambit game) {
+        return fallback.keepCard(player, card, ownScore, opponentScore, game);
+    }
+
+    @Override
+    public boolean usesProjection() {
+        return true;
+    }
+
+    // Index of the option with the highest score; a voter never accuses itself, nor counts towards the vote leader
+    private int choose(DecisionKind kind, SeatProjection view, List<GameCharacter> options, RandomGenerator random) {
+        boolean vote = kind == DecisionKind.VOTE;
+        int maxVotes = 0;
+        if (vote) {
+            for (int i = 0; i < options.size(); i++) {
+                int seat = options.get(i).getSeat();
+                if (seat != view.getSeat()) {
+                    maxVotes = Math.max(maxVotes, view.getVotesAgainst(seat));
+                }
+            }
+        }
+        Team own = view.getRole().getTeam();
+        int best = PlayerController.PASS;
+        double bestScore = Double.NEGATIVE_INFINITY;
+        int ties = 0;
+        for (int i = 0; i < options.size(); i++) {
+            int seat = options.get(i).getSeat();
+            boolean self = seat == view.getSeat();
+            if (vote && self) {
+                continue;
+            }
+            Team team = view.getKnownTeam(seat);
+            int known = team == null ? DecisionColumn.KNOWN_UNKNOWN
+                    : team == own ? DecisionColumn.KNOWN_ALLY : DecisionColumn.KNOWN_ENEMY;
+            int votes = view.getVotesAgainst(seat);
+            double score = model.score(kind, view.getRole(), view.getSeatCount(), view.getAliveCount(),
+                    view.getCycle(), known, self, votes, votes > 0 && votes == maxVotes, view.getEnemyChance(seat));
+            if (score < bestScore) {
+                continue;
+            }
+            if (score > bestScore) {
+                bestScore = score;
+                best = i;
+                ties = 1;
+            } else if (random.nextInt(++ties) == 0) {
+                best = i;
+            }
+        }
+        return best;
+    }
+}
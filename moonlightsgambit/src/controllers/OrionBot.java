@@ -0,0 +1,16 @@
+package moonlightsgambit.controllers;
+
+import moonlightsgambit.enums.Role;
+import moonlightsgambit.state.SeatProjection;
+
+// The Reaper: hunts the Seeker if he knows who it is, then the Believer, then anyone not known to be an ally,
+// preferring seats the last vote's tally accused least, as the table trusts them and their loss hurts the good team
+// most (any of them on the first night, before any tally)
+final class OrionBot extends RoleBot {
+
+    @Override
+    int nightScore(SeatProjection view, int seat) {
+        int score = enemyScore(view, seat, Role.SEEKER, Role.BELIEVER);
+        return score == UNKNOWN ? UNKNOWN - Math.min(view.getVotesAgainst(seat), UNKNOWN - 1) : score;
+    }
+}
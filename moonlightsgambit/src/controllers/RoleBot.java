@@ -0,0 +1,102 @@
+package moonlightsgambit.controllers;
+
+import java.util.List;
+import java.util.random.RandomGenerator;
+import moonlightsgambit.characters.GameCharacter;
+import moonlightsgambit.enums.Role;
+import moonlightsgambit.enums.Team;
+import moonlightsgambit.interfaces.PlayerController;
+import moonlightsgambit.solver.DestinyDrawTable;
+import moonlightsgambit.state.SeatProjection;
+
+// Rules one role plays by: every option is scored from what the seat knows and the best one taken, ties at random.
+// Stateless, so one instance per role serves every seat of every table; each decision is one pass over the options.
+abstract class RoleBot {
+    // Score of an option the bot must never take
+    static final int NEVER = Integer.MIN_VALUE;
+    // Score of a seat the bot knows nothing about; known enemies score SUSPECT and up
+    static final int UNKNOWN = 10;
+    static final int SUSPECT = 100;
+
+    private static final RoleBot[] BY_ROLE = new RoleBot[Role.values().length];
+
+    static {
+        BY_ROLE[Role.BELIEVER.ordinal()] = new ElaraBot();
+        BY_ROLE[Role.SEEKER.ordinal()] = new CalistoBot();
+        BY_ROLE[Role.REAPER.ordinal()] = new OrionBot();
+        BY_ROLE[Role.SABOTEUR.ordinal()] = new LunaBot();
+    }
+
+    static RoleBot forRole(Role role) {
+        if (role == null) {
+            throw new IllegalStateException("Bot seat has not been dealt a role");
+        }
+        return BY_ROLE[role.ordinal()];
+    }
+
+    // How much the bot wants to use its night action on a seat; NEVER rules the seat out
+    abstract int nightScore(SeatProjection view, int seat);
+
+    // How much the bot wants to accuse a seat: a known enemy first, else whoever the last vote's tally accused most
+    // (ballots of the vote in progress are secret), a known ally only if nobody else is left
+    int voteScore(SeatProjection view, int seat) {
+        if (seat == view.getSeat()) {
+            return NEVER;
+        }
+        Team known = view.getKnownTeam(seat);
+        if (known == null) {
+            return UNKNOWN + view.getVotesAgainst(seat);
+        }
+        return known != view.getRole().getTeam() ? SUSPECT + view.getVotesAgainst(seat) : 0;
+    }
+
+    // A shared ending beats an even Destiny Draw
+    boolean choosePeace(SeatProjection view, int partnerSeat) {
+        return true;
+    }
+
+    // Destiny Draw is played exactly: the solved policy for the score (see DestinyDrawTable)
+    boolean keepCard(int card, int ownScore, int opponentScore, RandomGenerator random) {
+        return DestinyDrawTable.standard().keepCard(card, ownScore, opponentScore, random);
+    }
+
+    // Index of the best-scoring option, or PASS if all are ruled out
+    final int choose(SeatProjection view, List<GameCharacter> options, boolean night, RandomGenerator random) {
+        int best = PlayerController.PASS;
+        int bestScore = NEVER;
+        int ties = 0;
+        for (int i = 0; i < options.size(); i++) {
+            int seat = options.get(i).getSeat();
+            int score = night ? nightScore(view, seat) : voteScore(view, seat);
+            if (score == NEVER || score < bestScore) {
+                continue;
+            }
+            if (score > bestScore) {
+                bestScore = score;
+                best = i;
+                ties = 1;
+            } else if (random.nextInt(++ties) == 0) {
+                // Reservoir sampling: each of the tied options ends up chosen with equal chance
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    // Scores a seat for a role acting against the other team: the most dangerous known role first, then the
+    // second, then any known enemy; known allies are ruled out
+    static int enemyScore(SeatProjection view, int seat, Role first, Role second) {
+        Role role = view.getKnownRole(seat);
+        if (role == first) {
+            return SUSPECT + 2;
+        }
+        if (role == second) {
+            return SUSPECT + 1;
+        }
+        Team team = view.getKnownTeam(seat);
+        if (team == null) {
+            return UNKNOWN;
+        }
+        return team == view.getRole().getTeam() ? NEVER : SUSPECT;
+    }
+}
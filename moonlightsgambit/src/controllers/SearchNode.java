@@ -0,0 +1,71 @@
+package moonlightsgambit.controllers;
+
+// One node of a search tree: a choice of the searching seat, reached by the choices it made before.
+// Opponents' moves and hidden roles differ from playout to playout, so an option is not always on offer when a
+// node is reached; each child counts how often it was available and is explored against that count.
+final class SearchNode {
+    // Key of the root, which no choice leads to
+    static final int NO_CHOICE = -1;
+
+    private final int choice;
+    private SearchNode firstChild;
+    private SearchNode nextSibling;
+    private int visits;
+    private int available;
+    private double reward;
+
+    SearchNode(int choice) {
+        this.choice = choice;
+    }
+
+    int getChoice() {
+        return choice;
+    }
+
+    int getVisits() {
+        return visits;
+    }
+
+    double getReward() {
+        return reward;
+    }
+
+    SearchNode getFirstChild() {
+        return firstChild;
+    }
+
+    SearchNode getNextSibling() {
+        return nextSibling;
+    }
+
+    // Child for a choice, or null if it has not been tried yet
+    SearchNode child(int key) {
+        for (SearchNode child = firstChild; child != null; child = child.nextSibling) {
+            if (child.choice == key) {
+                return child;
+            }
+        }
+        return null;
+    }
+
+    SearchNode addChild(int key) {
+        SearchNode child = new SearchNode(key);
+        child.nextSibling = firstChild;
+        firstChild = child;
+        return child;
+    }
+
+    void markAvailable() {
+        available++;
+    }
+
+    void update(double value) {
+        visits++;
+        reward += value;
+    }
+
+    // UCB1 with the availability count in place of the parent's visits
+    double upperBound(double exploration) {
+        return reward / visits + exploration * Math.sqrt(Math.log(available) / visits);
+    }
+}
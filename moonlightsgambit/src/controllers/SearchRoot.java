@@ -0,0 +1,110 @@
+package moonlightsgambit.controllers;
+
+import java.util.List;
+import moonlightsgambit.characters.GameCharacter;
+import moonlightsgambit.enums.Role;
+import moonlightsgambit.enums.Team;
+import moonlightsgambit.state.PackedState;
+import moonlightsgambit.state.RoleBeliefs;
+import moonlightsgambit.state.SeatProjection;
+
+// One decision a search is about: everything the deciding seat knows at that moment, copied out of its projection
+// so that search workers on other threads never touch the live game.
+final class SearchRoot {
+    static final int NIGHT = 0;
+    static final int VOTE = 1;
+    static final int PEACE = 2;
+    // Options of a peace decision
+    static final int CHAOS = 0;
+    static final int PEACE_OFFERED = 1;
+
+    private static final Role[] ROLES = Role.values();
+
+    final int kind;
+    final int seat;
+    final int seatCount;
+    final Role role;
+    final int cycle;
+    // Roles and teams this seat knows, null where unknown; its own role included
+    final Role[] knownRoles;
+    final Team[] knownTeams;
+    final boolean[] alive;
+    // The last vote tally read out to the table; ballots of the vote in progress are secret
+    final int[] tally;
+    // Roles left to deal out among the seats whose role is unknown, by role ordinal
+    final int[] hiddenRoles;
+    // What the game offers, in the game's order: target seats, or CHAOS and PEACE_OFFERED
+    final int[] options;
+    // Running totals of the seat's role beliefs over the permutations; null on tables that keep none
+    final double[] dealOdds;
+
+    private SearchRoot(int kind, SeatProjection view, Role[] deck, int[] options, int partner, Role partnerRole) {
+        this.kind = kind;
+        this.seat = view.getSeat();
+        this.seatCount = view.getSeatCount();
+        this.role = view.getRole();
+        this.cycle = view.getCycle();
+        this.knownRoles = new Role[seatCount];
+        this.knownTeams = new Team[seatCount];
+        this.alive = new boolean[seatCount];
+        this.tally = new int[seatCount];
+        this.hiddenRoles = new int[ROLES.length];
+        this.options = options;
+        for (Role dealt : deck) {
+            hiddenRoles[dealt.ordinal()]++;
+        }
+        for (int other = 0; other < seatCount; other++) {
+            knownRoles[other] = other == partner ? partnerRole : view.getKnownRole(other);
+            knownTeams[other] = other == partner ? partnerRole.getTeam() : view.getKnownTeam(other);
+            alive[other] = view.isAlive(other);
+            tally[other] = view.getVotesAgainst(other);
+            if (knownRoles[other] != null) {
+                hiddenRoles[knownRoles[other].ordinal()]--;
+            }
+        }
+        for (int count : hiddenRoles) {
+            if (count < 0) {
+                throw new IllegalStateException("Known roles do not fit the table's role deck");
+            }
+        }
+        this.dealOdds = view.hasRoleBeliefs() ? cumulativeBeliefs(view) : null;
+    }
+
+    private static double[] cumulativeBeliefs(SeatProjection view) {
+        double[] cumulative = new double[RoleBeliefs.PERMUTATIONS];
+        double total = 0;
+        for (int perm = 0; perm < cumulative.length; perm++) {
+            total += view.getPermutationProbability(perm);
+            cumulative[perm] = total;
+        }
+        return cumulative;
+    }
+
+    static SearchRoot night(SeatProjection view, Role[] deck, List<GameCharacter> targets) {
+        return new SearchRoot(NIGHT, view, deck, seatsOf(targets, PackedState.NO_SEAT), PackedState.NO_SEAT, null);
+    }
+
+    // The voter itself is listed among the candidates by the game but is never an option
+    static SearchRoot vote(SeatProjection view, Role[] deck, List<GameCharacter> candidates) {
+        return new SearchRoot(VOTE, view, deck, seatsOf(candidates, view.getSeat()), PackedState.NO_SEAT, null);
+    }
+
+    // The dilemma itself names both roles, so the partner's is known even before the choices are revealed
+    static SearchRoot peace(SeatProjection view, Role[] deck, int partner, Role partnerRole) {
+        return new SearchRoot(PEACE, view, deck, new int[] { CHAOS, PEACE_OFFERED }, partner, partnerRole);
+    }
+
+    private static int[] seatsOf(List<GameCharacter> players, int excluded) {
+        int count = 0;
+        for (int i = 0; i < players.size(); i++) {
+            if (players.get(i).getSeat() != excluded) count++;
+        }
+        int[] seats = new int[count];
+        int next = 0;
+        for (int i = 0; i < players.size(); i++) {
+            int other = players.get(i).getSeat();
+            if (other != excluded) seats[next++] = other;
+        }
+        return seats;
+    }
+}
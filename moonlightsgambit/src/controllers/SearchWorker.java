@@ -0,0 +1,583 @@
+package moonlightsgambit.controllers;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.RecursiveTask;
+import moonlightsgambit.enums.DecisionKind;
+import moonlightsgambit.enums.Role;
+import moonlightsgambit.enums.Team;
+import moonlightsgambit.evaluation.EvaluationModel;
+import moonlightsgambit.selfplay.DecisionColumn;
+import moonlightsgambit.solver.DestinyDrawTable;
+import moonlightsgambit.state.PackedState;
+import moonlightsgambit.state.RoleBeliefs;
+
+// One thread's share of a search: its own tree, grown by playouts until the deadline.
+//
+// Every playout deals the hidden roles afresh, consistent with what the searching seat knows and, on classic tables,
+// as likely as its RoleBeliefs make each deal; then it plays the rest
+// of the game on a small mutable table that follows the rules of MoonPhase, DawnPhase and VotingPhase, including
+// the final-two endings and Destiny Draw. The searching seat's choices walk down the tree (UCB1 over the options
+// available in this deal) until a choice is tried for the first time; from there on, and for every other seat,
+// choices follow the playout policy (see choose), peace is always offered and Destiny Draw is settled by its solved odds.
+// Ballots are secret until the tally, so a playout of a vote deals the ballots cast before the searching seat's turn
+// by the playout policy too.
+// Given an EvaluationModel, the playout policy takes each night target and vote the model rates best instead.
+// Workers share nothing, so a search on N threads runs N times the playouts in the same time.
+final class SearchWorker extends RecursiveTask<SearchWorker> {
+    private static final long serialVersionUID = 1L;
+    private static final Role[] ROLES = Role.values();
+    private static final Team[] TEAMS = Team.values();
+    private static final double EXPLORATION = 0.7;
+    // A team win is worth 1, a loss 0; shared endings and stalled games count as half
+    private static final double WIN = 1.0;
+    private static final double HALF = 0.5;
+    private static final double LOSS = 0.0;
+    private static final double UNDECIDED = -1.0;
+    // Mirrors the headless cycle limit; unreachable in practice but keeps a playout finite
+    private static final int CYCLES_PER_SEAT = 25;
+    private static final int CHECK_CLOCK_EVERY = 16;
+    private static final int DEAL_ATTEMPTS = 32;
+    private static final int KEY_SHIFT = 16;
+    private static final int NO_SEAT = PackedState.NO_SEAT;
+    private static final DestinyDrawTable DUEL = DestinyDrawTable.standard();
+
+    private final SearchRoot root;
+    private final EvaluationModel model;
+    private final long deadline;
+    private final SplittableRandom random;
+    private final SearchNode tree = new SearchNode(SearchNode.NO_CHOICE);
+    private final int seats;
+    private final Team ownTeam;
+
+    // The table of the current playout
+    private final Role[] roles;
+    private final boolean[] alive;
+    private final boolean[] blessed;
+    private final boolean[] blocked;
+    private final boolean[] sabotaged;
+    private final boolean[] hunted;
+    // Last tally read out, and the ballots of the vote in progress
+    private final int[] tally;
+    private final int[] ballots;
+    // Enemy a Seeker has found and will accuse, or NO_SEAT
+    private final int[] found;
+    private final int[] teamAlive = new int[TEAMS.length];
+    private int aliveCount;
+    // Game cycle the playout has reached
+    private int cycle;
+
+    // Scratch space
+    private final Role[] hidden;
+    private final int[] options;
+    private SearchNode[] path = new SearchNode[16];
+    private int pathLength;
+    private SearchNode node;
+    private boolean inTree;
+    private long playouts;
+
+    // model may be null for the rule-based playout policy
+    SearchWorker(SearchRoot root, EvaluationModel model, long deadline, SplittableRandom random) {
+        this.root = root;
+        this.model = model;
+        this.deadline = deadline;
+        this.random = random;
+        this.seats = root.seatCount;
+        this.ownTeam = root.role.getTeam();
+        this.roles = new Role[seats];
+        this.alive = new boolean[seats];
+        this.blessed = new boolean[seats];
+        this.blocked = new boolean[seats];
+        this.sabotaged = new boolean[seats];
+        this.hunted = new boolean[seats];
+        this.tally = new int[seats];
+        this.ballots = new int[seats];
+        this.found = new int[seats];
+        this.hidden = new Role[seats];
+        this.options = new int[seats];
+    }
+
+    @Override
+    protected SearchWorker compute() {
+        do {
+            for (int i = 0; i < CHECK_CLOCK_EVERY; i++) {
+                playOnce();
+            }
+        } while (System.nanoTime() < deadline);
+        return this;
+    }
+
+    long getPlayouts() {
+        return playouts;
+    }
+
+    // Adds this worker's visits and rewards of each root option to the totals, indexed like root.options
+    void addRootStatistics(long[] visits, double[] rewards) {
+        for (int i = 0; i < root.options.length; i++) {
+            SearchNode child = tree.child(key(root.kind, root.options[i]));
+            if (child != null) {
+                visits[i] += child.getVisits();
+                rewards[i] += child.getReward();
+            }
+        }
+    }
+
+    private void playOnce() {
+        deal();
+        pathLength = 0;
+        push(tree);
+        inTree = true;
+        double reward = playOut();
+        for (int i = 0; i < pathLength; i++) {
+            path[i].update(reward);
+        }
+        playouts++;
+    }
+
+    /* ---------- DETERMINIZATION ---------- */
+
+    // Deals the roles this seat does not know, and guesses the hidden night statuses still in play
+    private void deal() {
+        if (root.dealOdds == null || !dealByBeliefs()) {
+            dealUniformly();
+        }
+        Arrays.fill(teamAlive, 0);
+        aliveCount = 0;
+        for (int seat = 0; seat < seats; seat++) {
+            alive[seat] = root.alive[seat];
+            if (alive[seat]) {
+                aliveCount++;
+                teamAlive[roles[seat].getTeam().ordinal()]++;
+            }
+        }
+        Arrays.fill(blessed, false);
+        Arrays.fill(hunted, false);
+        Arrays.fill(blocked, false);
+        Arrays.fill(sabotaged, false);
+        Arrays.fill(found, NO_SEAT);
+        if (root.role == Role.SEEKER) {
+            found[root.seat] = knownEnemy();
+        }
+        // Last night's sabotage blocks tonight's actions; tonight's is already cast when the vote comes
+        if (root.kind == SearchRoot.NIGHT && root.cycle > 1) {
+            guessSabotage(blocked);
+        } else if (root.kind == SearchRoot.VOTE) {
+            guessSabotage(sabotaged);
+        }
+    }
+
+    private void dealUniformly() {
+        int count = 0;
+        for (int role = 0; role < ROLES.length; role++) {
+            for (int i = 0; i < root.hiddenRoles[role]; i++) {
+                hidden[count++] = ROLES[role];
+            }
+        }
+        for (int attempt = 0; attempt < DEAL_ATTEMPTS; attempt++) {
+            shuffle(hidden, count);
+            if (assignHidden() || attempt == DEAL_ATTEMPTS - 1) {
+                break;
+            }
+        }
+    }
+
+    // Draws a whole deal from the seat's beliefs; false if it contradicts what the seat knows
+    private boolean dealByBeliefs() {
+        double[] odds = root.dealOdds;
+        double pick = random.nextDouble() * odds[odds.length - 1];
+        int perm = 0;
+        while (perm < odds.length - 1 && odds[perm] <= pick) {
+            perm++;
+        }
+        for (int seat = 0; seat < seats; seat++) {
+            roles[seat] = RoleBeliefs.roleOf(perm, seat);
+            Role known = root.knownRoles[seat];
+            Team team = root.knownTeams[seat];
+            if ((known != null && known != roles[seat]) || (team != null && team != roles[seat].getTeam())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Fills the unknown seats from the shuffled roles; false if a team shown in a Destiny Draw does not match
+    private boolean assignHidden() {
+        int next = 0;
+        boolean consistent = true;
+        for (int seat = 0; seat < seats; seat++) {
+            Role known = root.knownRoles[seat];
+            roles[seat] = known != null ? known : hidden[next++];
+            if (root.knownTeams[seat] != null && roles[seat].getTeam() != root.knownTeams[seat]) {
+                consistent = false;
+            }
+        }
+        return consistent;
+    }
+
+    // A living seat the searching seat knows to be an enemy, or NO_SEAT
+    private int knownEnemy() {
+        for (int seat = 0; seat < seats; seat++) {
+            if (alive[seat] && root.knownTeams[seat] != null && root.knownTeams[seat] != ownTeam) {
+                return seat;
+            }
+        }
+        return NO_SEAT;
+    }
+
+    private void guessSabotage(boolean[] marks) {
+        for (int seat = 0; seat < seats; seat++) {
+            if (alive[seat] && roles[seat] == Role.SABOTEUR) {
+                int target = randomOther(seat);
+                if (target != NO_SEAT) marks[target] = true;
+            }
+        }
+    }
+
+    private void shuffle(Role[] deck, int count) {
+        for (int i = count - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            Role swap = deck[i];
+            deck[i] = deck[j];
+            deck[j] = swap;
+        }
+    }
+
+    /* ---------- PLAYOUT ---------- */
+
+    // Plays the game out from the root decision; returns the searching seat's reward
+    private double playOut() {
+        double result = UNDECIDED;
+        cycle = root.cycle;
+        if (root.kind == SearchRoot.PEACE) {
+            return finalTwo();
+        }
+        System.arraycopy(root.tally, 0, tally, 0, seats);
+        if (root.kind == SearchRoot.VOTE) {
+            result = votingPhase();
+        }
+        int cycleLimit = CYCLES_PER_SEAT * seats;
+        for (int round = 0; result == UNDECIDED && round < cycleLimit; round++) {
+            if (round > 0 || root.kind == SearchRoot.VOTE) {
+                beginRound();
+                cycle++;
+            }
+            moonPhase();
+            result = dawnPhase();
+            if (result == UNDECIDED) {
+                result = votingPhase();
+            }
+        }
+        return result == UNDECIDED ? HALF : result;
+    }
+
+    // Night statuses reset; last night's sabotage blocks its living targets
+    private void beginRound() {
+        for (int seat = 0; seat < seats; seat++) {
+            blocked[seat] = sabotaged[seat] && alive[seat];
+            sabotaged[seat] = false;
+            blessed[seat] = false;
+            hunted[seat] = false;
+        }
+    }
+
+    // Night actions in seat order, as in MoonPhase and each character's performAction
+    private void moonPhase() {
+        for (int seat = 0; seat < seats; seat++) {
+            Role role = roles[seat];
+            if (!alive[seat]) {
+                continue;
+            }
+            if (role == Role.SEEKER) {
+                investigate(seat);
+                continue;
+            }
+            int count = 0;
+            if (role == Role.BELIEVER) options[count++] = seat;
+            for (int other = 0; other < seats; other++) {
+                if (other != seat && alive[other]) options[count++] = other;
+            }
+            if (count == 0) {
+                continue;
+            }
+            int target = choose(seat, SearchRoot.NIGHT, count);
+            if (blocked[seat] && role != Role.SABOTEUR) {
+                continue;
+            }
+            if (role == Role.BELIEVER) {
+                blessed[target] = true;
+            } else if (role == Role.REAPER) {
+                hunted[target] = true;
+            } else {
+                sabotaged[target] = true;
+            }
+        }
+    }
+
+    // The Seeker's pick only changes what it knows, so it is not searched; an enemy it finds is accused from then on
+    private void investigate(int seat) {
+        int target = randomOther(seat);
+        if (!blocked[seat] && target != NO_SEAT && found[seat] == NO_SEAT && roles[target].getTeam() == Team.EVIL) {
+            found[seat] = target;
+        }
+    }
+
+    // Every hunted seat still unblessed dies; two survivors go straight to the finale
+    private double dawnPhase() {
+        for (int seat = 0; seat < seats; seat++) {
+            if (hunted[seat] && alive[seat] && !blessed[seat]) {
+                kill(seat);
+            }
+        }
+        if (aliveCount == 2) {
+            return finalTwo();
+        }
+        return aliveCount < 2 ? teamEliminated() : UNDECIDED;
+    }
+
+    // Every living seat accuses someone else; the tally is read out and a unique top count is banished
+    private double votingPhase() {
+        Arrays.fill(ballots, 0);
+        for (int voter = 0; voter < seats; voter++) {
+            if (!alive[voter]) {
+                continue;
+            }
+            int count = 0;
+            for (int other = 0; other < seats; other++) {
+                if (other != voter && alive[other]) options[count++] = other;
+            }
+            ballots[choose(voter, SearchRoot.VOTE, count)]++;
+        }
+        System.arraycopy(ballots, 0, tally, 0, seats);
+
+        int maxVotes = 0;
+        int eliminated = -1;
+        boolean isTie = false;
+        for (int seat = 0; seat < seats; seat++) {
+            if (!alive[seat]) continue;
+            if (tally[seat] > maxVotes) {
+                maxVotes = tally[seat];
+                eliminated = seat;
+                isTie = false;
+            } else if (tally[seat] == maxVotes && maxVotes > 0) {
+                isTie = true;
+            }
+        }
+        if (!isTie && maxVotes > 0) {
+            kill(eliminated);
+            if (aliveCount == 2) {
+                return finalTwo();
+            }
+        }
+        return teamEliminated();
+    }
+
+    // Reward once a team has no living members, else UNDECIDED
+    private double teamEliminated() {
+        boolean good = teamAlive[Team.GOOD.ordinal()] > 0;
+        boolean evil = teamAlive[Team.EVIL.ordinal()] > 0;
+        if (good && evil) {
+            return UNDECIDED;
+        }
+        if (!good && !evil) {
+            return HALF;
+        }
+        return teamReward(good ? Team.GOOD : Team.EVIL);
+    }
+
+    // Mirrors VotingPhase.handleFinalTwoPlayers
+    private double finalTwo() {
+        int first = -1;
+        int second = -1;
+        for (int seat = 0; seat < seats; seat++) {
+            if (!alive[seat]) continue;
+            if (first < 0) first = seat;
+            else second = seat;
+        }
+        Role firstRole = roles[first];
+        Role secondRole = roles[second];
+        if (isPair(firstRole, secondRole, Role.BELIEVER, Role.REAPER)
+                || isPair(firstRole, secondRole, Role.SEEKER, Role.SABOTEUR)) {
+            boolean firstPeace = choosePeace(first);
+            boolean secondPeace = choosePeace(second);
+            if (firstPeace && secondPeace) {
+                return HALF;
+            }
+        } else if (firstRole.getTeam() == secondRole.getTeam()) {
+            return teamReward(firstRole.getTeam());
+        }
+        return teamReward(destinyDraw() ? firstRole.getTeam() : secondRole.getTeam());
+    }
+
+    private static boolean isPair(Role a, Role b, Role x, Role y) {
+        return (a == x && b == y) || (a == y && b == x);
+    }
+
+    // True if the first player wins; both play the solved policy, so the winner is drawn from its 0-0 odds
+    private boolean destinyDraw() {
+        return random.nextDouble() < DUEL.winProbability(0, 0);
+    }
+
+    private void kill(int seat) {
+        alive[seat] = false;
+        aliveCount--;
+        teamAlive[roles[seat].getTeam().ordinal()]--;
+    }
+
+    private double teamReward(Team winner) {
+        return winner == ownTeam ? WIN : LOSS;
+    }
+
+    /* ---------- CHOICES ---------- */
+
+    // Picks one of options[0..count) for the seat: down the tree for the searching seat, else by the playout
+    // policy. Playouts play the way tables tend to: Believers shield themselves, Seekers accuse the enemies they
+    // found, other voters repeat the last tally's leading accusation, and everything else is random.
+    private int choose(int seat, int kind, int count) {
+        if (seat == root.seat && inTree) {
+            return select(kind, count);
+        }
+        if (model != null) {
+            return chooseByModel(seat, kind, count);
+        }
+        if (kind == SearchRoot.VOTE) {
+            int enemy = found[seat];
+            return enemy != NO_SEAT && alive[enemy] ? enemy : followTally(count);
+        }
+        return roles[seat] == Role.BELIEVER ? seat : options[random.nextInt(count)];
+    }
+
+    // The option the model rates best for the seat, ties at random. The seat knows itself, the enemy it found and,
+    // for the searching seat, the teams known at the root; on classic tables any other seat is an enemy with the
+    // odds of a random pick among the rest.
+    private int chooseByModel(int seat, int kind, int count) {
+        DecisionKind decision = kind == SearchRoot.VOTE ? DecisionKind.VOTE : DecisionKind.NIGHT;
+        Role role = roles[seat];
+        Team team = role.getTeam();
+        int enemy = found[seat] != NO_SEAT && alive[found[seat]] ? found[seat] : NO_SEAT;
+        int unknownEnemies = teamAlive[team == Team.GOOD ? Team.EVIL.ordinal() : Team.GOOD.ordinal()];
+        int unknownSeats = aliveCount - 1;
+        if (enemy != NO_SEAT) {
+            unknownEnemies--;
+            unknownSeats--;
+        }
+        double prior = root.dealOdds == null || unknownSeats <= 0 ? -1 : (double) unknownEnemies / unknownSeats;
+        int maxVotes = 0;
+        if (kind == SearchRoot.VOTE) {
+            for (int i = 0; i < count; i++) {
+                maxVotes = Math.max(maxVotes, tally[options[i]]);
+            }
+        }
+        int best = options[0];
+        double bestScore = Double.NEGATIVE_INFINITY;
+        int ties = 0;
+        for (int i = 0; i < count; i++) {
+            int other = options[i];
+            int known = DecisionColumn.KNOWN_UNKNOWN;
+            double enemyChance = prior;
+            if (other == seat) {
+                known = DecisionColumn.KNOWN_ALLY;
+            } else if (other == enemy) {
+                known = DecisionColumn.KNOWN_ENEMY;
+            } else if (seat == root.seat && root.knownTeams[other] != null) {
+                known = root.knownTeams[other] == team ? DecisionColumn.KNOWN_ALLY : DecisionColumn.KNOWN_ENEMY;
+            }
+            if (known != DecisionColumn.KNOWN_UNKNOWN) {
+                enemyChance = known == DecisionColumn.KNOWN_ENEMY ? 1 : 0;
+            }
+            int votes = kind == SearchRoot.VOTE ? tally[other] : 0;
+            double score = model.score(decision, role, seats, aliveCount, cycle, known, other == seat, votes,
+                    votes > 0 && votes == maxVotes, enemyChance);
+            if (score < bestScore) {
+                continue;
+            }
+            if (score > bestScore) {
+                bestScore = score;
+                best = other;
+                ties = 1;
+            } else if (random.nextInt(++ties) == 0) {
+                best = other;
+            }
+        }
+        return best;
+    }
+
+    private boolean choosePeace(int seat) {
+        if (seat != root.seat || !inTree) {
+            return true;
+        }
+        options[0] = SearchRoot.CHAOS;
+        options[1] = SearchRoot.PEACE_OFFERED;
+        return select(SearchRoot.PEACE, 2) == SearchRoot.PEACE_OFFERED;
+    }
+
+    // Tries an untried option if there is one, else the child with the best upper bound among those on offer
+    private int select(int kind, int count) {
+        SearchNode best = null;
+        double bestBound = Double.NEGATIVE_INFINITY;
+        int untried = -1;
+        int untriedCount = 0;
+        for (int i = 0; i < count; i++) {
+            SearchNode child = node.child(key(kind, options[i]));
+            if (child == null) {
+                // Reservoir sampling picks one untried option uniformly
+                if (random.nextInt(++untriedCount) == 0) untried = options[i];
+                continue;
+            }
+            child.markAvailable();
+            if (untriedCount == 0) {
+                double bound = child.upperBound(EXPLORATION);
+                if (bound > bestBound) {
+                    bestBound = bound;
+                    best = child;
+                }
+            }
+        }
+        if (untriedCount > 0) {
+            SearchNode child = node.addChild(key(kind, untried));
+            child.markAvailable();
+            push(child);
+            inTree = false;
+            return untried;
+        }
+        push(best);
+        return best.getChoice() & ((1 << KEY_SHIFT) - 1);
+    }
+
+    private void push(SearchNode next) {
+        if (pathLength == path.length) {
+            path = Arrays.copyOf(path, pathLength * 2);
+        }
+        path[pathLength++] = next;
+        node = next;
+    }
+
+    private static int key(int kind, int option) {
+        return (kind << KEY_SHIFT) | option;
+    }
+
+    // Repeats the last tally's accusation with the most votes, a random one among ties; anyone at random if none yet
+    private int followTally(int count) {
+        int best = -1;
+        int ties = 0;
+        for (int i = 0; i < count; i++) {
+            int votes = tally[options[i]];
+            if (best >= 0 && votes < tally[best]) continue;
+            if (best < 0 || votes > tally[best]) {
+                best = options[i];
+                ties = 1;
+            } else if (random.nextInt(++ties) == 0) {
+                best = options[i];
+            }
+        }
+        return best;
+    }
+
+    // A random living seat other than the given one, or NO_SEAT
+    private int randomOther(int seat) {
+        int count = 0;
+        for (int other = 0; other < seats; other++) {
+            if (other != seat && alive[other]) options[count++] = other;
+        }
+        return count == 0 ? NO_SEAT : options[random.nextInt(count)];
+    }
+}
@@ -0,0 +1,22 @@
+package moonlightsgambit.enums;
+
+// Represents how a player left the game
+public enum DeathCause {
+    HUNTED("Found lifeless at dawn"),
+    BANISHED("Banished by the academy");
+
+    private final String displayName;
+
+    DeathCause(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
@@ -0,0 +1,43 @@
+package moonlightsgambit.enums;
+
+// Represents every kind of choice a seat makes; codes are stored in self-play files and must never change
+public enum DecisionKind {
+    NIGHT(1, "Night target"),
+    VOTE(2, "Vote"),
+    PEACE(3, "Peace or chaos"),
+    KEEP(4, "Keep or redraw");
+
+    private static final DecisionKind[] BY_CODE = new DecisionKind[5];
+
+    static {
+        for (DecisionKind kind : values()) {
+            BY_CODE[kind.code] = kind;
+        }
+    }
+
+    private final int code;
+    private final String displayName;
+
+    DecisionKind(int code, String displayName) {
+        this.code = code;
+        this.displayName = displayName;
+    }
+
+    public int getCode() {
+        return code;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    // Looks up a stored code; null for codes this version does not know
+    public static DecisionKind fromCode(int code) {
+        return code > 0 && code < BY_CODE.length ? BY_CODE[code] : null;
+    }
+
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
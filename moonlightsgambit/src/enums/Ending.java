@@ -0,0 +1,26 @@
+package moonlightsgambit.enums;
+
+// Represents the different ways a game can conclude
+public enum Ending {
+    SAME_TEAM("Same Team Victory"),
+    LOVERS_PEACE("Love Conquers All"),
+    FRIENDS_PEACE("A Wounded Friendship Remains"),
+    DESTINY_DRAW("Destiny Draw"),
+    TEAM_ELIMINATED("Team Eliminated"),
+    CYCLE_LIMIT("Cycle Limit Reached");
+
+    private final String displayName;
+
+    Ending(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
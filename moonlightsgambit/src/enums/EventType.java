@@ -0,0 +1,55 @@
+package moonlightsgambit.enums;
+
+// Represents every kind of action a game records; codes are stored on disk and must never change
+public enum EventType {
+    GAME_START(1, "Game started"),
+    ROLE_DEALT(2, "Role dealt"),
+    CYCLE_START(3, "Cycle started"),
+    BLESS(4, "Blessing"),
+    HUNT(5, "Hunt"),
+    SABOTAGE(6, "Sabotage"),
+    INVESTIGATE(7, "Investigation"),
+    ACTION_BLOCKED(8, "Action blocked"),
+    DEATH(9, "Death"),
+    VOTE(10, "Vote"),
+    PEACE_CHOICE(11, "Peace or chaos"),
+    CARD_DRAW(12, "Card drawn"),
+    CARD_KEEP(13, "Keep or redraw"),
+    GAME_END(14, "Game ended"),
+    DAWN(15, "Dawn"),
+    VOTE_TALLY(16, "Vote tally");
+
+    private static final EventType[] BY_CODE = new EventType[17];
+
+    static {
+        for (EventType type : values()) {
+            BY_CODE[type.code] = type;
+        }
+    }
+
+    private final int code;
+    private final String displayName;
+
+    EventType(int code, String displayName) {
+        this.code = code;
+        this.displayName = displayName;
+    }
+
+    public int getCode() {
+        return code;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    // Looks up a stored code; null for codes this version does not know (0 marks unused journal space)
+    public static EventType fromCode(int code) {
+        return code > 0 && code < BY_CODE.length ? BY_CODE[code] : null;
+    }
+
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
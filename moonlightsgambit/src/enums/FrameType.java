@@ -0,0 +1,48 @@
+package moonlightsgambit.enums;
+
+// Kinds of frame exchanged with remote players; codes go over the wire and must never change
+public enum FrameType {
+    // Server to client
+    TEXT(1, "Text"),
+    CLEAR(2, "Clear screen"),
+    PROMPT(3, "Prompt"),
+    CLOSE(4, "Close"),
+    // Client to server: the answer to the last prompt
+    REPLY(5, "Reply"),
+    // Spectator to server: the id of the table to watch, blank for the newest
+    WATCH(6, "Watch");
+
+    private static final FrameType[] BY_CODE = new FrameType[8];
+
+    static {
+        for (FrameType type : values()) {
+            BY_CODE[type.code] = type;
+        }
+    }
+
+    private final int code;
+    private final String displayName;
+
+    FrameType(int code, String displayName) {
+        this.code = code;
+        this.displayName = displayName;
+    }
+
+    public int getCode() {
+        return code;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    // Looks up a received code; null for codes this version does not know
+    public static FrameType fromCode(int code) {
+        return code > 0 && code < BY_CODE.length ? BY_CODE[code] : null;
+    }
+
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
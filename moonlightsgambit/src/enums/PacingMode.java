@@ -0,0 +1,23 @@
+package moonlightsgambit.enums;
+
+// How narrative delays are played out
+public enum PacingMode {
+    INTERACTIVE("interactive"),
+    FAST_FORWARD("fast"),
+    VIRTUAL("virtual");
+
+    private final String displayName;
+
+    PacingMode(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
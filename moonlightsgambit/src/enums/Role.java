@@ -0,0 +1,30 @@
+package moonlightsgambit.enums;
+
+// Represents the four roles fate can deal a player
+public enum Role {
+    BELIEVER("Believer", Team.GOOD),
+    SEEKER("Seeker", Team.GOOD),
+    REAPER("Reaper", Team.EVIL),
+    SABOTEUR("Saboteur", Team.EVIL);
+
+    private final String displayName;
+    private final Team team;
+
+    Role(String displayName, Team team) {
+        this.displayName = displayName;
+        this.team = team;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public Team getTeam() {
+        return team;
+    }
+
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
@@ -0,0 +1,147 @@
+package moonlightsgambit.evaluation;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import moonlightsgambit.enums.DecisionKind;
+import moonlightsgambit.enums.Role;
+import moonlightsgambit.selfplay.DecisionColumn;
+
+// Logistic model of a seat's chance to win the game, given the seat it targets at night or accuses in a vote.
+//
+// There is one block of weights per (decision kind, role), so every role learns its own preferences; within a
+// block the features are the ones encode() lists, computed the same way from self-play rows (EvaluationTrainer),
+// live projections (ModelBot) and search playouts (SearchWorker). Ballots only count in votes.
+// Scoring is a few multiply-adds over a final array: allocation-free, safe to share across threads.
+public final class EvaluationModel {
+    public static final int FEATURES = 10;
+    private static final int ROLE_COUNT = Role.values().length;
+    public static final int WEIGHTS = 2 * ROLE_COUNT * FEATURES;
+
+    // Feature positions within a block
+    static final int BIAS = 0;
+    static final int KNOWN_ALLY = 1;
+    static final int KNOWN_ENEMY = 2;
+    static final int SELF = 3;
+    static final int VOTE_SHARE = 4;
+    static final int VOTE_LEADER = 5;
+    static final int ENEMY_CHANCE = 6;
+    static final int NO_ESTIMATE = 7;
+    static final int ALIVE_SHARE = 8;
+    static final int FIRST_CYCLE = 9;
+
+    private static final int MAGIC = 0x4C444F4D;
+    private static final int VERSION = 1;
+
+    private final double[] weights;
+
+    public EvaluationModel(double[] weights) {
+        if (weights == null || weights.length != WEIGHTS) {
+            throw new IllegalArgumentException("Model needs exactly " + WEIGHTS + " weights");
+        }
+        this.weights = weights.clone();
+    }
+
+    // Logit of the win chance; options rank the same by logit as by chance, without the exponential.
+    // knownTeam is a DecisionColumn.KNOWN_* value; enemyChance is negative where the seat has no estimate.
+    public double score(DecisionKind kind, Role role, int seats, int alive, int cycle, int knownTeam, boolean self,
+                        int votesAgainst, boolean leader, double enemyChance) {
+        int base = block(kind, role);
+        double sum = weights[base + BIAS];
+        if (knownTeam == DecisionColumn.KNOWN_ALLY) sum += weights[base + KNOWN_ALLY];
+        else if (knownTeam == DecisionColumn.KNOWN_ENEMY) sum += weights[base + KNOWN_ENEMY];
+        if (self) sum += weights[base + SELF];
+        if (kind == DecisionKind.VOTE) {
+            sum += weights[base + VOTE_SHARE] * voteShare(votesAgainst, alive);
+            if (leader) sum += weights[base + VOTE_LEADER];
+        }
+        if (enemyChance < 0) sum += weights[base + NO_ESTIMATE];
+        else sum += weights[base + ENEMY_CHANCE] * enemyChance;
+        sum += weights[base + ALIVE_SHARE] * ((double) alive / seats);
+        if (cycle <= 1) sum += weights[base + FIRST_CYCLE];
+        return sum;
+    }
+
+    public double winChance(DecisionKind kind, Role role, int seats, int alive, int cycle, int knownTeam,
+                            boolean self, int votesAgainst, boolean leader, double enemyChance) {
+        return sigmoid(score(kind, role, seats, alive, cycle, knownTeam, self, votesAgainst, leader, enemyChance));
+    }
+
+    public double getWeight(DecisionKind kind, Role role, int feature) {
+        if (feature < 0 || feature >= FEATURES) {
+            throw new IllegalArgumentException("Feature out of range: " + feature);
+        }
+        return weights[block(kind, role) + feature];
+    }
+
+    // First weight of the block for the decision kind and role; only NIGHT and VOTE have blocks
+    static int block(DecisionKind kind, Role role) {
+        if (kind != DecisionKind.NIGHT && kind != DecisionKind.VOTE) {
+            throw new IllegalArgumentException("The model only scores night targets and votes: " + kind);
+        }
+        return ((kind == DecisionKind.VOTE ? ROLE_COUNT : 0) + role.ordinal()) * FEATURES;
+    }
+
+    // Writes the features score() weighs into out[offset..offset + FEATURES); must stay in step with score()
+    static void encode(float[] out, int offset, DecisionKind kind, int seats, int alive, int cycle, int knownTeam,
+                       boolean self, int votesAgainst, boolean leader, double enemyChance) {
+        boolean vote = kind == DecisionKind.VOTE;
+        out[offset + BIAS] = 1;
+        out[offset + KNOWN_ALLY] = knownTeam == DecisionColumn.KNOWN_ALLY ? 1 : 0;
+        out[offset + KNOWN_ENEMY] = knownTeam == DecisionColumn.KNOWN_ENEMY ? 1 : 0;
+        out[offset + SELF] = self ? 1 : 0;
+        out[offset + VOTE_SHARE] = vote ? (float) voteShare(votesAgainst, alive) : 0;
+        out[offset + VOTE_LEADER] = vote && leader ? 1 : 0;
+        out[offset + ENEMY_CHANCE] = enemyChance < 0 ? 0 : (float) enemyChance;
+        out[offset + NO_ESTIMATE] = enemyChance < 0 ? 1 : 0;
+        out[offset + ALIVE_SHARE] = (float) ((double) alive / seats);
+        out[offset + FIRST_CYCLE] = cycle <= 1 ? 1 : 0;
+    }
+
+    private static double voteShare(int votesAgainst, int alive) {
+        return (double) votesAgainst / Math.max(1, alive - 1);
+    }
+
+    static double sigmoid(double logit) {
+        return 1 / (1 + Math.exp(-logit));
+    }
+
+    /* ---------- FILES ---------- */
+
+    // Little-endian: int MAGIC, int VERSION, int weight count, then the weights as doubles
+    public void save(Path file) {
+        ByteBuffer buffer = ByteBuffer.allocate(3 * Integer.BYTES + WEIGHTS * Double.BYTES)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(WEIGHTS);
+        for (double weight : weights) {
+            buffer.putDouble(weight);
+        }
+        try {
+            Files.write(file, buffer.array());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot save model to " + file, e);
+        }
+    }
+
+    public static EvaluationModel load(Path file) {
+        byte[] bytes;
+        try {
+            bytes = Files.readAllBytes(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot load model from " + file, e);
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        if (bytes.length != 3 * Integer.BYTES + WEIGHTS * Double.BYTES || buffer.getInt() != MAGIC
+                || buffer.getInt() != VERSION || buffer.getInt() != WEIGHTS) {
+            throw new IllegalArgumentException("Not a model file of this version: " + file);
+        }
+        double[] weights = new double[WEIGHTS];
+        for (int i = 0; i < WEIGHTS; i++) {
+            weights[i] = buffer.getDouble();
+        }
+        return new EvaluationModel(weights);
+    }
+}
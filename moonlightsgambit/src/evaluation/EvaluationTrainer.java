@@ -0,0 +1,271 @@
+package moonlightsgambit.evaluation;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import moonlightsgambit.enums.DecisionKind;
+import moonlightsgambit.enums.Role;
+import moonlightsgambit.selfplay.DecisionBatch;
+import moonlightsgambit.selfplay.DecisionColumn;
+import moonlightsgambit.selfplay.DecisionReader;
+
+// Fits an EvaluationModel to the night targets and votes taken in a self-play file.
+//
+// Each decision that picked a seat becomes one sample: the features of the seat picked, and as target the
+// decider's final outcome (a win 1, a shared ending 0.5, a loss 0). The fit is L2-regularized logistic
+// regression by full-batch Adam; each epoch's gradient is summed over row ranges in parallel on a fork/join pool,
+// in a fixed split so that results do not depend on the thread count. Every tenth game is held out for validation.
+public final class EvaluationTrainer {
+    public static final int DEFAULT_EPOCHS = 200;
+    public static final int DEFAULT_MAX_SAMPLES = 4_000_000;
+
+    private static final int FEATURES = EvaluationModel.FEATURES;
+    private static final int WEIGHTS = EvaluationModel.WEIGHTS;
+    private static final DecisionKind[] KINDS = { DecisionKind.NIGHT, DecisionKind.VOTE };
+    private static final Role[] ROLES = Role.values();
+    private static final int HOLDOUT_EVERY = 10;
+    // Rows one fork/join task sums on its own
+    private static final int SPLIT_ROWS = 1 << 14;
+    private static final double LEARNING_RATE = 0.05;
+    private static final double L2 = 1e-6;
+    private static final double BETA1 = 0.9;
+    private static final double BETA2 = 0.999;
+    private static final double ADAM_EPSILON = 1e-8;
+
+    private final ForkJoinPool pool;
+    private final Samples training = new Samples();
+    private final Samples validation = new Samples();
+
+    public EvaluationTrainer() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public EvaluationTrainer(ForkJoinPool pool) {
+        if (pool == null) {
+            throw new IllegalArgumentException("Pool cannot be null");
+        }
+        this.pool = pool;
+    }
+
+    public int getTrainingSamples() {
+        return training.count;
+    }
+
+    public int getValidationSamples() {
+        return validation.count;
+    }
+
+    // Adds the decisions of a self-play file, up to maxSamples in all
+    public void load(Path file, int maxSamples) {
+        if (maxSamples < 1) {
+            throw new IllegalArgumentException("Sample limit must be at least 1");
+        }
+        DecisionBatch batch = new DecisionBatch();
+        try (DecisionReader reader = new DecisionReader(file)) {
+            while (training.count + validation.count < maxSamples && reader.next(batch)) {
+                addDecisions(batch, maxSamples);
+            }
+        }
+    }
+
+    // Rows of one decision are adjacent and never split across blocks
+    private void addDecisions(DecisionBatch batch, int maxSamples) {
+        int rows = batch.getRowCount();
+        int start = 0;
+        while (start < rows && training.count + validation.count < maxSamples) {
+            int end = start + 1;
+            while (end < rows && batch.get(DecisionColumn.DECISION, end) == batch.get(DecisionColumn.DECISION, start)
+                    && batch.get(DecisionColumn.GAME, end) == batch.get(DecisionColumn.GAME, start)) {
+                end++;
+            }
+            addDecision(batch, start, end);
+            start = end;
+        }
+    }
+
+    private void addDecision(DecisionBatch batch, int start, int end) {
+        DecisionKind kind = DecisionKind.fromCode(batch.get(DecisionColumn.KIND, start));
+        if (kind != DecisionKind.NIGHT && kind != DecisionKind.VOTE) {
+            return;
+        }
+        int chosen = -1;
+        int maxVotes = 0;
+        for (int row = start; row < end; row++) {
+            maxVotes = Math.max(maxVotes, batch.get(DecisionColumn.VOTES_AGAINST, row));
+            if (batch.get(DecisionColumn.CHOSEN, row) != 0) chosen = row;
+        }
+        if (chosen < 0) {
+            return;
+        }
+        int game = batch.get(DecisionColumn.GAME, chosen);
+        Samples samples = game % HOLDOUT_EVERY == 0 ? validation : training;
+        int votes = batch.get(DecisionColumn.VOTES_AGAINST, chosen);
+        int permille = batch.get(DecisionColumn.ENEMY_PERMILLE, chosen);
+        int outcome = batch.get(DecisionColumn.OUTCOME, chosen);
+        samples.add(EvaluationModel.block(kind, ROLES[batch.get(DecisionColumn.ROLE, chosen)]),
+                outcome == DecisionColumn.OUTCOME_WIN ? 1f : outcome == DecisionColumn.OUTCOME_SHARED ? 0.5f : 0f);
+        EvaluationModel.encode(samples.features, (samples.count - 1) * FEATURES, kind,
+                batch.get(DecisionColumn.SEATS, chosen), batch.get(DecisionColumn.ALIVE_COUNT, chosen),
+                batch.get(DecisionColumn.CYCLE, chosen), batch.get(DecisionColumn.KNOWN_TEAM, chosen),
+                batch.get(DecisionColumn.OPTION, chosen) == batch.get(DecisionColumn.SEAT, chosen),
+                votes, votes > 0 && votes == maxVotes, permille < 0 ? -1 : permille / 1000.0);
+    }
+
+    // Runs the given number of full-batch Adam epochs from all-zero weights
+    public EvaluationModel train(int epochs) {
+        if (epochs < 1) {
+            throw new IllegalArgumentException("Epoch count must be at least 1");
+        }
+        if (training.count == 0) {
+            throw new IllegalStateException("No training samples loaded");
+        }
+        double[] weights = new double[WEIGHTS];
+        double[] momentum = new double[WEIGHTS];
+        double[] velocity = new double[WEIGHTS];
+        for (int epoch = 1; epoch <= epochs; epoch++) {
+            double[] gradient = pool.invoke(new GradientTask(training, weights, 0, training.count));
+            for (int i = 0; i < WEIGHTS; i++) {
+                double g = gradient[i] / training.count + L2 * weights[i];
+                momentum[i] = BETA1 * momentum[i] + (1 - BETA1) * g;
+                velocity[i] = BETA2 * velocity[i] + (1 - BETA2) * g * g;
+                double m = momentum[i] / (1 - Math.pow(BETA1, epoch));
+                double v = velocity[i] / (1 - Math.pow(BETA2, epoch));
+                weights[i] -= LEARNING_RATE * m / (Math.sqrt(v) + ADAM_EPSILON);
+            }
+        }
+        return new EvaluationModel(weights);
+    }
+
+    // Mean log-loss of the model on the training or the held-out samples
+    public double logLoss(EvaluationModel model, boolean heldOut) {
+        Samples samples = heldOut ? validation : training;
+        if (samples.count == 0) {
+            return Double.NaN;
+        }
+        double[] weights = new double[WEIGHTS];
+        for (DecisionKind kind : KINDS) {
+            for (Role role : ROLES) {
+                int base = EvaluationModel.block(kind, role);
+                for (int f = 0; f < FEATURES; f++) {
+                    weights[base + f] = model.getWeight(kind, role, f);
+                }
+            }
+        }
+        return pool.invoke(new GradientTask(samples, weights, 0, samples.count))[WEIGHTS] / samples.count;
+    }
+
+    // Mean log-loss of always predicting the training samples' mean outcome
+    public double baselineLogLoss(boolean heldOut) {
+        double mean = 0;
+        for (int i = 0; i < training.count; i++) {
+            mean += training.targets[i];
+        }
+        mean /= training.count;
+        Samples samples = heldOut ? validation : training;
+        double loss = 0;
+        for (int i = 0; i < samples.count; i++) {
+            double t = samples.targets[i];
+            loss -= t * Math.log(mean) + (1 - t) * Math.log(1 - mean);
+        }
+        return loss / samples.count;
+    }
+
+    // Samples held column-wise in growable primitive arrays
+    private static final class Samples {
+        float[] features = new float[1024 * FEATURES];
+        int[] blocks = new int[1024];
+        float[] targets = new float[1024];
+        int count;
+
+        void add(int block, float target) {
+            if (count == blocks.length) {
+                features = Arrays.copyOf(features, features.length * 2);
+                blocks = Arrays.copyOf(blocks, blocks.length * 2);
+                targets = Arrays.copyOf(targets, targets.length * 2);
+            }
+            blocks[count] = block;
+            targets[count] = target;
+            count++;
+        }
+    }
+
+    // Sums the log-loss gradient over samples [from, to); the loss itself goes in the last slot
+    private static final class GradientTask extends RecursiveTask<double[]> {
+        private static final long serialVersionUID = 1L;
+
+        private final Samples samples;
+        private final double[] weights;
+        private final int from;
+        private final int to;
+
+        GradientTask(Samples samples, double[] weights, int from, int to) {
+            this.samples = samples;
+            this.weights = weights;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected double[] compute() {
+            if (to - from > SPLIT_ROWS) {
+                int middle = (from + to) >>> 1;
+                GradientTask left = new GradientTask(samples, weights, from, middle);
+                left.fork();
+                double[] right = new GradientTask(samples, weights, middle, to).compute();
+                double[] sum = left.join();
+                for (int i = 0; i < sum.length; i++) {
+                    sum[i] += right[i];
+                }
+                return sum;
+            }
+            double[] gradient = new double[WEIGHTS + 1];
+            float[] features = samples.features;
+            for (int row = from; row < to; row++) {
+                int base = samples.blocks[row];
+                int offset = row * FEATURES;
+                double logit = 0;
+                for (int f = 0; f < FEATURES; f++) {
+                    logit += weights[base + f] * features[offset + f];
+                }
+                double target = samples.targets[row];
+                double error = EvaluationModel.sigmoid(logit) - target;
+                for (int f = 0; f < FEATURES; f++) {
+                    gradient[base + f] += error * features[offset + f];
+                }
+                // -t log p - (1 - t) log(1 - p), written to stay finite for large logits
+                gradient[WEIGHTS] += Math.max(logit, 0) - logit * target + Math.log1p(Math.exp(-Math.abs(logit)));
+            }
+            return gradient;
+        }
+    }
+
+    // Trains from the command line: [self-play file] [model file] [epochs] [threads] [max samples]
+    public static void main(String[] args) {
+        Path input = Paths.get(args.length > 0 ? args[0] : "selfplay.bin");
+        Path output = Paths.get(args.length > 1 ? args[1] : "evaluation.model");
+        int epochs = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_EPOCHS;
+        int threads = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+        int maxSamples = args.length > 4 ? Integer.parseInt(args[4]) : DEFAULT_MAX_SAMPLES;
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            EvaluationTrainer trainer = new EvaluationTrainer(pool);
+            long start = System.nanoTime();
+            trainer.load(input, maxSamples);
+            System.out.printf("Loaded %,d training and %,d held-out decisions in %.1f s%n",
+                    trainer.getTrainingSamples(), trainer.getValidationSamples(), (System.nanoTime() - start) / 1e9);
+            start = System.nanoTime();
+            EvaluationModel model = trainer.train(epochs);
+            System.out.printf("Trained %d epochs on %d threads in %.1f s%n", epochs, threads,
+                    (System.nanoTime() - start) / 1e9);
+            System.out.printf("Log-loss: training %.4f, held out %.4f (mean-outcome baseline %.4f)%n",
+                    trainer.logLoss(model, false), trainer.logLoss(model, true), trainer.baselineLogLoss(true));
+            model.save(output);
+            System.out.println("Saved model to " + output);
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package moonlightsgambit.interfaces;
+
+import moonlightsgambit.MoonlightsGambit;
+
+// Interface notified whenever a game reaches a point it can be resumed from:
+// after every phase, at the start of every cycle and after every Destiny Draw round
+public interface CheckpointListener {
+
+    // Called on the game's own thread; MoonlightsGambit.writeSnapshot captures the game exactly here
+    void onCheckpoint(MoonlightsGambit game);
+}
@@ -0,0 +1,6 @@
+package moonlightsgambit.interfaces;
+
+// Interface defining how choices are made when a game runs without a human at the console: one controller
+// making the choices of every seat
+public interface DecisionPolicy extends PlayerController {
+}
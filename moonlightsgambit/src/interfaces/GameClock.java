@@ -0,0 +1,10 @@
+package moonlightsgambit.interfaces;
+
+// Interface for the time source that paces narration, so delays can be real or merely counted
+public interface GameClock {
+
+    // Current time in nanoseconds; only differences between readings are meaningful
+    long nanoTime();
+    // Lets the given amount of time pass on this clock
+    void sleep(long nanos) throws InterruptedException;
+}
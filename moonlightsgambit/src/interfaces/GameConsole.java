@@ -0,0 +1,41 @@
+package moonlightsgambit.interfaces;
+
+// Interface defining all console input and output used by a single game
+public interface GameConsole {
+    // Audience of output meant for the whole table
+    int ALL_SEATS = -1;
+
+    // Clears the screen
+    void clearScreen();
+    // Prints text without a line break
+    void print(String text);
+    // Prints text followed by a line break
+    void println(String text);
+    // Prints formatted text
+    void printf(String format, Object... args);
+    // Prints text with typewriter effect
+    void typeText(String text, int delayMs);
+    // Prints formatted text with typewriter effect; consoles that discard output skip the formatting
+    default void typef(int delayMs, String format, Object... args) {
+        typeText(String.format(format, args), delayMs);
+    }
+    // Sends the following output and prompts to one seat's player only (ALL_SEATS: the whole table);
+    // hot-seat consoles show everything on the one screen and ignore it
+    default void setAudience(int seat) {
+    }
+    // Waits for the player to press enter (or for the turn deadline, on consoles that have one)
+    void waitForEnter();
+    // Reads an integer within the given range, re-prompting on invalid input
+    int readInt(int min, int max, String prompt);
+    // Reads a trimmed line of text
+    String readLine(String prompt);
+    // Reads an integer within the given range, or gives up with onTimeout when the turn deadline passes first;
+    // consoles without deadlines simply wait
+    default int readInt(int min, int max, String prompt, int onTimeout) {
+        return readInt(min, max, prompt);
+    }
+    // Reads a trimmed line of text, or gives up with onTimeout when the turn deadline passes first
+    default String readLine(String prompt, String onTimeout) {
+        return readLine(prompt);
+    }
+}
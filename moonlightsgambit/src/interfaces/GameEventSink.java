@@ -0,0 +1,11 @@
+package moonlightsgambit.interfaces;
+
+import moonlightsgambit.enums.EventType;
+
+// Interface receiving every game action as it happens.
+// Seats are table seat indices (PackedState.NO_SEAT when there is none); the meaning of value depends on the type.
+public interface GameEventSink {
+
+    // Called on the game's own thread, in the order actions happen
+    void onEvent(EventType type, int cycle, int actor, int target, int value);
+}
@@ -0,0 +1,17 @@
+package moonlightsgambit.interfaces;
+
+// Interface for where a console's player input comes from (a terminal, a replayed script, a network queue)
+public interface InputSource {
+
+    // Blocks for the next line; throws SessionEndedException, an IllegalStateException, once the source is closed or
+    // exhausted, or the reader is interrupted
+    String nextLine();
+    // Like nextLine, but returns null if expire(ticket) is called before a line arrives
+    String nextLine(Object ticket);
+    // Ends the wait of nextLine(ticket), from any thread; tickets of prompts already answered are ignored
+    void expire(Object ticket);
+    // Whether the player's terminal already displayed the line, so the console must not print it again
+    boolean isEchoed();
+    // Stops the source, waking a reader blocked in nextLine
+    void close();
+}
@@ -0,0 +1,22 @@
+package moonlightsgambit.interfaces;
+
+import java.util.List;
+import moonlightsgambit.MoonlightsGambit;
+import moonlightsgambit.characters.GameCharacter;
+
+// Interface for whoever makes one seat's choices: the player at the console, a remote client or a bot
+public interface PlayerController {
+    // Returned instead of an index to let the night pass or to abstain from the vote
+    int PASS = -1;
+
+    // Returns index into targets for the actor's night action, or PASS
+    int chooseNightTarget(GameCharacter actor, List<GameCharacter> targets, MoonlightsGambit game);
+    // Returns index into candidates for the voter's accusation (never the voter), or PASS
+    int chooseVoteTarget(GameCharacter voter, List<GameCharacter> candidates, MoonlightsGambit game);
+    // Returns true to choose peace in the lovers dilemma or friends crossroads
+    boolean choosePeace(GameCharacter player, GameCharacter partner, MoonlightsGambit game);
+    // Returns true to keep the drawn card in Destiny Draw
+    boolean keepCard(GameCharacter player, int card, int ownScore, int opponentScore, MoonlightsGambit game);
+    // True if choices come from the seat's SeatProjection, which the game then keeps up to date
+    boolean usesProjection();
+}
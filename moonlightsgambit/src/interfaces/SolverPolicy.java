@@ -0,0 +1,15 @@
+package moonlightsgambit.interfaces;
+
+// Interface defining the stochastic choices the exact solver weighs at each decision point.
+// Policies see packed states (see PackedState) and must not depend on the cycle number.
+public interface SolverPolicy {
+
+    // Fills probs[0..count) with the chance the actor picks each of targets[0..count) at night
+    void nightTargetDistribution(long state, int actor, int[] targets, int count, double[] probs);
+    // Fills probs[0..count) with the chance the voter accuses each of candidates[0..count)
+    void voteDistribution(long state, int voter, int[] candidates, int count, double[] probs);
+    // Chance the seat chooses peace in the lovers dilemma or friends crossroads
+    double peaceProbability(long state, int seat);
+    // Chance the seat keeps the drawn card in Destiny Draw
+    double keepProbability(long state, int seat, int card, int ownScore, int opponentScore);
+}
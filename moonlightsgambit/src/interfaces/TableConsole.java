@@ -0,0 +1,13 @@
+package moonlightsgambit.interfaces;
+
+import moonlightsgambit.utils.PromptDeadlines;
+
+// Console of a hosted table: besides game I/O it can be given turn deadlines and releases its channels on close
+public interface TableConsole extends GameConsole, AutoCloseable {
+
+    // Gives every prompt that has a default answer a turn deadline (null waits indefinitely)
+    void setPromptDeadlines(PromptDeadlines deadlines);
+    // Writes pending output and releases the table's channels
+    @Override
+    void close();
+}
@@ -0,0 +1,245 @@
+package moonlightsgambit.journal;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import moonlightsgambit.enums.EventType;
+import moonlightsgambit.interfaces.GameEventSink;
+
+// Append-only binary journal of one table's events, written through memory-mapped segment files.
+//
+// Every event is a fixed 16-byte little-endian record:
+//   byte  type code (0 = unused space, where readers stop)
+//   byte  check byte over the type code and the fields below
+//   short actor seat
+//   short target seat
+//   short cycle
+//   int   value
+//   int   game number within this journal
+// Segments are preallocated, zero-filled files named segment-NNNNNN.log; a full segment rolls over to the next.
+// Pages are forced to disk once every syncEvery events, on sync() and on close().
+// A record is written fields first and type code last, so a half-written one still reads as unused space; one
+// torn some other way fails its check byte. Readers and recovery stop at the first record that is not valid, and
+// reopening a journal clears everything from there on before appending.
+// Each segment is unmapped as soon as it rolls over or the journal closes.
+// One journal belongs to one table and must only be written from that table's thread.
+public class EventJournal implements GameEventSink, AutoCloseable {
+    static final int RECORD_BYTES = 16;
+    static final String SEGMENT_PREFIX = "segment-";
+    static final String SEGMENT_SUFFIX = ".log";
+
+    public static final int DEFAULT_SEGMENT_BYTES = 16 * 1024 * 1024;
+    public static final int DEFAULT_SYNC_EVERY = 4096;
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final int syncEvery;
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private int segmentIndex;
+    private int unsynced;
+    private int game;
+    private long eventCount;
+    private boolean closed;
+
+    public EventJournal(Path directory) {
+        this(directory, DEFAULT_SEGMENT_BYTES, DEFAULT_SYNC_EVERY);
+    }
+
+    // Opens the journal in the directory, continuing after any events already in it
+    public EventJournal(Path directory, int segmentBytes, int syncEvery) {
+        if (directory == null) {
+            throw new IllegalArgumentException("Journal directory cannot be null");
+        }
+        if (segmentBytes < RECORD_BYTES || segmentBytes % RECORD_BYTES != 0) {
+            throw new IllegalArgumentException("Segment size must be a positive multiple of " + RECORD_BYTES);
+        }
+        if (syncEvery < 1) {
+            throw new IllegalArgumentException("Sync interval must be at least 1 event");
+        }
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.syncEvery = syncEvery;
+        try {
+            Files.createDirectories(directory);
+            List<Path> segments = JournalReader.segments(directory);
+            if (segments.isEmpty()) {
+                openSegment(0);
+            } else {
+                resumeSegment(segments.size() - 1, segments.get(segments.size() - 1));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open journal in " + directory, e);
+        }
+    }
+
+    @Override
+    public void onEvent(EventType type, int cycle, int actor, int target, int value) {
+        if (closed) {
+            throw new IllegalStateException("Journal is closed");
+        }
+        if (type == EventType.GAME_START) {
+            game++;
+        }
+        if (buffer.remaining() < RECORD_BYTES) {
+            rollSegment();
+        }
+        int position = buffer.position();
+        buffer.putShort(position + 2, (short) actor);
+        buffer.putShort(position + 4, (short) target);
+        buffer.putShort(position + 6, (short) cycle);
+        buffer.putInt(position + 8, value);
+        buffer.putInt(position + 12, game);
+        buffer.put(position + 1, checkByte(buffer, position, type.getCode()));
+        buffer.put(position, (byte) type.getCode());
+        buffer.position(position + RECORD_BYTES);
+        eventCount++;
+        if (++unsynced >= syncEvery) {
+            sync();
+        }
+    }
+
+    // Forces every event written so far to disk
+    public void sync() {
+        if (unsynced > 0 && buffer != null) {
+            buffer.force();
+            unsynced = 0;
+        }
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    // Events appended through this instance
+    public long getEventCount() {
+        return eventCount;
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        sync();
+        closed = true;
+        closeSegment();
+    }
+
+    private void rollSegment() {
+        buffer.force();
+        unsynced = 0;
+        closeSegment();
+        try {
+            openSegment(segmentIndex + 1);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot roll journal segment in " + directory, e);
+        }
+    }
+
+    private void openSegment(int index) throws IOException {
+        segmentIndex = index;
+        channel = FileChannel.open(JournalReader.segmentPath(directory, index),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    // Reopens the newest segment and moves past its valid records, picking up the game count; whatever follows
+    // them (a torn record, or pages that reached the disk without the ones before) is cleared
+    private void resumeSegment(int index, Path segment) throws IOException {
+        long existing = Files.size(segment);
+        if (existing > segmentBytes) {
+            throw new IllegalArgumentException("Existing segment is larger than the configured segment size: " + segment);
+        }
+        openSegment(index);
+        while (buffer.remaining() >= RECORD_BYTES && isValidRecord(buffer, buffer.position())) {
+            game = buffer.getInt(buffer.position() + RECORD_BYTES - Integer.BYTES);
+            buffer.position(buffer.position() + RECORD_BYTES);
+        }
+        boolean cleared = false;
+        for (int position = buffer.position(); position + RECORD_BYTES <= buffer.limit(); position += RECORD_BYTES) {
+            if (buffer.getLong(position) != 0 || buffer.getLong(position + Long.BYTES) != 0) {
+                buffer.putLong(position, 0L);
+                buffer.putLong(position + Long.BYTES, 0L);
+                cleared = true;
+            }
+        }
+        if (cleared) {
+            buffer.force();
+        }
+        if (game == 0 && index > 0) {
+            game = JournalReader.lastGame(JournalReader.segmentPath(directory, index - 1));
+        }
+    }
+
+    private void closeSegment() {
+        MappedByteBuffer mapped = buffer;
+        buffer = null;
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot close journal segment in " + directory, e);
+        } finally {
+            unmap(mapped);
+        }
+    }
+
+    /* ---------- RECORDS ---------- */
+
+    // True if the record at the position has a known type code and a matching check byte
+    static boolean isValidRecord(ByteBuffer records, int position) {
+        int code = records.get(position) & 0xFF;
+        return EventType.fromCode(code) != null && records.get(position + 1) == checkByte(records, position, code);
+    }
+
+    // Mixes the type code and the record's 14 field bytes into one byte
+    private static byte checkByte(ByteBuffer records, int position, int code) {
+        long fields = records.getLong(position + 2) ^ ((long) records.getInt(position + 10) << 17)
+                ^ ((long) records.getShort(position + 14) << 41) ^ code;
+        fields *= 0x9E3779B97F4A7C15L;
+        return (byte) (fields >>> 56);
+    }
+
+    /* ---------- MAPPINGS ---------- */
+
+    // sun.misc.Unsafe.invokeCleaner, bound; null where the JDK does not offer it
+    private static final MethodHandle INVOKE_CLEANER = findCleaner();
+
+    // Releases a mapping now instead of whenever the buffer is collected; the buffer must not be used again.
+    // Without invokeCleaner the mapping is left to the collector, as before.
+    static void unmap(MappedByteBuffer mapped) {
+        if (mapped == null || INVOKE_CLEANER == null) {
+            return;
+        }
+        try {
+            INVOKE_CLEANER.invokeExact((ByteBuffer) mapped);
+        } catch (Throwable e) {
+            // Left to the collector
+        }
+    }
+
+    private static MethodHandle findCleaner() {
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field field = unsafeClass.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            return MethodHandles.lookup()
+                    .findVirtual(unsafeClass, "invokeCleaner", MethodType.methodType(void.class, ByteBuffer.class))
+                    .bindTo(field.get(null));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package moonlightsgambit.journal;
+
+import moonlightsgambit.enums.EventType;
+
+// One journal entry read back from disk
+public final class GameEvent {
+    private final int game;
+    private final EventType type;
+    private final int cycle;
+    private final int actor;
+    private final int target;
+    private final int value;
+
+    public GameEvent(int game, EventType type, int cycle, int actor, int target, int value) {
+        if (type == null) {
+            throw new IllegalArgumentException("Event type cannot be null");
+        }
+        this.game = game;
+        this.type = type;
+        this.cycle = cycle;
+        this.actor = actor;
+        this.target = target;
+        this.value = value;
+    }
+
+    // Game number within the table's journal, starting at 1
+    public int getGame() {
+        return game;
+    }
+
+    public EventType getType() {
+        return type;
+    }
+
+    public int getCycle() {
+        return cycle;
+    }
+
+    public int getActor() {
+        return actor;
+    }
+
+    public int getTarget() {
+        return target;
+    }
+
+    public int getValue() {
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("game %d cycle %d: %s actor=%d target=%d value=%d",
+                game, cycle, type, actor, target, value);
+    }
+}
@@ -0,0 +1,107 @@
+package moonlightsgambit.journal;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import moonlightsgambit.enums.EventType;
+
+// Streams a table's journal back in the order the events were written
+public class JournalReader {
+    private final Path directory;
+
+    public JournalReader(Path directory) {
+        if (directory == null) {
+            throw new IllegalArgumentException("Journal directory cannot be null");
+        }
+        this.directory = directory;
+    }
+
+    // Hands every event to the consumer, segment by segment, without loading the journal into memory
+    public void stream(Consumer<GameEvent> consumer) {
+        try {
+            for (Path segment : segments(directory)) {
+                if (!streamSegment(segment, consumer)) {
+                    return;
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read journal in " + directory, e);
+        }
+    }
+
+    public List<GameEvent> readAll() {
+        List<GameEvent> events = new ArrayList<>();
+        stream(events::add);
+        return events;
+    }
+
+    // Returns false once the first unused or invalid record is reached: the journal ends there
+    private static boolean streamSegment(Path segment, Consumer<GameEvent> consumer) throws IOException {
+        MappedByteBuffer buffer = null;
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            while (buffer.remaining() >= EventJournal.RECORD_BYTES) {
+                if (!EventJournal.isValidRecord(buffer, buffer.position())) {
+                    return false;
+                }
+                EventType type = EventType.fromCode(buffer.get() & 0xFF);
+                buffer.get();
+                int actor = buffer.getShort();
+                int target = buffer.getShort();
+                int cycle = buffer.getShort() & 0xFFFF;
+                int value = buffer.getInt();
+                int game = buffer.getInt();
+                consumer.accept(new GameEvent(game, type, cycle, actor, target, value));
+            }
+        } finally {
+            EventJournal.unmap(buffer);
+        }
+        return true;
+    }
+
+    // Game number of the last event in a full segment
+    static int lastGame(Path segment) throws IOException {
+        int[] last = new int[1];
+        streamSegment(segment, event -> last[0] = event.getGame());
+        return last[0];
+    }
+
+    // Segment files of a journal, oldest first
+    static List<Path> segments(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(JournalReader::isSegment).sorted().toList();
+        }
+    }
+
+    static Path segmentPath(Path directory, int index) {
+        return directory.resolve(String.format("%s%06d%s", EventJournal.SEGMENT_PREFIX, index, EventJournal.SEGMENT_SUFFIX));
+    }
+
+    private static boolean isSegment(Path file) {
+        String name = file.getFileName().toString();
+        return name.startsWith(EventJournal.SEGMENT_PREFIX) && name.endsWith(EventJournal.SEGMENT_SUFFIX);
+    }
+
+    // Prints a journal from the command line: <journal directory>
+    public static void main(String[] args) {
+        if (args.length != 1) {
+            System.out.println("Usage: JournalReader <journal directory>");
+            return;
+        }
+        new JournalReader(Paths.get(args[0])).stream(System.out::println);
+    }
+}
@@ -3,72 +3,80 @@ package moonlightsgambit.phases;
 import java.util.List;
 import moonlightsgambit.MoonlightsGambit;
 import moonlightsgambit.characters.GameCharacter;
+import moonlightsgambit.enums.DeathCause;
+import moonlightsgambit.enums.EventType;
+import moonlightsgambit.interfaces.GameConsole;
 import moonlightsgambit.interfaces.GamePhase;
-import moonlightsgambit.utils.GameUtils;
+import moonlightsgambit.state.PackedState;
 
 // Handles dawn phase where night actions resolve and deaths are announced
 public class DawnPhase implements GamePhase {
+    private static final String BORDER = "*".repeat(36);
+    private static final String ANNOUNCEMENT_RULE = "=".repeat(65);
     
     @Override
     public void executePhase(MoonlightsGambit game) {
-        displayDawnPhaseHeader();
+        GameConsole console = game.getConsole();
+        displayDawnPhaseHeader(console);
         processNightEvents(game);
         displayRemainingPlayers(game);
-        GameUtils.ENTERKey();
-        GameUtils.clearScreen();
+        console.waitForEnter();
+        console.clearScreen();
 
-        // Check for final two players AFTER processing deaths
-        List<GameCharacter> alivePlayers = game.getAlivePlayers();
-        if (alivePlayers.size() == 2) {
-            return;
-        }
     }
 
     // Internal display logic for dawn phase
-    private void displayDawnPhaseHeader() {
-        GameUtils.clearScreen();
-        System.out.println("*".repeat(36));
-        System.out.println("             DAWN PHASE");
-        System.out.println("*".repeat(36));
-        GameUtils.typeText("\nDawn breaks over Artemia Academy...", 40);
-        GameUtils.typeText("The night's events are revealed...", 40);
+    private void displayDawnPhaseHeader(GameConsole console) {
+        console.clearScreen();
+        console.println(BORDER);
+        console.println("             DAWN PHASE");
+        console.println(BORDER);
+        console.typeText("\nDawn breaks over Artemia Academy...", 40);
+        console.typeText("The night's events are revealed...", 40);
     }
     
     // Processes night actions and determines outcomes
     private void processNightEvents(MoonlightsGambit game) {
-        GameCharacter killedPlayer = game.processNightActions();
+        List<GameCharacter> killedPlayers = game.processNightActions();
+        GameConsole console = game.getConsole();
         
-        System.out.println("\n[ANNOUNCEMENT] THE HOST ANNOUNCES:");
-        System.out.println("=".repeat(65));
+        console.println("\n[ANNOUNCEMENT] THE HOST ANNOUNCES:");
+        console.println(ANNOUNCEMENT_RULE);
         
-        if (killedPlayer != null) {
-            handlePlayerDeath(killedPlayer);
-        } else {
+        if (killedPlayers.isEmpty()) {
             handleNoDeaths(game);
         }
+        // Several Reapers in a large lobby can claim several victims in one night
+        for (int i = 0; i < killedPlayers.size(); i++) {
+            handlePlayerDeath(game, killedPlayers.get(i));
+        }
+        // Closes the night for anyone following the events, quiet nights included
+        game.recordEvent(EventType.DAWN, PackedState.NO_SEAT, PackedState.NO_SEAT, killedPlayers.size());
     }
     
     // Handles player death scenario
-    private void handlePlayerDeath(GameCharacter killedPlayer) {
-        System.out.printf("[DEATH] Tragically, %s was found lifeless at dawn!%n", killedPlayer.getName());
-        killedPlayer.setAlive(false);
+    private void handlePlayerDeath(MoonlightsGambit game, GameCharacter killedPlayer) {
+        game.getConsole().printf("[DEATH] Tragically, %s was found lifeless at dawn!%n", killedPlayer.getName());
+        game.eliminatePlayer(killedPlayer, DeathCause.HUNTED);
     }
     
     private void handleNoDeaths(MoonlightsGambit game) {
-        System.out.println("[SURVIVAL] Miraculously, no one perished in the night!");
-        System.out.println("The academy remains unscathed... for now.");
+        GameConsole console = game.getConsole();
+        console.println("[SURVIVAL] Miraculously, no one perished in the night!");
+        console.println("The academy remains unscathed... for now.");
     }
         
     // Shows all remaining players with status
     private void displayRemainingPlayers(MoonlightsGambit game) {
-        System.out.println("\nRemaining Champions:");
-        for (GameCharacter player : game.getPlayers()) {
-            if (player != null) {
-                if (player.isAlive()) {
-                    System.out.printf("[ALIVE] %s%n", player.getName());
-                } else {
-                    System.out.printf("[DEAD] %s%n", player.getName());
-                }
+        GameConsole console = game.getConsole();
+        console.println("\nRemaining Champions:");
+        List<GameCharacter> players = game.getPlayerView();
+        for (int seat = 0; seat < players.size(); seat++) {
+            GameCharacter player = players.get(seat);
+            if (player.isAlive()) {
+                console.printf("[ALIVE] %s%n", player.getName());
+            } else {
+                console.printf("[DEAD] %s%n", player.getName());
             }
         }
     }
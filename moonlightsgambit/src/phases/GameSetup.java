@@ -1,86 +1,154 @@
 package moonlightsgambit.phases;
 
 import java.util.*;
+import java.util.random.RandomGenerator;
 import moonlightsgambit.MoonlightsGambit;
 import moonlightsgambit.characters.*;
+import moonlightsgambit.enums.Role;
+import moonlightsgambit.interfaces.GameConsole;
 import moonlightsgambit.interfaces.GamePhase;
-import moonlightsgambit.utils.GameUtils;
 
 // Manages player setup and role assignment phase
 public class GameSetup implements GamePhase {
-    private final Scanner scanner;
-    private static final int MAX_PLAYERS = 4;
     private static final int MAX_NAME_LENGTH = 15;
     private static final String NAME_REGEX = "^[A-Za-z]+$";
-
-    public GameSetup() {
-        this.scanner = new Scanner(System.in);
-    }
+    private static final String HEADLESS_NAME_PREFIX = "Player";
+    private static final int LETTERS = 26;
 
     @Override
     public void executePhase(MoonlightsGambit game) {
-        displaySetupHeader();
-        GameCharacter[] players = initializePlayers();
+        GameConsole console = game.getConsole();
+        displaySetupHeader(console);
+        GameCharacter[] players = initializePlayers(game);
         game.setPlayers(players);
-        displayCompletionMessage();
+        displayCompletionMessage(console);
         game.displayCycleHeader(1);
     }
 
    // Shows setup phase header
-    private void displaySetupHeader() {
-        GameUtils.clearScreen();
-        System.out.println("*".repeat(50));
-        System.out.println("                 ROLE ASSIGNMENT!");
-        System.out.println("*".repeat(50));
-        GameUtils.ENTERKey();
+    private void displaySetupHeader(GameConsole console) {
+        console.clearScreen();
+        console.println("*".repeat(50));
+        console.println("                 ROLE ASSIGNMENT!");
+        console.println("*".repeat(50));
+        console.waitForEnter();
     }
 
-    // Creates players array with assigned roles
-    private GameCharacter[] initializePlayers() {
-        GameCharacter[] players = new GameCharacter[MAX_PLAYERS];
-        List<String> availableRoles = new ArrayList<>(Arrays.asList("Elara", "Calisto", "Orion", "Luna"));
-        Collections.shuffle(availableRoles);
+    // Creates players array with roles dealt from the lobby's shuffled role deck
+    private GameCharacter[] initializePlayers(MoonlightsGambit game) {
+        int seatCount = game.getSeatCount();
+        GameCharacter[] players = new GameCharacter[seatCount];
+        Role[] availableRoles = game.getLobbyConfig().roleDeck();
+        shuffle(availableRoles, game.getRandom());
+        Set<String> takenNames = new HashSet<>();
 
-        for (int i = 0; i < MAX_PLAYERS; i++) {
-            setupPlayer(players, availableRoles, i);
+        for (int i = 0; i < seatCount; i++) {
+            setupPlayer(game, players, availableRoles, takenNames, i);
         }
         
         return players;
     }
 
+    // Fisher-Yates shuffle driven by the game's own random stream, so a seeded game deals the same roles
+    private void shuffle(Role[] deck, RandomGenerator random) {
+        for (int i = deck.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            Role swap = deck[i];
+            deck[i] = deck[j];
+            deck[j] = swap;
+        }
+    }
+
     // Sets up individual player with name and role
-    private void setupPlayer(GameCharacter[] players, List<String> availableRoles, int playerIndex) {
-        GameUtils.clearScreen();
-        System.out.printf("Player %d, approach the host...%n", playerIndex + 1);
-        
-        String playerName = getValidPlayerName(players, playerIndex);
-        String role = availableRoles.get(playerIndex);
-        
-        GameCharacter player = createPlayerWithRole(role, playerName);
-        player.setOrder(playerIndex + 1);
-        players[playerIndex] = player;
+    private void setupPlayer(MoonlightsGambit game, GameCharacter[] players, Role[] availableRoles,
+                             Set<String> takenNames, int playerIndex) {
+        GameConsole console = game.getConsole();
+        console.clearScreen();
+        console.printf("Player %d, approach the host...%n", playerIndex + 1);
+
+        // The name prompt and the role card are for the seat's own player (seats follow player order)
+        console.setAudience(playerIndex);
+        try {
+            String playerName = game.isHeadless()
+                    ? headlessName(playerIndex)
+                    : game.getSeatName(playerIndex);
+            if (playerName == null) {
+                playerName = getValidPlayerName(console, takenNames, playerIndex);
+            }
+            Role role = availableRoles[playerIndex];
 
-        displayRoleAssignment(player, playerIndex);
+            GameCharacter player = GameCharacter.forRole(role, playerName);
+            player.setOrder(playerIndex + 1);
+            players[playerIndex] = player;
+
+            displayRoleAssignment(console, player, playerIndex);
+        } finally {
+            console.setAudience(GameConsole.ALL_SEATS);
+        }
+    }
+
+    // Letters-only seat names: PlayerA..PlayerZ, PlayerAA, PlayerAB, ...
+    private String headlessName(int playerIndex) {
+        StringBuilder letters = new StringBuilder();
+        int n = playerIndex;
+        do {
+            letters.insert(0, (char) ('A' + n % LETTERS));
+            n = n / LETTERS - 1;
+        } while (n >= 0);
+        return HEADLESS_NAME_PREFIX + letters;
     }
 
-    // Validates and gets unique player name
-    private String getValidPlayerName(GameCharacter[] players, int currentIndex) {
+    // Validates and gets unique player name; a player who runs out of time gets a free default name
+    private String getValidPlayerName(GameConsole console, Set<String> takenNames, int playerIndex) {
         while (true) {
-            System.out.print("Enter your name: ");
-            String name = scanner.nextLine().trim();
+            String name = console.readLine("Enter your name: ", freeDefaultName(takenNames, playerIndex));
 
             try {
-                validatePlayerName(name, players, currentIndex);
+                validatePlayerName(name, takenNames);
+                takenNames.add(nameKey(name));
                 return name;
             } catch (IllegalArgumentException e) {
-                System.out.println("Error: " + e.getMessage());
+                console.println("Error: " + e.getMessage());
             }
         }
     }
 
+    // The seat's own default name, or the first one after it that no earlier player has typed
+    private String freeDefaultName(Set<String> takenNames, int playerIndex) {
+        int index = playerIndex;
+        while (takenNames.contains(nameKey(headlessName(index)))) {
+            index++;
+        }
+        return headlessName(index);
+    }
+
     // Validates player name against game rules
-    private void validatePlayerName(String name, GameCharacter[] players, int currentIndex) {
-        if (name.isEmpty()) {
+    private void validatePlayerName(String name, Set<String> takenNames) {
+        validateName(name);
+
+        // Check for duplicate names (case insensitive), one hash lookup per name
+        if (takenNames.contains(nameKey(name))) {
+            throw new IllegalArgumentException("Name '" + name + "' is already taken.");
+        }
+    }
+
+    // Names chosen before the table sits down (e.g. by matchmaking): one per seat, each valid, none repeated
+    public static void validateSeatNames(String[] names, int seatCount) {
+        if (names == null || names.length != seatCount) {
+            throw new IllegalArgumentException("Exactly one name per seat is required");
+        }
+        Set<String> takenNames = new HashSet<>();
+        for (String name : names) {
+            validateName(name);
+            if (!takenNames.add(nameKey(name))) {
+                throw new IllegalArgumentException("Name '" + name + "' is already taken.");
+            }
+        }
+    }
+
+    // Checks a single name against the naming rules; uniqueness is per table (see nameKey)
+    public static void validateName(String name) {
+        if (name == null || name.isEmpty()) {
             throw new IllegalArgumentException("Name cannot be empty.");
         }
         
@@ -91,49 +159,36 @@ public class GameSetup implements GamePhase {
         if (name.length() > MAX_NAME_LENGTH) {
             throw new IllegalArgumentException("Name cannot exceed " + MAX_NAME_LENGTH + " characters.");
         }
-        
-        // Check for duplicate names (case insensitive)
-        for (int i = 0; i < currentIndex; i++) {
-            if (players[i] != null && players[i].getName().equalsIgnoreCase(name)) {
-                throw new IllegalArgumentException("Name '" + name + "' is already taken.");
-            }
-        }
     }
 
-    // Shows assigned role information
-    private void displayRoleAssignment(GameCharacter player, int playerIndex) {
-        GameUtils.clearScreen();
-        System.out.println("*".repeat(50));
-        System.out.println("                  ROLE ASSIGNED!");
-        System.out.println("*".repeat(50));
-        System.out.printf("\nPlayer %d: %s%n", playerIndex + 1, player.getName());
-        System.out.printf("Role: %s%n", player.getRoleDescription());
-        System.out.printf("Lore: %s%n", player.getLoreDescription());
-        System.out.printf("Allegiance: %s%n", player.getTeam().getDisplayName());
-        System.out.println("\n" + "-".repeat(50));
-        System.out.println("Keep this a secret! Move on to the next player...");
-        GameUtils.ENTERKey();
+    // Two names clash at a table when their keys are equal (names are compared case-insensitively)
+    public static String nameKey(String name) {
+        return name.toLowerCase(Locale.ROOT);
     }
 
-    // Creates player instances based on role
-    private GameCharacter createPlayerWithRole(String role, String name) {
-        return switch (role) {
-            case "Elara" -> new Elara(name);
-            case "Calisto" -> new Calisto(name);
-            case "Orion" -> new Orion(name);
-            case "Luna" -> new Luna(name);
-            default -> throw new IllegalArgumentException("Unknown role: " + role);
-        };
+    // Shows assigned role information
+    private void displayRoleAssignment(GameConsole console, GameCharacter player, int playerIndex) {
+        console.clearScreen();
+        console.println("*".repeat(50));
+        console.println("                  ROLE ASSIGNED!");
+        console.println("*".repeat(50));
+        console.printf("\nPlayer %d: %s%n", playerIndex + 1, player.getName());
+        console.printf("Role: %s%n", player.getRoleDescription());
+        console.printf("Lore: %s%n", player.getLoreDescription());
+        console.printf("Allegiance: %s%n", player.getTeam().getDisplayName());
+        console.println("\n" + "-".repeat(50));
+        console.println("Keep this a secret! Move on to the next player...");
+        console.waitForEnter();
     }
 
     // Shows completion message after setup
-    private void displayCompletionMessage() {
-        GameUtils.clearScreen();
-        System.out.println("*".repeat(50));
-        System.out.println("                ALL ROLES ASSIGNED");
-        System.out.println("*".repeat(50));
-        System.out.println("\nThe game begins as moonlight falls...");
-        GameUtils.ENTERKey();
+    private void displayCompletionMessage(GameConsole console) {
+        console.clearScreen();
+        console.println("*".repeat(50));
+        console.println("                ALL ROLES ASSIGNED");
+        console.println("*".repeat(50));
+        console.println("\nThe game begins as moonlight falls...");
+        console.waitForEnter();
     }
 
     @Override
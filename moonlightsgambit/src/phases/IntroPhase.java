@@ -1,45 +1,46 @@
 package moonlightsgambit.phases;
 
 import moonlightsgambit.MoonlightsGambit;
+import moonlightsgambit.interfaces.GameConsole;
 import moonlightsgambit.interfaces.GamePhase;
-import moonlightsgambit.utils.GameUtils;
 
 // Handles game introduction phase
 public class IntroPhase implements GamePhase {
     
     @Override
     public void executePhase(MoonlightsGambit game) {
-        displayGameTitle();
-        displayWelcomeMessage();
+        GameConsole console = game.getConsole();
+        displayGameTitle(console);
+        displayWelcomeMessage(console);
     }
 
     // Displays game title with formatted header
-    private void displayGameTitle() {
-        GameUtils.clearScreen();
-        GameUtils.typeText("*".repeat(36), 10);
-        GameUtils.typeText("         MOONLIGHT'S GAMBIT", 80);
-        GameUtils.typeText("*".repeat(36), 10);
-        GameUtils.ENTERKey();
+    private void displayGameTitle(GameConsole console) {
+        console.clearScreen();
+        console.typeText("*".repeat(36), 10);
+        console.typeText("         MOONLIGHT'S GAMBIT", 80);
+        console.typeText("*".repeat(36), 10);
+        console.waitForEnter();
     }
 
     // Displays welcome message and game story
-    private void displayWelcomeMessage() {
-        GameUtils.clearScreen();
-        GameUtils.typeText("In the ancient academy of Artemia, four souls are bound by love and friendship... and secrets that could destroy everything. ", 30);
-        GameUtils.typeText(" ", 40);
-        GameUtils.typeText("Elara and Orion share a passionate love, each hiding a destiny the other cannot know. ", 30);
-        GameUtils.typeText("She carries divine light; he serves the shadow's call.", 30);
-        GameUtils.typeText("If they discover each other's truth, can love survive?", 30);
-        GameUtils.typeText(" ", 50);
-        GameUtils.typeText("Luna and Calisto have been friends since childhood, now investigating the mysterious attacks together.", 50);
-        GameUtils.typeText("But one seeks justice, while the other creates chaos.", 30);
-        GameUtils.typeText("How far will friendship stretch when lies run deep?", 30);
-        GameUtils.typeText(" ", 30);
-        GameUtils.typeText("None knows the roles fate has dealt them.", 30);
-        GameUtils.typeText("In this game of hidden loyalties, every choice could shatter the very bonds they're trying to protect.", 30);
-        GameUtils.typeText(" ", 50);
-        GameUtils.typeText("The masks are on... let the game unfold.", 40);
-        GameUtils.ENTERKey();
+    private void displayWelcomeMessage(GameConsole console) {
+        console.clearScreen();
+        console.typeText("In the ancient academy of Artemia, four souls are bound by love and friendship... and secrets that could destroy everything. ", 30);
+        console.typeText(" ", 40);
+        console.typeText("Elara and Orion share a passionate love, each hiding a destiny the other cannot know. ", 30);
+        console.typeText("She carries divine light; he serves the shadow's call.", 30);
+        console.typeText("If they discover each other's truth, can love survive?", 30);
+        console.typeText(" ", 50);
+        console.typeText("Luna and Calisto have been friends since childhood, now investigating the mysterious attacks together.", 50);
+        console.typeText("But one seeks justice, while the other creates chaos.", 30);
+        console.typeText("How far will friendship stretch when lies run deep?", 30);
+        console.typeText(" ", 30);
+        console.typeText("None knows the roles fate has dealt them.", 30);
+        console.typeText("In this game of hidden loyalties, every choice could shatter the very bonds they're trying to protect.", 30);
+        console.typeText(" ", 50);
+        console.typeText("The masks are on... let the game unfold.", 40);
+        console.waitForEnter();
     }
     
     @Override
@@ -3,108 +3,117 @@ package moonlightsgambit.phases;
 import java.util.*;
 import moonlightsgambit.MoonlightsGambit;
 import moonlightsgambit.characters.*;
+import moonlightsgambit.interfaces.GameConsole;
 import moonlightsgambit.interfaces.GamePhase;
-import moonlightsgambit.utils.GameUtils;
+import moonlightsgambit.interfaces.PlayerController;
 
 // Handles moon phase where players perform night actions
 public class MoonPhase implements GamePhase {
-    private final Scanner scanner = new Scanner(System.in);
+    private static final String BORDER = "*".repeat(44);
+
+    // Reused for every actor; a read-only window over the alive list, so building it costs O(1)
+    private final TargetList targets = new TargetList();
 
     @Override
     public void executePhase(MoonlightsGambit game) {
-        displayMoonPhaseHeader();
+        GameConsole console = game.getConsole();
+        displayMoonPhaseHeader(console);
         executePlayerActions(game);
-        displayPhaseConclusion();
+        displayPhaseConclusion(console);
     }
 
     // Shows moon phase header
-    private void displayMoonPhaseHeader() {
-        GameUtils.clearScreen();
-        System.out.println("*".repeat(44));
-        System.out.println("                 MOON PHASE");
-        System.out.println("*".repeat(44));
-        GameUtils.typeText("\nMoonlight descends upon Artemia Academy...", 40);
-        GameUtils.typeText("Hidden powers awaken in the shadows...", 40);
-        GameUtils.ENTERKey();
+    private void displayMoonPhaseHeader(GameConsole console) {
+        console.clearScreen();
+        console.println(BORDER);
+        console.println("                 MOON PHASE");
+        console.println(BORDER);
+        console.typeText("\nMoonlight descends upon Artemia Academy...", 40);
+        console.typeText("Hidden powers awaken in the shadows...", 40);
+        console.waitForEnter();
     }
 
     // Executes actions for all alive players
     private void executePlayerActions(MoonlightsGambit game) {
-        for (GameCharacter player : game.getPlayers()) {
-            if (player == null || !player.isAlive()) continue;
-
-            executeSinglePlayerAction(player, game);
+        // Nobody dies before dawn, so the alive list and each actor's place in it hold all night
+        List<GameCharacter> alive = game.getAlivePlayers();
+        for (int index = 0; index < alive.size(); index++) {
+            executeSinglePlayerAction(alive.get(index), index, game);
         }
     }
 
     // Executes action for single player
-    private void executeSinglePlayerAction(GameCharacter player, MoonlightsGambit game) {
-        GameUtils.clearScreen();
-        displayPlayerTurnInfo(player);
-
-        System.out.println(player.getLoreDescription());
-
-        List<GameCharacter> targets = buildTargetList(player, game);
-        printTargets(player, targets);
-
-        int choice = readTargetChoice(player, targets);
-        GameCharacter target = targets.get(choice);  
-        player.performAction(target, game); // POLYMORPHIC CALL
-
-        System.out.println("\nAction recorded...");
-        GameUtils.ENTERKey();
+    private void executeSinglePlayerAction(GameCharacter player, int aliveIndex, MoonlightsGambit game) {
+        GameConsole console = game.getConsole();
+        console.setAudience(player.getSeat());
+        try {
+            console.clearScreen();
+            displayPlayerTurnInfo(console, player);
+
+            console.println(player.getLoreDescription());
+
+            List<GameCharacter> targets = buildTargetList(player, aliveIndex, game);
+            int choice = game.getController(player.getSeat()).chooseNightTarget(player, targets, game);
+            if (choice == PlayerController.PASS) {
+                console.printf("\n[IDLE] %s lets the night pass.%n", player.getName());
+            } else {
+                GameCharacter target = targets.get(choice);
+                player.performAction(target, game); // POLYMORPHIC CALL
+            }
+
+            console.println("\nAction recorded...");
+            console.waitForEnter();
+        } finally {
+            console.setAudience(GameConsole.ALL_SEATS);
+        }
     }
 
     // Shows player turn information
-    private void displayPlayerTurnInfo(GameCharacter player) {
-        System.out.printf("%s's turn - %s%n", player.getName(), player.getRoleDescription());
+    private void displayPlayerTurnInfo(GameConsole console, GameCharacter player) {
+        console.printf("%s's turn - %s%n", player.getName(), player.getRoleDescription());
     }
 
-    // Builds list of valid targets for player
-    private List<GameCharacter> buildTargetList(GameCharacter actor, MoonlightsGambit game) {
-        List<GameCharacter> out = new ArrayList<>();
-        if (actor instanceof Elara) out.add(actor);  // Elara can target herself
-
-        for (GameCharacter p : game.getPlayers()) {
-            if (p != null && p.isAlive() && p != actor) out.add(p);
-        }
-
-        return out;
+    // Builds list of valid targets for player (package-private for the engine benchmarks)
+    List<GameCharacter> buildTargetList(GameCharacter actor, int aliveIndex, MoonlightsGambit game) {
+        targets.reset(game.getAlivePlayers(), aliveIndex, actor instanceof Elara);  // Elara can target herself
+        return targets;
     }
 
-    // Prints available targets for selection
-    private void printTargets(GameCharacter actor, List<GameCharacter> list) {
-        System.out.println("\nAlive players to target:");
-        int number = (actor instanceof Elara) ? 0 : 1; 
-        
-        for (GameCharacter t : list) {
-            System.out.printf("%d. %s%n", number++, t.getName());
-        }
-    }
+    // Alive players minus the actor, optionally with the actor listed first
+    private static final class TargetList extends AbstractList<GameCharacter> implements RandomAccess {
+        private List<GameCharacter> alive = List.of();
+        private int actorIndex;
+        private boolean selfFirst;
 
-    // Reads and validates target choice
-    private int readTargetChoice(GameCharacter actor, List<GameCharacter> list) {
-        if (actor == null || list.isEmpty()) {
-            return 0;
+        void reset(List<GameCharacter> alive, int actorIndex, boolean selfFirst) {
+            this.alive = alive;
+            this.actorIndex = actorIndex;
+            this.selfFirst = selfFirst;
         }
 
-        int min = (actor instanceof Elara) ? 0 : 1;
-        int max = (actor instanceof Elara) ? list.size() - 1 : list.size();
-
-        int userChoice = readInt(min, max, actor.getActionPrompt());
-        return userChoice - (actor instanceof Elara ? 0 : 1);
-    }
+        @Override
+        public GameCharacter get(int index) {
+            if (index < 0 || index >= size()) {
+                throw new IndexOutOfBoundsException("Target index out of range: " + index);
+            }
+            if (selfFirst) {
+                if (index == 0) return alive.get(actorIndex);
+                index--;
+            }
+            return alive.get(index < actorIndex ? index : index + 1);
+        }
 
-    // Safely reads integer input
-    private int readInt(int min, int max, String prompt) {
-        return GameUtils.safeReadInt(scanner, min, max, prompt);
+        @Override
+        public int size() {
+            return selfFirst ? alive.size() : alive.size() - 1;
+        }
     }
 
     // Shows phase conclusion
-    private void displayPhaseConclusion() {
-        GameUtils.clearScreen();
-        GameUtils.typeText("The night's secrets are sealed...", 30);
-        GameUtils.ENTERKey();
+    private void displayPhaseConclusion(GameConsole console) {
+        console.clearScreen();
+        console.typeText("The night's secrets are sealed...", 30);
+        console.waitForEnter();
     }
 
     @Override
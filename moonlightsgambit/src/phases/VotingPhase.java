@@ -1,23 +1,32 @@
 package moonlightsgambit.phases;
 
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
-import java.util.Scanner;
 import moonlightsgambit.MoonlightsGambit;
 import moonlightsgambit.characters.Calisto;
 import moonlightsgambit.characters.Elara;
 import moonlightsgambit.characters.GameCharacter;
 import moonlightsgambit.characters.Luna;
 import moonlightsgambit.characters.Orion;
+import moonlightsgambit.enums.DeathCause;
+import moonlightsgambit.enums.Ending;
+import moonlightsgambit.enums.EventType;
 import moonlightsgambit.enums.Team;
+import moonlightsgambit.interfaces.GameConsole;
 import moonlightsgambit.interfaces.GamePhase;
+import moonlightsgambit.interfaces.PlayerController;
+import moonlightsgambit.state.PackedState;
 import moonlightsgambit.utils.DestinyDraw;
-import moonlightsgambit.utils.GameUtils;
 
 // Handles voting phase where players vote to eliminate others
 public class VotingPhase implements GamePhase {
-    private final Scanner scanner = new Scanner(System.in);
+    private static final int CHAOS_CHOICE = 1;
+    private static final int PEACE_CHOICE = 2;
+    private static final String HEADER_BORDER = "*".repeat(56);
+    private static final String RESULTS_BORDER = "*".repeat(68);
+
+    // Vote tally indexed by seat, reused every round and grown to the table's seat count
+    private int[] votes = new int[PackedState.SEATS];
 
     @Override
     public void executePhase(MoonlightsGambit game) {
@@ -29,90 +38,89 @@ public class VotingPhase implements GamePhase {
             return;
         }
 
-        displayVotingPhaseHeader();
-        Map<GameCharacter, Integer> votes = initializeVotes(alivePlayers);
-        collectVotes(alivePlayers, votes);
-        processVotingResults(game, votes, alivePlayers);
+        displayVotingPhaseHeader(game.getConsole());
+        initializeVotes(game.getSeatCount());
+        collectVotes(game, alivePlayers);
+        processVotingResults(game, alivePlayers);
     }
 
     // Shows voting phase header
-    private void displayVotingPhaseHeader() {
-        GameUtils.clearScreen();
-        System.out.println("*".repeat(56));
-        System.out.println("                      VOTING PHASE");
-        System.out.println("*".repeat(56));
-        GameUtils.typeText("\nThe academy gathers to cast their votes.", 30);
-        GameUtils.typeText("Each member must accuse one among them to be banished.", 30);
-        GameUtils.ENTERKey();
-    }
-
-    // Initializes vote counts for alive players
-    private Map<GameCharacter, Integer> initializeVotes(List<GameCharacter> alivePlayers) {
-        Map<GameCharacter, Integer> votes = new HashMap<>();
-        for (GameCharacter player : alivePlayers) {
-            votes.put(player, 0);
+    private void displayVotingPhaseHeader(GameConsole console) {
+        console.clearScreen();
+        console.println(HEADER_BORDER);
+        console.println("                      VOTING PHASE");
+        console.println(HEADER_BORDER);
+        console.typeText("\nThe academy gathers to cast their votes.", 30);
+        console.typeText("Each member must accuse one among them to be banished.", 30);
+        console.waitForEnter();
+    }
+
+    // Resets vote counts for every seat
+    void initializeVotes(int seatCount) {
+        if (votes.length < seatCount) {
+            votes = new int[seatCount];
+        } else {
+            Arrays.fill(votes, 0);
         }
-        return votes;
     }
 
     // Collects votes from all alive players
-    private void collectVotes(List<GameCharacter> alivePlayers, Map<GameCharacter, Integer> votes) {
-        for (GameCharacter voter : alivePlayers) {
-            collectSingleVote(voter, alivePlayers, votes);
+    private void collectVotes(MoonlightsGambit game, List<GameCharacter> alivePlayers) {
+        for (int i = 0; i < alivePlayers.size(); i++) {
+            collectSingleVote(game, alivePlayers.get(i), alivePlayers);
         }
     }
 
     // Collects single player's vote
-    private void collectSingleVote(GameCharacter voter, List<GameCharacter> alivePlayers, Map<GameCharacter, Integer> votes) {
-        GameUtils.clearScreen();
-        System.out.println(voter.getName() + ", your turn to accuse:");
-        displayAlivePlayers(voter, alivePlayers);
-
-        GameCharacter target = getValidVoteTarget(voter, alivePlayers);
-        votes.put(target, votes.getOrDefault(target, 0) + 1);
-        System.out.println("\nVote recorded.");
-        GameUtils.ENTERKey();
-    }
-
-    // Shows list of alive players for voting
-    private void displayAlivePlayers(GameCharacter voter, List<GameCharacter> alivePlayers) {
-        System.out.println("Alive players:");
-        int index = 1;
-        for (GameCharacter candidate : alivePlayers) {
-            if (candidate == voter) {
-                System.out.printf("%d. %s (You)%n", index++, candidate.getName());
+    private void collectSingleVote(MoonlightsGambit game, GameCharacter voter, List<GameCharacter> alivePlayers) {
+        GameConsole console = game.getConsole();
+        console.setAudience(voter.getSeat());
+        try {
+            console.clearScreen();
+            console.printf("%s, your turn to accuse:%n", voter.getName());
+            int pick = game.getController(voter.getSeat()).chooseVoteTarget(voter, alivePlayers, game);
+            GameCharacter target = pick == PlayerController.PASS ? null : alivePlayers.get(pick);
+            if (target == null) {
+                console.printf("\n%s abstains.%n", voter.getName());
             } else {
-                System.out.printf("%d. %s%n", index++, candidate.getName());
+                countVote(target);
+                game.recordEvent(EventType.VOTE, voter.getSeat(), target.getSeat(), 0);
+                console.println("\nVote recorded.");
             }
+            console.waitForEnter();
+        } finally {
+            console.setAudience(GameConsole.ALL_SEATS);
         }
     }
 
-    // Gets valid vote target with input validation
-    private GameCharacter getValidVoteTarget(GameCharacter voter, List<GameCharacter> alivePlayers) {
-        int pick;
-        do {
-            pick = readInt(1, alivePlayers.size(), "Choose a player to vote (enter number): ");
-            if (alivePlayers.get(pick - 1) == voter) {
-                System.out.println("  You cannot vote for yourself, please choose someone else!");
-            }
-        } while (alivePlayers.get(pick - 1) == voter);
-        
-        return alivePlayers.get(pick - 1);
+    void countVote(GameCharacter target) {
+        votes[target.getSeat()]++;
+    }
+
+    // Ballots cast in this vote; abstentions are not counted
+    private int countBallots(List<GameCharacter> alivePlayers) {
+        int ballots = 0;
+        for (int i = 0; i < alivePlayers.size(); i++) {
+            ballots += votes[alivePlayers.get(i).getSeat()];
+        }
+        return ballots;
     }
 
     // Processes voting results and determines elimination
-    private void processVotingResults(MoonlightsGambit game, Map<GameCharacter, Integer> votes, List<GameCharacter> alivePlayers) {
-        GameUtils.clearScreen();
-        System.out.println("*".repeat(68));
-        System.out.println("                           VOTING RESULTS");
-        System.out.println("*".repeat(68));
+    private void processVotingResults(MoonlightsGambit game, List<GameCharacter> alivePlayers) {
+        GameConsole console = game.getConsole();
+        console.clearScreen();
+        console.println(RESULTS_BORDER);
+        console.println("                           VOTING RESULTS");
+        console.println(RESULTS_BORDER);
 
-        GameCharacter eliminated = determineEliminated(votes, alivePlayers);
+        game.recordEvent(EventType.VOTE_TALLY, PackedState.NO_SEAT, PackedState.NO_SEAT, countBallots(alivePlayers));
+        GameCharacter eliminated = determineEliminated(console, alivePlayers);
 
         if (eliminated != null) {
             handlePlayerElimination(game, eliminated);
         } else {
-            handleTieScenario();
+            handleTieScenario(console);
         }
 
         game.checkGameEndCondition();
@@ -120,9 +128,10 @@ public class VotingPhase implements GamePhase {
 
     // Handles player elimination
     private void handlePlayerElimination(MoonlightsGambit game, GameCharacter eliminated) {
-        System.out.printf("\n[ELIMINATED] The academy has spoken! %s is banished!%n", eliminated.getName());
-        eliminated.setAlive(false);
-        GameUtils.ENTERKey();
+        GameConsole console = game.getConsole();
+        console.printf("\n[ELIMINATED] The academy has spoken! %s is banished!%n", eliminated.getName());
+        game.eliminatePlayer(eliminated, DeathCause.BANISHED);
+        console.waitForEnter();
 
         // Check if elimination creates final two scenario
         if (game.getAlivePlayers().size() == 2) {
@@ -131,24 +140,25 @@ public class VotingPhase implements GamePhase {
     }
 
     // Handles tie scenario
-    private void handleTieScenario() {
-        System.out.println("\n[TIE] The vote ends in a stalemate!");
-        System.out.println("No one is eliminated this round...");
-        System.out.println("The game continues with current players!");
-        GameUtils.ENTERKey();
+    private void handleTieScenario(GameConsole console) {
+        console.println("\n[TIE] The vote ends in a stalemate!");
+        console.println("No one is eliminated this round...");
+        console.println("The game continues with current players!");
+        console.waitForEnter();
     }
 
-    // Determines which player is eliminated based on votes
-    private GameCharacter determineEliminated(Map<GameCharacter, Integer> votes, List<GameCharacter> alivePlayers) {
+    // Determines which player is eliminated based on votes (package-private for the engine benchmarks)
+    GameCharacter determineEliminated(GameConsole console, List<GameCharacter> alivePlayers) {
         int maxVotes = 0;
         GameCharacter eliminated = null;
         boolean isTie = false;
 
-        System.out.println("\nVote Count:");
+        console.println("\nVote Count:");
 
-        for (GameCharacter player : alivePlayers) {
-            int playerVotes = votes.getOrDefault(player, 0);
-            System.out.printf("  %s: %d votes%n", player.getName(), playerVotes);
+        for (int i = 0; i < alivePlayers.size(); i++) {
+            GameCharacter player = alivePlayers.get(i);
+            int playerVotes = votes[player.getSeat()];
+            console.printf("  %s: %d votes%n", player.getName(), playerVotes);
 
             if (playerVotes > maxVotes) {
                 maxVotes = playerVotes;
@@ -166,6 +176,12 @@ public class VotingPhase implements GamePhase {
 
     // Handles final two players scenario
     private void handleFinalTwoPlayers(MoonlightsGambit game, List<GameCharacter> finalTwo) {
+        // A Destiny Draw restored from a checkpoint picks up where it stopped
+        if (game.isDuelInProgress()) {
+            crossTeamDuel(game, game.getDuelist(0), game.getDuelist(1));
+            return;
+        }
+
         GameCharacter player1 = finalTwo.get(0);
         GameCharacter player2 = finalTwo.get(1);
 
@@ -209,13 +225,15 @@ public class VotingPhase implements GamePhase {
 
     // Handles same team victory
     private void handleSameTeamVictory(MoonlightsGambit game, GameCharacter player1, GameCharacter player2) {
+        GameConsole console = game.getConsole();
         if (player1.getTeam() == Team.GOOD) {
-            NarrativeEnding.printGoodEnding(player1, player2);
-            GameUtils.ENTERKey();
+            NarrativeEnding.printGoodEnding(console, player1, player2);
+            console.waitForEnter();
         } else {
-            NarrativeEnding.printEvilEnding(player1, player2);
-            GameUtils.ENTERKey();
+            NarrativeEnding.printEvilEnding(console, player1, player2);
+            console.waitForEnter();
         }
+        game.recordEnding(Ending.SAME_TEAM, player1.getTeam());
         game.setGameOver(true);
     }
 
@@ -226,63 +244,71 @@ public class VotingPhase implements GamePhase {
         GameCharacter elara = player1 instanceof Elara ? player1 : player2;
         GameCharacter orion = player1 instanceof Orion ? player1 : player2;
 
-        displayLoversIntroduction();
-        int elaraChoice = getElaraChoice();
-        int orionChoice = getOrionChoice();
+        displayLoversIntroduction(game.getConsole());
+        int elaraChoice = getElaraChoice(game, elara, orion);
+        int orionChoice = getOrionChoice(game, orion, elara);
+        recordChoice(game, elara, orion, elaraChoice);
+        recordChoice(game, orion, elara, orionChoice);
         processLoversChoice(game, player1, player2, elara, orion, elaraChoice, orionChoice);
     }
 
     // Shows lovers dilemma introduction
-    private void displayLoversIntroduction() {
-        GameUtils.clearScreen();
-        System.out.println("-".repeat(76));
-        System.out.println("        	 	     THE LOVERS DILEMMA");
-        System.out.println("-".repeat(76));
-        GameUtils.typeText("\nOnly two souls remain in the moonlit academy...", 30);
-        GameUtils.typeText("Elara and Orion stand facing each other, the weight of their hidden truths", 30);
-        GameUtils.typeText("finally revealed. The bonds of love clash with the call of duty.", 30);
-        GameUtils.ENTERKey();
+    private void displayLoversIntroduction(GameConsole console) {
+        console.clearScreen();
+        console.println("-".repeat(76));
+        console.println("        	 	     THE LOVERS DILEMMA");
+        console.println("-".repeat(76));
+        console.typeText("\nOnly two souls remain in the moonlit academy...", 30);
+        console.typeText("Elara and Orion stand facing each other, the weight of their hidden truths", 30);
+        console.typeText("finally revealed. The bonds of love clash with the call of duty.", 30);
+        console.waitForEnter();
     }
 
     // Gets Elara's choice in lovers dilemma
-    private int getElaraChoice() {
-        GameUtils.clearScreen();
-        System.out.println("-".repeat(70));
-        GameUtils.typeText("Elara's eyes meet Orion's across the shattered hall.", 30);
-        GameUtils.typeText("The man you love stands opposed to your beliefs.", 30);
-        GameUtils.typeText("\nDo you choose to follow your heart or protect your destiny?", 30);
-        int choice = readInt(1, 2, """
-                                   1. Chaos - Fight for your cause, even if it destroys your love
-                                   2. Peace - Choose love over war, embrace the person behind the role
-                                   Choice (1 or 2):""");
+    private int getElaraChoice(MoonlightsGambit game, GameCharacter elara, GameCharacter orion) {
+        GameConsole console = game.getConsole();
+        console.setAudience(elara.getSeat());
+        try {
+            console.clearScreen();
+            console.println("-".repeat(70));
+            console.typeText("Elara's eyes meet Orion's across the shattered hall.", 30);
+            console.typeText("The man you love stands opposed to your beliefs.", 30);
+            console.typeText("\nDo you choose to follow your heart or protect your destiny?", 30);
+            int choice = readChoice(game, elara, orion);
         
-        System.out.println("\nAction recorded...");
-        GameUtils.ENTERKey();
-        return choice;
+            console.println("\nAction recorded...");
+            console.waitForEnter();
+            return choice;
+        } finally {
+            console.setAudience(GameConsole.ALL_SEATS);
+        }
     }
 
     // Gets Orion's choice in lovers dilemma
-    private int getOrionChoice() {
-        GameUtils.clearScreen();
-        System.out.println("-".repeat(85));
-        GameUtils.typeText("Orion, the woman you swore you'd choose over anything stands as your final obstacle.", 30);
-        GameUtils.typeText("Every memory you share wars with the duty you serve.", 30);
-        GameUtils.typeText("\nWhat will you sacrifice for victory?", 30);
-        int choice = readInt(1, 2, """
-                                   1. Chaos - Complete your mission, no matter the cost
-                                   2. Peace - Lay down your blade for the love you found
-                                   Choice (1 or 2):""");
+    private int getOrionChoice(MoonlightsGambit game, GameCharacter orion, GameCharacter elara) {
+        GameConsole console = game.getConsole();
+        console.setAudience(orion.getSeat());
+        try {
+            console.clearScreen();
+            console.println("-".repeat(85));
+            console.typeText("Orion, the woman you swore you'd choose over anything stands as your final obstacle.", 30);
+            console.typeText("Every memory you share wars with the duty you serve.", 30);
+            console.typeText("\nWhat will you sacrifice for victory?", 30);
+            int choice = readChoice(game, orion, elara);
         
-        System.out.println("\nAction recorded...");
-        GameUtils.ENTERKey();
-        return choice;
+            console.println("\nAction recorded...");
+            console.waitForEnter();
+            return choice;
+        } finally {
+            console.setAudience(GameConsole.ALL_SEATS);
+        }
     }
 
     // Processes lovers' choices and determines outcome
     private void processLoversChoice(MoonlightsGambit game, GameCharacter player1, GameCharacter player2, 
                                    GameCharacter elara, GameCharacter orion, int elaraChoice, int orionChoice) {
-        GameUtils.clearScreen();
-        if (elaraChoice == 2 && orionChoice == 2) {
+        game.getConsole().clearScreen();
+        if (elaraChoice == PEACE_CHOICE && orionChoice == PEACE_CHOICE) {
             handleLoversVictory(game, elara, orion);
         } else {
             handleLoversDefeat(game, player1, player2);
@@ -291,26 +317,29 @@ public class VotingPhase implements GamePhase {
 
     // Handles lovers choosing each other (victory)
     private void handleLoversVictory(MoonlightsGambit game, GameCharacter elara, GameCharacter orion) {
-        GameUtils.clearScreen();
-        System.out.println("=".repeat(74));
-        System.out.println("                        LOVE TRIUMPHS OVER DESTINY");
-        System.out.println("=".repeat(74));
-        System.out.println("Elara and Orion choose each other, defying fate and the academy's rules.");
+        GameConsole console = game.getConsole();
+        console.clearScreen();
+        console.println("=".repeat(74));
+        console.println("                        LOVE TRIUMPHS OVER DESTINY");
+        console.println("=".repeat(74));
+        console.println("Elara and Orion choose each other, defying fate and the academy's rules.");
         elara.setAlive(true);
         orion.setAlive(true);
-        GameUtils.ENTERKey();
+        console.waitForEnter();
         NarrativeEnding.displayLoversVictory(game, elara, orion);
+        game.recordEnding(Ending.LOVERS_PEACE, null);
         game.setGameOver(true);
         game.setSpecialEnding(true);
     }
 
     // Handles lovers choosing duty over love
     private void handleLoversDefeat(MoonlightsGambit game, GameCharacter player1, GameCharacter player2) {
-        GameUtils.clearScreen();
-        System.out.println("-".repeat(85));
-        GameUtils.typeText("A rift tears through the moonlit hall as love shatters under the weight of destiny.", 30);
-        GameUtils.typeText("The academy witnesses a heartbreak that echoes through eternity.", 30);
-        GameUtils.ENTERKey();
+        GameConsole console = game.getConsole();
+        console.clearScreen();
+        console.println("-".repeat(85));
+        console.typeText("A rift tears through the moonlit hall as love shatters under the weight of destiny.", 30);
+        console.typeText("The academy witnesses a heartbreak that echoes through eternity.", 30);
+        console.waitForEnter();
         crossTeamDuel(game, player1, player2);
     }
 
@@ -321,63 +350,71 @@ public class VotingPhase implements GamePhase {
         GameCharacter calisto = player1 instanceof Calisto ? player1 : player2;
         GameCharacter luna = player1 instanceof Luna ? player1 : player2;
 
-        displayFriendsIntroduction();
-        int calistoChoice = getCalistoChoice();
-        int lunaChoice = getLunaChoice();
+        displayFriendsIntroduction(game.getConsole());
+        int calistoChoice = getCalistoChoice(game, calisto, luna);
+        int lunaChoice = getLunaChoice(game, luna, calisto);
+        recordChoice(game, calisto, luna, calistoChoice);
+        recordChoice(game, luna, calisto, lunaChoice);
         processFriendsChoice(game, player1, player2, calisto, luna, calistoChoice, lunaChoice);
     }
 
     // Shows friends crossroads introduction
-    private void displayFriendsIntroduction() {
-        GameUtils.clearScreen();
-        System.out.println("-".repeat(61));
-        System.out.println("                   THE FRIENDS' CROSSROADS");
-        System.out.println("-".repeat(61));
-        GameUtils.typeText("\nOnly two souls remain in the moonlit academy...", 30);
-        GameUtils.typeText("Calisto and Luna stand amidst the ruins of their friendship,", 30);
-        GameUtils.typeText("childhood bonds shattered by opposing loyalties.", 30);
-        GameUtils.ENTERKey();
+    private void displayFriendsIntroduction(GameConsole console) {
+        console.clearScreen();
+        console.println("-".repeat(61));
+        console.println("                   THE FRIENDS' CROSSROADS");
+        console.println("-".repeat(61));
+        console.typeText("\nOnly two souls remain in the moonlit academy...", 30);
+        console.typeText("Calisto and Luna stand amidst the ruins of their friendship,", 30);
+        console.typeText("childhood bonds shattered by opposing loyalties.", 30);
+        console.waitForEnter();
     }
 
     // Gets Calisto's choice
-    private int getCalistoChoice() {
-        GameUtils.clearScreen();
-        System.out.println("-".repeat(70));
-        GameUtils.typeText("Calisto, you face the friend who walked beside you since childhood.", 30);
-        GameUtils.typeText("The one who shared your dreams now stands as your enemy.", 30);
-        GameUtils.typeText("\nDo you hold to justice or to memory?", 30);
-        int choice = readInt(1, 2, """
-                                   1. Chaos - Uphold the truth, even if it breaks your oldest bond
-                                   2. Peace - Choose friendship over duty, forgive the betrayal
-                                   Choice (1 or 2):""");
+    private int getCalistoChoice(MoonlightsGambit game, GameCharacter calisto, GameCharacter luna) {
+        GameConsole console = game.getConsole();
+        console.setAudience(calisto.getSeat());
+        try {
+            console.clearScreen();
+            console.println("-".repeat(70));
+            console.typeText("Calisto, you face the friend who walked beside you since childhood.", 30);
+            console.typeText("The one who shared your dreams now stands as your enemy.", 30);
+            console.typeText("\nDo you hold to justice or to memory?", 30);
+            int choice = readChoice(game, calisto, luna);
         
-        System.out.println("\nAction recorded...");
-        GameUtils.ENTERKey();
-        return choice;
+            console.println("\nAction recorded...");
+            console.waitForEnter();
+            return choice;
+        } finally {
+            console.setAudience(GameConsole.ALL_SEATS);
+        }
     }
 
     // Gets Luna's choice
-    private int getLunaChoice() {
-        GameUtils.clearScreen();
-        System.out.println("-".repeat(70));
-        GameUtils.typeText("Luna, your dearest friend has discovered the chaos you kept buried.", 30);
-        GameUtils.typeText("The havoc you wreaked has led to this final moment.", 30);
-        GameUtils.typeText("\nWhat matters more – your cause or your companion?", 30);
-        int choice = readInt(1, 2, """
-                                   1. Chaos - See your mission through, no turning back now
-                                   2. Peace - Remember what you were before the shadows called
-                                   Choice (1 or 2):""");
+    private int getLunaChoice(MoonlightsGambit game, GameCharacter luna, GameCharacter calisto) {
+        GameConsole console = game.getConsole();
+        console.setAudience(luna.getSeat());
+        try {
+            console.clearScreen();
+            console.println("-".repeat(70));
+            console.typeText("Luna, your dearest friend has discovered the chaos you kept buried.", 30);
+            console.typeText("The havoc you wreaked has led to this final moment.", 30);
+            console.typeText("\nWhat matters more – your cause or your companion?", 30);
+            int choice = readChoice(game, luna, calisto);
         
-        System.out.println("\nAction recorded...");
-        GameUtils.ENTERKey();
-        return choice;
+            console.println("\nAction recorded...");
+            console.waitForEnter();
+            return choice;
+        } finally {
+            console.setAudience(GameConsole.ALL_SEATS);
+        }
     }
 
     // Processes friends' choices
     private void processFriendsChoice(MoonlightsGambit game, GameCharacter player1, GameCharacter player2,
                                     GameCharacter calisto, GameCharacter luna, int calistoChoice, int lunaChoice) {
-        GameUtils.clearScreen();
-        if (calistoChoice == 2 && lunaChoice == 2) {
+        game.getConsole().clearScreen();
+        if (calistoChoice == PEACE_CHOICE && lunaChoice == PEACE_CHOICE) {
             handleFriendsVictory(game, calisto, luna);
         } else {
             handleFriendsDefeat(game, player1, player2);
@@ -389,8 +426,9 @@ public class VotingPhase implements GamePhase {
         game.displayFriendshipRemains();
         luna.setAlive(true);
         calisto.setAlive(true);
-        GameUtils.ENTERKey();
+        game.getConsole().waitForEnter();
         NarrativeEnding.displayFriendsVictory(game, calisto, luna);
+        game.recordEnding(Ending.FRIENDS_PEACE, null);
         game.setGameOver(true);
         game.setSpecialEnding(true);
     }
@@ -398,7 +436,7 @@ public class VotingPhase implements GamePhase {
     // Handles friends choosing duty over friendship
     private void handleFriendsDefeat(MoonlightsGambit game, GameCharacter player1, GameCharacter player2) {
         game.displayBondsBroken();
-        GameUtils.ENTERKey();
+        game.getConsole().waitForEnter();
         crossTeamDuel(game, player1, player2);
     }
 
@@ -406,50 +444,57 @@ public class VotingPhase implements GamePhase {
 
     // Handles cross-team duel between final two players
     private void crossTeamDuel(MoonlightsGambit game, GameCharacter player1, GameCharacter player2) {
-        displayDuelIntroduction(player1, player2);
+        GameConsole console = game.getConsole();
+        displayDuelIntroduction(console, player1, player2);
         
-        DestinyDraw duel = new DestinyDraw(player1, player2);
+        DestinyDraw duel = new DestinyDraw(player1, player2, game);
         GameCharacter winner = duel.playGame();
         GameCharacter loser = (winner == player1) ? player2 : player1;
         
-        displayEpilogue(winner, loser);
-        GameUtils.ENTERKey();
+        displayEpilogue(console, winner, loser);
+        console.waitForEnter();
 
+        game.recordEnding(Ending.DESTINY_DRAW, winner.getTeam());
         game.displayDestinyDrawGameConcluded(winner.getTeam());
         game.setGameOver(true);
         game.setSpecialEnding(true);
     }
 
     // Shows duel introduction
-    private void displayDuelIntroduction(GameCharacter player1, GameCharacter player2) {
-        GameUtils.clearScreen();
-        System.out.println(">>> CROSS-TEAM SHOWDOWN! <<<\n");
-        System.out.printf("%s (%s) vs %s (%s)%n",
+    private void displayDuelIntroduction(GameConsole console, GameCharacter player1, GameCharacter player2) {
+        console.clearScreen();
+        console.println(">>> CROSS-TEAM SHOWDOWN! <<<\n");
+        console.printf("%s (%s) vs %s (%s)%n",
                 player1.getRoleName(), getTeamDisplay(player1.getTeam()),
                 player2.getRoleName(), getTeamDisplay(player2.getTeam()));
-        GameUtils.typeText("Destiny must decide the academy's fate...", 40);
-        GameUtils.ENTERKey();
+        console.typeText("Destiny must decide the academy's fate...", 40);
+        console.waitForEnter();
     }
 
     // Shows epilogue based on duel outcome
-    private void displayEpilogue(GameCharacter winner, GameCharacter loser) {
-        GameUtils.clearScreen();
-        System.out.println("=".repeat(50));
-        System.out.println("                     EPILOGUE");
-        System.out.println("=".repeat(50));
+    private void displayEpilogue(GameConsole console, GameCharacter winner, GameCharacter loser) {
+        console.clearScreen();
+        console.println("=".repeat(50));
+        console.println("                     EPILOGUE");
+        console.println("=".repeat(50));
         
         if (winner.getTeam() == Team.GOOD) { 
-            NarrativeEnding.printGoodEnding(winner, loser);
+            NarrativeEnding.printGoodEnding(console, winner, loser);
         } else { 
-            NarrativeEnding.printEvilEnding(winner, loser);
+            NarrativeEnding.printEvilEnding(console, winner, loser);
         }
     }
 
     /* ---------- UTILITY METHODS ---------- */
 
-    // Safely reads integer input
-    private int readInt(int min, int max, String prompt) {
-        return GameUtils.safeReadInt(scanner, min, max, prompt);
+    // Asks the seat's controller for its final-two decision, as the menu choice a player would enter
+    private int readChoice(MoonlightsGambit game, GameCharacter player, GameCharacter partner) {
+        return game.getController(player.getSeat()).choosePeace(player, partner, game) ? PEACE_CHOICE : CHAOS_CHOICE;
+    }
+
+    // Journals a final-two choice: value 1 for peace, 0 for chaos
+    private void recordChoice(MoonlightsGambit game, GameCharacter player, GameCharacter partner, int choice) {
+        game.recordEvent(EventType.PEACE_CHOICE, player.getSeat(), partner.getSeat(), choice == PEACE_CHOICE ? 1 : 0);
     }
 
     // Gets display name for team
@@ -0,0 +1,268 @@
+package moonlightsgambit.runtime;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import moonlightsgambit.phases.GameSetup;
+
+// Queue of players waiting for a table; a table forms as soon as enough compatible players wait.
+// Players sit in rating buckets, each an intrusive list in order of arrival, so joining and leaving are O(1) however
+// long the queue, and forming a table only looks at the buckets within the rating window. A player's window widens
+// while they wait (see sweep), so nobody waits forever for perfectly matched opponents. Names are checked against
+// the GameSetup rules on entry, and a table never seats two players whose names clash.
+// Thread-safe; formed tables are handed to the listener on the calling thread, outside the queue's lock.
+public final class Matchmaker<T> {
+    public static final int DEFAULT_RATING = 1500;
+    private static final int BUCKET_WIDTH = 50;
+    private static final int MAX_RATING = 4000;
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final int seatCount;
+    private final boolean rated;
+    private final int ratingWindow;
+    private final int widenPerSecond;
+    private final Consumer<List<Ticket<T>>> onTableFormed;
+    private final List<Bucket<T>> buckets = new ArrayList<>();
+    private int waiting;
+    private long nextSequence;
+
+    // First come, first seated: ratings are ignored
+    public Matchmaker(int seatCount, Consumer<List<Ticket<T>>> onTableFormed) {
+        this(seatCount, false, 0, 0, onTableFormed);
+    }
+
+    // Seats players whose ratings lie within ratingWindow of each other's, plus widenPerSecond for every second
+    // the longest-waiting of them has queued; ratings are compared in buckets of 50 points
+    public Matchmaker(int seatCount, int ratingWindow, int widenPerSecond, Consumer<List<Ticket<T>>> onTableFormed) {
+        this(seatCount, true, ratingWindow, widenPerSecond, onTableFormed);
+    }
+
+    private Matchmaker(int seatCount, boolean rated, int ratingWindow, int widenPerSecond,
+                       Consumer<List<Ticket<T>>> onTableFormed) {
+        if (seatCount < 1 || ratingWindow < 0 || widenPerSecond < 0) {
+            throw new IllegalArgumentException("Seat count must be positive and rating windows non-negative");
+        }
+        if (onTableFormed == null) {
+            throw new IllegalArgumentException("Table listener cannot be null");
+        }
+        this.seatCount = seatCount;
+        this.rated = rated;
+        this.ratingWindow = ratingWindow;
+        this.widenPerSecond = widenPerSecond;
+        this.onTableFormed = onTableFormed;
+        int bucketCount = rated ? MAX_RATING / BUCKET_WIDTH + 1 : 1;
+        for (int i = 0; i < bucketCount; i++) {
+            buckets.add(new Bucket<>());
+        }
+    }
+
+    // Queues a player; throws IllegalArgumentException if the name breaks the naming rules.
+    // If the player completes a table, the listener has been called by the time this returns.
+    public Ticket<T> enqueue(String name, int rating, T player) {
+        GameSetup.validateName(name);
+        Ticket<T> ticket;
+        List<Ticket<T>> table;
+        synchronized (this) {
+            ticket = new Ticket<>(this, name, rating, player, nextSequence++, System.nanoTime());
+            link(ticket);
+            table = tryForm(ticket, ratingWindow);
+        }
+        if (table != null) {
+            onTableFormed.accept(table);
+        }
+        return ticket;
+    }
+
+    // Takes a player out of the queue; false if they were already seated or had left
+    public synchronized boolean cancel(Ticket<T> ticket) {
+        if (ticket == null || ticket.owner != this) {
+            throw new IllegalArgumentException("Ticket does not belong to this matchmaker");
+        }
+        if (ticket.state != Ticket.WAITING) {
+            return false;
+        }
+        unlink(ticket);
+        ticket.state = Ticket.CANCELLED;
+        return true;
+    }
+
+    // Retries the longest-waiting player of every bucket with a window widened by their wait; call periodically.
+    // Returns the number of tables formed.
+    public int sweep() {
+        List<List<Ticket<T>>> formed = new ArrayList<>();
+        synchronized (this) {
+            long now = System.nanoTime();
+            for (Bucket<T> bucket : buckets) {
+                while (bucket.head != null) {
+                    List<Ticket<T>> table = tryForm(bucket.head, windowAt(bucket.head, now));
+                    if (table == null) {
+                        break;
+                    }
+                    formed.add(table);
+                }
+            }
+        }
+        for (List<Ticket<T>> table : formed) {
+            onTableFormed.accept(table);
+        }
+        return formed.size();
+    }
+
+    public synchronized int getWaitingCount() {
+        return waiting;
+    }
+
+    public int getSeatCount() {
+        return seatCount;
+    }
+
+    /* ---------- UNDER THE LOCK ---------- */
+
+    private long windowAt(Ticket<T> ticket, long now) {
+        long waitedSeconds = (now - ticket.enqueuedNanos) / NANOS_PER_SECOND;
+        return Math.min(MAX_RATING, ratingWindow + widenPerSecond * waitedSeconds);
+    }
+
+    // Seats the anchor with the closest-rated, then longest-waiting, compatible players; null if too few wait
+    private List<Ticket<T>> tryForm(Ticket<T> anchor, long window) {
+        if (waiting < seatCount) {
+            return null;
+        }
+        int home = bucketOf(anchor.rating);
+        int reach = rated ? (int) ((window + BUCKET_WIDTH - 1) / BUCKET_WIDTH) : 0;
+        int low = Math.max(0, home - reach);
+        int high = Math.min(buckets.size() - 1, home + reach);
+        int available = 0;
+        for (int b = low; b <= high; b++) {
+            available += buckets.get(b).size;
+        }
+        if (available < seatCount) {
+            return null;
+        }
+        List<Ticket<T>> table = new ArrayList<>(seatCount);
+        Set<String> names = new HashSet<>();
+        table.add(anchor);
+        names.add(anchor.nameKey);
+        for (int distance = 0; table.size() < seatCount && distance <= reach; distance++) {
+            collect(home - distance, low, high, anchor, table, names);
+            if (distance > 0) {
+                collect(home + distance, low, high, anchor, table, names);
+            }
+        }
+        if (table.size() < seatCount) {
+            return null;
+        }
+        for (Ticket<T> ticket : table) {
+            unlink(ticket);
+            ticket.state = Ticket.MATCHED;
+        }
+        // Seats follow the order in which the players joined
+        table.sort((a, b) -> Long.compare(a.sequence, b.sequence));
+        return table;
+    }
+
+    private void collect(int bucket, int low, int high, Ticket<T> anchor, List<Ticket<T>> table, Set<String> names) {
+        if (bucket < low || bucket > high) {
+            return;
+        }
+        for (Ticket<T> t = buckets.get(bucket).head; t != null && table.size() < seatCount; t = t.next) {
+            if (t != anchor && names.add(t.nameKey)) {
+                table.add(t);
+            }
+        }
+    }
+
+    private int bucketOf(int rating) {
+        return rated ? Math.max(0, Math.min(MAX_RATING, rating)) / BUCKET_WIDTH : 0;
+    }
+
+    private void link(Ticket<T> ticket) {
+        Bucket<T> bucket = buckets.get(bucketOf(ticket.rating));
+        ticket.prev = bucket.tail;
+        if (bucket.tail != null) {
+            bucket.tail.next = ticket;
+        } else {
+            bucket.head = ticket;
+        }
+        bucket.tail = ticket;
+        bucket.size++;
+        waiting++;
+    }
+
+    private void unlink(Ticket<T> ticket) {
+        Bucket<T> bucket = buckets.get(bucketOf(ticket.rating));
+        if (ticket.prev != null) {
+            ticket.prev.next = ticket.next;
+        } else {
+            bucket.head = ticket.next;
+        }
+        if (ticket.next != null) {
+            ticket.next.prev = ticket.prev;
+        } else {
+            bucket.tail = ticket.prev;
+        }
+        ticket.prev = null;
+        ticket.next = null;
+        bucket.size--;
+        waiting--;
+    }
+
+    // Waiting players of one rating band, oldest first
+    private static final class Bucket<T> {
+        private Ticket<T> head;
+        private Ticket<T> tail;
+        private int size;
+    }
+
+    // One player's place in the queue
+    public static final class Ticket<T> {
+        private static final int WAITING = 0;
+        private static final int MATCHED = 1;
+        private static final int CANCELLED = 2;
+
+        private final Matchmaker<T> owner;
+        private final String name;
+        private final String nameKey;
+        private final int rating;
+        private final T player;
+        private final long sequence;
+        private final long enqueuedNanos;
+        private volatile int state = WAITING;
+        // Bucket links, guarded by the matchmaker's lock
+        private Ticket<T> prev;
+        private Ticket<T> next;
+
+        private Ticket(Matchmaker<T> owner, String name, int rating, T player, long sequence, long enqueuedNanos) {
+            this.owner = owner;
+            this.name = name;
+            this.nameKey = GameSetup.nameKey(name);
+            this.rating = rating;
+            this.player = player;
+            this.sequence = sequence;
+            this.enqueuedNanos = enqueuedNanos;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getRating() {
+            return rating;
+        }
+
+        public T getPlayer() {
+            return player;
+        }
+
+        public boolean isWaiting() {
+            return state == WAITING;
+        }
+
+        // True once the player has been seated at a formed table
+        public boolean isMatched() {
+            return state == MATCHED;
+        }
+    }
+}
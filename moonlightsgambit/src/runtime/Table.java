@@ -0,0 +1,53 @@
+package moonlightsgambit.runtime;
+
+import java.util.concurrent.Future;
+import moonlightsgambit.interfaces.TableConsole;
+
+// Handle to one open table: its id, private console and running session
+public final class Table {
+    private final long id;
+    private final TableConsole console;
+    private volatile Future<?> session;
+    private volatile RuntimeException failure;
+
+    Table(long id, TableConsole console) {
+        this.id = id;
+        this.console = console;
+    }
+
+    void attach(Future<?> session) {
+        this.session = session;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public TableConsole getConsole() {
+        return console;
+    }
+
+    // True once the players left, the table was closed or the session failed
+    public boolean isFinished() {
+        Future<?> current = session;
+        return current != null && current.isDone();
+    }
+
+    // What ended the session if it failed rather than ending normally; null while it runs and after a normal end
+    public RuntimeException getFailure() {
+        return failure;
+    }
+
+    void fail(RuntimeException failure) {
+        this.failure = failure;
+    }
+
+    // Stops the session and releases the table's channels
+    public void close() {
+        Future<?> current = session;
+        if (current != null) {
+            current.cancel(true);
+        }
+        console.close();
+    }
+}
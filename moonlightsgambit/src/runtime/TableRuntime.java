@@ -0,0 +1,195 @@
+package moonlightsgambit.runtime;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import moonlightsgambit.LobbyConfig;
+import moonlightsgambit.MoonlightsGambitGame;
+import moonlightsgambit.interfaces.InputSource;
+import moonlightsgambit.interfaces.TableConsole;
+import moonlightsgambit.journal.EventJournal;
+import moonlightsgambit.phases.GameSetup;
+import moonlightsgambit.utils.OutputPacing;
+import moonlightsgambit.utils.PromptDeadlines;
+import moonlightsgambit.utils.SessionEndedException;
+import moonlightsgambit.utils.StreamConsole;
+import moonlightsgambit.utils.StreamInputSource;
+import moonlightsgambit.utils.TerminalCapabilities;
+import moonlightsgambit.utils.TimingWheel;
+
+// Hosts many independent tables in one process, each session on its own (virtual) thread
+public class TableRuntime implements AutoCloseable {
+    // Resolution of turn deadlines
+    private static final long DEADLINE_TICK_MS = 100;
+    private static final System.Logger LOG = System.getLogger(TableRuntime.class.getName());
+
+    private final ExecutorService executor;
+    private final boolean virtualThreads;
+    private final AtomicLong nextTableId = new AtomicLong(1);
+    private final Map<Long, Table> tables = new ConcurrentHashMap<>();
+    private final Path journalRoot;
+    private final OutputPacing pacing;
+    // Shared by every table's prompts; null when prompts wait indefinitely
+    private final TimingWheel deadlineWheel;
+    private final PromptDeadlines deadlines;
+
+    public TableRuntime() {
+        this(null);
+    }
+
+    // Journals every table's events under journalRoot/table-<id> (null disables journaling)
+    public TableRuntime(Path journalRoot) {
+        this(journalRoot, OutputPacing.INTERACTIVE);
+    }
+
+    // Narrates every table with the given pacing, e.g. a virtual clock for soak runs
+    public TableRuntime(Path journalRoot, OutputPacing pacing) {
+        this(journalRoot, pacing, 0, TimeUnit.MILLISECONDS);
+    }
+
+    // Gives every prompt a turn deadline (0 waits indefinitely); a player who lets it pass gets the prompt's
+    // default: no night action, an abstained vote, a kept card, and so on
+    public TableRuntime(Path journalRoot, OutputPacing pacing, long turnTimeout, TimeUnit unit) {
+        if (pacing == null || unit == null || turnTimeout < 0) {
+            throw new IllegalArgumentException("Pacing and a non-negative turn timeout are required");
+        }
+        this.journalRoot = journalRoot;
+        this.pacing = pacing;
+        this.deadlineWheel = turnTimeout == 0 ? null : new TimingWheel(DEADLINE_TICK_MS, TimeUnit.MILLISECONDS);
+        this.deadlines = turnTimeout == 0 ? null : new PromptDeadlines(deadlineWheel, turnTimeout, unit);
+        ExecutorService virtual = newVirtualThreadExecutor();
+        this.virtualThreads = virtual != null;
+        this.executor = virtualThreads ? virtual : Executors.newCachedThreadPool(new TableThreadFactory());
+    }
+
+    // Opens a table whose prompts read from in and whose narration goes to out
+    public Table openTable(InputStream in, OutputStream out) {
+        return openTable(new StreamInputSource(in, executor), out);
+    }
+
+    // Opens a table whose prompts read from the given source, e.g. a QueueInputSource fed by a network loop
+    public Table openTable(InputSource input, OutputStream out) {
+        return openTable(new StreamConsole(input, out, TerminalCapabilities.ANSI, pacing, executor), LobbyConfig.CLASSIC);
+    }
+
+    // Opens a table for the given lobby on a console of its own, e.g. one that routes each seat to its own client;
+    // the runtime's turn deadlines apply, and closing the table closes the console
+    public Table openTable(TableConsole console, LobbyConfig config) {
+        return openTable(console, config, null);
+    }
+
+    // Opens a table whose players were already named, e.g. by a Matchmaker; throws IllegalArgumentException
+    // before opening anything unless every seat has a valid, unique name
+    public Table openTable(TableConsole console, LobbyConfig config, String[] seatNames) {
+        if (console == null || config == null) {
+            throw new IllegalArgumentException("Console and lobby config must be non-null");
+        }
+        String[] names = seatNames == null ? null : seatNames.clone();
+        if (names != null) {
+            GameSetup.validateSeatNames(names, config.getSeatCount());
+        }
+        console.setPromptDeadlines(deadlines);
+        Table table = new Table(nextTableId.getAndIncrement(), console);
+        tables.put(table.getId(), table);
+        table.attach(executor.submit(() -> runSession(table, config, names)));
+        return table;
+    }
+
+    // Session body: the regular play-again loop, bound to the table's own console and journal. A session ends
+    // normally when its players leave or the table is closed; anything else is a failure, kept on the table.
+    private void runSession(Table table, LobbyConfig config, String[] seatNames) {
+        EventJournal journal = null;
+        try {
+            if (journalRoot != null) {
+                journal = new EventJournal(getJournalDirectory(table.getId()));
+            }
+            MoonlightsGambitGame.playSessions(table.getConsole(), config, journal, seatNames);
+        } catch (SessionEndedException e) {
+            // Players disconnected or abandoned the table, or it was closed; nothing left to report to
+        } catch (RuntimeException e) {
+            if (!Thread.currentThread().isInterrupted()) {
+                table.fail(e);
+                LOG.log(System.Logger.Level.ERROR, "Table " + table.getId() + " failed", e);
+            }
+            // Else the table was closed under a running step
+        } finally {
+            tables.remove(table.getId());
+            table.getConsole().close();
+            if (journal != null) {
+                journal.close();
+            }
+        }
+    }
+
+    // Where a table's journal lives; null when this runtime does not journal
+    public Path getJournalDirectory(long tableId) {
+        return journalRoot == null ? null : journalRoot.resolve("table-" + tableId);
+    }
+
+    public Table getTable(long id) {
+        return tables.get(id);
+    }
+
+    public Collection<Table> getOpenTables() {
+        return Collections.unmodifiableCollection(tables.values());
+    }
+
+    public int getOpenTableCount() {
+        return tables.size();
+    }
+
+    // True when sessions run on virtual threads rather than one platform thread each
+    public boolean usesVirtualThreads() {
+        return virtualThreads;
+    }
+
+    // Closes every table and waits briefly for the sessions to wind down
+    @Override
+    public void close() {
+        // Interrupt every session and render task first, so no table waits on another's thread
+        executor.shutdownNow();
+        for (Table table : tables.values()) {
+            table.close();
+        }
+        if (deadlineWheel != null) {
+            deadlineWheel.close();
+        }
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Looks up the virtual-thread executor at runtime so the sources still build on Java 17
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    // Fallback for runtimes without virtual threads: daemon threads named after the runtime
+    private static final class TableThreadFactory implements ThreadFactory {
+        private final AtomicLong count = new AtomicLong(1);
+
+        @Override
+        public Thread newThread(Runnable task) {
+            Thread thread = new Thread(task, "table-session-" + count.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
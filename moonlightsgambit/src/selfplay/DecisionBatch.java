@@ -0,0 +1,75 @@
+package moonlightsgambit.selfplay;
+
+import java.util.Arrays;
+
+// A block of recorded decision rows held column by column, one int array per DecisionColumn.
+// Grows by doubling and is cleared for reuse, so a warmed-up batch records without allocating.
+// Owned by one thread at a time: filled by a recorder, then handed to the writer, which hands it back.
+public final class DecisionBatch {
+    private static final DecisionColumn[] COLUMNS = DecisionColumn.values();
+    private static final int INITIAL_ROWS = 1024;
+
+    private final int[][] values = new int[COLUMNS.length][];
+    private int rows;
+
+    public DecisionBatch() {
+        this(INITIAL_ROWS);
+    }
+
+    public DecisionBatch(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Batch capacity must be at least 1 row");
+        }
+        for (int i = 0; i < values.length; i++) {
+            values[i] = new int[capacity];
+        }
+    }
+
+    public int getRowCount() {
+        return rows;
+    }
+
+    public int get(DecisionColumn column, int row) {
+        if (row < 0 || row >= rows) {
+            throw new IllegalArgumentException("Row out of range: " + row);
+        }
+        return values[column.ordinal()][row];
+    }
+
+    public void clear() {
+        rows = 0;
+    }
+
+    // Appends a row of zeros and returns its index
+    int addRow() {
+        if (rows == values[0].length) {
+            for (int i = 0; i < values.length; i++) {
+                values[i] = Arrays.copyOf(values[i], rows * 2);
+            }
+        }
+        int row = rows++;
+        for (int[] column : values) {
+            column[row] = 0;
+        }
+        return row;
+    }
+
+    void set(DecisionColumn column, int row, int value) {
+        values[column.ordinal()][row] = value;
+    }
+
+    // The column's backing array; only the first getRowCount() values are rows
+    int[] column(DecisionColumn column) {
+        return values[column.ordinal()];
+    }
+
+    // Makes room for the given number of rows, to be filled in through column()
+    void resize(int rowCount) {
+        if (rowCount > values[0].length) {
+            for (int i = 0; i < values.length; i++) {
+                values[i] = Arrays.copyOf(values[i], rowCount);
+            }
+        }
+        rows = rowCount;
+    }
+}
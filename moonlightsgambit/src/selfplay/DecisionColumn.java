@@ -0,0 +1,84 @@
+package moonlightsgambit.selfplay;
+
+// One column of recorded decisions. Every row is one option of one decision, seen from the deciding seat.
+// Codes are stored in self-play files and must never change; width is the little-endian byte size of a value on
+// disk (1, 2 or 4; values are signed), and delta columns store each value as its difference from the row before.
+public enum DecisionColumn {
+    // Game index in the run; game i replays exactly from stream i of the run's master seed
+    GAME(1, 4, true),
+    // Decision number within the game; rows sharing it are the options of one decision
+    DECISION(2, 4, true),
+    // DecisionKind code
+    KIND(3, 1, false),
+    CYCLE(4, 2, false),
+    SEAT(5, 2, false),
+    SEATS(6, 2, false),
+    // Role ordinal of the deciding seat
+    ROLE(7, 1, false),
+    // Living seats, the decider included
+    ALIVE_COUNT(8, 2, false),
+    // Seat offered for NIGHT and VOTE, the partner for PEACE, the card drawn for KEEP
+    OPTION(9, 2, false),
+    // What the decider knows of the option's seat: KNOWN_UNKNOWN, KNOWN_ALLY or KNOWN_ENEMY
+    KNOWN_TEAM(10, 1, false),
+    // Role ordinal + 1 of the option's seat, 0 if unknown
+    KNOWN_ROLE(11, 1, false),
+    // Votes against the option's seat in the last tally read out
+    VOTES_AGAINST(12, 2, false),
+    // Chance in thousandths that the option's seat is an enemy, or -1 where that is unknown and not estimated
+    ENEMY_PERMILLE(13, 2, false),
+    // 1 if the option was taken (the seat picked, peace chosen, the card kept)
+    CHOSEN(14, 1, false),
+    // From the decider's side once the game is over: OUTCOME_WIN, OUTCOME_SHARED or OUTCOME_LOSS
+    OUTCOME(15, 1, false),
+    // Ending ordinal of the game
+    ENDING(16, 1, false),
+    // Which seats are alive: bit s of ALIVE_MASK for seats 0-31, bit s - 32 of ALIVE_MASK_HIGH for seats 32-63.
+    // Lobbies of more than 64 seats record the first 64 only; ALIVE_COUNT still counts every seat.
+    ALIVE_MASK(17, 4, false),
+    ALIVE_MASK_HIGH(18, 4, false);
+
+    public static final int KNOWN_UNKNOWN = 0;
+    public static final int KNOWN_ALLY = 1;
+    public static final int KNOWN_ENEMY = 2;
+    public static final int OUTCOME_LOSS = 0;
+    public static final int OUTCOME_SHARED = 1;
+    public static final int OUTCOME_WIN = 2;
+    // Seats the two alive-mask columns cover
+    public static final int MASKED_SEATS = 64;
+
+    private static final DecisionColumn[] BY_CODE = new DecisionColumn[19];
+
+    static {
+        for (DecisionColumn column : values()) {
+            BY_CODE[column.code] = column;
+        }
+    }
+
+    private final int code;
+    private final int width;
+    private final boolean delta;
+
+    DecisionColumn(int code, int width, boolean delta) {
+        this.code = code;
+        this.width = width;
+        this.delta = delta;
+    }
+
+    public int getCode() {
+        return code;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public boolean isDelta() {
+        return delta;
+    }
+
+    // Looks up a stored code; null for codes this version does not know
+    public static DecisionColumn fromCode(int code) {
+        return code > 0 && code < BY_CODE.length ? BY_CODE[code] : null;
+    }
+}
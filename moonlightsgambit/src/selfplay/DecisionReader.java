@@ -0,0 +1,181 @@
+package moonlightsgambit.selfplay;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+// Reads a self-play file written by DecisionWriter back one block at a time.
+// Columns this version does not know are skipped; columns the file lacks read as zeros.
+public final class DecisionReader implements AutoCloseable {
+    private final Path file;
+    private final FileChannel channel;
+    private final Inflater inflater = new Inflater();
+    // Per stored column: the column, or null if unknown here, and its width and delta flag on disk
+    private final DecisionColumn[] stored;
+    private final int[] widths;
+    private final boolean[] deltas;
+    private final boolean[] present = new boolean[DecisionColumn.values().length];
+    private ByteBuffer in = ByteBuffer.allocate(4096).order(ByteOrder.LITTLE_ENDIAN);
+    private byte[] packed = new byte[1024];
+    private byte[] raw = new byte[1024];
+    private boolean ended;
+
+    public DecisionReader(Path file) {
+        if (file == null) {
+            throw new IllegalArgumentException("Self-play file cannot be null");
+        }
+        this.file = file;
+        try {
+            this.channel = FileChannel.open(file, StandardOpenOption.READ);
+            read(3 * Integer.BYTES);
+            if (in.getInt() != DecisionWriter.MAGIC) {
+                throw new IllegalArgumentException("Not a self-play file: " + file);
+            }
+            int version = in.getInt();
+            if (version != DecisionWriter.VERSION) {
+                throw new IllegalArgumentException("Unsupported self-play file version " + version + ": " + file);
+            }
+            int count = in.getInt();
+            stored = new DecisionColumn[count];
+            widths = new int[count];
+            deltas = new boolean[count];
+            read(3 * count);
+            for (int i = 0; i < count; i++) {
+                stored[i] = DecisionColumn.fromCode(in.get());
+                widths[i] = in.get();
+                deltas[i] = in.get() != 0;
+                if (stored[i] != null) {
+                    present[stored[i].ordinal()] = true;
+                }
+            }
+        } catch (IOException e) {
+            close();
+            throw new UncheckedIOException("Cannot read self-play file " + file, e);
+        } catch (IllegalArgumentException e) {
+            close();
+            throw e;
+        }
+    }
+
+    // Fills the batch with the next block; false once the file has no more
+    public boolean next(DecisionBatch batch) {
+        if (ended) {
+            return false;
+        }
+        try {
+            if (!tryRead(Integer.BYTES)) {
+                ended = true;
+                return false;
+            }
+            int rows = in.getInt();
+            if (rows <= 0) {
+                ended = true;
+                return false;
+            }
+            batch.resize(rows);
+            for (int i = 0; i < stored.length; i++) {
+                read(Integer.BYTES);
+                int compressed = in.getInt();
+                read(compressed);
+                if (stored[i] == null) {
+                    continue;
+                }
+                if (packed.length < compressed) {
+                    packed = new byte[Math.max(compressed, packed.length * 2)];
+                }
+                in.get(packed, 0, compressed);
+                inflate(compressed, rows * widths[i]);
+                decode(batch.column(stored[i]), rows, widths[i], deltas[i]);
+            }
+            for (DecisionColumn column : DecisionColumn.values()) {
+                if (!present[column.ordinal()]) {
+                    Arrays.fill(batch.column(column), 0, rows, 0);
+                }
+            }
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read self-play file " + file, e);
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt column in self-play file " + file, e);
+        }
+    }
+
+    @Override
+    public void close() {
+        inflater.end();
+        try {
+            if (channel != null) {
+                channel.close();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot close self-play file " + file, e);
+        }
+    }
+
+    private void inflate(int compressed, int length) throws DataFormatException {
+        if (raw.length < length) {
+            raw = new byte[Math.max(length, raw.length * 2)];
+        }
+        inflater.reset();
+        inflater.setInput(packed, 0, compressed);
+        int size = 0;
+        while (size < length && !inflater.finished()) {
+            size += inflater.inflate(raw, size, length - size);
+        }
+        if (size != length) {
+            throw new DataFormatException("Column holds " + size + " bytes, expected " + length);
+        }
+    }
+
+    // Sign-extends each little-endian value of raw into the column, undoing delta coding
+    private void decode(int[] values, int rows, int width, boolean delta) {
+        int at = 0;
+        int previous = 0;
+        int shift = 32 - 8 * width;
+        for (int row = 0; row < rows; row++) {
+            int value = 0;
+            for (int b = 0; b < width; b++) {
+                value |= (raw[at++] & 0xFF) << (8 * b);
+            }
+            value = (value << shift) >> shift;
+            if (delta) {
+                value += previous;
+                previous = value;
+            }
+            values[row] = value;
+        }
+    }
+
+    // Reads exactly count bytes into in, positioned at their start
+    private void read(int count) throws IOException {
+        if (!tryRead(count)) {
+            throw new IOException("Self-play file ends in the middle of a block");
+        }
+    }
+
+    // Like read, but false if the file ends before the first byte
+    private boolean tryRead(int count) throws IOException {
+        if (in.capacity() < count) {
+            in = ByteBuffer.allocate(Math.max(count, in.capacity() * 2)).order(ByteOrder.LITTLE_ENDIAN);
+        }
+        in.clear();
+        in.limit(count);
+        while (in.hasRemaining()) {
+            if (channel.read(in) < 0) {
+                if (in.position() == 0) {
+                    return false;
+                }
+                throw new IOException("Self-play file ends in the middle of a block");
+            }
+        }
+        in.flip();
+        return true;
+    }
+}
@@ -0,0 +1,193 @@
+package moonlightsgambit.selfplay;
+
+import java.util.List;
+import moonlightsgambit.MoonlightsGambit;
+import moonlightsgambit.characters.GameCharacter;
+import moonlightsgambit.enums.DecisionKind;
+import moonlightsgambit.enums.Role;
+import moonlightsgambit.enums.Team;
+import moonlightsgambit.interfaces.DecisionPolicy;
+import moonlightsgambit.simulation.GameResult;
+import moonlightsgambit.state.SeatProjection;
+
+// Decision policy that plays exactly as the policy it wraps and records every choice as rows of DecisionColumns:
+// one row per option offered, read from the deciding seat's projection, with the option taken marked.
+// Rows wait in the recorder's batch until finishGame() stamps the game's outcome on them; batches of at least
+// batchRows go to the writer. One recorder per simulation thread.
+public final class DecisionRecorder implements DecisionPolicy {
+    public static final int DEFAULT_BATCH_ROWS = 1 << 16;
+
+    private static final Role[] ROLES = Role.values();
+    private static final int PERMILLE = 1000;
+
+    private final DecisionPolicy policy;
+    private final DecisionWriter writer;
+    private final int batchRows;
+    private DecisionBatch batch;
+    // First row of the game being played, its index and its next decision number
+    private int gameStart;
+    private int game;
+    private int decision;
+    // Alive mask of the decision being recorded, low and high 32 seats
+    private int aliveLow;
+    private int aliveHigh;
+
+    public DecisionRecorder(DecisionPolicy policy, DecisionWriter writer) {
+        this(policy, writer, DEFAULT_BATCH_ROWS);
+    }
+
+    public DecisionRecorder(DecisionPolicy policy, DecisionWriter writer, int batchRows) {
+        if (policy == null || writer == null) {
+            throw new IllegalArgumentException("Policy and writer must be non-null");
+        }
+        if (batchRows < 1) {
+            throw new IllegalArgumentException("Batch size must be at least 1 row");
+        }
+        this.policy = policy;
+        this.writer = writer;
+        this.batchRows = batchRows;
+        this.batch = writer.takeEmpty();
+    }
+
+    // Starts a game's rows; any rows of an unfinished game before it are dropped
+    public void startGame(int gameIndex) {
+        if (gameIndex < 0) {
+            throw new IllegalArgumentException("Game index cannot be negative: " + gameIndex);
+        }
+        batch.resize(gameStart);
+        game = gameIndex;
+        decision = 0;
+    }
+
+    // Stamps the outcome on the game's rows, each from its own decider's side, and passes on a full batch
+    public void finishGame(GameResult result) {
+        if (result == null) {
+            throw new IllegalArgumentException("Result cannot be null");
+        }
+        Team winner = result.getWinningTeam();
+        int ending = result.getEnding().ordinal();
+        int[] roles = batch.column(DecisionColumn.ROLE);
+        int[] outcomes = batch.column(DecisionColumn.OUTCOME);
+        int[] endings = batch.column(DecisionColumn.ENDING);
+        for (int row = gameStart; row < batch.getRowCount(); row++) {
+            Team team = ROLES[roles[row]].getTeam();
+            outcomes[row] = winner == null ? DecisionColumn.OUTCOME_SHARED
+                    : winner == team ? DecisionColumn.OUTCOME_WIN : DecisionColumn.OUTCOME_LOSS;
+            endings[row] = ending;
+        }
+        gameStart = batch.getRowCount();
+        if (gameStart >= batchRows) {
+            flush();
+        }
+    }
+
+    // Hands the rows of every finished game to the writer
+    public void flush() {
+        batch.resize(gameStart);
+        writer.submit(batch);
+        batch = writer.takeEmpty();
+        gameStart = 0;
+    }
+
+    @Override
+    public int chooseNightTarget(GameCharacter actor, List<GameCharacter> targets, MoonlightsGambit game) {
+        int choice = policy.chooseNightTarget(actor, targets, game);
+        recordTargets(DecisionKind.NIGHT, actor, targets, choice, game);
+        return choice;
+    }
+
+    @Override
+    public int chooseVoteTarget(GameCharacter voter, List<GameCharacter> candidates, MoonlightsGambit game) {
+        int choice = policy.chooseVoteTarget(voter, candidates, game);
+        recordTargets(DecisionKind.VOTE, voter, candidates, choice, game);
+        return choice;
+    }
+
+    @Override
+    public boolean choosePeace(GameCharacter player, GameCharacter partner, MoonlightsGambit game) {
+        boolean peace = policy.choosePeace(player, partner, game);
+        SeatProjection view = game.getSeatProjection(player.getSeat());
+        readAliveMask(view);
+        int row = addRow(DecisionKind.PEACE, view);
+        describeSeat(row, view, partner.getSeat());
+        batch.set(DecisionColumn.CHOSEN, row, peace ? 1 : 0);
+        decision++;
+        return peace;
+    }
+
+    @Override
+    public boolean keepCard(GameCharacter player, int card, int ownScore, int opponentScore, MoonlightsGambit game) {
+        boolean keep = policy.keepCard(player, card, ownScore, opponentScore, game);
+        SeatProjection view = game.getSeatProjection(player.getSeat());
+        readAliveMask(view);
+        int row = addRow(DecisionKind.KEEP, view);
+        batch.set(DecisionColumn.OPTION, row, card);
+        batch.set(DecisionColumn.CHOSEN, row, keep ? 1 : 0);
+        decision++;
+        return keep;
+    }
+
+    // Features come from the projections, so the game keeps them whatever the wrapped policy needs
+    @Override
+    public boolean usesProjection() {
+        return true;
+    }
+
+    // One row per seat on offer; the game lists a voter among its own candidates, but never as an option
+    private void recordTargets(DecisionKind kind, GameCharacter actor, List<GameCharacter> options, int choice,
+                               MoonlightsGambit game) {
+        SeatProjection view = game.getSeatProjection(actor.getSeat());
+        readAliveMask(view);
+        for (int i = 0; i < options.size(); i++) {
+            int seat = options.get(i).getSeat();
+            if (kind == DecisionKind.VOTE && seat == actor.getSeat()) {
+                continue;
+            }
+            int row = addRow(kind, view);
+            describeSeat(row, view, seat);
+            batch.set(DecisionColumn.CHOSEN, row, i == choice ? 1 : 0);
+        }
+        decision++;
+    }
+
+    private int addRow(DecisionKind kind, SeatProjection view) {
+        int row = batch.addRow();
+        batch.set(DecisionColumn.GAME, row, game);
+        batch.set(DecisionColumn.DECISION, row, decision);
+        batch.set(DecisionColumn.KIND, row, kind.getCode());
+        batch.set(DecisionColumn.CYCLE, row, view.getCycle());
+        batch.set(DecisionColumn.SEAT, row, view.getSeat());
+        batch.set(DecisionColumn.SEATS, row, view.getSeatCount());
+        batch.set(DecisionColumn.ROLE, row, view.getRole().ordinal());
+        batch.set(DecisionColumn.ALIVE_COUNT, row, view.getAliveCount());
+        batch.set(DecisionColumn.ALIVE_MASK, row, aliveLow);
+        batch.set(DecisionColumn.ALIVE_MASK_HIGH, row, aliveHigh);
+        return row;
+    }
+
+    // Once per decision: the living seats among the first MASKED_SEATS
+    private void readAliveMask(SeatProjection view) {
+        int seats = Math.min(view.getSeatCount(), DecisionColumn.MASKED_SEATS);
+        aliveLow = 0;
+        aliveHigh = 0;
+        for (int seat = 0; seat < seats; seat++) {
+            if (!view.isAlive(seat)) continue;
+            if (seat < Integer.SIZE) aliveLow |= 1 << seat;
+            else aliveHigh |= 1 << (seat - Integer.SIZE);
+        }
+    }
+
+    // What the deciding seat knows about another seat
+    private void describeSeat(int row, SeatProjection view, int seat) {
+        Team own = view.getRole().getTeam();
+        Team team = view.getKnownTeam(seat);
+        Role role = view.getKnownRole(seat);
+        batch.set(DecisionColumn.OPTION, row, seat);
+        batch.set(DecisionColumn.KNOWN_TEAM, row, team == null ? DecisionColumn.KNOWN_UNKNOWN
+                : team == own ? DecisionColumn.KNOWN_ALLY : DecisionColumn.KNOWN_ENEMY);
+        batch.set(DecisionColumn.KNOWN_ROLE, row, role == null ? 0 : role.ordinal() + 1);
+        batch.set(DecisionColumn.VOTES_AGAINST, row, view.getVotesAgainst(seat));
+        double enemy = view.getEnemyChance(seat);
+        batch.set(DecisionColumn.ENEMY_PERMILLE, row, enemy < 0 ? -1 : (int) Math.round(enemy * PERMILLE));
+    }
+}
@@ -0,0 +1,309 @@
+package moonlightsgambit.selfplay;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.zip.Deflater;
+
+// Writes decision batches to a columnar self-play file from threads of its own.
+//
+// File layout, little-endian:
+//   int  MAGIC, int VERSION, int column count, then per column: byte code, byte width, byte delta flag
+//   per block: int row count, then per column: int compressed length and the column's values, width bytes
+//              each (delta columns as differences from the row before, from 0 at the block's start), deflated
+//              on their own so a reader can skip the columns it does not need
+//   int  0 after the last block
+// Recorders hand full batches to submit() and go on with an empty one from takeEmpty(); only the writer's
+// compressor threads encode, deflate and touch the disk. Blocks are self-contained, so compressors work in
+// parallel and append whole blocks in the order they finish (with one compressor the file is deterministic).
+// submit() waits only once queueDepth batches are waiting. If writing fails, the compressors keep draining the
+// queue, and the failure surfaces on the next submit() or on close().
+public final class DecisionWriter implements AutoCloseable {
+    static final int MAGIC = 0x5053474D;
+    static final int VERSION = 1;
+    public static final int DEFAULT_QUEUE_DEPTH = 16;
+
+    private static final DecisionColumn[] COLUMNS = DecisionColumn.values();
+    // Tells a compressor thread that no more batches are coming
+    private static final DecisionBatch END = new DecisionBatch(1);
+
+    private final Path file;
+    private final FileChannel channel;
+    private final BlockingQueue<DecisionBatch> full;
+    private final Queue<DecisionBatch> empty = new ConcurrentLinkedQueue<>();
+    private final Thread[] threads;
+
+    // Guarded by channel
+    private long rowCount;
+    private long blockCount;
+    private long byteCount;
+
+    private volatile IOException failure;
+    private boolean closed;
+
+    public DecisionWriter(Path file) {
+        this(file, DEFAULT_QUEUE_DEPTH, 1);
+    }
+
+    // Creates or truncates the file and starts the compressor threads
+    public DecisionWriter(Path file, int queueDepth, int compressors) {
+        if (file == null) {
+            throw new IllegalArgumentException("Self-play file cannot be null");
+        }
+        if (queueDepth < 1) {
+            throw new IllegalArgumentException("Queue depth must be at least 1 batch");
+        }
+        if (compressors < 1) {
+            throw new IllegalArgumentException("Compressor count must be at least 1");
+        }
+        this.file = file;
+        this.full = new ArrayBlockingQueue<>(queueDepth);
+        try {
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+            Compressor header = new Compressor();
+            header.writeHeader();
+            header.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open self-play file " + file, e);
+        }
+        this.threads = new Thread[compressors];
+        for (int i = 0; i < compressors; i++) {
+            threads[i] = new Thread(new Compressor(), "self-play-writer-" + i);
+            threads[i].setDaemon(true);
+            threads[i].start();
+        }
+    }
+
+    // An empty batch to record into: a recycled one if the writer has handed any back
+    public DecisionBatch takeEmpty() {
+        DecisionBatch batch = empty.poll();
+        return batch != null ? batch : new DecisionBatch();
+    }
+
+    // Queues a batch for writing; the caller must not touch it afterwards
+    public void submit(DecisionBatch batch) {
+        if (batch == null) {
+            throw new IllegalArgumentException("Batch cannot be null");
+        }
+        if (closed) {
+            throw new IllegalStateException("Self-play writer is closed");
+        }
+        checkFailure();
+        if (batch.getRowCount() == 0) {
+            empty.offer(batch);
+            return;
+        }
+        try {
+            full.put(batch);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while queueing a self-play batch", e);
+        }
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    // Rows, blocks and bytes on disk so far
+    public long getRowCount() {
+        synchronized (channel) {
+            return rowCount;
+        }
+    }
+
+    public long getBlockCount() {
+        synchronized (channel) {
+            return blockCount;
+        }
+    }
+
+    public long getByteCount() {
+        synchronized (channel) {
+            return byteCount;
+        }
+    }
+
+    // Writes everything queued, ends the file and stops the compressor threads
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            for (int i = 0; i < threads.length; i++) {
+                full.put(END);
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while closing the self-play file", e);
+        }
+        try {
+            if (failure == null) {
+                ByteBuffer end = ByteBuffer.allocate(Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+                end.putInt(0);
+                end.flip();
+                append(end);
+                channel.force(false);
+            }
+            channel.close();
+        } catch (IOException e) {
+            if (failure == null) failure = e;
+        }
+        checkFailure();
+    }
+
+    private void checkFailure() {
+        IOException error = failure;
+        if (error != null) {
+            throw new UncheckedIOException("Cannot write self-play file " + file, error);
+        }
+    }
+
+    // Appends a whole block (or header) in one go, so blocks from different compressors never interleave
+    private void append(ByteBuffer bytes) throws IOException {
+        synchronized (channel) {
+            byteCount += bytes.remaining();
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+        }
+    }
+
+    /* ---------- COMPRESSOR THREADS ---------- */
+
+    // One compressor thread with its own scratch buffers
+    private final class Compressor implements Runnable {
+        private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        private byte[] raw = new byte[1024];
+        private byte[] packed = new byte[1024];
+        private ByteBuffer out = ByteBuffer.allocate(4096).order(ByteOrder.LITTLE_ENDIAN);
+
+        @Override
+        public void run() {
+            try {
+                while (true) {
+                    DecisionBatch batch = full.take();
+                    if (batch == END) {
+                        return;
+                    }
+                    if (failure == null) {
+                        try {
+                            writeBlock(batch);
+                        } catch (IOException e) {
+                            failure = e;
+                        }
+                    }
+                    batch.clear();
+                    empty.offer(batch);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                end();
+            }
+        }
+
+        void end() {
+            deflater.end();
+        }
+
+        void writeHeader() throws IOException {
+            out.clear();
+            out.putInt(MAGIC);
+            out.putInt(VERSION);
+            out.putInt(COLUMNS.length);
+            for (DecisionColumn column : COLUMNS) {
+                out.put((byte) column.getCode());
+                out.put((byte) column.getWidth());
+                out.put((byte) (column.isDelta() ? 1 : 0));
+            }
+            out.flip();
+            append(out);
+        }
+
+        private void writeBlock(DecisionBatch batch) throws IOException {
+            int rows = batch.getRowCount();
+            out.clear();
+            out.putInt(rows);
+            for (DecisionColumn column : COLUMNS) {
+                int length = encode(batch.column(column), rows, column);
+                int compressed = deflate(length);
+                ensureOut(Integer.BYTES + compressed);
+                out.putInt(compressed);
+                out.put(packed, 0, compressed);
+            }
+            out.flip();
+            synchronized (channel) {
+                append(out);
+                rowCount += rows;
+                blockCount++;
+            }
+        }
+
+        // Lays the column's values out little-endian at its width into raw; returns the byte count
+        private int encode(int[] values, int rows, DecisionColumn column) {
+            int width = column.getWidth();
+            int length = rows * width;
+            if (raw.length < length) {
+                raw = new byte[Math.max(length, raw.length * 2)];
+            }
+            int at = 0;
+            int previous = 0;
+            boolean delta = column.isDelta();
+            for (int row = 0; row < rows; row++) {
+                int value = values[row];
+                int stored = delta ? value - previous : value;
+                previous = value;
+                raw[at++] = (byte) stored;
+                if (width > 1) {
+                    raw[at++] = (byte) (stored >>> 8);
+                    if (width > 2) {
+                        raw[at++] = (byte) (stored >>> 16);
+                        raw[at++] = (byte) (stored >>> 24);
+                    }
+                }
+            }
+            return length;
+        }
+
+        // Deflates raw[0..length) into packed; returns the compressed size
+        private int deflate(int length) {
+            deflater.reset();
+            deflater.setInput(raw, 0, length);
+            deflater.finish();
+            int size = 0;
+            while (!deflater.finished()) {
+                if (size == packed.length) {
+                    packed = Arrays.copyOf(packed, packed.length * 2);
+                }
+                size += deflater.deflate(packed, size, packed.length - size);
+            }
+            return size;
+        }
+
+        private void ensureOut(int bytes) {
+            if (out.remaining() < bytes) {
+                ByteBuffer grown = ByteBuffer.allocate(Math.max(out.capacity() * 2, out.position() + bytes))
+                        .order(ByteOrder.LITTLE_ENDIAN);
+                out.flip();
+                grown.put(out);
+                out = grown;
+            }
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package moonlightsgambit.server;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import moonlightsgambit.enums.FrameType;
+import moonlightsgambit.utils.QueueInputSource;
+
+// One remote player's socket. Its selector thread reads REPLY frames into the player's input queue (or, in the
+// lobby, hands them to the lobby) and writes whatever the game thread queued; the game thread never touches the
+// channel.
+final class ClientConnection implements GameServer.Endpoint {
+    // Replies are short answers; anything longer is a broken or hostile client
+    private static final int MAX_REPLY_BYTES = 1024;
+    private static final int READ_BUFFER_BYTES = 4096;
+    // A client this far behind on reading is dropped rather than buffered without bound
+    private static final long MAX_QUEUED_BYTES = 1024 * 1024;
+
+    private final SocketChannel channel;
+    private final GameServer.Reactor reactor;
+    private final QueueInputSource input = new QueueInputSource();
+    private final ByteBuffer readBuffer = ByteBuffer.allocate(READ_BUFFER_BYTES);
+    private final Queue<ByteBuffer> outbound = new ConcurrentLinkedQueue<>();
+    private final AtomicLong queuedBytes = new AtomicLong();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private volatile boolean closeWhenFlushed;
+    private volatile Runnable onClose;
+    private volatile Consumer<String> lineHandler;
+    private SelectionKey key;
+
+    ClientConnection(SocketChannel channel, GameServer.Reactor reactor) {
+        this.channel = channel;
+        this.reactor = reactor;
+    }
+
+    // Lines the player sent, in order
+    QueueInputSource getInput() {
+        return input;
+    }
+
+    boolean isClosed() {
+        return closed.get();
+    }
+
+    // Called once when the connection closes, from whichever thread closes it
+    void setOnClose(Runnable onClose) {
+        this.onClose = onClose;
+    }
+
+    // While set, replies go to the handler, on the selector thread, instead of the input queue
+    void setLineHandler(Consumer<String> lineHandler) {
+        this.lineHandler = lineHandler;
+    }
+
+    // Queues a frame for the player; any thread
+    void send(FrameType type, String text) {
+        send(new Frame(type, text).encode());
+    }
+
+    // Queues an encoded frame, which must not be shared with another connection's queue
+    void send(ByteBuffer frame) {
+        if (closed.get() || closeWhenFlushed) {
+            return;
+        }
+        if (queuedBytes.addAndGet(frame.remaining()) > MAX_QUEUED_BYTES) {
+            close();
+            return;
+        }
+        outbound.add(frame);
+        if (flushRequested.compareAndSet(false, true)) {
+            reactor.requestFlush(this);
+        }
+    }
+
+    // Sends a last frame and closes once everything queued has been written
+    void finish(String reason) {
+        send(FrameType.CLOSE, reason);
+        closeWhenFlushed = true;
+        if (flushRequested.compareAndSet(false, true)) {
+            reactor.requestFlush(this);
+        }
+    }
+
+    /* ---------- SELECTOR THREAD ---------- */
+
+    // Registers for reads with the owning reactor's selector and writes anything queued before that
+    @Override
+    public void register(Selector selector) throws IOException {
+        key = channel.register(selector, SelectionKey.OP_READ, this);
+        flush();
+    }
+
+    @Override
+    public void onReadable() {
+        try {
+            int read = channel.read(readBuffer);
+            if (read < 0) {
+                close();
+                return;
+            }
+            readBuffer.flip();
+            for (Frame frame = Frame.decode(readBuffer); frame != null; frame = Frame.decode(readBuffer)) {
+                if (frame.getType() != FrameType.REPLY || frame.getText().length() > MAX_REPLY_BYTES) {
+                    throw new IllegalArgumentException("Unexpected frame from client: " + frame.getType());
+                }
+                Consumer<String> handler = lineHandler;
+                if (handler != null) {
+                    handler.accept(frame.getText());
+                    continue;
+                }
+                // A player flooding replies beyond the backlog has the excess dropped
+                input.offer(frame.getText());
+            }
+            readBuffer.compact();
+            if (!readBuffer.hasRemaining()) {
+                throw new IllegalArgumentException("Client frame too large");
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            close();
+        }
+    }
+
+    // Writes as much as the socket takes; keeps OP_WRITE only while output is left over
+    @Override
+    public void flush() {
+        flushRequested.set(false);
+        if (key == null) {
+            // Not registered yet; registration flushes
+            return;
+        }
+        try {
+            for (ByteBuffer frame = outbound.peek(); frame != null; frame = outbound.peek()) {
+                int written = channel.write(frame);
+                queuedBytes.addAndGet(-written);
+                if (frame.hasRemaining()) {
+                    key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+                    return;
+                }
+                outbound.poll();
+            }
+            if (closeWhenFlushed) {
+                close();
+                return;
+            }
+            key.interestOps(SelectionKey.OP_READ);
+        } catch (IOException | RuntimeException e) {
+            close();
+        }
+    }
+
+    // Drops the connection at once; the player's input ends, which ends any prompt waiting on it
+    @Override
+    public void close() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        input.close();
+        outbound.clear();
+        if (key != null) {
+            key.cancel();
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            // Already gone
+        }
+        Runnable callback = onClose;
+        if (callback != null) {
+            callback.run();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package moonlightsgambit.server;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import moonlightsgambit.enums.FrameType;
+
+// One message on the wire: a type byte, a 4-byte big-endian payload length, then the payload as UTF-8
+public final class Frame {
+    public static final int HEADER_BYTES = 5;
+    public static final int MAX_PAYLOAD_BYTES = 64 * 1024;
+
+    private final FrameType type;
+    private final String text;
+
+    public Frame(FrameType type, String text) {
+        if (type == null || text == null) {
+            throw new IllegalArgumentException("Frame type and text must be non-null");
+        }
+        this.type = type;
+        this.text = text;
+    }
+
+    public FrameType getType() {
+        return type;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    // Encodes the frame into a new buffer ready to be written
+    public ByteBuffer encode() {
+        byte[] payload = text.getBytes(StandardCharsets.UTF_8);
+        if (payload.length > MAX_PAYLOAD_BYTES) {
+            throw new IllegalArgumentException("Frame payload too large: " + payload.length + " bytes");
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + payload.length);
+        buffer.put((byte) type.getCode()).putInt(payload.length).put(payload);
+        return buffer.flip();
+    }
+
+    // Decodes the next complete frame from a buffer in read mode and consumes it; null (buffer untouched) while
+    // the frame is still incomplete. Throws IllegalArgumentException on a malformed header.
+    public static Frame decode(ByteBuffer buffer) {
+        if (buffer.remaining() < HEADER_BYTES) {
+            return null;
+        }
+        int start = buffer.position();
+        FrameType type = FrameType.fromCode(buffer.get(start));
+        int length = buffer.getInt(start + 1);
+        if (type == null || length < 0 || length > MAX_PAYLOAD_BYTES) {
+            throw new IllegalArgumentException("Malformed frame header");
+        }
+        if (buffer.remaining() < HEADER_BYTES + length) {
+            return null;
+        }
+        byte[] payload = new byte[length];
+        buffer.position(start + HEADER_BYTES);
+        buffer.get(payload);
+        return new Frame(type, new String(payload, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public String toString() {
+        return type + ": " + text;
+    }
+}
@@ -0,0 +1,112 @@
+package moonlightsgambit.server;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import moonlightsgambit.enums.FrameType;
+import moonlightsgambit.interfaces.InputSource;
+import moonlightsgambit.utils.OutputPacing;
+import moonlightsgambit.utils.StreamInputSource;
+import moonlightsgambit.utils.TerminalCapabilities;
+import moonlightsgambit.utils.TerminalRenderer;
+
+// Blocking client for one seat at a GameServer table, or for a spectator: reads the frames meant for this player
+// and sends replies
+public final class GameClient implements AutoCloseable {
+    private final SocketChannel channel;
+    private final ByteBuffer readBuffer = ByteBuffer.allocate(Frame.HEADER_BYTES + Frame.MAX_PAYLOAD_BYTES);
+
+    public GameClient(InetSocketAddress server) throws IOException {
+        if (server == null) {
+            throw new IllegalArgumentException("Server address cannot be null");
+        }
+        this.channel = SocketChannel.open(server);
+        readBuffer.flip();
+    }
+
+    // Next frame from the server, or null once it hung up; blocks until one has fully arrived
+    public Frame readFrame() throws IOException {
+        for (Frame frame = Frame.decode(readBuffer); ; frame = Frame.decode(readBuffer)) {
+            if (frame != null) {
+                return frame;
+            }
+            readBuffer.compact();
+            int read = channel.read(readBuffer);
+            readBuffer.flip();
+            if (read < 0) {
+                return null;
+            }
+        }
+    }
+
+    // Answers the current prompt; may be called from another thread than readFrame
+    public void sendReply(String line) throws IOException {
+        send(new Frame(FrameType.REPLY, line));
+    }
+
+    private synchronized void send(Frame message) throws IOException {
+        ByteBuffer frame = message.encode();
+        while (frame.hasRemaining()) {
+            channel.write(frame);
+        }
+    }
+
+    // Asks a spectator port for the public output of a table (blank for the newest one)
+    public void watch(String tableId) throws IOException {
+        send(new Frame(FrameType.WATCH, tableId));
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    // GameClient [host] [port] [watch [table id]]: plays one seat from this terminal, or with watch, spectates a
+    // table from the server's spectator port
+    public static void main(String[] args) throws IOException {
+        String host = args.length > 0 ? args[0] : "localhost";
+        int port = args.length > 1 ? Integer.parseInt(args[1]) : GameServer.DEFAULT_PORT;
+        TerminalRenderer renderer =
+                new TerminalRenderer(System.out, TerminalCapabilities.detect(), OutputPacing.INTERACTIVE);
+        try (GameClient client = new GameClient(new InetSocketAddress(host, port))) {
+            if (args.length > 2 && args[2].equals("watch")) {
+                client.watch(args.length > 3 ? args[3] : "");
+            } else {
+                // Whatever the player types is sent as it is entered; the server matches it to the open prompt
+                Thread keyboard =
+                        new Thread(() -> forwardInput(StreamInputSource.console(), client), "game-client-input");
+                keyboard.setDaemon(true);
+                keyboard.start();
+            }
+            for (Frame frame = client.readFrame(); frame != null; frame = client.readFrame()) {
+                if (frame.getType() == FrameType.CLEAR) {
+                    renderer.clear();
+                } else {
+                    renderer.write(frame.getText());
+                }
+                if (frame.getType() == FrameType.CLOSE) {
+                    renderer.write(System.lineSeparator());
+                    break;
+                }
+            }
+        } finally {
+            try {
+                renderer.awaitIdle();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt(); // Restore interrupt status
+            }
+            renderer.close();
+        }
+    }
+
+    private static void forwardInput(InputSource input, GameClient client) {
+        try {
+            while (true) {
+                client.sendReply(input.nextLine());
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Server gone or keyboard closed
+        }
+    }
+}
@@ -0,0 +1,404 @@
+package moonlightsgambit.server;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import moonlightsgambit.LobbyConfig;
+import moonlightsgambit.enums.FrameType;
+import moonlightsgambit.phases.GameSetup;
+import moonlightsgambit.runtime.Matchmaker;
+import moonlightsgambit.runtime.Table;
+import moonlightsgambit.runtime.TableRuntime;
+import moonlightsgambit.utils.OutputPacing;
+
+// Multiplayer server: every seat plays from its own TCP client (see GameClient).
+// A few selector threads (reactors) do all socket I/O for every connection. Players give their name (and,
+// optionally, their rating) in the lobby and queue in a Matchmaker, which seats them with players of a similar
+// rating; each table then plays on the runtime like any other, through a SeatedConsole.
+// Players who give no rating are all rated alike, so they are seated first come, first served.
+// Spectators connect to a port of their own and watch a table's public output through its SpectatorFeed.
+public final class GameServer implements AutoCloseable {
+    public static final int DEFAULT_PORT = 7777;
+    public static final int DEFAULT_TURN_TIMEOUT_SECONDS = 60;
+    private static final int SPECTATOR_SEND_BUFFER_BYTES = 16 * 1024;
+    // Rating spread of a table at first, widened every second a player waits
+    private static final int MATCH_RATING_WINDOW = 100;
+    private static final int MATCH_WIDEN_PER_SECOND = 25;
+    private static final long LOBBY_SWEEP_MILLIS = 1000;
+    private static final String NAME_PROMPT = "Enter your name (optionally followed by your rating): ";
+
+    private final InetSocketAddress address;
+    private final InetSocketAddress spectatorAddress;
+    private final LobbyConfig config;
+    private final TableRuntime runtime;
+    private final Reactor[] reactors;
+    private final Matchmaker<ClientConnection> matchmaker;
+    // Public output of every open table, by table id
+    private final Map<Long, SpectatorFeed> feeds = new ConcurrentHashMap<>();
+    private ServerSocketChannel serverChannel;
+    private ServerSocketChannel spectatorChannel;
+    // Only touched by the accepting reactor
+    private int nextReactor;
+    private long lastSweepNanos;
+
+    // Seats config.getSeatCount() players per table; ioThreads selector threads share the connections
+    public GameServer(InetSocketAddress address, LobbyConfig config, int ioThreads, TableRuntime runtime) {
+        this(address, null, config, ioThreads, runtime);
+    }
+
+    // Also lets any number of spectators watch the tables from spectatorAddress (null hosts no spectators)
+    public GameServer(InetSocketAddress address, InetSocketAddress spectatorAddress, LobbyConfig config,
+                      int ioThreads, TableRuntime runtime) {
+        if (address == null || config == null || runtime == null) {
+            throw new IllegalArgumentException("Address, lobby config and runtime must be non-null");
+        }
+        if (ioThreads < 1) {
+            throw new IllegalArgumentException("At least one I/O thread is required: " + ioThreads);
+        }
+        this.address = address;
+        this.spectatorAddress = spectatorAddress;
+        this.config = config;
+        this.runtime = runtime;
+        this.reactors = new Reactor[ioThreads];
+        this.matchmaker = new Matchmaker<>(config.getSeatCount(), MATCH_RATING_WINDOW, MATCH_WIDEN_PER_SECOND,
+                this::openTable);
+    }
+
+    // Binds the port and starts the selector threads
+    public synchronized void start() throws IOException {
+        if (serverChannel != null) {
+            throw new IllegalStateException("Server already started");
+        }
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(address, 1024);
+        serverChannel.configureBlocking(false);
+        for (int i = 0; i < reactors.length; i++) {
+            reactors[i] = new Reactor(this, i);
+        }
+        // The first reactor also accepts new players and spectators
+        serverChannel.register(reactors[0].selector, SelectionKey.OP_ACCEPT);
+        if (spectatorAddress != null) {
+            spectatorChannel = ServerSocketChannel.open();
+            spectatorChannel.bind(spectatorAddress, 1024);
+            spectatorChannel.configureBlocking(false);
+            spectatorChannel.register(reactors[0].selector, SelectionKey.OP_ACCEPT);
+        }
+        for (Reactor reactor : reactors) {
+            reactor.start();
+        }
+    }
+
+    // Bound port, useful when started on port 0
+    public int getPort() {
+        return serverChannel == null ? -1 : serverChannel.socket().getLocalPort();
+    }
+
+    // Bound spectator port; -1 when spectators are not hosted
+    public int getSpectatorPort() {
+        return spectatorChannel == null ? -1 : spectatorChannel.socket().getLocalPort();
+    }
+
+    // Players named and queued for a table
+    public int getWaitingCount() {
+        return matchmaker.getWaitingCount();
+    }
+
+    public LobbyConfig getConfig() {
+        return config;
+    }
+
+    // Stops accepting and stops the selector threads, which disconnects the lobby; open tables belong to the runtime
+    @Override
+    public synchronized void close() {
+        try {
+            if (serverChannel != null) {
+                serverChannel.close();
+            }
+            if (spectatorChannel != null) {
+                spectatorChannel.close();
+            }
+        } catch (IOException e) {
+            // Closing anyway
+        }
+        for (Reactor reactor : reactors) {
+            if (reactor != null) {
+                reactor.stop();
+            }
+        }
+    }
+
+    /* ---------- ACCEPTING REACTOR ---------- */
+
+    private void acceptPending(ServerSocketChannel listener) {
+        try {
+            for (SocketChannel channel = listener.accept(); channel != null; channel = listener.accept()) {
+                channel.configureBlocking(false);
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                Reactor reactor = reactors[nextReactor];
+                nextReactor = (nextReactor + 1) % reactors.length;
+                if (listener == spectatorChannel) {
+                    // A small kernel buffer, so a lagging spectator is noticed and skipped ahead early
+                    channel.setOption(StandardSocketOptions.SO_SNDBUF, SPECTATOR_SEND_BUFFER_BYTES);
+                    reactor.register(new SpectatorConnection(channel, reactor, this));
+                    continue;
+                }
+                ClientConnection connection = new ClientConnection(channel, reactor);
+                connection.setLineHandler(line -> join(connection, line));
+                connection.send(FrameType.PROMPT, NAME_PROMPT);
+                reactor.register(connection);
+            }
+        } catch (IOException e) {
+            // Out of descriptors or a connection reset while accepting; the next select retries
+        }
+    }
+
+    /* ---------- LOBBY ---------- */
+
+    // A lobby line from a player who has not queued yet: "name" or "name rating". Runs on the player's reactor.
+    private void join(ClientConnection connection, String line) {
+        String[] parts = line.trim().split("\\s+");
+        String name = parts[0];
+        int rating = Matchmaker.DEFAULT_RATING;
+        try {
+            if (parts.length > 2) {
+                throw new IllegalArgumentException("Enter a name and, optionally, a rating.");
+            }
+            if (parts.length == 2) {
+                rating = parseRating(parts[1]);
+            }
+            GameSetup.validateName(name);
+            connection.setLineHandler(null);
+            connection.send(FrameType.TEXT, String.format("Welcome, %s. Waiting for a table...%n", name));
+            Matchmaker.Ticket<ClientConnection> ticket = matchmaker.enqueue(name, rating, connection);
+            // Leaving the queue is only possible while waiting; once seated the table handles a disconnect
+            connection.setOnClose(() -> matchmaker.cancel(ticket));
+            if (connection.isClosed()) {
+                matchmaker.cancel(ticket);
+            }
+        } catch (IllegalArgumentException e) {
+            connection.setLineHandler(next -> join(connection, next));
+            connection.send(FrameType.TEXT, e.getMessage() + System.lineSeparator());
+            connection.send(FrameType.PROMPT, NAME_PROMPT);
+        }
+    }
+
+    private static int parseRating(String text) {
+        try {
+            int rating = Integer.parseInt(text);
+            if (rating >= 0) {
+                return rating;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below
+        }
+        throw new IllegalArgumentException("Rating must be a whole number of zero or more.");
+    }
+
+    // Called by the accepting reactor now and then, so players waiting for a close rating get wider matches
+    private void sweepLobby() {
+        long now = System.nanoTime();
+        if (now - lastSweepNanos >= TimeUnit.MILLISECONDS.toNanos(LOBBY_SWEEP_MILLIS)) {
+            lastSweepNanos = now;
+            matchmaker.sweep();
+        }
+    }
+
+    // Matchmaker callback for a formed table, seated in order of arrival
+    private void openTable(List<Matchmaker.Ticket<ClientConnection>> tickets) {
+        List<ClientConnection> seated = new ArrayList<>(tickets.size());
+        String[] names = new String[tickets.size()];
+        for (int i = 0; i < tickets.size(); i++) {
+            seated.add(tickets.get(i).getPlayer());
+            names[i] = tickets.get(i).getName();
+        }
+        SpectatorFeed feed = spectatorChannel == null ? null : new SpectatorFeed(reactors);
+        SeatedConsole console = new SeatedConsole(seated, feed);
+        // Before the session starts, as the console belongs to the table's thread from then on
+        console.println("The table is full. The game begins.");
+        try {
+            Table table = runtime.openTable(console, config, names);
+            if (feed != null) {
+                feeds.values().removeIf(SpectatorFeed::isClosed);
+                feeds.put(table.getId(), feed);
+            }
+        } catch (RuntimeException e) {
+            // The runtime is shutting down
+            console.close();
+        }
+    }
+
+    // Feed of the table a spectator asked for by id, or of the newest open table when no id is given;
+    // null when there is no such table
+    SpectatorFeed findFeed(String tableId) {
+        if (tableId.isBlank()) {
+            long newest = -1;
+            SpectatorFeed found = null;
+            for (Map.Entry<Long, SpectatorFeed> entry : feeds.entrySet()) {
+                if (entry.getKey() > newest && !entry.getValue().isClosed()) {
+                    newest = entry.getKey();
+                    found = entry.getValue();
+                }
+            }
+            return found;
+        }
+        try {
+            return feeds.get(Long.parseLong(tableId.trim()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    // Selector loop owning a share of the connections: reads replies, writes queued output and, for the first
+    // reactor, accepts new players and sweeps the lobby. Other threads only hand it work through its queues.
+    static final class Reactor implements Runnable {
+        private final GameServer server;
+        private final Selector selector;
+        private final Thread thread;
+        private final int index;
+        private final Queue<Endpoint> registrations = new ConcurrentLinkedQueue<>();
+        private final Queue<Endpoint> flushes = new ConcurrentLinkedQueue<>();
+        private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+        private volatile boolean running = true;
+
+        private Reactor(GameServer server, int index) throws IOException {
+            this.server = server;
+            this.index = index;
+            this.selector = Selector.open();
+            this.thread = new Thread(this, "game-server-io-" + index);
+        }
+
+        int getIndex() {
+            return index;
+        }
+
+        private void start() {
+            thread.start();
+        }
+
+        private void stop() {
+            running = false;
+            selector.wakeup();
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt(); // Restore interrupt status
+            }
+        }
+
+        private void register(Endpoint endpoint) {
+            registrations.add(endpoint);
+            selector.wakeup();
+        }
+
+        // Asks the selector thread to write the endpoint's pending output; any thread
+        void requestFlush(Endpoint endpoint) {
+            flushes.add(endpoint);
+            selector.wakeup();
+        }
+
+        // Runs a task on the selector thread, after pending registrations and flushes; any thread
+        void execute(Runnable task) {
+            tasks.add(task);
+            selector.wakeup();
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (running) {
+                    // The accepting reactor wakes at least once per lobby sweep
+                    selector.select(index == 0 ? LOBBY_SWEEP_MILLIS : 0);
+                    // Registrations first, so a flush is never requested for a connection not yet on the selector
+                    for (Endpoint e = registrations.poll(); e != null; e = registrations.poll()) {
+                        try {
+                            e.register(selector);
+                        } catch (IOException failed) {
+                            e.close();
+                        }
+                    }
+                    for (Endpoint e = flushes.poll(); e != null; e = flushes.poll()) {
+                        e.flush();
+                    }
+                    for (Runnable task = tasks.poll(); task != null; task = tasks.poll()) {
+                        task.run();
+                    }
+                    for (SelectionKey key : selector.selectedKeys()) {
+                        handle(key);
+                    }
+                    selector.selectedKeys().clear();
+                    if (index == 0) {
+                        server.sweepLobby();
+                    }
+                }
+            } catch (IOException e) {
+                // Selector failed; fall through and drop this reactor's connections
+            } finally {
+                for (SelectionKey key : selector.keys()) {
+                    if (key.attachment() instanceof Endpoint) {
+                        ((Endpoint) key.attachment()).close();
+                    }
+                }
+                try {
+                    selector.close();
+                } catch (IOException e) {
+                    // Nothing left to release
+                }
+            }
+        }
+
+        private void handle(SelectionKey key) {
+            if (!key.isValid()) {
+                return;
+            }
+            if (key.isAcceptable()) {
+                server.acceptPending((ServerSocketChannel) key.channel());
+                return;
+            }
+            Endpoint endpoint = (Endpoint) key.attachment();
+            if (key.isReadable()) {
+                endpoint.onReadable();
+            }
+            if (key.isValid() && key.isWritable()) {
+                endpoint.flush();
+            }
+        }
+    }
+
+    // A socket served by one reactor; everything but close runs on that reactor's thread
+    interface Endpoint {
+        // Registers for reads with the reactor's selector and writes anything pending
+        void register(Selector selector) throws IOException;
+
+        void onReadable();
+
+        // Writes as much pending output as the socket takes
+        void flush();
+
+        void close();
+    }
+
+    // GameServer [port] [seats] [turn timeout in seconds] [I/O threads]; spectators connect to the next port up
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        LobbyConfig config = args.length > 1 ? LobbyConfig.ofSize(Integer.parseInt(args[1])) : LobbyConfig.CLASSIC;
+        int timeout = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_TURN_TIMEOUT_SECONDS;
+        int ioThreads = args.length > 3 ? Integer.parseInt(args[3]) : 2;
+        TableRuntime runtime = new TableRuntime(null, OutputPacing.INTERACTIVE, timeout, TimeUnit.SECONDS);
+        GameServer server = new GameServer(new InetSocketAddress(port), new InetSocketAddress(port + 1), config,
+                ioThreads, runtime);
+        server.start();
+        System.out.printf("Moonlight's Gambit server on port %d, %d seats per table, spectators on port %d%n",
+                server.getPort(), config.getSeatCount(), server.getSpectatorPort());
+    }
+}
@@ -0,0 +1,182 @@
+package moonlightsgambit.server;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import moonlightsgambit.enums.FrameType;
+import moonlightsgambit.interfaces.TableConsole;
+import moonlightsgambit.utils.GameUtils;
+import moonlightsgambit.utils.PromptDeadlines;
+import moonlightsgambit.utils.QueueInputSource;
+import moonlightsgambit.utils.SessionEndedException;
+
+// Console of a networked table: every seat is its own remote client. Output for the whole table goes to every
+// client, output for one seat (see setAudience) only to that seat's client, and each prompt goes to the player
+// who must answer it. Table-wide prompts (such as play again) are answered by the host, the first seat.
+// Clients display text as it arrives, so typewriter delays are not applied here. Table-wide output also goes to
+// the table's spectators, if any. A player who disconnects gets the default answer of every later prompt, deadlines
+// or not, so the others play on; once every player has left, the session ends.
+final class SeatedConsole implements TableConsole {
+    private static final int HOST_SEAT = 0;
+    private static final String PRESS_ENTER = "\n--- press enter to continue ---";
+    private static final String TABLE_CLOSED = "The table has closed.";
+
+    private final ClientConnection[] seats;
+    // Null when the table has no spectators
+    private final SpectatorFeed feed;
+    private int audience = ALL_SEATS;
+    private volatile PromptDeadlines deadlines;
+    private int missedInRow;
+
+    SeatedConsole(List<ClientConnection> seats, SpectatorFeed feed) {
+        if (seats == null || seats.isEmpty()) {
+            throw new IllegalArgumentException("A table needs at least one seat");
+        }
+        this.seats = seats.toArray(new ClientConnection[0]);
+        this.feed = feed;
+    }
+
+    @Override
+    public void setAudience(int seat) {
+        if (seat != ALL_SEATS && (seat < 0 || seat >= seats.length)) {
+            throw new IllegalArgumentException("No such seat: " + seat);
+        }
+        audience = seat;
+    }
+
+    @Override
+    public void clearScreen() {
+        send(FrameType.CLEAR, "");
+    }
+
+    @Override
+    public void print(String text) {
+        send(FrameType.TEXT, text);
+    }
+
+    @Override
+    public void println(String text) {
+        send(FrameType.TEXT, text + "\n");
+    }
+
+    @Override
+    public void printf(String format, Object... args) {
+        send(FrameType.TEXT, String.format(format, args));
+    }
+
+    @Override
+    public void typeText(String text, int delayMs) {
+        send(FrameType.TEXT, text + "\n");
+    }
+
+    // Only a seat's own pauses wait for its player; table-wide pauses would make everyone wait on the slowest
+    @Override
+    public void waitForEnter() {
+        if (audience == ALL_SEATS) {
+            return;
+        }
+        if (prompt(PRESS_ENTER) == null) {
+            println(PromptDeadlines.TIMEOUT_NOTICE);
+        }
+    }
+
+    @Override
+    public int readInt(int min, int max, String prompt) {
+        return GameUtils.safeReadInt(this, min, max, prompt);
+    }
+
+    @Override
+    public String readLine(String prompt) {
+        return ask(prompt).nextLine().trim();
+    }
+
+    @Override
+    public int readInt(int min, int max, String prompt, int onTimeout) {
+        return GameUtils.safeReadInt(this, min, max, prompt, onTimeout);
+    }
+
+    @Override
+    public String readLine(String prompt, String onTimeout) {
+        String line = prompt(prompt);
+        if (line == null) {
+            respondent().send(FrameType.TEXT, "\n" + PromptDeadlines.TIMEOUT_NOTICE + "\n");
+            return onTimeout;
+        }
+        return line.trim();
+    }
+
+    @Override
+    public void setPromptDeadlines(PromptDeadlines deadlines) {
+        this.deadlines = deadlines;
+    }
+
+    // Tells every client the table is over and lets their output drain before the sockets close
+    @Override
+    public void close() {
+        for (ClientConnection seat : seats) {
+            seat.finish(TABLE_CLOSED);
+        }
+        if (feed != null) {
+            feed.close();
+        }
+    }
+
+    // Asks the player who must answer and waits for the reply, or null once the turn deadline passes; a player
+    // who left is answered for at once, as if the deadline had passed
+    private String prompt(String prompt) {
+        QueueInputSource input = ask(prompt);
+        PromptDeadlines current = deadlines;
+        String line;
+        try {
+            line = current == null ? input.nextLine() : current.readLine(input);
+        } catch (SessionEndedException e) {
+            if (!input.isClosed() || everyoneLeft()) {
+                throw e;
+            }
+            line = null;
+        }
+        if (current != null) {
+            missedInRow = line == null ? current.countMissed(missedInRow) : 0;
+        }
+        return line;
+    }
+
+    private boolean everyoneLeft() {
+        for (ClientConnection seat : seats) {
+            if (!seat.isClosed()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Sends the prompt to the player who must answer it, dropping replies that arrived before it: those were
+    // meant for a prompt whose deadline had already passed
+    private QueueInputSource ask(String prompt) {
+        ClientConnection seat = respondent();
+        QueueInputSource input = seat.getInput();
+        while (input.poll() != null) {
+            // Stale reply
+        }
+        seat.send(FrameType.PROMPT, prompt);
+        return input;
+    }
+
+    private ClientConnection respondent() {
+        return seats[audience == ALL_SEATS ? HOST_SEAT : audience];
+    }
+
+    private void send(FrameType type, String text) {
+        if (audience != ALL_SEATS) {
+            seats[audience].send(type, text);
+            return;
+        }
+        // Encoded once; every client writes its own view of the same bytes
+        ByteBuffer frame = new Frame(type, text).encode().asReadOnlyBuffer();
+        for (ClientConnection seat : seats) {
+            seat.send(frame.duplicate());
+        }
+        if (feed != null) {
+            feed.publish(frame);
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package moonlightsgambit.server;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import moonlightsgambit.enums.FrameType;
+
+// One spectator's socket. After a WATCH frame naming a table it writes that table's SpectatorFeed straight from
+// the shared buffers, several frames per gathering write. A spectator a full ring behind is skipped ahead to the
+// live output, and one that keeps falling behind is dropped. Everything here runs on the owning reactor's thread.
+final class SpectatorConnection implements GameServer.Endpoint {
+    // Frames the table showed just before the spectator joined, so the screen is not blank
+    private static final int CATCH_UP_FRAMES = 64;
+    private static final int MAX_SKIPS = 8;
+    private static final int FRAMES_PER_WRITE = 16;
+    private static final int READ_BUFFER_BYTES = 512;
+    private static final ByteBuffer TABLE_CLOSED =
+            new Frame(FrameType.CLOSE, "The table has closed.").encode().asReadOnlyBuffer();
+    private static final ByteBuffer NO_SUCH_TABLE =
+            new Frame(FrameType.CLOSE, "No such table.").encode().asReadOnlyBuffer();
+
+    private final SocketChannel channel;
+    private final GameServer.Reactor reactor;
+    private final GameServer server;
+    private final ByteBuffer readBuffer = ByteBuffer.allocate(READ_BUFFER_BYTES);
+    // Views of the frames being written; only the positions are the spectator's own
+    private final Deque<ByteBuffer> outbound = new ArrayDeque<>();
+    private final ByteBuffer[] batch = new ByteBuffer[FRAMES_PER_WRITE];
+    private SelectionKey key;
+    private SpectatorFeed feed;
+    // Sequence number of the next feed frame to write
+    private long next;
+    private int skips;
+    private boolean ending;
+    private boolean closed;
+
+    SpectatorConnection(SocketChannel channel, GameServer.Reactor reactor, GameServer server) {
+        this.channel = channel;
+        this.reactor = reactor;
+        this.server = server;
+    }
+
+    @Override
+    public void register(Selector selector) throws IOException {
+        key = channel.register(selector, SelectionKey.OP_READ, this);
+    }
+
+    // Only a single WATCH frame is expected, naming the table (blank for the newest one)
+    @Override
+    public void onReadable() {
+        try {
+            if (channel.read(readBuffer) < 0) {
+                close();
+                return;
+            }
+            readBuffer.flip();
+            Frame frame = Frame.decode(readBuffer);
+            readBuffer.compact();
+            if (frame == null) {
+                if (!readBuffer.hasRemaining()) {
+                    close();
+                }
+                return;
+            }
+            if (frame.getType() != FrameType.WATCH || feed != null || ending) {
+                close();
+                return;
+            }
+            watch(server.findFeed(frame.getText()));
+        } catch (IOException | IllegalArgumentException e) {
+            close();
+        }
+    }
+
+    private void watch(SpectatorFeed found) {
+        if (found == null) {
+            ending = true;
+            outbound.add(NO_SUCH_TABLE.duplicate());
+        } else {
+            feed = found;
+            next = Math.max(0, found.getHead() - CATCH_UP_FRAMES);
+            found.subscribe(this, reactor.getIndex());
+        }
+        flush();
+    }
+
+    // Writes as many frames as the socket takes; keeps OP_WRITE only while some are left over
+    @Override
+    public void flush() {
+        if (closed) {
+            return;
+        }
+        try {
+            while (fill() > 0) {
+                int count = outbound.size();
+                outbound.toArray(batch);
+                channel.write(batch, 0, count);
+                while (!outbound.isEmpty() && !outbound.peek().hasRemaining()) {
+                    outbound.poll();
+                }
+                if (!outbound.isEmpty()) {
+                    key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+                    return;
+                }
+            }
+            if (ending) {
+                close();
+                return;
+            }
+            key.interestOps(SelectionKey.OP_READ);
+        } catch (IOException | RuntimeException e) {
+            close();
+        }
+    }
+
+    // Tops the batch up from the feed; returns the number of frames waiting to be written
+    private int fill() {
+        if (feed == null || ending) {
+            return outbound.size();
+        }
+        // Closed is read before the head, so no frame published before the close is missed
+        boolean tableClosed = feed.isClosed();
+        long head = feed.getHead();
+        while (outbound.size() < FRAMES_PER_WRITE && next < head) {
+            ByteBuffer frame = feed.get(next);
+            if (frame == null) {
+                head = feed.getHead();
+                skipAhead(head);
+                continue;
+            }
+            outbound.add(frame.duplicate());
+            next++;
+        }
+        if (tableClosed && next == head && outbound.size() < FRAMES_PER_WRITE) {
+            ending = true;
+            outbound.add(TABLE_CLOSED.duplicate());
+        }
+        return outbound.size();
+    }
+
+    // The ring moved past this spectator: jump to the live output, or give up on a spectator that keeps lagging
+    private void skipAhead(long head) {
+        if (++skips > MAX_SKIPS) {
+            throw new IllegalStateException("Spectator too slow");
+        }
+        String notice = String.format("%n[... %d events skipped to catch up ...]%n", head - next);
+        outbound.add(new Frame(FrameType.TEXT, notice).encode());
+        next = head;
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (feed != null) {
+            feed.unsubscribe(this, reactor.getIndex());
+        }
+        if (key != null) {
+            key.cancel();
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            // Already gone
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package moonlightsgambit.server;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// Public output of one table for any number of spectators: deaths at dawn, vote counts, Destiny Draw rounds,
+// endings - whatever the table shows every seat. Each frame is encoded once into a read-only slice of off-heap
+// memory and kept in a ring; every spectator writes from those same bytes at its own pace, keeping only a cursor.
+// The game thread just publishes and wakes each reactor once, so spectators never hold up the table.
+final class SpectatorFeed {
+    static final int CAPACITY = 1024;
+    private static final int MASK = CAPACITY - 1;
+    // Frames are packed into off-heap slabs of this size, freed once no ring slot or spectator refers to them
+    private static final int SLAB_BYTES = 256 * 1024;
+
+    private final AtomicReferenceArray<ByteBuffer> ring = new AtomicReferenceArray<>(CAPACITY);
+    private final Group[] groups;
+    // Sequence number of the next frame; only the game thread writes it
+    private volatile long head;
+    private volatile boolean closed;
+    private ByteBuffer slab = ByteBuffer.allocateDirect(0);
+
+    SpectatorFeed(GameServer.Reactor[] reactors) {
+        this.groups = new Group[reactors.length];
+        for (int i = 0; i < reactors.length; i++) {
+            groups[i] = new Group(reactors[i]);
+        }
+    }
+
+    /* ---------- GAME THREAD ---------- */
+
+    // Adds an encoded frame to the feed; it is copied once, whatever the number of spectators
+    void publish(ByteBuffer frame) {
+        int length = frame.remaining();
+        if (slab.remaining() < length) {
+            slab = ByteBuffer.allocateDirect(Math.max(SLAB_BYTES, length));
+        }
+        int start = slab.position();
+        slab.put(frame.duplicate());
+        long sequence = head;
+        // The slot is filled before the head moves past it; readers check the head after reading a slot
+        ring.set((int) (sequence & MASK), slab.slice(start, length).asReadOnlyBuffer());
+        head = sequence + 1;
+        wakeSpectators();
+    }
+
+    // Marks the end of the table; spectators get whatever they have not read yet and then a last CLOSE frame
+    void close() {
+        closed = true;
+        wakeSpectators();
+    }
+
+    private void wakeSpectators() {
+        for (Group group : groups) {
+            if (group.size.get() > 0 && group.flushRequested.compareAndSet(false, true)) {
+                group.reactor.execute(group::flushAll);
+            }
+        }
+    }
+
+    /* ---------- ANY THREAD ---------- */
+
+    boolean isClosed() {
+        return closed;
+    }
+
+    long getHead() {
+        return head;
+    }
+
+    // Frame with the given sequence number (which must be below the head), or null once the ring has moved past it
+    ByteBuffer get(long sequence) {
+        ByteBuffer frame = ring.get((int) (sequence & MASK));
+        // The writer only refills this slot after moving the head to sequence + CAPACITY
+        return head - sequence < CAPACITY ? frame : null;
+    }
+
+    /* ---------- REACTOR THREADS ---------- */
+
+    void subscribe(SpectatorConnection spectator, int reactorIndex) {
+        Group group = groups[reactorIndex];
+        group.members.add(spectator);
+        group.size.incrementAndGet();
+    }
+
+    void unsubscribe(SpectatorConnection spectator, int reactorIndex) {
+        Group group = groups[reactorIndex];
+        if (group.members.remove(spectator)) {
+            group.size.decrementAndGet();
+        }
+    }
+
+    // Spectators of this feed served by one reactor; the member list is only touched on that reactor's thread
+    private static final class Group {
+        private final GameServer.Reactor reactor;
+        private final List<SpectatorConnection> members = new ArrayList<>();
+        private final AtomicInteger size = new AtomicInteger();
+        private final AtomicBoolean flushRequested = new AtomicBoolean();
+
+        private Group(GameServer.Reactor reactor) {
+            this.reactor = reactor;
+        }
+
+        private void flushAll() {
+            flushRequested.set(false);
+            // Backwards, as a spectator that fails to write removes itself
+            for (int i = members.size() - 1; i >= 0; i--) {
+                members.get(i).flush();
+            }
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package moonlightsgambit.simulation;
+
+import moonlightsgambit.characters.GameCharacter;
+import moonlightsgambit.enums.DeathCause;
+
+// Records a single player death: who, how and in which cycle
+public final class DeathRecord {
+    private final GameCharacter player;
+    private final DeathCause cause;
+    private final int cycle;
+
+    public DeathRecord(GameCharacter player, DeathCause cause, int cycle) {
+        if (player == null || cause == null) {
+            throw new IllegalArgumentException("Player and cause must be non-null");
+        }
+        this.player = player;
+        this.cause = cause;
+        this.cycle = cycle;
+    }
+
+    public GameCharacter getPlayer() {
+        return player;
+    }
+
+    public DeathCause getCause() {
+        return cause;
+    }
+
+    public int getCycle() {
+        return cycle;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Cycle %d: %s (%s) - %s", cycle, player.getName(), player.getRoleName(), cause);
+    }
+}
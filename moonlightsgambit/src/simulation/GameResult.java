@@ -0,0 +1,46 @@
+package moonlightsgambit.simulation;
+
+import java.util.List;
+import moonlightsgambit.enums.Ending;
+import moonlightsgambit.enums.Team;
+
+// Structured outcome of one completed game
+public final class GameResult {
+    private final Team winningTeam;
+    private final Ending ending;
+    private final int cycles;
+    private final List<DeathRecord> deaths;
+
+    public GameResult(Team winningTeam, Ending ending, int cycles, List<DeathRecord> deaths) {
+        if (ending == null) {
+            throw new IllegalArgumentException("Ending cannot be null");
+        }
+        this.winningTeam = winningTeam;
+        this.ending = ending;
+        this.cycles = cycles;
+        this.deaths = List.copyOf(deaths);
+    }
+
+    // Null when no team won (peaceful lovers/friends ending or cycle limit)
+    public Team getWinningTeam() {
+        return winningTeam;
+    }
+
+    public Ending getEnding() {
+        return ending;
+    }
+
+    public int getCycles() {
+        return cycles;
+    }
+
+    public List<DeathRecord> getDeaths() {
+        return deaths;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s after %d cycle(s), winner: %s, deaths: %d",
+                ending, cycles, winningTeam == null ? "none" : winningTeam, deaths.size());
+    }
+}
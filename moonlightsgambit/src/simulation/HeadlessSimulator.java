@@ -0,0 +1,134 @@
+package moonlightsgambit.simulation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import moonlightsgambit.LobbyConfig;
+import moonlightsgambit.MoonlightsGambit;
+import moonlightsgambit.controllers.HeuristicBot;
+import moonlightsgambit.interfaces.DecisionPolicy;
+import moonlightsgambit.utils.RandomStreams;
+
+// Runs complete games without console I/O, spread across worker threads
+public class HeadlessSimulator {
+    private final Supplier<? extends DecisionPolicy> policyFactory;
+    private final int threads;
+    private final LobbyConfig config;
+    private final RandomStreams streams;
+
+    public HeadlessSimulator(Supplier<? extends DecisionPolicy> policyFactory) {
+        this(policyFactory, Runtime.getRuntime().availableProcessors());
+    }
+
+    // Each worker thread gets its own policy from the factory
+    public HeadlessSimulator(Supplier<? extends DecisionPolicy> policyFactory, int threads) {
+        this(policyFactory, threads, LobbyConfig.CLASSIC);
+    }
+
+    // Simulates games of the given lobby size and role mix from an unpredictable master seed
+    public HeadlessSimulator(Supplier<? extends DecisionPolicy> policyFactory, int threads, LobbyConfig config) {
+        this(policyFactory, threads, config, RandomStreams.unseeded().getMasterSeed());
+    }
+
+    // Game i of every batch draws from stream i of the master seed, so batches replay exactly on any thread count
+    public HeadlessSimulator(Supplier<? extends DecisionPolicy> policyFactory, int threads, LobbyConfig config,
+                             long masterSeed) {
+        if (policyFactory == null) {
+            throw new IllegalArgumentException("Policy factory cannot be null");
+        }
+        if (threads < 1) {
+            throw new IllegalArgumentException("Thread count must be at least 1");
+        }
+        if (config == null) {
+            throw new IllegalArgumentException("Lobby config cannot be null");
+        }
+        this.policyFactory = policyFactory;
+        this.threads = threads;
+        this.config = config;
+        this.streams = new RandomStreams(masterSeed);
+    }
+
+    public long getMasterSeed() {
+        return streams.getMasterSeed();
+    }
+
+    // Plays a single headless game on the calling thread
+    public GameResult runGame() {
+        MoonlightsGambit game = new MoonlightsGambit(policyFactory.get(), config);
+        game.startGame();
+        return game.getResult();
+    }
+
+    // Plays a batch of games and returns aggregated statistics
+    public SimulationReport runBatch(long games) {
+        return runBatch(games, null);
+    }
+
+    // Plays a batch of games, handing every result to the sink (which must be thread-safe)
+    public SimulationReport runBatch(long games, Consumer<GameResult> sink) {
+        if (games < 0) {
+            throw new IllegalArgumentException("Game count cannot be negative");
+        }
+        long start = System.nanoTime();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<SimulationReport>> workers = new ArrayList<>(threads);
+            long first = 0;
+            for (int i = 0; i < threads; i++) {
+                long share = games / threads + (i < games % threads ? 1 : 0);
+                long from = first;
+                workers.add(pool.submit(() -> runWorker(from, from + share, sink)));
+                first += share;
+            }
+
+            SimulationReport report = new SimulationReport();
+            for (Future<SimulationReport> worker : workers) {
+                report.merge(worker.get());
+            }
+            report.setElapsedNanos(System.nanoTime() - start);
+            return report;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Simulation interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Simulation worker failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    // Worker loop over games [from, to): one game instance and one policy reused, a fresh stream per game
+    private SimulationReport runWorker(long from, long to, Consumer<GameResult> sink) {
+        SimulationReport report = new SimulationReport();
+        MoonlightsGambit game = new MoonlightsGambit(policyFactory.get(), config);
+        for (long index = from; index < to; index++) {
+            game.setRandom(streams.forGame(index));
+            game.startGame();
+            GameResult result = game.getResult();
+            report.record(result);
+            if (sink != null) {
+                sink.accept(result);
+            }
+        }
+        return report;
+    }
+
+    // Runs a batch from the command line: [games] [threads] [seats] [seed] [random|bots]
+    public static void main(String[] args) {
+        long games = args.length > 0 ? Long.parseLong(args[0]) : 1_000_000L;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        LobbyConfig config = args.length > 2 ? LobbyConfig.ofSize(Integer.parseInt(args[2])) : LobbyConfig.CLASSIC;
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : RandomStreams.unseeded().getMasterSeed();
+        boolean bots = args.length > 4 && args[4].equals("bots");
+        HeadlessSimulator simulator = bots
+                ? new HeadlessSimulator(HeuristicBot::new, threads, config, seed)
+                : new HeadlessSimulator(RandomPolicy::new, threads, config, seed);
+        System.out.println("Master seed: " + seed);
+        System.out.println(simulator.runBatch(games));
+    }
+}
@@ -0,0 +1,42 @@
+package moonlightsgambit.simulation;
+
+import java.util.List;
+import java.util.random.RandomGenerator;
+import moonlightsgambit.MoonlightsGambit;
+import moonlightsgambit.characters.GameCharacter;
+import moonlightsgambit.interfaces.DecisionPolicy;
+
+// Decision policy that picks uniformly among the legal choices, drawing from the game's own random stream
+public class RandomPolicy implements DecisionPolicy {
+
+    @Override
+    public int chooseNightTarget(GameCharacter actor, List<GameCharacter> targets, MoonlightsGambit game) {
+        return game.getRandom().nextInt(targets.size());
+    }
+
+    @Override
+    public int chooseVoteTarget(GameCharacter voter, List<GameCharacter> candidates, MoonlightsGambit game) {
+        // Redraw on the voter's own slot: uniform over everyone else without an O(n) search for the voter
+        RandomGenerator random = game.getRandom();
+        int pick;
+        do {
+            pick = random.nextInt(candidates.size());
+        } while (candidates.get(pick) == voter);
+        return pick;
+    }
+
+    @Override
+    public boolean choosePeace(GameCharacter player, GameCharacter partner, MoonlightsGambit game) {
+        return game.getRandom().nextBoolean();
+    }
+
+    @Override
+    public boolean keepCard(GameCharacter player, int card, int ownScore, int opponentScore, MoonlightsGambit game) {
+        return game.getRandom().nextBoolean();
+    }
+
+    @Override
+    public boolean usesProjection() {
+        return false;
+    }
+}
@@ -0,0 +1,129 @@
+package moonlightsgambit.simulation;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+import moonlightsgambit.LobbyConfig;
+import moonlightsgambit.MoonlightsGambit;
+import moonlightsgambit.controllers.HeuristicBot;
+import moonlightsgambit.interfaces.DecisionPolicy;
+import moonlightsgambit.selfplay.DecisionRecorder;
+import moonlightsgambit.selfplay.DecisionWriter;
+import moonlightsgambit.utils.RandomStreams;
+
+// Plays bot-vs-bot games on worker threads under the real game rules and records every decision to a self-play
+// file. Like HeadlessSimulator, game i draws from stream i of the master seed, so any recorded game replays exactly.
+// Workers only fill batches in memory; compression and disk writes happen on the DecisionWriter's own thread.
+public class SelfPlayGenerator {
+    private final Supplier<? extends DecisionPolicy> policyFactory;
+    private final int threads;
+    private final LobbyConfig config;
+    private final RandomStreams streams;
+
+    // Each worker thread gets its own policy from the factory, wrapped in its own recorder
+    public SelfPlayGenerator(Supplier<? extends DecisionPolicy> policyFactory, int threads, LobbyConfig config,
+                             long masterSeed) {
+        if (policyFactory == null) {
+            throw new IllegalArgumentException("Policy factory cannot be null");
+        }
+        if (threads < 1) {
+            throw new IllegalArgumentException("Thread count must be at least 1");
+        }
+        if (config == null) {
+            throw new IllegalArgumentException("Lobby config cannot be null");
+        }
+        this.policyFactory = policyFactory;
+        this.threads = threads;
+        this.config = config;
+        this.streams = new RandomStreams(masterSeed);
+    }
+
+    public long getMasterSeed() {
+        return streams.getMasterSeed();
+    }
+
+    // Plays games [0, games) and records them through the writer, which the caller closes afterwards
+    public SimulationReport run(long games, DecisionWriter writer) {
+        if (games < 0 || games > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Game count must be between 0 and " + Integer.MAX_VALUE);
+        }
+        if (writer == null) {
+            throw new IllegalArgumentException("Writer cannot be null");
+        }
+        long start = System.nanoTime();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<SimulationReport>> workers = new ArrayList<>(threads);
+            int first = 0;
+            for (int i = 0; i < threads; i++) {
+                int share = (int) (games / threads + (i < games % threads ? 1 : 0));
+                int from = first;
+                workers.add(pool.submit(() -> runWorker(from, from + share, writer)));
+                first += share;
+            }
+
+            SimulationReport report = new SimulationReport();
+            for (Future<SimulationReport> worker : workers) {
+                report.merge(worker.get());
+            }
+            report.setElapsedNanos(System.nanoTime() - start);
+            return report;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Self-play interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Self-play worker failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    // Worker loop over games [from, to): one game instance and one recorder reused, a fresh stream per game
+    private SimulationReport runWorker(int from, int to, DecisionWriter writer) {
+        SimulationReport report = new SimulationReport();
+        DecisionRecorder recorder = new DecisionRecorder(policyFactory.get(), writer);
+        MoonlightsGambit game = new MoonlightsGambit(recorder, config);
+        for (int index = from; index < to; index++) {
+            game.setRandom(streams.forGame(index));
+            recorder.startGame(index);
+            game.startGame();
+            GameResult result = game.getResult();
+            recorder.finishGame(result);
+            report.record(result);
+        }
+        recorder.flush();
+        return report;
+    }
+
+    // Records a run from the command line: [games] [threads] [seats] [seed] [file] [random|bots]
+    public static void main(String[] args) {
+        long games = args.length > 0 ? Long.parseLong(args[0]) : 100_000L;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        LobbyConfig config = args.length > 2 ? LobbyConfig.ofSize(Integer.parseInt(args[2])) : LobbyConfig.CLASSIC;
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : RandomStreams.unseeded().getMasterSeed();
+        Path file = Paths.get(args.length > 4 ? args[4] : "selfplay.bin");
+        boolean random = args.length > 5 && args[5].equals("random");
+        SelfPlayGenerator generator = random
+                ? new SelfPlayGenerator(RandomPolicy::new, threads, config, seed)
+                : new SelfPlayGenerator(HeuristicBot::new, threads, config, seed);
+        System.out.println("Master seed: " + seed);
+        SimulationReport report;
+        // One compressor keeps up with about three simulation threads
+        DecisionWriter writer = new DecisionWriter(file, DecisionWriter.DEFAULT_QUEUE_DEPTH, (threads + 2) / 3);
+        try {
+            report = generator.run(games, writer);
+        } finally {
+            writer.close();
+        }
+        System.out.println(report);
+        System.out.printf("Recorded %,d decision rows in %,d blocks to %s: %,d bytes (%.2f bytes per row)%n",
+                writer.getRowCount(), writer.getBlockCount(), file, writer.getByteCount(),
+                writer.getRowCount() == 0 ? 0.0 : (double) writer.getByteCount() / writer.getRowCount());
+    }
+}
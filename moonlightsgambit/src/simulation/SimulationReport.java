@@ -0,0 +1,88 @@
+package moonlightsgambit.simulation;
+
+import moonlightsgambit.enums.Ending;
+import moonlightsgambit.enums.Team;
+
+// Aggregated statistics over a batch of headless games
+public final class SimulationReport {
+    private long games;
+    private long totalCycles;
+    private long totalDeaths;
+    private long elapsedNanos;
+    private final long[] winsByTeam = new long[Team.values().length];
+    private final long[] endings = new long[Ending.values().length];
+
+    // Adds one game outcome to the totals
+    void record(GameResult result) {
+        games++;
+        totalCycles += result.getCycles();
+        totalDeaths += result.getDeaths().size();
+        endings[result.getEnding().ordinal()]++;
+        if (result.getWinningTeam() != null) {
+            winsByTeam[result.getWinningTeam().ordinal()]++;
+        }
+    }
+
+    // Folds another worker's totals into this report
+    void merge(SimulationReport other) {
+        games += other.games;
+        totalCycles += other.totalCycles;
+        totalDeaths += other.totalDeaths;
+        for (int i = 0; i < winsByTeam.length; i++) {
+            winsByTeam[i] += other.winsByTeam[i];
+        }
+        for (int i = 0; i < endings.length; i++) {
+            endings[i] += other.endings[i];
+        }
+    }
+
+    void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public long getGames() {
+        return games;
+    }
+
+    public long getWins(Team team) {
+        return winsByTeam[team.ordinal()];
+    }
+
+    public long getEndingCount(Ending ending) {
+        return endings[ending.ordinal()];
+    }
+
+    public double getAverageCycles() {
+        return games == 0 ? 0 : (double) totalCycles / games;
+    }
+
+    public double getAverageDeaths() {
+        return games == 0 ? 0 : (double) totalDeaths / games;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public double getGamesPerSecond() {
+        return elapsedNanos == 0 ? 0 : games * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("Games: %d (%.0f games/sec)%n", games, getGamesPerSecond()));
+        for (Team team : Team.values()) {
+            sb.append(String.format("  %-12s wins: %6.2f%%%n", team, percent(getWins(team))));
+        }
+        for (Ending ending : Ending.values()) {
+            sb.append(String.format("  %-28s %6.2f%%%n", ending, percent(getEndingCount(ending))));
+        }
+        sb.append(String.format("Average cycles: %.3f | Average deaths: %.3f", getAverageCycles(), getAverageDeaths()));
+        return sb.toString();
+    }
+
+    private double percent(long count) {
+        return games == 0 ? 0 : 100.0 * count / games;
+    }
+}
@@ -0,0 +1,345 @@
+package moonlightsgambit.solver;
+
+import java.util.random.RandomGenerator;
+import moonlightsgambit.utils.DestinyDraw;
+
+// Exact optimal play of Destiny Draw: for every score and drawn card, how often to keep, and each score's win chance.
+//
+// Both players choose at once, each seeing only their own card, so every score is a small zero-sum game. Keeping
+// a higher card is never worse than keeping a lower one, so a best reply always keeps from some card up; each
+// score is solved as the matrix game between those thresholds (simplex), with rounds that change nothing folded in
+// by iterating the score's value to a fixed point. Scores are solved from the goal backwards.
+// The table is a flat array looked up in O(1); standard() holds the one for the game's own constants.
+public final class DestinyDrawTable {
+    private static final int MIN_CARD = DestinyDraw.MIN_CARD_VALUE;
+    private static final int MAX_CARD = DestinyDraw.MAX_CARD_VALUE;
+    private static final int CARD_VALUES = MAX_CARD - MIN_CARD + 1;
+    // Keep from MIN_CARD (always keep) up to MAX_CARD + 1 (always redraw)
+    private static final int THRESHOLDS = CARD_VALUES + 1;
+    private static final int ROUND_WIN_POINTS = 1;
+    private static final double EPSILON = 1e-12;
+    private static final int MAX_ITERATIONS = 200;
+
+    private final int winningScore;
+    private final int gambleBonus;
+    private final int tieBonus;
+    // Chance of keeping, by (own score, opponent score, card)
+    private final double[] keep;
+    // Win chance at the start of a round, by (own score, opponent score)
+    private final double[] win;
+
+    private DestinyDrawTable(int winningScore, int gambleBonus, int tieBonus) {
+        this.winningScore = winningScore;
+        this.gambleBonus = gambleBonus;
+        this.tieBonus = tieBonus;
+        this.keep = new double[winningScore * winningScore * CARD_VALUES];
+        this.win = new double[winningScore * winningScore];
+        solveAll();
+    }
+
+    // The table for the game's own scoring constants, built on first use
+    public static DestinyDrawTable standard() {
+        return Standard.TABLE;
+    }
+
+    // A table for other scoring constants, to see how they change the duel
+    public static DestinyDrawTable solve(int winningScore, int gambleBonus, int tieBonus) {
+        if (winningScore < 1 || gambleBonus < 1 || tieBonus < 0) {
+            throw new IllegalArgumentException("Scores must be positive (tie bonus may be zero): "
+                    + winningScore + ", " + gambleBonus + ", " + tieBonus);
+        }
+        return new DestinyDrawTable(winningScore, gambleBonus, tieBonus);
+    }
+
+    private static final class Standard {
+        static final DestinyDrawTable TABLE = new DestinyDrawTable(
+                DestinyDraw.WINNING_SCORE, DestinyDraw.GAMBLE_BONUS_POINTS, DestinyDraw.TIE_BONUS_POINTS);
+    }
+
+    public int getWinningScore() {
+        return winningScore;
+    }
+
+    // Chance the optimal player keeps the card at this score
+    public double keepProbability(int card, int ownScore, int opponentScore) {
+        if (card < MIN_CARD || card > MAX_CARD) {
+            throw new IllegalArgumentException("Card out of range: " + card);
+        }
+        return keep[stateIndex(ownScore, opponentScore) * CARD_VALUES + card - MIN_CARD];
+    }
+
+    // The optimal decision; the random source only matters at scores where optimal play mixes
+    public boolean keepCard(int card, int ownScore, int opponentScore, RandomGenerator random) {
+        double chance = keepProbability(card, ownScore, opponentScore);
+        return chance >= 1 || (chance > 0 && random.nextDouble() < chance);
+    }
+
+    // Chance of winning the duel from this score when both players play optimally
+    public double winProbability(int ownScore, int opponentScore) {
+        return win[stateIndex(ownScore, opponentScore)];
+    }
+
+    // Chance an optimal player beats one who keeps every card from keepFrom up, from 0-0
+    public double winProbabilityAgainst(int keepFrom) {
+        double[] value = new double[win.length];
+        double pair = 1.0 / (CARD_VALUES * CARD_VALUES);
+        for (int total = 2 * winningScore - 2; total >= 0; total--) {
+            for (int own = Math.min(winningScore - 1, total); own >= 0 && total - own < winningScore; own--) {
+                int opponent = total - own;
+                double moved = 0;
+                double stay = 0;
+                for (int c1 = MIN_CARD; c1 <= MAX_CARD; c1++) {
+                    double k1 = keepProbability(c1, own, opponent);
+                    for (int c2 = MIN_CARD; c2 <= MAX_CARD; c2++) {
+                        boolean k2 = c2 >= keepFrom;
+                        moved += pair * k1 * roundValue(value, own, opponent, c1, true, c2, k2, 0);
+                        moved += pair * (1 - k1) * roundValue(value, own, opponent, c1, false, c2, k2, 0);
+                        stay += pair * k1 * stayChance(c1, true, c2, k2);
+                        stay += pair * (1 - k1) * stayChance(c1, false, c2, k2);
+                    }
+                }
+                value[own * winningScore + opponent] = moved / (1 - stay);
+            }
+        }
+        return value[0];
+    }
+
+    // Scores at which optimal play keeps some card only some of the time
+    public int getMixedStateCount() {
+        int mixed = 0;
+        for (int state = 0; state < win.length; state++) {
+            for (int card = 0; card < CARD_VALUES; card++) {
+                double chance = keep[state * CARD_VALUES + card];
+                if (chance > EPSILON && chance < 1 - EPSILON) {
+                    mixed++;
+                    break;
+                }
+            }
+        }
+        return mixed;
+    }
+
+    private int stateIndex(int ownScore, int opponentScore) {
+        if (ownScore < 0 || opponentScore < 0 || ownScore >= winningScore || opponentScore >= winningScore) {
+            throw new IllegalArgumentException("Score out of range: " + ownScore + "-" + opponentScore);
+        }
+        return ownScore * winningScore + opponentScore;
+    }
+
+    /* ---------- SOLVING ---------- */
+
+    // Every round either scores or repeats the score, so scores with more points in total are solved first
+    private void solveAll() {
+        double[][] payoff = new double[THRESHOLDS][THRESHOLDS];
+        double[] strategy = new double[THRESHOLDS];
+        for (int total = 2 * winningScore - 2; total >= 0; total--) {
+            for (int own = Math.min(winningScore - 1, total); own >= 0 && total - own < winningScore; own--) {
+                solveState(own, total - own, payoff, strategy);
+            }
+        }
+    }
+
+    private void solveState(int own, int opponent, double[][] payoff, double[] strategy) {
+        int state = own * winningScore + opponent;
+        // The score's value appears in its own repeated rounds; iterate it to a fixed point
+        double value = 0.5;
+        for (int iteration = 0; iteration < MAX_ITERATIONS; iteration++) {
+            win[state] = value;
+            fillPayoff(own, opponent, payoff);
+            double next = solveMatrixGame(payoff, strategy);
+            boolean settled = Math.abs(next - value) < EPSILON;
+            value = next;
+            if (settled) break;
+        }
+        win[state] = value;
+        double kept = 0;
+        for (int card = 0; card < CARD_VALUES; card++) {
+            kept += strategy[card];
+            keep[state * CARD_VALUES + card] = Math.min(1, kept);
+        }
+    }
+
+    // Expected value of the round for each pair of thresholds, to the player keeping from row threshold
+    private void fillPayoff(int own, int opponent, double[][] payoff) {
+        double pair = 1.0 / (CARD_VALUES * CARD_VALUES);
+        for (int t1 = 0; t1 < THRESHOLDS; t1++) {
+            for (int t2 = 0; t2 < THRESHOLDS; t2++) {
+                double total = 0;
+                for (int c1 = MIN_CARD; c1 <= MAX_CARD; c1++) {
+                    boolean k1 = c1 - MIN_CARD >= t1;
+                    for (int c2 = MIN_CARD; c2 <= MAX_CARD; c2++) {
+                        total += roundValue(win, own, opponent, c1, k1, c2, c2 - MIN_CARD >= t2, 1);
+                    }
+                }
+                payoff[t1][t2] = total * pair;
+            }
+        }
+    }
+
+    // Value of one round after the cards and choices are known, mirroring DestinyDraw.resolveRound;
+    // repeats of the score count stayWeight times its current value
+    private double roundValue(double[] values, int own, int opponent, int c1, boolean k1, int c2, boolean k2,
+                              double stayWeight) {
+        double cardChance = 1.0 / CARD_VALUES;
+        if (k1 && k2) {
+            if (c1 > c2) return value(values, own + ROUND_WIN_POINTS, opponent);
+            if (c2 > c1) return value(values, own, opponent + ROUND_WIN_POINTS);
+            return stayWeight * value(values, own, opponent);
+        }
+        if (!k1 && !k2) {
+            double higher = (CARD_VALUES - 1) / (2.0 * CARD_VALUES);
+            return higher * value(values, own + ROUND_WIN_POINTS, opponent)
+                 + higher * value(values, own, opponent + ROUND_WIN_POINTS)
+                 + cardChance * stayWeight * value(values, own, opponent);
+        }
+        int keepValue = k1 ? c1 : c2;
+        double gamblerHigher = (MAX_CARD - keepValue) * cardChance;
+        double gamblerLower = (keepValue - MIN_CARD) * cardChance;
+        if (k1) {
+            return gamblerHigher * value(values, own, opponent + gambleBonus)
+                 + gamblerLower * value(values, own + gambleBonus, opponent)
+                 + cardChance * tieValue(values, own, opponent, true, stayWeight);
+        }
+        return gamblerHigher * value(values, own + gambleBonus, opponent)
+             + gamblerLower * value(values, own, opponent + gambleBonus)
+             + cardChance * tieValue(values, own, opponent, false, stayWeight);
+    }
+
+    // A gamble that ties the kept card gives the keeper the tie bonus, which may be nothing
+    private double tieValue(double[] values, int own, int opponent, boolean firstKeeps, double stayWeight) {
+        if (tieBonus == 0) {
+            return stayWeight * value(values, own, opponent);
+        }
+        return firstKeeps ? value(values, own + tieBonus, opponent) : value(values, own, opponent + tieBonus);
+    }
+
+    // Chance the round leaves the score as it was
+    private double stayChance(int c1, boolean k1, int c2, boolean k2) {
+        double cardChance = 1.0 / CARD_VALUES;
+        if (k1 && k2) return c1 == c2 ? 1 : 0;
+        if (!k1 && !k2) return cardChance;
+        return tieBonus == 0 ? cardChance : 0;
+    }
+
+    private double value(double[] values, int own, int opponent) {
+        if (own >= winningScore) return 1;
+        if (opponent >= winningScore) return 0;
+        return values[own * winningScore + opponent];
+    }
+
+    // Value of a zero-sum matrix game to the row player, with an optimal row strategy written to rowStrategy.
+    // Classic reduction: shift the payoffs positive, maximize sum(y) subject to A y <= 1, and read the row
+    // strategy off the slack columns of the final objective row; Bland's rule keeps the simplex from cycling.
+    private static double solveMatrixGame(double[][] payoff, double[] rowStrategy) {
+        int rows = payoff.length;
+        int cols = payoff[0].length;
+        double min = Double.MAX_VALUE;
+        for (double[] row : payoff) {
+            for (double entry : row) min = Math.min(min, entry);
+        }
+        double shift = 1 - min;
+
+        int width = cols + rows + 1;
+        double[][] tableau = new double[rows + 1][width];
+        int[] basis = new int[rows];
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                tableau[i][j] = payoff[i][j] + shift;
+            }
+            tableau[i][cols + i] = 1;
+            tableau[i][width - 1] = 1;
+            basis[i] = cols + i;
+        }
+        for (int j = 0; j < cols; j++) {
+            tableau[rows][j] = -1;
+        }
+
+        while (true) {
+            int entering = -1;
+            for (int j = 0; j < width - 1 && entering < 0; j++) {
+                if (tableau[rows][j] < -EPSILON) entering = j;
+            }
+            if (entering < 0) break;
+            int leaving = -1;
+            double bestRatio = Double.MAX_VALUE;
+            for (int i = 0; i < rows; i++) {
+                if (tableau[i][entering] > EPSILON) {
+                    double ratio = tableau[i][width - 1] / tableau[i][entering];
+                    if (ratio < bestRatio - EPSILON
+                            || (Math.abs(ratio - bestRatio) <= EPSILON && basis[i] < basis[leaving])) {
+                        bestRatio = ratio;
+                        leaving = i;
+                    }
+                }
+            }
+            pivot(tableau, leaving, entering);
+            basis[leaving] = entering;
+        }
+
+        double sum = tableau[rows][width - 1];
+        for (int i = 0; i < rows; i++) {
+            rowStrategy[i] = tableau[rows][cols + i] / sum;
+        }
+        return 1 / sum - shift;
+    }
+
+    private static void pivot(double[][] tableau, int row, int col) {
+        double[] pivotRow = tableau[row];
+        double scale = pivotRow[col];
+        for (int j = 0; j < pivotRow.length; j++) {
+            pivotRow[j] /= scale;
+        }
+        for (int i = 0; i < tableau.length; i++) {
+            double factor = tableau[i][col];
+            if (i == row || factor == 0) continue;
+            for (int j = 0; j < pivotRow.length; j++) {
+                tableau[i][j] -= factor * pivotRow[j];
+            }
+        }
+    }
+
+    /* ---------- REPORT ---------- */
+
+    // Prints the optimal policy for the game's constants, then how other scoring constants change the duel
+    public static void main(String[] args) {
+        long start = System.nanoTime();
+        DestinyDrawTable table = standard();
+        System.out.printf("Optimal Destiny Draw policy (first to %d, gamble bonus %d, tie bonus %d), solved in %.1f ms%n",
+                table.winningScore, table.gambleBonus, table.tieBonus, (System.nanoTime() - start) / 1e6);
+        System.out.println("score  win%   keeps");
+        for (int own = 0; own < table.winningScore; own++) {
+            for (int opponent = 0; opponent < table.winningScore; opponent++) {
+                System.out.printf("%d-%d   %5.1f  %s%n", own, opponent,
+                        100 * table.winProbability(own, opponent), table.describeKeeps(own, opponent));
+            }
+        }
+
+        System.out.println();
+        System.out.println("goal gamble tie   lead 1-0  behind 0-2  vs keep-from-6  mixed scores");
+        for (int goal = 3; goal <= 7; goal += 2) {
+            for (int gamble = 1; gamble <= 3; gamble++) {
+                for (int tie = 0; tie <= 2; tie++) {
+                    DestinyDrawTable variant = solve(goal, gamble, tie);
+                    System.out.printf("%4d %6d %3d   %7.1f%%  %9.1f%%  %13.1f%%  %12d%n", goal, gamble, tie,
+                            100 * variant.winProbability(1, 0),
+                            100 * (goal > 2 ? variant.winProbability(0, 2) : 0),
+                            100 * variant.winProbabilityAgainst(6), variant.getMixedStateCount());
+                }
+            }
+        }
+    }
+
+    // Cards kept outright, and any kept only some of the time with their chance
+    private String describeKeeps(int own, int opponent) {
+        StringBuilder sb = new StringBuilder();
+        for (int card = MIN_CARD; card <= MAX_CARD; card++) {
+            double chance = keepProbability(card, own, opponent);
+            if (chance >= 1 - EPSILON) {
+                sb.append(card).append(' ');
+            } else if (chance > EPSILON) {
+                sb.append(card).append(String.format("(%.0f%%) ", 100 * chance));
+            }
+        }
+        return sb.length() == 0 ? "none" : sb.toString().trim();
+    }
+}
@@ -0,0 +1,542 @@
+package moonlightsgambit.solver;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import moonlightsgambit.enums.Ending;
+import moonlightsgambit.enums.Role;
+import moonlightsgambit.enums.Team;
+import moonlightsgambit.interfaces.SolverPolicy;
+import moonlightsgambit.state.PackedState;
+import moonlightsgambit.utils.DestinyDraw;
+
+// Computes exact ending and win probabilities of the four-seat game under a stochastic policy.
+//
+// Each cycle (Moon -> Dawn -> Voting) is expanded branch by branch on packed states. States that
+// share roles and alive seats can loop back into each other through tied votes, so each such group
+// is solved as a small linear system; groups with fewer alive seats are solved first, in parallel.
+public class GameSolver {
+    private static final int SEATS = PackedState.SEATS;
+    private static final int CARD_VALUES = DestinyDraw.MAX_CARD_VALUE - DestinyDraw.MIN_CARD_VALUE + 1;
+    private static final int ROUND_WIN_POINTS = 1;
+
+    private final SolverPolicy policy;
+    private final ForkJoinPool pool;
+    // Transposition table: cycle-start key -> outcome vector (see OutcomeDistribution layout)
+    private final ConcurrentHashMap<Long, double[]> table = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, double[]> finalTwoTable = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, GroupTask> groups = new ConcurrentHashMap<>();
+
+    public GameSolver(SolverPolicy policy) {
+        this(policy, ForkJoinPool.commonPool());
+    }
+
+    public GameSolver(SolverPolicy policy, ForkJoinPool pool) {
+        if (policy == null || pool == null) {
+            throw new IllegalArgumentException("Policy and pool must be non-null");
+        }
+        this.policy = policy;
+        this.pool = pool;
+    }
+
+    // Outcome of a brand-new game: averaged over the 24 equally likely role assignments
+    public OutcomeDistribution solveNewGame() {
+        List<Long> starts = new ArrayList<>();
+        permuteRoles(Role.values(), 0, starts);
+        long[] states = new long[starts.size()];
+        for (int i = 0; i < states.length; i++) {
+            states[i] = starts.get(i);
+        }
+        return new OutcomeDistribution(pool.invoke(new RootTask(states)));
+    }
+
+    // Outcome from a state at the start of a cycle, before last night's sabotage takes hold
+    public OutcomeDistribution solve(long state) {
+        return new OutcomeDistribution(pool.invoke(new RootTask(new long[] { state })));
+    }
+
+    // Number of memoized cycle-start states
+    public int getTableSize() {
+        return table.size();
+    }
+
+    // Prints the exact outcome of a new game when every choice is made uniformly at random
+    public static void main(String[] args) {
+        long start = System.nanoTime();
+        GameSolver solver = new GameSolver(new UniformSolverPolicy());
+        OutcomeDistribution outcome = solver.solveNewGame();
+        System.out.println(outcome);
+        System.out.printf("Solved %d cycle states in %.1f ms%n",
+                solver.getTableSize(), (System.nanoTime() - start) / 1e6);
+    }
+
+    /* ---------- PARALLEL GROUP SOLVING ---------- */
+
+    // Averages the outcome vectors of the given start states, solving their groups in parallel
+    private final class RootTask extends RecursiveTask<double[]> {
+        private static final long serialVersionUID = 1L;
+        private final long[] states;
+
+        RootTask(long[] states) {
+            this.states = states;
+        }
+
+        @Override
+        protected double[] compute() {
+            List<GroupTask> pending = new ArrayList<>();
+            for (long state : states) {
+                int alive = PackedState.aliveCount(state);
+                if (alive < 2) {
+                    throw new IllegalArgumentException("At least two players must be alive: " + PackedState.describe(state));
+                }
+                if (alive > 2) {
+                    pending.add(groupTask(groupKey(PackedState.cycleStartKey(state))));
+                }
+            }
+            for (GroupTask task : pending) {
+                task.join();
+            }
+
+            double[] total = new double[OutcomeDistribution.SIZE];
+            for (long state : states) {
+                double[] values = PackedState.aliveCount(state) == 2
+                        ? finalTwo(state)
+                        : table.get(PackedState.cycleStartKey(state));
+                for (int i = 0; i < total.length; i++) {
+                    total[i] += values[i] / states.length;
+                }
+            }
+            return total;
+        }
+    }
+
+    // Solves every pending-sabotage variant of one (roles, alive seats) group
+    private final class GroupTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final long groupKey;
+
+        GroupTask(long groupKey) {
+            this.groupKey = groupKey;
+        }
+
+        @Override
+        protected void compute() {
+            solveGroup(groupKey);
+        }
+    }
+
+    // Returns the single task for a group, forking it if this call created it
+    private GroupTask groupTask(long groupKey) {
+        GroupTask task = new GroupTask(groupKey);
+        GroupTask existing = groups.putIfAbsent(groupKey, task);
+        if (existing != null) {
+            return existing;
+        }
+        task.fork();
+        return task;
+    }
+
+    private void solveGroup(long groupKey) {
+        int aliveMask = PackedState.aliveMask(groupKey);
+        int size = 1 << Integer.bitCount(aliveMask);
+        long[] keys = new long[size];
+        int[] indexOfPending = new int[PackedState.ALL_SEATS + 1];
+        Expansion[] expansions = new Expansion[size];
+
+        // Expand one cycle from every pending-sabotage subset of the alive seats
+        int index = 0;
+        int pending = aliveMask;
+        while (true) {
+            keys[index] = PackedState.withSabotageMask(groupKey, pending);
+            indexOfPending[pending] = index;
+            expansions[index] = expand(keys[index]);
+            index++;
+            if (pending == 0) break;
+            pending = (pending - 1) & aliveMask;
+        }
+
+        // Smaller groups must be solved before this one can be
+        List<GroupTask> dependencies = new ArrayList<>();
+        for (Expansion expansion : expansions) {
+            for (int i = 0; i < expansion.nextCount; i++) {
+                long next = expansion.nextKeys[i];
+                if (PackedState.aliveMask(next) != aliveMask) {
+                    dependencies.add(groupTask(groupKey(next)));
+                }
+            }
+        }
+        for (GroupTask dependency : dependencies) {
+            dependency.join();
+        }
+
+        // V = A V + B, solved as (I - A) V = B
+        double[][] a = new double[size][size];
+        double[][] b = new double[size][];
+        for (int row = 0; row < size; row++) {
+            Expansion expansion = expansions[row];
+            b[row] = expansion.terminal.clone();
+            for (int i = 0; i < expansion.nextCount; i++) {
+                long next = expansion.nextKeys[i];
+                double probability = expansion.nextProbabilities[i];
+                if (PackedState.aliveMask(next) == aliveMask) {
+                    a[row][indexOfPending[PackedState.sabotageMask(next)]] += probability;
+                } else {
+                    double[] values = table.get(next);
+                    for (int k = 0; k < values.length; k++) {
+                        b[row][k] += probability * values[k];
+                    }
+                }
+            }
+        }
+        double[][] solution = solveLinearSystem(a, b);
+        for (int row = 0; row < size; row++) {
+            table.put(keys[row], solution[row]);
+        }
+    }
+
+    // Gauss-Jordan elimination with partial pivoting on (I - A) X = B
+    private static double[][] solveLinearSystem(double[][] a, double[][] b) {
+        int n = a.length;
+        double[][] m = new double[n][];
+        for (int row = 0; row < n; row++) {
+            m[row] = new double[n];
+            for (int col = 0; col < n; col++) {
+                m[row][col] = (row == col ? 1.0 : 0.0) - a[row][col];
+            }
+        }
+        for (int col = 0; col < n; col++) {
+            int pivot = col;
+            for (int row = col + 1; row < n; row++) {
+                if (Math.abs(m[row][col]) > Math.abs(m[pivot][col])) pivot = row;
+            }
+            double[] swap = m[col]; m[col] = m[pivot]; m[pivot] = swap;
+            swap = b[col]; b[col] = b[pivot]; b[pivot] = swap;
+
+            double scale = m[col][col];
+            if (scale == 0) {
+                throw new IllegalStateException("Policy allows a cycle that never ends");
+            }
+            for (int k = 0; k < n; k++) m[col][k] /= scale;
+            for (int k = 0; k < b[col].length; k++) b[col][k] /= scale;
+
+            for (int row = 0; row < n; row++) {
+                double factor = m[row][col];
+                if (row == col || factor == 0) continue;
+                for (int k = 0; k < n; k++) m[row][k] -= factor * m[col][k];
+                for (int k = 0; k < b[row].length; k++) b[row][k] -= factor * b[col][k];
+            }
+        }
+        return b;
+    }
+
+    private static long groupKey(long key) {
+        return PackedState.withSabotageMask(key, 0);
+    }
+
+    /* ---------- ONE-CYCLE EXPANSION ---------- */
+
+    // Outcome mass of one cycle: terminal outcomes plus the next cycle-start states reached
+    private static final class Expansion {
+        final double[] terminal = new double[OutcomeDistribution.SIZE];
+        long[] nextKeys = new long[8];
+        double[] nextProbabilities = new double[8];
+        int nextCount;
+
+        void addNext(long key, double probability) {
+            for (int i = 0; i < nextCount; i++) {
+                if (nextKeys[i] == key) {
+                    nextProbabilities[i] += probability;
+                    return;
+                }
+            }
+            if (nextCount == nextKeys.length) {
+                nextKeys = java.util.Arrays.copyOf(nextKeys, nextCount * 2);
+                nextProbabilities = java.util.Arrays.copyOf(nextProbabilities, nextCount * 2);
+            }
+            nextKeys[nextCount] = key;
+            nextProbabilities[nextCount++] = probability;
+        }
+
+        void addTerminal(double[] outcome, double probability) {
+            for (int i = 0; i < outcome.length; i++) {
+                terminal[i] += probability * outcome[i];
+            }
+        }
+    }
+
+    private Expansion expand(long key) {
+        Expansion expansion = new Expansion();
+        moonPhase(PackedState.beginRound(key), 0, 1.0, expansion);
+        return expansion;
+    }
+
+    // Night actions in seat order, mirroring MoonPhase and each character's performAction
+    private void moonPhase(long state, int seat, double probability, Expansion out) {
+        if (seat == SEATS) {
+            dawnPhase(state, probability, out);
+            return;
+        }
+        if (!PackedState.isAlive(state, seat)) {
+            moonPhase(state, seat + 1, probability, out);
+            return;
+        }
+
+        Role role = PackedState.role(state, seat);
+        boolean blocked = PackedState.isBlocked(state, seat);
+        // The Seeker only learns something, and blocked Believers and Reapers change nothing
+        if (role == Role.SEEKER || (blocked && role != Role.SABOTEUR)) {
+            moonPhase(state, seat + 1, probability, out);
+            return;
+        }
+
+        int[] targets = new int[SEATS];
+        int count = 0;
+        if (role == Role.BELIEVER) targets[count++] = seat;  // Elara can target herself
+        for (int other = 0; other < SEATS; other++) {
+            if (other != seat && PackedState.isAlive(state, other)) targets[count++] = other;
+        }
+        if (count == 0) {
+            moonPhase(state, seat + 1, probability, out);
+            return;
+        }
+        double[] probs = new double[count];
+        policy.nightTargetDistribution(state, seat, targets, count, probs);
+
+        for (int i = 0; i < count; i++) {
+            if (probs[i] == 0) continue;
+            int target = targets[i];
+            long next = switch (role) {
+                case BELIEVER -> PackedState.withBlessed(state, target, true);
+                case REAPER -> PackedState.isBlessed(state, target) ? state : PackedState.withHunt(state, target);
+                case SABOTEUR -> PackedState.withSabotage(state, target);
+                default -> state;
+            };
+            moonPhase(next, seat + 1, probability * probs[i], out);
+        }
+    }
+
+    // Dawn: the unblessed hunt target dies; two survivors go straight to the finale
+    private void dawnPhase(long state, double probability, Expansion out) {
+        int victim = PackedState.nightVictim(state);
+        if (victim != PackedState.NO_SEAT) {
+            state = PackedState.withAlive(state, victim, false);
+        }
+        if (PackedState.aliveCount(state) == 2) {
+            out.addTerminal(finalTwo(state), probability);
+            return;
+        }
+        votingPhase(state, probability, out);
+    }
+
+    // Every alive player accuses someone else; a unique top count is banished
+    private void votingPhase(long state, double probability, Expansion out) {
+        int[] voters = new int[SEATS];
+        int voterCount = 0;
+        for (int seat = 0; seat < SEATS; seat++) {
+            if (PackedState.isAlive(state, seat)) voters[voterCount++] = seat;
+        }
+
+        int[][] candidates = new int[voterCount][SEATS];
+        int[] candidateCounts = new int[voterCount];
+        double[][] probs = new double[voterCount][];
+        for (int v = 0; v < voterCount; v++) {
+            for (int i = 0; i < voterCount; i++) {
+                if (i != v) candidates[v][candidateCounts[v]++] = voters[i];
+            }
+            probs[v] = new double[candidateCounts[v]];
+            policy.voteDistribution(state, voters[v], candidates[v], candidateCounts[v], probs[v]);
+        }
+        castVotes(state, voters, voterCount, candidates, candidateCounts, probs, 0, new int[SEATS], probability, out);
+    }
+
+    private void castVotes(long state, int[] voters, int voterCount, int[][] candidates, int[] candidateCounts,
+                           double[][] probs, int v, int[] tally, double probability, Expansion out) {
+        if (v == voterCount) {
+            resolveVotes(state, voters, voterCount, tally, probability, out);
+            return;
+        }
+        for (int i = 0; i < candidateCounts[v]; i++) {
+            if (probs[v][i] == 0) continue;
+            int target = candidates[v][i];
+            tally[target]++;
+            castVotes(state, voters, voterCount, candidates, candidateCounts, probs, v + 1, tally,
+                      probability * probs[v][i], out);
+            tally[target]--;
+        }
+    }
+
+    // Mirrors VotingPhase.determineEliminated and the end-of-cycle checks that follow it
+    private void resolveVotes(long state, int[] voters, int voterCount, int[] tally, double probability, Expansion out) {
+        int maxVotes = 0;
+        int eliminated = PackedState.NO_SEAT;
+        boolean isTie = false;
+        for (int i = 0; i < voterCount; i++) {
+            int votes = tally[voters[i]];
+            if (votes > maxVotes) {
+                maxVotes = votes;
+                eliminated = voters[i];
+                isTie = false;
+            } else if (votes == maxVotes && maxVotes > 0) {
+                isTie = true;
+            }
+        }
+
+        if (!isTie && maxVotes > 0) {
+            state = PackedState.withAlive(state, eliminated, false);
+            if (PackedState.aliveCount(state) == 2) {
+                out.addTerminal(finalTwo(state), probability);
+                return;
+            }
+        }
+
+        Team survivor = soleSurvivingTeam(state);
+        if (survivor != null) {
+            double[] outcome = new double[OutcomeDistribution.SIZE];
+            outcome[OutcomeDistribution.endingIndex(Ending.TEAM_ELIMINATED)] = 1;
+            outcome[OutcomeDistribution.teamIndex(survivor)] = 1;
+            out.addTerminal(outcome, probability);
+            return;
+        }
+        out.addNext(PackedState.cycleStartKey(PackedState.endCycle(state)), probability);
+    }
+
+    // Team left standing when the other has been wiped out, else null
+    private static Team soleSurvivingTeam(long state) {
+        int alive = PackedState.aliveMask(state);
+        boolean good = (alive & PackedState.teamMask(state, Team.GOOD)) != 0;
+        boolean evil = (alive & PackedState.teamMask(state, Team.EVIL)) != 0;
+        if (good == evil) return null;
+        return good ? Team.GOOD : Team.EVIL;
+    }
+
+    /* ---------- FINAL TWO ---------- */
+
+    // Mirrors VotingPhase.handleFinalTwoPlayers for the two remaining seats
+    private double[] finalTwo(long state) {
+        long key = groupKey(PackedState.cycleStartKey(state));
+        double[] cached = finalTwoTable.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        int alive = PackedState.aliveMask(key);
+        int first = Integer.numberOfTrailingZeros(alive);
+        int second = Integer.numberOfTrailingZeros(alive & (alive - 1));
+        Role firstRole = PackedState.role(key, first);
+        Role secondRole = PackedState.role(key, second);
+        double[] outcome = new double[OutcomeDistribution.SIZE];
+
+        double duel = 1.0;
+        if (isPair(firstRole, secondRole, Role.BELIEVER, Role.REAPER)) {
+            double peace = policy.peaceProbability(key, first) * policy.peaceProbability(key, second);
+            outcome[OutcomeDistribution.endingIndex(Ending.LOVERS_PEACE)] = peace;
+            duel -= peace;
+        } else if (isPair(firstRole, secondRole, Role.SEEKER, Role.SABOTEUR)) {
+            double peace = policy.peaceProbability(key, first) * policy.peaceProbability(key, second);
+            outcome[OutcomeDistribution.endingIndex(Ending.FRIENDS_PEACE)] = peace;
+            duel -= peace;
+        } else if (firstRole.getTeam() == secondRole.getTeam()) {
+            outcome[OutcomeDistribution.endingIndex(Ending.SAME_TEAM)] = 1;
+            outcome[OutcomeDistribution.teamIndex(firstRole.getTeam())] = 1;
+            duel = 0;
+        }
+
+        if (duel > 0) {
+            double firstWins = duelWinProbability(key, first, second);
+            outcome[OutcomeDistribution.endingIndex(Ending.DESTINY_DRAW)] += duel;
+            outcome[OutcomeDistribution.teamIndex(firstRole.getTeam())] += duel * firstWins;
+            outcome[OutcomeDistribution.teamIndex(secondRole.getTeam())] += duel * (1 - firstWins);
+        }
+        finalTwoTable.put(key, outcome);
+        return outcome;
+    }
+
+    private static boolean isPair(Role a, Role b, Role x, Role y) {
+        return (a == x && b == y) || (a == y && b == x);
+    }
+
+    // Chance the first player wins Destiny Draw from 0-0, by DP over (score1, score2) with the card draws summed out
+    private double duelWinProbability(long state, int first, int second) {
+        int goal = DestinyDraw.WINNING_SCORE;
+        double[][] win = new double[goal][goal];
+        double cardChance = 1.0 / CARD_VALUES;
+        double higherChance = (CARD_VALUES - 1) / (2.0 * CARD_VALUES);
+
+        for (int total = 2 * goal - 2; total >= 0; total--) {
+            for (int s1 = Math.min(goal - 1, total); s1 >= 0 && total - s1 < goal; s1--) {
+                int s2 = total - s1;
+                double moved = 0;
+                double stay = 0;
+                for (int c1 = DestinyDraw.MIN_CARD_VALUE; c1 <= DestinyDraw.MAX_CARD_VALUE; c1++) {
+                    double k1 = policy.keepProbability(state, first, c1, s1, s2);
+                    for (int c2 = DestinyDraw.MIN_CARD_VALUE; c2 <= DestinyDraw.MAX_CARD_VALUE; c2++) {
+                        double k2 = policy.keepProbability(state, second, c2, s2, s1);
+                        double pair = cardChance * cardChance;
+
+                        // Both keep: higher card takes the round
+                        double both = pair * k1 * k2;
+                        if (c1 > c2) moved += both * value(win, s1 + ROUND_WIN_POINTS, s2);
+                        else if (c2 > c1) moved += both * value(win, s1, s2 + ROUND_WIN_POINTS);
+                        else stay += both;
+
+                        // Both redraw: fresh cards decide
+                        double redraw = pair * (1 - k1) * (1 - k2);
+                        moved += redraw * higherChance * value(win, s1 + ROUND_WIN_POINTS, s2);
+                        moved += redraw * higherChance * value(win, s1, s2 + ROUND_WIN_POINTS);
+                        stay += redraw * cardChance;
+
+                        // First keeps, second gambles on one new card against it
+                        double firstKeeps = pair * k1 * (1 - k2);
+                        moved += firstKeeps * mixedRound(win, s1, s2, c1, true);
+                        // Second keeps, first gambles
+                        double secondKeeps = pair * (1 - k1) * k2;
+                        moved += secondKeeps * mixedRound(win, s1, s2, c2, false);
+                    }
+                }
+                win[s1][s2] = moved / (1 - stay);
+            }
+        }
+        return win[0][0];
+    }
+
+    // Expected first-player win value after a keep-vs-redraw round, mirroring DestinyDraw.handleMixedChoice
+    private static double mixedRound(double[][] win, int s1, int s2, int keepValue, boolean firstKeeps) {
+        double cardChance = 1.0 / CARD_VALUES;
+        double gamblerHigher = (DestinyDraw.MAX_CARD_VALUE - keepValue) * cardChance;
+        double gamblerLower = (keepValue - DestinyDraw.MIN_CARD_VALUE) * cardChance;
+        int bonus = DestinyDraw.GAMBLE_BONUS_POINTS;
+        int tie = DestinyDraw.TIE_BONUS_POINTS;
+        if (firstKeeps) {
+            return gamblerHigher * value(win, s1, s2 + bonus)
+                 + gamblerLower * value(win, s1 + bonus, s2)
+                 + cardChance * value(win, s1 + tie, s2);
+        }
+        return gamblerHigher * value(win, s1 + bonus, s2)
+             + gamblerLower * value(win, s1, s2 + bonus)
+             + cardChance * value(win, s1, s2 + tie);
+    }
+
+    private static double value(double[][] win, int s1, int s2) {
+        int goal = DestinyDraw.WINNING_SCORE;
+        if (s1 >= goal) return 1;
+        if (s2 >= goal) return 0;
+        return win[s1][s2];
+    }
+
+    /* ---------- ROLE PERMUTATIONS ---------- */
+
+    private static void permuteRoles(Role[] roles, int from, List<Long> out) {
+        if (from == roles.length) {
+            out.add(PackedState.initial(roles));
+            return;
+        }
+        for (int i = from; i < roles.length; i++) {
+            Role swap = roles[from]; roles[from] = roles[i]; roles[i] = swap;
+            permuteRoles(roles, from + 1, out);
+            swap = roles[from]; roles[from] = roles[i]; roles[i] = swap;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package moonlightsgambit.solver;
+
+import java.util.Arrays;
+import moonlightsgambit.enums.Ending;
+import moonlightsgambit.enums.Team;
+
+// Exact probabilities of every ending and of each team winning, as computed by the solver
+public final class OutcomeDistribution {
+    static final int ENDINGS = Ending.values().length;
+    static final int TEAMS = Team.values().length;
+    // Vector layout shared with the solver: ending probabilities first, then team win probabilities
+    static final int SIZE = ENDINGS + TEAMS;
+
+    private final double[] values;
+
+    OutcomeDistribution(double[] values) {
+        this.values = Arrays.copyOf(values, SIZE);
+    }
+
+    public double getProbability(Ending ending) {
+        return values[ending.ordinal()];
+    }
+
+    // Chance the team wins; peaceful endings count for neither team
+    public double getWinProbability(Team team) {
+        return values[ENDINGS + team.ordinal()];
+    }
+
+    static int endingIndex(Ending ending) {
+        return ending.ordinal();
+    }
+
+    static int teamIndex(Team team) {
+        return ENDINGS + team.ordinal();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (Team team : Team.values()) {
+            sb.append(String.format("  %-12s wins: %8.4f%%%n", team, 100 * getWinProbability(team)));
+        }
+        for (Ending ending : Ending.values()) {
+            sb.append(String.format("  %-28s %8.4f%%%n", ending, 100 * getProbability(ending)));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,28 @@
+package moonlightsgambit.solver;
+
+import java.util.Arrays;
+import moonlightsgambit.interfaces.SolverPolicy;
+
+// Solver counterpart of RandomPolicy: every legal choice is equally likely
+public class UniformSolverPolicy implements SolverPolicy {
+
+    @Override
+    public void nightTargetDistribution(long state, int actor, int[] targets, int count, double[] probs) {
+        Arrays.fill(probs, 0, count, 1.0 / count);
+    }
+
+    @Override
+    public void voteDistribution(long state, int voter, int[] candidates, int count, double[] probs) {
+        Arrays.fill(probs, 0, count, 1.0 / count);
+    }
+
+    @Override
+    public double peaceProbability(long state, int seat) {
+        return 0.5;
+    }
+
+    @Override
+    public double keepProbability(long state, int seat, int card, int ownScore, int opponentScore) {
+        return 0.5;
+    }
+}
@@ -0,0 +1,268 @@
+package moonlightsgambit.state;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import moonlightsgambit.enums.Role;
+import moonlightsgambit.enums.Team;
+
+// Mutable table state for lobbies of any size: one bitset per status, 64 seats per word.
+// Semantics mirror PackedState, except that every hunt is kept so several Reapers resolve together.
+public final class LobbyState {
+    private static final Team[] TEAMS = Team.values();
+    private static final Role[] ROLES = Role.values();
+
+    private final int seats;
+    private final Role[] roles;
+    private final long[] alive;
+    private final long[] blessed;
+    private final long[] blocked;
+    private final long[] sabotage;
+    private final long[] hunted;
+    private final int[] teamAlive = new int[TEAMS.length];
+    private int aliveCount;
+    private int cycle;
+
+    // Fresh table: given roles, everyone alive, nothing pending
+    public LobbyState(Role[] roles, int cycle) {
+        if (roles == null || roles.length == 0) {
+            throw new IllegalArgumentException("Roles array must be non-null and non-empty");
+        }
+        this.seats = roles.length;
+        this.roles = roles.clone();
+        int words = (seats + Long.SIZE - 1) / Long.SIZE;
+        this.alive = new long[words];
+        this.blessed = new long[words];
+        this.blocked = new long[words];
+        this.sabotage = new long[words];
+        this.hunted = new long[words];
+        for (int seat = 0; seat < seats; seat++) {
+            if (this.roles[seat] == null) {
+                throw new IllegalArgumentException("Roles array cannot contain null seats");
+            }
+            setAlive(seat, true);
+        }
+        this.cycle = cycle;
+    }
+
+    public int getSeatCount() {
+        return seats;
+    }
+
+    public Role role(int seat) {
+        checkSeat(seat);
+        return roles[seat];
+    }
+
+    /* ---------- STATUS FLAGS ---------- */
+
+    public boolean isAlive(int seat) {
+        return get(alive, seat);
+    }
+
+    // Keeps the alive and per-team counts in step
+    public void setAlive(int seat, boolean value) {
+        if (get(alive, seat) == value) return;
+        set(alive, seat, value);
+        int delta = value ? 1 : -1;
+        aliveCount += delta;
+        teamAlive[roles[seat].getTeam().ordinal()] += delta;
+    }
+
+    public boolean isBlessed(int seat) {
+        return get(blessed, seat);
+    }
+
+    public void setBlessed(int seat, boolean value) {
+        set(blessed, seat, value);
+    }
+
+    public boolean isBlocked(int seat) {
+        return get(blocked, seat);
+    }
+
+    public void setBlocked(int seat, boolean value) {
+        set(blocked, seat, value);
+    }
+
+    public boolean isSabotagePending(int seat) {
+        return get(sabotage, seat);
+    }
+
+    // Records a sabotage that blocks the seat next round
+    public void addSabotage(int seat) {
+        set(sabotage, seat, true);
+    }
+
+    public boolean isHunted(int seat) {
+        return get(hunted, seat);
+    }
+
+    // Records a hunt; several Reapers picking the same seat merge into one
+    public void addHunt(int seat) {
+        set(hunted, seat, true);
+    }
+
+    public int aliveCount() {
+        return aliveCount;
+    }
+
+    public int aliveCount(Team team) {
+        return teamAlive[team.ordinal()];
+    }
+
+    public int cycle() {
+        return cycle;
+    }
+
+    /* ---------- ROUND TRANSITIONS ---------- */
+
+    // Start of a later round: last night's sabotage blocks living targets, blessings fade
+    public void beginRound() {
+        for (int w = 0; w < alive.length; w++) {
+            blocked[w] = sabotage[w] & alive[w];
+            blessed[w] = 0;
+            sabotage[w] = 0;
+        }
+    }
+
+    // First seat at or after fromSeat hunted tonight, alive and unblessed; PackedState.NO_SEAT if none
+    public int nextNightVictim(int fromSeat) {
+        if (fromSeat < 0) fromSeat = 0;
+        for (int w = fromSeat / Long.SIZE; w < alive.length; w++) {
+            long victims = hunted[w] & alive[w] & ~blessed[w];
+            if (w == fromSeat / Long.SIZE) {
+                victims &= -1L << (fromSeat % Long.SIZE);
+            }
+            if (victims != 0) {
+                return w * Long.SIZE + Long.numberOfTrailingZeros(victims);
+            }
+        }
+        return PackedState.NO_SEAT;
+    }
+
+    // First living seat at or after fromSeat; PackedState.NO_SEAT if none
+    public int nextAlive(int fromSeat) {
+        if (fromSeat < 0) fromSeat = 0;
+        for (int w = fromSeat / Long.SIZE; w < alive.length; w++) {
+            long living = alive[w];
+            if (w == fromSeat / Long.SIZE) {
+                living &= -1L << (fromSeat % Long.SIZE);
+            }
+            if (living != 0) {
+                return w * Long.SIZE + Long.numberOfTrailingZeros(living);
+            }
+        }
+        return PackedState.NO_SEAT;
+    }
+
+    // End of a cycle: night statuses and hunts clear, the cycle advances
+    public void endCycle() {
+        for (int w = 0; w < alive.length; w++) {
+            blessed[w] = 0;
+            blocked[w] = 0;
+            hunted[w] = 0;
+        }
+        cycle++;
+    }
+
+    /* ---------- SNAPSHOTS ---------- */
+
+    // Bytes writeTo needs for a table of the given size
+    public static int snapshotSize(int seats) {
+        int words = (seats + Long.SIZE - 1) / Long.SIZE;
+        return Short.BYTES + Integer.BYTES + seats + 5 * words * Long.BYTES;
+    }
+
+    // Writes seat count, cycle, one role byte per seat and the five status bitsets
+    public void writeTo(ByteBuffer out) {
+        out.putShort((short) seats);
+        out.putInt(cycle);
+        for (Role role : roles) {
+            out.put((byte) role.ordinal());
+        }
+        putWords(out, alive);
+        putWords(out, blessed);
+        putWords(out, blocked);
+        putWords(out, sabotage);
+        putWords(out, hunted);
+    }
+
+    // Reads a table written by writeTo; the alive and per-team counts are rebuilt from the bitsets
+    public static LobbyState readFrom(ByteBuffer in) {
+        int seats = Short.toUnsignedInt(in.getShort());
+        int cycle = in.getInt();
+        Role[] roles = new Role[seats];
+        for (int seat = 0; seat < seats; seat++) {
+            int ordinal = in.get();
+            if (ordinal < 0 || ordinal >= ROLES.length) {
+                throw new IllegalArgumentException("Unknown role in snapshot: " + ordinal);
+            }
+            roles[seat] = ROLES[ordinal];
+        }
+        LobbyState restored = new LobbyState(roles, cycle);
+        getWords(in, restored.alive);
+        getWords(in, restored.blessed);
+        getWords(in, restored.blocked);
+        getWords(in, restored.sabotage);
+        getWords(in, restored.hunted);
+        restored.recount();
+        return restored;
+    }
+
+    private static void putWords(ByteBuffer out, long[] bits) {
+        for (long word : bits) {
+            out.putLong(word);
+        }
+    }
+
+    private static void getWords(ByteBuffer in, long[] bits) {
+        for (int w = 0; w < bits.length; w++) {
+            bits[w] = in.getLong();
+        }
+    }
+
+    private void recount() {
+        aliveCount = 0;
+        Arrays.fill(teamAlive, 0);
+        for (int seat = nextAlive(0); seat != PackedState.NO_SEAT; seat = nextAlive(seat + 1)) {
+            aliveCount++;
+            teamAlive[roles[seat].getTeam().ordinal()]++;
+        }
+    }
+
+    /* ---------- HELPERS ---------- */
+
+    private boolean get(long[] bits, int seat) {
+        checkSeat(seat);
+        return (bits[seat >>> 6] & (1L << seat)) != 0;
+    }
+
+    private void set(long[] bits, int seat, boolean value) {
+        checkSeat(seat);
+        if (value) {
+            bits[seat >>> 6] |= 1L << seat;
+        } else {
+            bits[seat >>> 6] &= ~(1L << seat);
+        }
+    }
+
+    private void checkSeat(int seat) {
+        if (seat < 0 || seat >= seats) {
+            throw new IllegalArgumentException("Seat must be between 0 and " + (seats - 1) + ": " + seat);
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder("cycle ").append(cycle).append(" |");
+        for (int seat = 0; seat < seats; seat++) {
+            text.append(' ').append(seat).append(':').append(roles[seat].getDisplayName());
+            if (!isAlive(seat)) text.append("(dead)");
+            if (isBlessed(seat)) text.append("+blessed");
+            if (isBlocked(seat)) text.append("+blocked");
+            if (isSabotagePending(seat)) text.append("+sabotaged");
+            if (isHunted(seat)) text.append("+hunted");
+        }
+        return text.toString();
+    }
+}
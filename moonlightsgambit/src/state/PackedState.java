@@ -0,0 +1,242 @@
+package moonlightsgambit.state;
+
+import moonlightsgambit.enums.Role;
+import moonlightsgambit.enums.Team;
+
+// Whole four-seat table state packed into one primitive long.
+// Values are immutable: every operation returns a new state, so copy and equality are plain long ops.
+//
+//  bits  0-7   role of each seat (2 bits per seat, Role ordinal)
+//  bits  8-11  alive mask
+//  bits 12-15  blessed mask
+//  bits 16-19  ability blocked mask
+//  bits 20-23  sabotage pending for next round mask
+//  bits 24-26  hunt target seat + 1 (0 = no hunt recorded)
+//  bits 27-42  cycle number
+public final class PackedState {
+    private PackedState() {
+        throw new IllegalStateException("Utility class - cannot be instantiated");
+    }
+
+    public static final int SEATS = 4;
+    public static final int NO_SEAT = -1;
+    public static final int ALL_SEATS = (1 << SEATS) - 1;
+
+    private static final int ROLE_BITS = 2;
+    private static final int ROLE_MASK = (1 << ROLE_BITS) - 1;
+    private static final int ALIVE_SHIFT = 8;
+    private static final int BLESSED_SHIFT = 12;
+    private static final int BLOCKED_SHIFT = 16;
+    private static final int SABOTAGE_SHIFT = 20;
+    private static final int HUNT_SHIFT = 24;
+    private static final int HUNT_MASK = 0b111;
+    private static final int CYCLE_SHIFT = 27;
+    private static final int CYCLE_MASK = 0xFFFF;
+
+    private static final Role[] ROLES = Role.values();
+
+    // Fresh table: given roles, everyone alive, nothing pending, cycle 1
+    public static long initial(Role[] roles) {
+        if (roles == null || roles.length != SEATS) {
+            throw new IllegalArgumentException("Roles array must be non-null and length " + SEATS);
+        }
+        long state = 0;
+        for (int seat = 0; seat < SEATS; seat++) {
+            state = withRole(state, seat, roles[seat]);
+        }
+        state = withMask(state, ALIVE_SHIFT, ALL_SEATS);
+        return withCycle(state, 1);
+    }
+
+    /* ---------- ROLES ---------- */
+
+    public static Role role(long state, int seat) {
+        return ROLES[roleIndex(state, seat)];
+    }
+
+    public static int roleIndex(long state, int seat) {
+        return (int) (state >>> (seat * ROLE_BITS)) & ROLE_MASK;
+    }
+
+    public static long withRole(long state, int seat, Role role) {
+        int shift = checkSeat(seat) * ROLE_BITS;
+        return (state & ~((long) ROLE_MASK << shift)) | ((long) role.ordinal() << shift);
+    }
+
+    // First seat holding the role, or NO_SEAT
+    public static int seatOf(long state, Role role) {
+        for (int seat = 0; seat < SEATS; seat++) {
+            if (roleIndex(state, seat) == role.ordinal()) {
+                return seat;
+            }
+        }
+        return NO_SEAT;
+    }
+
+    // Mask of seats whose role belongs to the team
+    public static int teamMask(long state, Team team) {
+        int mask = 0;
+        for (int seat = 0; seat < SEATS; seat++) {
+            if (ROLES[roleIndex(state, seat)].getTeam() == team) {
+                mask |= 1 << seat;
+            }
+        }
+        return mask;
+    }
+
+    /* ---------- SEAT MASKS ---------- */
+
+    public static int aliveMask(long state) {
+        return mask(state, ALIVE_SHIFT);
+    }
+
+    public static int blessedMask(long state) {
+        return mask(state, BLESSED_SHIFT);
+    }
+
+    public static int blockedMask(long state) {
+        return mask(state, BLOCKED_SHIFT);
+    }
+
+    public static int sabotageMask(long state) {
+        return mask(state, SABOTAGE_SHIFT);
+    }
+
+    public static boolean isAlive(long state, int seat) {
+        return bit(state, ALIVE_SHIFT, seat);
+    }
+
+    public static boolean isBlessed(long state, int seat) {
+        return bit(state, BLESSED_SHIFT, seat);
+    }
+
+    public static boolean isBlocked(long state, int seat) {
+        return bit(state, BLOCKED_SHIFT, seat);
+    }
+
+    public static boolean isSabotagePending(long state, int seat) {
+        return bit(state, SABOTAGE_SHIFT, seat);
+    }
+
+    public static long withAlive(long state, int seat, boolean alive) {
+        return withBit(state, ALIVE_SHIFT, seat, alive);
+    }
+
+    public static long withBlessed(long state, int seat, boolean blessed) {
+        return withBit(state, BLESSED_SHIFT, seat, blessed);
+    }
+
+    public static long withBlocked(long state, int seat, boolean blocked) {
+        return withBit(state, BLOCKED_SHIFT, seat, blocked);
+    }
+
+    public static long withSabotage(long state, int seat) {
+        return withBit(state, SABOTAGE_SHIFT, seat, true);
+    }
+
+    public static long withSabotageMask(long state, int mask) {
+        return withMask(state, SABOTAGE_SHIFT, mask);
+    }
+
+    public static int aliveCount(long state) {
+        return Integer.bitCount(aliveMask(state));
+    }
+
+    /* ---------- HUNT AND CYCLE ---------- */
+
+    public static int huntTarget(long state) {
+        return ((int) (state >>> HUNT_SHIFT) & HUNT_MASK) - 1;
+    }
+
+    public static long withHunt(long state, int seat) {
+        long encoded = seat == NO_SEAT ? 0 : checkSeat(seat) + 1;
+        return (state & ~((long) HUNT_MASK << HUNT_SHIFT)) | (encoded << HUNT_SHIFT);
+    }
+
+    public static int cycle(long state) {
+        return (int) (state >>> CYCLE_SHIFT) & CYCLE_MASK;
+    }
+
+    public static long withCycle(long state, int cycle) {
+        if (cycle < 0 || cycle > CYCLE_MASK) {
+            throw new IllegalArgumentException("Cycle out of range: " + cycle);
+        }
+        return (state & ~((long) CYCLE_MASK << CYCLE_SHIFT)) | ((long) cycle << CYCLE_SHIFT);
+    }
+
+    // Canonical key of a cycle-start state: roles, alive and live pending sabotage only.
+    // Night statuses are always clear between cycles and the cycle counter is dropped.
+    public static long cycleStartKey(long state) {
+        long key = state & ((1L << ALIVE_SHIFT) - 1);
+        int alive = aliveMask(state);
+        key = withMask(key, ALIVE_SHIFT, alive);
+        return withMask(key, SABOTAGE_SHIFT, sabotageMask(state) & alive);
+    }
+
+    /* ---------- ROUND TRANSITIONS ---------- */
+
+    // Start of a later round: statuses reset, last night's sabotage blocks its living targets
+    public static long beginRound(long state) {
+        int blocked = sabotageMask(state) & aliveMask(state);
+        state = withMask(state, BLESSED_SHIFT, 0);
+        state = withMask(state, SABOTAGE_SHIFT, 0);
+        return withMask(state, BLOCKED_SHIFT, blocked);
+    }
+
+    // Seat killed at dawn: the recorded hunt target unless it was blessed, else NO_SEAT
+    public static int nightVictim(long state) {
+        int target = huntTarget(state);
+        return (target != NO_SEAT && !isBlessed(state, target)) ? target : NO_SEAT;
+    }
+
+    // End of a cycle: night statuses cleared and the cycle counter advanced
+    public static long endCycle(long state) {
+        state = withMask(state, BLESSED_SHIFT, 0);
+        state = withMask(state, BLOCKED_SHIFT, 0);
+        state = withHunt(state, NO_SEAT);
+        return withCycle(state, cycle(state) + 1);
+    }
+
+    // Human-readable dump of a state for logs and debugging
+    public static String describe(long state) {
+        StringBuilder sb = new StringBuilder("Cycle ").append(cycle(state)).append(':');
+        for (int seat = 0; seat < SEATS; seat++) {
+            sb.append(' ').append(seat + 1).append('=').append(role(state, seat));
+            if (!isAlive(state, seat)) sb.append("(dead)");
+            if (isBlessed(state, seat)) sb.append("(blessed)");
+            if (isBlocked(state, seat)) sb.append("(blocked)");
+            if (isSabotagePending(state, seat)) sb.append("(sabotaged)");
+        }
+        int hunt = huntTarget(state);
+        if (hunt != NO_SEAT) {
+            sb.append(" hunt=").append(hunt + 1);
+        }
+        return sb.toString();
+    }
+
+    /* ---------- BIT HELPERS ---------- */
+
+    private static int mask(long state, int shift) {
+        return (int) (state >>> shift) & ALL_SEATS;
+    }
+
+    private static long withMask(long state, int shift, int mask) {
+        return (state & ~((long) ALL_SEATS << shift)) | ((long) (mask & ALL_SEATS) << shift);
+    }
+
+    private static boolean bit(long state, int shift, int seat) {
+        return (state & (1L << (shift + seat))) != 0;
+    }
+
+    private static long withBit(long state, int shift, int seat, boolean value) {
+        long bit = 1L << (shift + checkSeat(seat));
+        return value ? state | bit : state & ~bit;
+    }
+
+    private static int checkSeat(int seat) {
+        if (seat < 0 || seat >= SEATS) {
+            throw new IllegalArgumentException("Seat out of range: " + seat);
+        }
+        return seat;
+    }
+}
@@ -0,0 +1,284 @@
+package moonlightsgambit.state;
+
+import java.util.Arrays;
+import moonlightsgambit.enums.Role;
+import moonlightsgambit.enums.Team;
+
+// What each seat of a classic table believes about the deal: a probability for each of the 24 ways the four roles
+// can sit, one distribution per observing seat, updated by Bayes' rule as evidence comes in.
+//
+// Hard evidence (an own role, an investigation, roles and teams revealed to all) rules permutations out. Dawn and
+// vote tallies are weighed against a model of play in which every hidden choice is uniformly random, except that a
+// Seeker's ballot names an enemy with chance SEEKER_ACCUSES; each observer also plugs in what it did itself that
+// night and its own ballot. Ballots are secret: only the tally is weighed, over every way the other voters could have
+// cast it. Evidence no permutation explains (play far off the model) is dropped rather than trusted.
+// Each update is one pass over the permutations into preallocated arrays; nothing is allocated per event.
+// Fed by TableProjection, which decides who observes what; read through SeatProjection.
+public final class RoleBeliefs {
+    public static final int PERMUTATIONS = 24;
+
+    private static final int SEATS = PackedState.SEATS;
+    private static final Role[] ROLES = Role.values();
+    // Chance that a Seeker's ballot accuses an enemy it found rather than a seat picked at random
+    private static final double SEEKER_ACCUSES = 0.5;
+    // Role ordinal at each seat, and seat of each role ordinal, per permutation
+    private static final byte[] ROLE_AT = new byte[PERMUTATIONS * SEATS];
+    private static final byte[] SEAT_OF = new byte[PERMUTATIONS * SEATS];
+
+    static {
+        int perm = 0;
+        for (int a = 0; a < SEATS; a++) {
+            for (int b = 0; b < SEATS; b++) {
+                for (int c = 0; c < SEATS; c++) {
+                    int d = 6 - a - b - c;
+                    if (a == b || a == c || b == c || d < 0 || d == a || d == b || d == c) continue;
+                    int[] roles = { a, b, c, d };
+                    for (int seat = 0; seat < SEATS; seat++) {
+                        ROLE_AT[perm * SEATS + seat] = (byte) roles[seat];
+                        SEAT_OF[perm * SEATS + roles[seat]] = (byte) seat;
+                    }
+                    perm++;
+                }
+            }
+        }
+    }
+
+    // Normalized weights, PERMUTATIONS per observing seat
+    private final double[] weights = new double[SEATS * PERMUTATIONS];
+    private final double[] likelihood = new double[PERMUTATIONS];
+    // Ballots of a tally not yet assigned to a voter, per accused seat
+    private final int[] unassigned = new int[SEATS];
+    // Each seat's own sabotage target in the last two cycles, by cycle parity, so tonight's blocks can be traced
+    private final int[] sabotageTargets = new int[SEATS * 2];
+    private final int[] sabotageCycles = new int[SEATS * 2];
+
+    RoleBeliefs() {
+        reset();
+    }
+
+    // Role at a seat in one of the permutations
+    public static Role roleOf(int perm, int seat) {
+        if (perm < 0 || perm >= PERMUTATIONS || seat < 0 || seat >= SEATS) {
+            throw new IllegalArgumentException("Permutation or seat out of range: " + perm + ", " + seat);
+        }
+        return ROLES[ROLE_AT[perm * SEATS + seat]];
+    }
+
+    void reset() {
+        Arrays.fill(weights, 1.0 / PERMUTATIONS);
+        Arrays.fill(sabotageTargets, PackedState.NO_SEAT);
+        Arrays.fill(sabotageCycles, 0);
+    }
+
+    double permutationProbability(int observer, int perm) {
+        return weights[observer * PERMUTATIONS + perm];
+    }
+
+    double roleProbability(int observer, int seat, Role role) {
+        double total = 0;
+        int base = observer * PERMUTATIONS;
+        for (int perm = 0; perm < PERMUTATIONS; perm++) {
+            if (ROLE_AT[perm * SEATS + seat] == role.ordinal()) {
+                total += weights[base + perm];
+            }
+        }
+        return total;
+    }
+
+    /* ---------- HARD EVIDENCE ---------- */
+
+    // The observer learns a seat's role: its own deal, or an investigation
+    void learnRole(int observer, int seat, int roleOrdinal) {
+        for (int perm = 0; perm < PERMUTATIONS; perm++) {
+            likelihood[perm] = ROLE_AT[perm * SEATS + seat] == roleOrdinal ? 1 : 0;
+        }
+        update(observer);
+    }
+
+    // Every seat learns a seat's role
+    void revealRole(int seat, int roleOrdinal) {
+        for (int observer = 0; observer < SEATS; observer++) {
+            learnRole(observer, seat, roleOrdinal);
+        }
+    }
+
+    // Every seat learns a seat's team
+    void revealTeam(int seat, Team team) {
+        for (int perm = 0; perm < PERMUTATIONS; perm++) {
+            likelihood[perm] = ROLES[ROLE_AT[perm * SEATS + seat]].getTeam() == team ? 1 : 0;
+        }
+        for (int observer = 0; observer < SEATS; observer++) {
+            update(observer);
+        }
+    }
+
+    // Only the saboteur sees its target; kept to explain the blocks of the following night
+    void recordSabotage(int saboteur, int target, int cycle) {
+        int slot = saboteur * 2 + (cycle & 1);
+        sabotageTargets[slot] = target;
+        sabotageCycles[slot] = cycle;
+    }
+
+    /* ---------- MODELLED EVIDENCE ---------- */
+
+    // A vote's tally (votes against each seat) as one observer saw it: every living seat voted for another, and the
+    // observer, if it voted, knows its own ballot (or NO_SEAT). A tally the other voters cannot have cast in full,
+    // e.g. after an abstention, is dropped.
+    void observeTally(int observer, int ownBallot, int[] tally, int voters) {
+        int others = voters & ~(1 << observer);
+        int ballots = 0;
+        for (int seat = 0; seat < SEATS; seat++) {
+            unassigned[seat] = tally[seat] - (seat == ownBallot && others != voters ? 1 : 0);
+            if (unassigned[seat] < 0) {
+                return;
+            }
+            ballots += unassigned[seat];
+        }
+        if (ballots != Integer.bitCount(others)) {
+            return;
+        }
+        for (int perm = 0; perm < PERMUTATIONS; perm++) {
+            likelihood[perm] = tallyChance(perm, others, voters);
+        }
+        update(observer);
+    }
+
+    // Chance under one permutation that the given voters cast exactly the unassigned ballots, summed over who
+    // accused whom; each voter is assigned in turn, so this recurses once per voter
+    private double tallyChance(int perm, int voters, int alive) {
+        if (voters == 0) {
+            return 1;
+        }
+        int voter = Integer.numberOfTrailingZeros(voters);
+        double total = 0;
+        for (int targets = alive & ~(1 << voter); targets != 0; targets &= targets - 1) {
+            int target = Integer.numberOfTrailingZeros(targets);
+            if (unassigned[target] == 0) continue;
+            unassigned[target]--;
+            total += ballotChance(perm, voter, target, alive) * tallyChance(perm, voters & (voters - 1), alive);
+            unassigned[target]++;
+        }
+        return total;
+    }
+
+    // Chance under one permutation that the voter accuses the target among the other living seats
+    private static double ballotChance(int perm, int voter, int target, int alive) {
+        int candidates = alive & ~(1 << voter);
+        double uniform = 1.0 / Integer.bitCount(candidates);
+        int base = perm * SEATS;
+        if (SEAT_OF[base + Role.SEEKER.ordinal()] != voter) {
+            return uniform;
+        }
+        int enemies = candidates & ((1 << SEAT_OF[base + Role.REAPER.ordinal()])
+                | (1 << SEAT_OF[base + Role.SABOTEUR.ordinal()]));
+        double informed = (enemies & (1 << target)) != 0 ? 1.0 / Integer.bitCount(enemies) : 0;
+        return enemies == 0 ? uniform : SEEKER_ACCUSES * informed + (1 - SEEKER_ACCUSES) * uniform;
+    }
+
+    // Dawn as one observer saw it: who was alive for tonight's and last night's actions, who was killed, and the
+    // observer's own action tonight (target or NO_SEAT, and whether sabotage blocked it)
+    void observeDawn(int observer, int cycle, int nightMask, int lastNightMask, int victims,
+                     int ownTarget, boolean ownBlocked) {
+        for (int perm = 0; perm < PERMUTATIONS; perm++) {
+            likelihood[perm] = nightLikelihood(perm, observer, cycle, nightMask, lastNightMask, victims,
+                    ownTarget, ownBlocked);
+        }
+        update(observer);
+    }
+
+    // Chance of the dawn's outcome under one permutation, summed over whom last night's sabotage blocked
+    private double nightLikelihood(int perm, int observer, int cycle, int nightMask, int lastNightMask, int victims,
+                                   int ownTarget, boolean ownBlocked) {
+        if (Integer.bitCount(victims) > 1) {
+            return 0;
+        }
+        int base = perm * SEATS;
+        int saboteur = SEAT_OF[base + Role.SABOTEUR.ordinal()];
+        if (cycle <= 1 || (lastNightMask & (1 << saboteur)) == 0) {
+            return nightOutcome(perm, observer, PackedState.NO_SEAT, nightMask, victims, ownTarget, ownBlocked);
+        }
+        if (observer == saboteur) {
+            int slot = observer * 2 + ((cycle - 1) & 1);
+            int target = sabotageCycles[slot] == cycle - 1 ? sabotageTargets[slot] : PackedState.NO_SEAT;
+            return nightOutcome(perm, observer, target, nightMask, victims, ownTarget, ownBlocked);
+        }
+        int targets = lastNightMask & ~(1 << saboteur);
+        double total = 0;
+        for (int rest = targets; rest != 0; rest &= rest - 1) {
+            total += nightOutcome(perm, observer, Integer.numberOfTrailingZeros(rest), nightMask, victims,
+                    ownTarget, ownBlocked);
+        }
+        return total / Integer.bitCount(targets);
+    }
+
+    // Chance of the dawn's outcome under one permutation once the blocked seat is fixed
+    private double nightOutcome(int perm, int observer, int blocked, int nightMask, int victims,
+                                int ownTarget, boolean ownBlocked) {
+        int base = perm * SEATS;
+        int reaper = SEAT_OF[base + Role.REAPER.ordinal()];
+        int believer = SEAT_OF[base + Role.BELIEVER.ordinal()];
+        boolean acted = ownBlocked || ownTarget != PackedState.NO_SEAT;
+        if (acted && ROLE_AT[base + observer] != Role.SABOTEUR.ordinal() && (blocked == observer) != ownBlocked) {
+            return 0;
+        }
+        int aliveCount = Integer.bitCount(nightMask);
+
+        boolean reaperActs = (nightMask & (1 << reaper)) != 0 && blocked != reaper;
+        int hunt = PackedState.NO_SEAT;
+        if (observer == reaper) {
+            reaperActs = !ownBlocked && ownTarget != PackedState.NO_SEAT;
+            hunt = ownTarget;
+        }
+        boolean believerActs = (nightMask & (1 << believer)) != 0 && blocked != believer;
+        int bless = PackedState.NO_SEAT;
+        if (observer == believer) {
+            believerActs = !ownBlocked && ownTarget != PackedState.NO_SEAT;
+            bless = ownTarget;
+        }
+
+        if (!reaperActs) {
+            return victims == 0 ? 1 : 0;
+        }
+        if (victims == 0) {
+            if (hunt != PackedState.NO_SEAT) {
+                return blessChance(believerActs, bless, hunt, aliveCount);
+            }
+            double total = 0;
+            for (int rest = nightMask & ~(1 << reaper); rest != 0; rest &= rest - 1) {
+                total += blessChance(believerActs, bless, Integer.numberOfTrailingZeros(rest), aliveCount);
+            }
+            return total / (aliveCount - 1);
+        }
+        int victim = Integer.numberOfTrailingZeros(victims);
+        if (victim == reaper || (nightMask & victims) == 0) {
+            return 0;
+        }
+        double huntChance = hunt != PackedState.NO_SEAT ? (hunt == victim ? 1 : 0) : 1.0 / (aliveCount - 1);
+        return huntChance * (1 - blessChance(believerActs, bless, victim, aliveCount));
+    }
+
+    private static double blessChance(boolean believerActs, int bless, int seat, int aliveCount) {
+        if (!believerActs) {
+            return 0;
+        }
+        if (bless != PackedState.NO_SEAT) {
+            return bless == seat ? 1 : 0;
+        }
+        return 1.0 / aliveCount;
+    }
+
+    // Bayes' rule: weights times likelihood, renormalized; evidence that rules out everything is ignored
+    private void update(int observer) {
+        int base = observer * PERMUTATIONS;
+        double total = 0;
+        for (int perm = 0; perm < PERMUTATIONS; perm++) {
+            total += weights[base + perm] * likelihood[perm];
+        }
+        if (total <= 0) {
+            return;
+        }
+        for (int perm = 0; perm < PERMUTATIONS; perm++) {
+            weights[base + perm] = weights[base + perm] * likelihood[perm] / total;
+        }
+    }
+}
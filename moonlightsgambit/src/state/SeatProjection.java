@@ -0,0 +1,227 @@
+package moonlightsgambit.state;
+
+import java.util.Arrays;
+import moonlightsgambit.enums.DeathCause;
+import moonlightsgambit.enums.Ending;
+import moonlightsgambit.enums.Role;
+import moonlightsgambit.enums.Team;
+
+// Everything one seat knows: what the whole table has seen plus what only this seat has learned.
+// Kept up to date by its TableProjection; read it on the game's thread, e.g. from a bot deciding a move.
+public final class SeatProjection {
+    private static final Role[] ROLES = Role.values();
+
+    private final TableProjection table;
+    private final int seat;
+    private Role role;
+    // Roles this seat has found out privately, as role ordinals + 1; allocated on the first investigation
+    private byte[] learnedRoles;
+    // Own night action and ballot, valid only for the cycle they were made in
+    private int nightTarget;
+    private int nightCycle;
+    private boolean nightBlocked;
+    private int voteTarget;
+    private int voteCycle;
+    private Boolean peaceChoice;
+
+    SeatProjection(TableProjection table, int seat) {
+        this.table = table;
+        this.seat = seat;
+    }
+
+    void reset() {
+        role = null;
+        if (learnedRoles != null) {
+            Arrays.fill(learnedRoles, TableProjection.UNKNOWN);
+        }
+        nightTarget = PackedState.NO_SEAT;
+        nightCycle = 0;
+        nightBlocked = false;
+        voteTarget = PackedState.NO_SEAT;
+        voteCycle = 0;
+        peaceChoice = null;
+    }
+
+    void learnRole(int other, int roleOrdinal) {
+        if (other == seat) {
+            role = ROLES[roleOrdinal];
+            return;
+        }
+        if (learnedRoles == null) {
+            learnedRoles = new byte[table.getSeatCount()];
+        }
+        learnedRoles[other] = (byte) (roleOrdinal + 1);
+    }
+
+    void recordNightAction(int target, int cycle, boolean blocked) {
+        nightTarget = target;
+        nightCycle = cycle;
+        nightBlocked = blocked;
+    }
+
+    void recordVote(int target, int cycle) {
+        voteTarget = target;
+        voteCycle = cycle;
+    }
+
+    void recordPeaceChoice(boolean peace) {
+        peaceChoice = peace;
+    }
+
+    /* ---------- OWN KNOWLEDGE ---------- */
+
+    public int getSeat() {
+        return seat;
+    }
+
+    public int getSeatCount() {
+        return table.getSeatCount();
+    }
+
+    // Own role; null before the roles are dealt
+    public Role getRole() {
+        return role;
+    }
+
+    // Role of any seat as far as this seat knows: its own, one investigated, or one revealed to all; else null
+    public Role getKnownRole(int other) {
+        if (other == seat) {
+            return role;
+        }
+        Role revealed = table.revealedRole(other);
+        if (revealed != null || learnedRoles == null || learnedRoles[other] == TableProjection.UNKNOWN) {
+            return revealed;
+        }
+        return ROLES[learnedRoles[other] - 1];
+    }
+
+    // Team of any seat as far as this seat knows, including teams shown in a Destiny Draw; else null
+    public Team getKnownTeam(int other) {
+        Role known = getKnownRole(other);
+        return known != null ? known.getTeam() : table.revealedTeam(other);
+    }
+
+    // Target of this seat's night action in the current cycle, or NO_SEAT if it has not acted
+    public int getNightTarget() {
+        return nightCycle == table.cycle() ? nightTarget : PackedState.NO_SEAT;
+    }
+
+    // True if this seat's night action in the current cycle was blocked by sabotage
+    public boolean wasNightActionBlocked() {
+        return nightCycle == table.cycle() && nightBlocked;
+    }
+
+    // Whom this seat voted against in the current cycle, or NO_SEAT
+    public int getVoteTarget() {
+        return voteCycle == table.cycle() ? voteTarget : PackedState.NO_SEAT;
+    }
+
+    // This seat's answer in a lovers dilemma or friends crossroads; null if it was never asked
+    public Boolean getPeaceChoice() {
+        return peaceChoice;
+    }
+
+    // True on classic tables, the only ones that keep role beliefs
+    public boolean hasRoleBeliefs() {
+        return table.beliefs() != null;
+    }
+
+    // Chance, on this seat's evidence so far, that another seat holds the role
+    public double getRoleProbability(int other, Role role) {
+        checkOther(other);
+        return beliefs().roleProbability(seat, other, role);
+    }
+
+    // Chance that another seat is on the other team: certain where its team is known, else from the role beliefs
+    // on classic tables, and -1 where there is neither
+    public double getEnemyChance(int other) {
+        checkOther(other);
+        Team own = getRole().getTeam();
+        Team team = getKnownTeam(other);
+        if (team != null) {
+            return team == own ? 0 : 1;
+        }
+        if (other == seat || table.beliefs() == null) {
+            return -1;
+        }
+        double enemy = 0;
+        for (Role role : ROLES) {
+            if (role.getTeam() != own) {
+                enemy += table.beliefs().roleProbability(seat, other, role);
+            }
+        }
+        return enemy;
+    }
+
+    // Chance, on this seat's evidence so far, that the roles sit as in the permutation (see RoleBeliefs.roleOf)
+    public double getPermutationProbability(int perm) {
+        if (perm < 0 || perm >= RoleBeliefs.PERMUTATIONS) {
+            throw new IllegalArgumentException("Permutation out of range: " + perm);
+        }
+        return beliefs().permutationProbability(seat, perm);
+    }
+
+    private RoleBeliefs beliefs() {
+        RoleBeliefs beliefs = table.beliefs();
+        if (beliefs == null) {
+            throw new IllegalStateException("Role beliefs are only kept for classic tables");
+        }
+        return beliefs;
+    }
+
+    private void checkOther(int other) {
+        if (other < 0 || other >= getSeatCount()) {
+            throw new IllegalArgumentException("Seat out of range: " + other);
+        }
+    }
+
+    /* ---------- WHAT THE WHOLE TABLE SEES ---------- */
+
+    public int getCycle() {
+        return table.cycle();
+    }
+
+    public boolean isAlive(int other) {
+        return table.isAlive(other);
+    }
+
+    public int getAliveCount() {
+        return table.aliveCount();
+    }
+
+    // How a seat died, or null while it lives
+    public DeathCause getDeathCause(int other) {
+        return table.deathCause(other);
+    }
+
+    public int getDeathCycle(int other) {
+        return table.deathCycle(other);
+    }
+
+    // Votes against a seat in the last tally read out, 0 before the first; ballots of a vote in progress are secret
+    public int getVotesAgainst(int other) {
+        return table.votesAgainst(other);
+    }
+
+    // Ballots in the last tally read out
+    public int getVotesCast() {
+        return table.votesCast();
+    }
+
+    // Last Destiny Draw card a seat drew as far as this seat has seen, or 0; another seat's card shows once the
+    // round's keep or redraw choices are all made, this seat's own as soon as it is drawn
+    public int getLastCard(int other) {
+        int held = other == seat ? table.heldCard(other) : 0;
+        return held != 0 ? held : table.lastCard(other);
+    }
+
+    // Null until the game ends
+    public Ending getEnding() {
+        return table.ending();
+    }
+
+    // Null until the game ends, and for endings without a winning team
+    public Team getWinningTeam() {
+        return table.winningTeam();
+    }
+}
@@ -0,0 +1,364 @@
+package moonlightsgambit.state;
+
+import java.util.Arrays;
+import moonlightsgambit.enums.DeathCause;
+import moonlightsgambit.enums.Ending;
+import moonlightsgambit.enums.EventType;
+import moonlightsgambit.enums.Role;
+import moonlightsgambit.enums.Team;
+import moonlightsgambit.interfaces.GameEventSink;
+import moonlightsgambit.journal.GameEvent;
+
+// What every seat of one table knows, kept up to date from the game's events.
+// Facts the whole table sees (deaths, the vote tally, Destiny Draw cards, the ending) are kept once here; what a
+// single seat learns (its role, its own night actions and ballot, investigation results) is kept in that seat's
+// SeatProjection. Each event therefore updates one shared fact or one seat, never a view per seat.
+// Who learns what follows what the console shows:
+//  - a dealt role, a night action, a blocked action, a ballot and a peace choice are seen by their actor only
+//  - an investigation also tells the Seeker the target's role
+//  - ballots are secret, but the tally of votes against each player is read out to all once the vote ends; it
+//    stands until the next vote's tally, through the night in between
+//  - the lovers dilemma and the friends crossroads name the two players' roles to all, a Destiny Draw their teams
+//  - a Destiny Draw card is seen by its drawer only until both players have chosen to keep or redraw; the round
+//    results then show both cards, and any redraws, to all
+//  - the final results reveal every role
+// On a classic table each seat also keeps RoleBeliefs: a probability for every possible deal, fed by the same rules.
+// Seats and hidden roles are never handed out here: bots and clients only ever see their SeatProjection.
+// Feeding it a journal's events in order rebuilds the same views, e.g. for a game restored from a checkpoint.
+public final class TableProjection implements GameEventSink {
+    private static final Role[] ROLES = Role.values();
+    private static final Team[] TEAMS = Team.values();
+    private static final Ending[] ENDINGS = Ending.values();
+    private static final DeathCause[] DEATH_CAUSES = DeathCause.values();
+    // Stored values are enum ordinals + 1, so 0 means unknown
+    static final byte UNKNOWN = 0;
+
+    private final int seatCount;
+    private final SeatProjection[] seats;
+    // The truth as dealt; only ever revealed through the rules above
+    private final byte[] dealtRoles;
+    // Public facts
+    private final long[] alive;
+    private final byte[] deathCauses;
+    private final int[] deathCycles;
+    private final int[] lastTally;
+    private final byte[] revealedRoles;
+    private final byte[] revealedTeams;
+    private final int[] lastCards;
+    // Destiny Draw cards of the round not yet shown, seen by their drawers only
+    private final int[] heldCards;
+    // Ballots of the vote in progress, counted per accused seat until the tally is read out
+    private final int[] ballots;
+    private int heldCount;
+    private int keepsMade;
+    // Redraws announced by the round results still to come; these cards are public as drawn
+    private int redrawsDue;
+    // Null on tables other than the classic four seats
+    private final RoleBeliefs beliefs;
+    private int aliveCount;
+    private int votesCast;
+    private int cycle;
+    private Ending ending;
+    private Team winningTeam;
+
+    public TableProjection(int seatCount) {
+        if (seatCount < 1) {
+            throw new IllegalArgumentException("Seat count must be positive: " + seatCount);
+        }
+        this.seatCount = seatCount;
+        this.seats = new SeatProjection[seatCount];
+        for (int seat = 0; seat < seatCount; seat++) {
+            seats[seat] = new SeatProjection(this, seat);
+        }
+        this.dealtRoles = new byte[seatCount];
+        this.alive = new long[(seatCount + Long.SIZE - 1) / Long.SIZE];
+        this.deathCauses = new byte[seatCount];
+        this.deathCycles = new int[seatCount];
+        this.lastTally = new int[seatCount];
+        this.ballots = new int[seatCount];
+        this.revealedRoles = new byte[seatCount];
+        this.revealedTeams = new byte[seatCount];
+        this.lastCards = new int[seatCount];
+        this.heldCards = new int[seatCount];
+        this.beliefs = seatCount == PackedState.SEATS ? new RoleBeliefs() : null;
+        reset();
+    }
+
+    public int getSeatCount() {
+        return seatCount;
+    }
+
+    // Information set of one seat; the same object for the table's whole life, updated in place
+    public SeatProjection getSeat(int seat) {
+        checkSeat(seat);
+        return seats[seat];
+    }
+
+    // Replays a journal entry
+    public void apply(GameEvent event) {
+        onEvent(event.getType(), event.getCycle(), event.getActor(), event.getTarget(), event.getValue());
+    }
+
+    @Override
+    public void onEvent(EventType type, int cycle, int actor, int target, int value) {
+        this.cycle = cycle;
+        switch (type) {
+            case GAME_START:
+                if (value != seatCount) {
+                    throw new IllegalArgumentException("Game has " + value + " seats, projection " + seatCount);
+                }
+                reset();
+                break;
+            case ROLE_DEALT:
+                dealtRoles[actor] = (byte) (value + 1);
+                seats[actor].learnRole(actor, value);
+                if (beliefs != null) beliefs.learnRole(actor, actor, value);
+                break;
+            case BLESS:
+            case HUNT:
+                seats[actor].recordNightAction(target, cycle, false);
+                break;
+            case SABOTAGE:
+                seats[actor].recordNightAction(target, cycle, false);
+                if (beliefs != null) beliefs.recordSabotage(actor, target, cycle);
+                break;
+            case INVESTIGATE:
+                seats[actor].recordNightAction(target, cycle, false);
+                seats[actor].learnRole(target, value);
+                if (beliefs != null) beliefs.learnRole(actor, target, value);
+                break;
+            case ACTION_BLOCKED:
+                seats[actor].recordNightAction(target, cycle, true);
+                break;
+            case DEATH:
+                markDead(actor, value);
+                break;
+            case DAWN:
+                if (beliefs != null) observeDawn(cycle);
+                break;
+            case VOTE:
+                seats[actor].recordVote(target, cycle);
+                ballots[target]++;
+                break;
+            case VOTE_TALLY:
+                System.arraycopy(ballots, 0, lastTally, 0, seatCount);
+                Arrays.fill(ballots, 0);
+                votesCast = value;
+                if (beliefs != null) observeTally();
+                break;
+            case PEACE_CHOICE:
+                seats[actor].recordPeaceChoice(value == 1);
+                revealRole(actor);
+                revealRole(target);
+                break;
+            case CARD_DRAW:
+                drawCard(actor, value);
+                if (revealedTeams[actor] == UNKNOWN && beliefs != null) {
+                    beliefs.revealTeam(actor, roleOf(actor).getTeam());
+                }
+                revealedTeams[actor] = (byte) (roleOf(actor).getTeam().ordinal() + 1);
+                break;
+            case CARD_KEEP:
+                keepCard(value == 1);
+                break;
+            case GAME_END:
+                ending = ENDINGS[value];
+                winningTeam = target == PackedState.NO_SEAT ? null : TEAMS[target];
+                for (int seat = 0; seat < seatCount; seat++) {
+                    revealRole(seat);
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void reset() {
+        Arrays.fill(dealtRoles, UNKNOWN);
+        Arrays.fill(alive, 0L);
+        for (int seat = 0; seat < seatCount; seat++) {
+            alive[seat / Long.SIZE] |= 1L << seat;
+            seats[seat].reset();
+        }
+        aliveCount = seatCount;
+        Arrays.fill(deathCauses, UNKNOWN);
+        Arrays.fill(deathCycles, 0);
+        Arrays.fill(lastTally, 0);
+        Arrays.fill(ballots, 0);
+        Arrays.fill(revealedRoles, UNKNOWN);
+        Arrays.fill(revealedTeams, UNKNOWN);
+        Arrays.fill(lastCards, 0);
+        Arrays.fill(heldCards, 0);
+        heldCount = 0;
+        keepsMade = 0;
+        redrawsDue = 0;
+        if (beliefs != null) {
+            beliefs.reset();
+        }
+        votesCast = 0;
+        ending = null;
+        winningTeam = null;
+    }
+
+    // A redraw the round results announced is public; any other draw opens a round and stays with its drawer
+    private void drawCard(int seat, int card) {
+        if (redrawsDue > 0) {
+            redrawsDue--;
+            lastCards[seat] = card;
+            return;
+        }
+        heldCards[seat] = card;
+        heldCount++;
+    }
+
+    // Once every held card has its keep or redraw, the round results show them all
+    private void keepCard(boolean keep) {
+        keepsMade++;
+        if (!keep) {
+            redrawsDue++;
+        }
+        if (keepsMade < heldCount) {
+            return;
+        }
+        for (int seat = 0; seat < seatCount; seat++) {
+            if (heldCards[seat] != 0) {
+                lastCards[seat] = heldCards[seat];
+                heldCards[seat] = 0;
+            }
+        }
+        heldCount = 0;
+        keepsMade = 0;
+    }
+
+    private void markDead(int seat, int cause) {
+        long bit = 1L << seat;
+        if ((alive[seat / Long.SIZE] & bit) != 0) {
+            alive[seat / Long.SIZE] &= ~bit;
+            aliveCount--;
+        }
+        deathCauses[seat] = (byte) (cause + 1);
+        deathCycles[seat] = cycle;
+    }
+
+    private void revealRole(int seat) {
+        Role role = roleOf(seat);
+        if (role != null && revealedRoles[seat] == UNKNOWN && beliefs != null) {
+            beliefs.revealRole(seat, role.ordinal());
+        }
+        if (role != null) {
+            revealedRoles[seat] = (byte) (role.ordinal() + 1);
+            revealedTeams[seat] = (byte) (role.getTeam().ordinal() + 1);
+        }
+    }
+
+    // Weighs tonight's deaths, or their absence, for every seat; only called on classic tables
+    private void observeDawn(int cycle) {
+        int nightMask = aliveMask();
+        int lastNightMask = nightMask;
+        int victims = 0;
+        for (int seat = 0; seat < seatCount; seat++) {
+            if (deathCauses[seat] == UNKNOWN) continue;
+            if (deathCycles[seat] == cycle) {
+                nightMask |= 1 << seat;
+                if (deathCauses[seat] == DeathCause.HUNTED.ordinal() + 1) victims |= 1 << seat;
+            }
+            if (deathCycles[seat] >= cycle - 1) {
+                lastNightMask |= 1 << seat;
+            }
+        }
+        for (int observer = 0; observer < seatCount; observer++) {
+            SeatProjection view = seats[observer];
+            beliefs.observeDawn(observer, cycle, nightMask, lastNightMask, victims,
+                    view.getNightTarget(), view.wasNightActionBlocked());
+        }
+    }
+
+    // Weighs the tally just read out for every seat, each adding its own ballot; only called on classic tables
+    private void observeTally() {
+        int voters = aliveMask();
+        for (int observer = 0; observer < seatCount; observer++) {
+            beliefs.observeTally(observer, seats[observer].getVoteTarget(), lastTally, voters);
+        }
+    }
+
+    private int aliveMask() {
+        return (int) alive[0];
+    }
+
+    private Role roleOf(int seat) {
+        return dealtRoles[seat] == UNKNOWN ? null : ROLES[dealtRoles[seat] - 1];
+    }
+
+    private void checkSeat(int seat) {
+        if (seat < 0 || seat >= seatCount) {
+            throw new IllegalArgumentException("Seat out of range: " + seat);
+        }
+    }
+
+    /* ---------- PUBLIC FACTS (read through SeatProjection) ---------- */
+
+    int cycle() {
+        return cycle;
+    }
+
+    boolean isAlive(int seat) {
+        checkSeat(seat);
+        return (alive[seat / Long.SIZE] & (1L << seat)) != 0;
+    }
+
+    int aliveCount() {
+        return aliveCount;
+    }
+
+    DeathCause deathCause(int seat) {
+        checkSeat(seat);
+        return deathCauses[seat] == UNKNOWN ? null : DEATH_CAUSES[deathCauses[seat] - 1];
+    }
+
+    int deathCycle(int seat) {
+        checkSeat(seat);
+        return deathCycles[seat];
+    }
+
+    int votesAgainst(int seat) {
+        checkSeat(seat);
+        return lastTally[seat];
+    }
+
+    int votesCast() {
+        return votesCast;
+    }
+
+    Role revealedRole(int seat) {
+        checkSeat(seat);
+        return revealedRoles[seat] == UNKNOWN ? null : ROLES[revealedRoles[seat] - 1];
+    }
+
+    Team revealedTeam(int seat) {
+        checkSeat(seat);
+        return revealedTeams[seat] == UNKNOWN ? null : TEAMS[revealedTeams[seat] - 1];
+    }
+
+    int lastCard(int seat) {
+        checkSeat(seat);
+        return lastCards[seat];
+    }
+
+    // The seat's Destiny Draw card still hidden from the others, or 0; only for the seat's own projection
+    int heldCard(int seat) {
+        checkSeat(seat);
+        return heldCards[seat];
+    }
+
+    Ending ending() {
+        return ending;
+    }
+
+    Team winningTeam() {
+        return winningTeam;
+    }
+
+    RoleBeliefs beliefs() {
+        return beliefs;
+    }
+}
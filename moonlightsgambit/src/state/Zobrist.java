@@ -0,0 +1,41 @@
+package moonlightsgambit.state;
+
+import java.util.SplittableRandom;
+
+// Zobrist hashing of packed table states: one random key per state bit, combined with XOR.
+// A transition only touches a few bits, so hashes can be updated from the changed bits alone.
+public final class Zobrist {
+    private Zobrist() {
+        throw new IllegalStateException("Utility class - cannot be instantiated");
+    }
+
+    // Fixed seed so hashes are stable across runs and can be stored
+    private static final long KEY_SEED = 0x4D6F6F6E6C696768L;
+    private static final long[] KEYS = new long[Long.SIZE];
+
+    static {
+        SplittableRandom random = new SplittableRandom(KEY_SEED);
+        for (int i = 0; i < KEYS.length; i++) {
+            KEYS[i] = random.nextLong();
+        }
+    }
+
+    // Full hash of a state
+    public static long hash(long state) {
+        return keysOf(state);
+    }
+
+    // Hash of after, given the hash of before; cost grows only with the number of changed bits
+    public static long update(long hash, long before, long after) {
+        return hash ^ keysOf(before ^ after);
+    }
+
+    private static long keysOf(long bits) {
+        long hash = 0;
+        while (bits != 0) {
+            hash ^= KEYS[Long.numberOfTrailingZeros(bits)];
+            bits &= bits - 1;
+        }
+        return hash;
+    }
+}
@@ -1,8 +1,11 @@
 package moonlightsgambit.utils;
 
-import java.util.*;
+import moonlightsgambit.MoonlightsGambit;
 import moonlightsgambit.characters.GameCharacter;
+import moonlightsgambit.enums.EventType;
 import moonlightsgambit.enums.Team;
+import moonlightsgambit.interfaces.GameConsole;
+import moonlightsgambit.state.PackedState;
 
 // Handles Destiny Draw mini-game for final duels
 public class DestinyDraw {
@@ -10,19 +13,35 @@ public class DestinyDraw {
     private final GameCharacter player2;
     private int player1Score = 0;
     private int player2Score = 0;
-    private final Scanner scanner = new Scanner(System.in);
-    private final Random random = new Random();
+    private int round = 0;
+    private final MoonlightsGambit game;
+    private final GameConsole console;
     
-    private static final int WINNING_SCORE = 5;
-    private static final int MAX_CARD_VALUE = 10;
-    private static final int MIN_CARD_VALUE = 1;
-    private static final int GAMBLE_BONUS_POINTS = 2;
-    private static final int TIE_BONUS_POINTS = 1;
+    public static final int WINNING_SCORE = 5;
+    public static final int MAX_CARD_VALUE = 10;
+    public static final int MIN_CARD_VALUE = 1;
+    public static final int GAMBLE_BONUS_POINTS = 2;
+    public static final int TIE_BONUS_POINTS = 1;
 
-    public DestinyDraw(GameCharacter player1, GameCharacter player2) {
+    public DestinyDraw(GameCharacter player1, GameCharacter player2, MoonlightsGambit game) {
         validatePlayers(player1, player2);
+        if (game == null) {
+            throw new IllegalArgumentException("Game instance cannot be null");
+        }
         this.player1 = player1;
         this.player2 = player2;
+        this.game = game;
+        this.console = game.getConsole();
+        resumeFromTable();
+    }
+
+    // Picks up the scores of this duel if the table was restored in the middle of it
+    private void resumeFromTable() {
+        if (game.isDuelInProgress() && game.getDuelist(0) == player1 && game.getDuelist(1) == player2) {
+            this.round = game.getDuelRound();
+            this.player1Score = game.getDuelScore(0);
+            this.player2Score = game.getDuelScore(1);
+        }
     }
 
     // Validates players are valid and distinct
@@ -39,101 +58,117 @@ public class DestinyDraw {
     public GameCharacter playGame() {
         try {
             displayGameIntroduction();
-            int round = 1;
             
             // Game loop - continues until one player reaches winning score
             while (player1Score < WINNING_SCORE && player2Score < WINNING_SCORE) {
-                System.out.printf("\n--- Round %d ---%n", round++);
+                console.printf("\n--- Round %d ---%n", ++round);
                 playRound();
+                game.updateDuel(player1, player2, round, player1Score, player2Score);
+                game.checkpoint();
 
                 if (player1Score >= WINNING_SCORE || player2Score >= WINNING_SCORE) {
                     break;
                 }
                 
-                GameUtils.clearScreen();
+                console.clearScreen();
             }
 
             return displayFinalResults();
             
+        } catch (SessionEndedException e) {
+            throw e;
         } catch (Exception e) {
-            System.out.println("\n[ERROR] Destiny Draw encountered an issue. Defaulting to first player as winner.");
+            console.println("\n[ERROR] Destiny Draw encountered an issue. Defaulting to first player as winner.");
             return player1;
+        } finally {
+            game.endDuel();
         }
     }
 
     // Shows game introduction
     private void displayGameIntroduction() {
-        GameUtils.clearScreen();
-        System.out.println("*".repeat(69));
-        System.out.println("                       DESTINY DRAW CHALLENGE!");
-        System.out.println("*".repeat(69));
+        console.clearScreen();
+        console.println("*".repeat(69));
+        console.println("                       DESTINY DRAW CHALLENGE!");
+        console.println("*".repeat(69));
         
-        System.out.printf("\n%s (%s) vs %s (%s)%n", 
+        console.printf("\n%s (%s) vs %s (%s)%n", 
             player1.getName(), getTeamDisplay(player1.getTeam()), 
             player2.getName(), getTeamDisplay(player2.getTeam()));
         
-        GameUtils.typeText("Fate shuffles her cards... First to get to " + WINNING_SCORE + " points claims victory!", 40);
-        GameUtils.ENTERKey();
-        GameUtils.clearScreen();
+        console.typeText("Fate shuffles her cards... First to get to " + WINNING_SCORE + " points claims victory!", 40);
+        console.waitForEnter();
+        console.clearScreen();
     }
 
     // Plays single round
     private void playRound() {
         try {
-            int player1Draw = drawCard();
-            int player2Draw = drawCard();
+            int player1Draw = drawCard(player1);
+            int player2Draw = drawCard(player2);
 
-            GameUtils.clearScreen();
-            System.out.printf("%s's turn (%s)...%n", player1.getName(), getTeamDisplay(player1.getTeam()));
-            System.out.printf("You draw a card... Your number is: %d%n", player1Draw);
-            boolean player1Keep = askPlayer(player1, player1Draw);
+            console.clearScreen();
+            boolean player1Keep = askPlayer(player1, player1Draw, player1Score, player2Score);
+            recordKeep(player1, player1Keep);
 
-            GameUtils.clearScreen();
-            System.out.printf("%s's turn (%s)...%n", player2.getName(), getTeamDisplay(player2.getTeam()));
-            System.out.printf("You draw a card... Your number is: %d%n", player2Draw);
-            boolean player2Keep = askPlayer(player2, player2Draw);
+            console.clearScreen();
+            boolean player2Keep = askPlayer(player2, player2Draw, player2Score, player1Score);
+            recordKeep(player2, player2Keep);
 
             displayRoundResults(player1Draw, player2Draw, player1Keep, player2Keep);
             resolveRound(player1Draw, player2Draw, player1Keep, player2Keep);
             displayScoreUpdate();
             
+        } catch (SessionEndedException e) {
+            throw e;
         } catch (Exception e) {
-            System.out.println("\n[ERROR] Round encountered an issue. Continuing...");
+            console.println("\n[ERROR] Round encountered an issue. Continuing...");
         }
     }
 
-    // Draws random card value
-    private int drawCard() {
-        return random.nextInt(MAX_CARD_VALUE) + MIN_CARD_VALUE;
+    // Draws random card value for the player and journals it
+    private int drawCard(GameCharacter player) {
+        int card = game.getRandom().nextInt(MAX_CARD_VALUE) + MIN_CARD_VALUE;
+        game.recordEvent(EventType.CARD_DRAW, player.getSeat(), PackedState.NO_SEAT, card);
+        return card;
+    }
+
+    // Journals a keep (1) or redraw (0) decision
+    private void recordKeep(GameCharacter player, boolean keep) {
+        game.recordEvent(EventType.CARD_KEEP, player.getSeat(), PackedState.NO_SEAT, keep ? 1 : 0);
     }
 
-    // Asks player whether to keep or redraw
-    private boolean askPlayer(GameCharacter player, int draw) {
+    // Shows the player its card and asks whether to keep or redraw; only the player's seat sees either,
+    // the cards are shown to everyone with the round results
+    private boolean askPlayer(GameCharacter player, int draw, int ownScore, int opponentScore) {
+        console.setAudience(player.getSeat());
         try {
-            System.out.printf("\n%s, you drew %d.\n", player.getName(), draw);
-            System.out.println("1. KEEP this fate | 2. RISK a redraw");
-            int choice = GameUtils.safeReadInt(scanner, 1, 2, "Choose (1 or 2): ");
-            GameUtils.ENTERKey();
-            return choice == 1;
+            console.printf("%s's turn (%s)...%n", player.getName(), getTeamDisplay(player.getTeam()));
+            console.printf("You draw a card... Your number is: %d%n", draw);
+            return game.getController(player.getSeat()).keepCard(player, draw, ownScore, opponentScore, game);
+        } catch (SessionEndedException e) {
+            throw e;
         } catch (Exception e) {
-            System.out.println("[ERROR] Defaulting to KEEP choice.");
+            console.println("[ERROR] Defaulting to KEEP choice.");
             return true;
+        } finally {
+            console.setAudience(GameConsole.ALL_SEATS);
         }
     }
 
     // Shows round results
     private void displayRoundResults(int player1Draw, int player2Draw, boolean player1Keep, boolean player2Keep) {
-        GameUtils.clearScreen();
-        System.out.println("* ROUND RESULTS *");
-        System.out.printf("%s drew: %d * chose to %s%n", 
+        console.clearScreen();
+        console.println("* ROUND RESULTS *");
+        console.printf("%s drew: %d * chose to %s%n", 
             player1.getName().toUpperCase(), player1Draw, player1Keep ? "KEEP" : "REDRAW");
-        System.out.printf("%s drew: %d * chose to %s%n", 
+        console.printf("%s drew: %d * chose to %s%n", 
             player2.getName().toUpperCase(), player2Draw, player2Keep ? "KEEP" : "REDRAW");
-        System.out.println("\n" + "-".repeat(50));
+        console.println("\n" + "-".repeat(50));
     }
 
-    // Resolves round based on player choices
-    private void resolveRound(int player1Draw, int player2Draw, boolean player1Keep, boolean player2Keep) {
+    // Resolves round based on player choices (package-private for the engine benchmarks)
+    void resolveRound(int player1Draw, int player2Draw, boolean player1Keep, boolean player2Keep) {
         if (player1Keep && player2Keep) {
             handleBothKeep(player1Draw, player2Draw);
         } else if (!player1Keep && !player2Keep) {
@@ -145,7 +180,7 @@ public class DestinyDraw {
 
     // Handles both players keeping cards
     private void handleBothKeep(int player1Draw, int player2Draw) {
-    System.out.println("Both choose to trust fate...");
+    console.println("Both choose to trust fate...");
 
     if (player1Draw > player2Draw) {
         awardRoundWin(player1);  
@@ -158,12 +193,12 @@ public class DestinyDraw {
 
     // Handles both players redrawing
     private void handleBothRedraw(int player1Original, int player2Original) {
-        System.out.println("Both dare to challenge fate...");
-        int player1New = drawCard();
-        int player2New = drawCard();
+        console.println("Both dare to challenge fate...");
+        int player1New = drawCard(player1);
+        int player2New = drawCard(player2);
         
-        System.out.printf("%s: %d -> %d%n", player1.getName().toUpperCase(), player1Original, player1New);
-        System.out.printf("%s: %d -> %d%n", player2.getName().toUpperCase(), player2Original, player2New);
+        console.printf("%s: %d -> %d%n", player1.getName().toUpperCase(), player1Original, player1New);
+        console.printf("%s: %d -> %d%n", player2.getName().toUpperCase(), player2Original, player2New);
 
         if (player1New > player2New) {
             awardGambleSuccess(player1);
@@ -181,11 +216,11 @@ public class DestinyDraw {
         int keepValue = player1Keep ? player1Draw : player2Draw;
         int gamblerOriginal = player1Keep ? player2Draw : player1Draw;
 
-        System.out.printf("%s challenges fate...%n", gambler.getName().toUpperCase());
-        System.out.printf("%d -> ", gamblerOriginal);
+        console.printf("%s challenges fate...%n", gambler.getName().toUpperCase());
+        console.printf("%d -> ", gamblerOriginal);
         
-        int newDraw = drawCard();
-        System.out.printf("%d%n", newDraw);
+        int newDraw = drawCard(gambler);
+        console.printf("%d%n", newDraw);
 
         if (newDraw > keepValue) {
             awardGambleBonus(gambler);
@@ -198,22 +233,22 @@ public class DestinyDraw {
 
     // Awards points for round win
     private void awardRoundWin(GameCharacter winner) { 
-    System.out.printf("\n~~ %s WINS THE ROUND%n", winner.getName().toUpperCase());
-    System.out.println("+1 point to " + winner.getName());
+    console.printf("\n~~ %s WINS THE ROUND%n", winner.getName().toUpperCase());
+    console.println("+1 point to " + winner.getName());
     incrementScore(winner);
 }
 
     // Awards points for successful gamble
     private void awardGambleSuccess(GameCharacter winner) {
-        System.out.printf("\n~~ GAMBLE SUCCESS%n");
-        System.out.println("+1 point to " + winner.getName());
+        console.printf("\n~~ GAMBLE SUCCESS%n");
+        console.println("+1 point to " + winner.getName());
         incrementScore(winner);
     }
 
     // Awards bonus points for gamble
     private void awardGambleBonus(GameCharacter winner) {
-        System.out.printf("\n~~ GAMBLE SUCCESS%n"); 
-        System.out.println("+" + GAMBLE_BONUS_POINTS + " points to " + winner.getName());
+        console.printf("\n~~ GAMBLE SUCCESS%n"); 
+        console.println("+" + GAMBLE_BONUS_POINTS + " points to " + winner.getName());
         if (winner == player1) {
             player1Score += GAMBLE_BONUS_POINTS;
         } else {
@@ -223,15 +258,15 @@ public class DestinyDraw {
 
     // Awards points for tie
     private void awardTieBonus(GameCharacter keeper) {
-        System.out.printf("\n~~ TIE - CAUTION REWARDED%n");
-        System.out.println("+" + TIE_BONUS_POINTS + " point to " + keeper.getName());
+        console.printf("\n~~ TIE - CAUTION REWARDED%n");
+        console.println("+" + TIE_BONUS_POINTS + " point to " + keeper.getName());
         incrementScore(keeper);
     }
 
     // Handles tie scenario
     private void handleTie() {
-        System.out.println("\n~~ TIE - FATE REMAINS BALANCED");
-        System.out.println("No points awarded");
+        console.println("\n~~ TIE - FATE REMAINS BALANCED");
+        console.println("No points awarded");
     }
 
     // Increments player score
@@ -245,46 +280,46 @@ public class DestinyDraw {
 
     // Shows current score
     private void displayScoreUpdate() {
-        System.out.println("\n* SCORE UPDATE *");
-        System.out.printf("%s: %d | %s: %d%n",
+        console.println("\n* SCORE UPDATE *");
+        console.printf("%s: %d | %s: %d%n",
             player1.getName().toUpperCase(), player1Score, 
             player2.getName().toUpperCase(), player2Score);
 
-        GameUtils.ENTERKey();
+        console.waitForEnter();
     }
 
     // Shows final results and returns winner
     private GameCharacter displayFinalResults() {
-        GameUtils.clearScreen();
-        System.out.println("=".repeat(34));
-        System.out.println("           FINAL SCORE");
-        System.out.println("=".repeat(34));
-        System.out.printf("%s: %d points | %s: %d points%n",
+        console.clearScreen();
+        console.println("=".repeat(34));
+        console.println("           FINAL SCORE");
+        console.println("=".repeat(34));
+        console.printf("%s: %d points | %s: %d points%n",
                 player1.getName(), player1Score, player2.getName(), player2Score);
         
         GameCharacter winner = player1Score >= WINNING_SCORE ? player1 : player2;
         GameCharacter loser = (winner == player1) ? player2 : player1;
         
         displayVictoryMessage(winner, loser);
-        GameUtils.ENTERKey();
+        console.waitForEnter();
         
         return winner;
     }
 
     // Shows victory message
     private void displayVictoryMessage(GameCharacter winner, GameCharacter loser) {
-        System.out.println("\n" + "*".repeat(34));
-        System.out.printf("     %s WINS THE DUEL!%n", winner.getName().toUpperCase());
-        System.out.println("*".repeat(34));
+        console.println("\n" + "*".repeat(34));
+        console.printf("     %s WINS THE DUEL!%n", winner.getName().toUpperCase());
+        console.println("*".repeat(34));
         
-        System.out.printf("\n%s (%s) defeats %s (%s)%n",
+        console.printf("\n%s (%s) defeats %s (%s)%n",
             winner.getRoleName(), getTeamDisplay(winner.getTeam()),
             loser.getRoleName(), getTeamDisplay(loser.getTeam()));
         
         if (winner.getTeam() == Team.GOOD) {
-            System.out.println("* THE LIGHT PREVAILS - GOOD TEAM VICTORY!");
+            console.println("* THE LIGHT PREVAILS - GOOD TEAM VICTORY!");
         } else {
-            System.out.println("* THE SHADOWS TRIUMPH - EVIL TEAM VICTORY!");
+            console.println("* THE SHADOWS TRIUMPH - EVIL TEAM VICTORY!");
         }
     }
 
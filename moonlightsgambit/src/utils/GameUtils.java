@@ -1,7 +1,6 @@
 package moonlightsgambit.utils;
 
-import java.io.IOException;
-import java.util.Scanner;
+import moonlightsgambit.interfaces.GameConsole;
 
 // Utility class providing common game functionality
 public class GameUtils {
@@ -17,88 +16,46 @@ public class GameUtils {
     public static final String SHADOWS_TRIUMPHED = "THE SHADOWS HAVE TRIUMPHED";
     public static final String FATE_HAS_SPOKEN = "                 FATE HAS SPOKEN!";
     
-    // Platform-specific constants
-    private static final String WINDOWS_OS = "Windows";
-    private static final String WINDOWS_CLEAR_COMMAND = "cmd";
-    private static final String WINDOWS_CLEAR_ARG = "/c";
-    private static final String WINDOWS_CLEAR_SUBCOMMAND = "cls";
-    private static final String UNIX_CLEAR_COMMAND = "clear";
-    
     // Gets fate result based on victory condition
     public static String getFate(boolean victorious) {
         return victorious ? FATE_VICTORIOUS : FATE_DEFEATED;
     }
-   
-    // Clears console screen
-    public static void clearScreen() {
-        try {
-            if (System.getProperty("os.name").contains(WINDOWS_OS)) {
-                executeClearCommand(WINDOWS_CLEAR_COMMAND, WINDOWS_CLEAR_ARG, WINDOWS_CLEAR_SUBCOMMAND);
-            } else {
-                executeClearCommand(UNIX_CLEAR_COMMAND);
-            }
-        } catch (IOException | InterruptedException e) {
-            handleClearScreenFailure();
-        }
-    }
 
-    // Executes clear command
-    private static void executeClearCommand(String... command) throws IOException, InterruptedException {
-        new ProcessBuilder(command).inheritIO().start().waitFor();
-    }
-
-    private static void handleClearScreenFailure() {
-        System.out.println("\n".repeat(50));
-    }
+    // Safely reads integer within specified range; every line comes from the console's InputSource
+    public static int safeReadInt(GameConsole console, int min, int max, String prompt) {
+        while (true) {
+            String rawInput = console.readLine(prompt + " ");
 
-    // Types text with typewriter effect
-    public static void typeText(String text, int delayMs) {
-        try {
-            printTextWithDelay(text, delayMs);
-        } catch (InterruptedException e) {
-            handleTypeTextInterruption(text);
-        }
-    }
+            if (isInputEmpty(rawInput)) {
+                console.println("  Input cannot be empty - try again.");
+                continue;
+            }
 
-    private static void printTextWithDelay(String text, int delayMs) throws InterruptedException {
-        for (char c : text.toCharArray()) {
-            System.out.print(c);
-            System.out.flush();
-            Thread.sleep(delayMs);
+            try {
+                return parseAndValidateInput(rawInput, min, max);
+            } catch (NumberFormatException ex) {
+                console.println("  Not a valid number - try again.");
+            }
         }
-        System.out.println();
-    }
-
-    private static void handleTypeTextInterruption(String text) {
-        System.out.println(text);
-        Thread.currentThread().interrupt(); // Restore interrupt status
     }
 
-    // Waits for ENTER key press
-    public static void ENTERKey() {
-    System.out.println("\n--- press enter to continue ---");
-    
-        try {
-        // Only read once using Scanner
-            new Scanner(System.in).nextLine();
-        } catch (Exception e) {}
-    }
-
-    // Safely reads integer within specified range
-    public static int safeReadInt(Scanner scanner, int min, int max, String prompt) {
+    // Like safeReadInt, but returns onTimeout once the console's turn deadline passes
+    public static int safeReadInt(GameConsole console, int min, int max, String prompt, int onTimeout) {
         while (true) {
-            System.out.print(prompt + " ");
-            String rawInput = scanner.nextLine().trim();
+            String rawInput = console.readLine(prompt + " ", null);
 
+            if (rawInput == null) {
+                return onTimeout;
+            }
             if (isInputEmpty(rawInput)) {
-                displayInputError("Input cannot be empty - try again.");
+                console.println("  Input cannot be empty - try again.");
                 continue;
             }
 
             try {
                 return parseAndValidateInput(rawInput, min, max);
             } catch (NumberFormatException ex) {
-                displayInputError("Not a valid number - try again.");
+                console.println("  Not a valid number - try again.");
             }
         }
     }
@@ -107,10 +64,6 @@ public class GameUtils {
         return input.isEmpty();
     }
 
-    private static void displayInputError(String message) {
-        System.out.println("  " + message);
-    }
-
     private static int parseAndValidateInput(String input, int min, int max) {
         int value = Integer.parseInt(input);
         validateInputRange(value, min, max);
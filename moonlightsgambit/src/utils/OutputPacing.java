@@ -0,0 +1,83 @@
+package moonlightsgambit.utils;
+
+import java.util.Locale;
+import moonlightsgambit.enums.PacingMode;
+import moonlightsgambit.interfaces.GameClock;
+
+// Drives a renderer's typewriter delays: in real time, sped up and skippable with enter, or on a
+// virtual clock that only counts them, so scripted and soak runs of the real phases finish at once
+public final class OutputPacing {
+    public static final int DEFAULT_SPEEDUP = 4;
+    private static final int MAX_SPEEDUP = 1000;
+
+    // Delays as written, on the wall clock
+    public static final OutputPacing INTERACTIVE = new OutputPacing(PacingMode.INTERACTIVE, SystemClock.INSTANCE, 1);
+
+    private final PacingMode mode;
+    private final GameClock clock;
+    private final int speedup;
+
+    private OutputPacing(PacingMode mode, GameClock clock, int speedup) {
+        this.mode = mode;
+        this.clock = clock;
+        this.speedup = speedup;
+    }
+
+    // Delays divided by speedup; a line of input finishes whatever is still being typed
+    public static OutputPacing fastForward(int speedup) {
+        if (speedup < 1 || speedup > MAX_SPEEDUP) {
+            throw new IllegalArgumentException("Speedup must be between 1 and " + MAX_SPEEDUP + ": " + speedup);
+        }
+        return new OutputPacing(PacingMode.FAST_FORWARD, SystemClock.INSTANCE, speedup);
+    }
+
+    // Delays as written, but on the given clock (e.g. a VirtualClock, which never really waits)
+    public static OutputPacing virtual(GameClock clock) {
+        if (clock == null) {
+            throw new IllegalArgumentException("Clock cannot be null");
+        }
+        return new OutputPacing(PacingMode.VIRTUAL, clock, 1);
+    }
+
+    // Parses a mode name as shown by PacingMode; a virtual pacing gets a fresh VirtualClock
+    public static OutputPacing of(String name) {
+        String key = name.trim().toLowerCase(Locale.ROOT);
+        if (key.equals(PacingMode.INTERACTIVE.getDisplayName())) {
+            return INTERACTIVE;
+        }
+        if (key.equals(PacingMode.FAST_FORWARD.getDisplayName())) {
+            return fastForward(DEFAULT_SPEEDUP);
+        }
+        if (key.equals(PacingMode.VIRTUAL.getDisplayName())) {
+            return virtual(new VirtualClock());
+        }
+        throw new IllegalArgumentException("Unknown pacing: " + name);
+    }
+
+    // Delay between two typed characters, in the clock's nanoseconds
+    public long characterDelayNanos(int delayMs) {
+        return delayMs <= 0 ? 0 : 1_000_000L * delayMs / speedup;
+    }
+
+    // Whether reading player input should finish the narration still being typed
+    public boolean skipsOnInput() {
+        return mode == PacingMode.FAST_FORWARD;
+    }
+
+    public PacingMode getMode() {
+        return mode;
+    }
+
+    public GameClock getClock() {
+        return clock;
+    }
+
+    public int getSpeedup() {
+        return speedup;
+    }
+
+    @Override
+    public String toString() {
+        return mode == PacingMode.FAST_FORWARD ? mode + " x" + speedup : mode.toString();
+    }
+}
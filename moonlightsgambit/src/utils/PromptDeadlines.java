@@ -0,0 +1,64 @@
+package moonlightsgambit.utils;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import moonlightsgambit.interfaces.InputSource;
+
+// Turn deadline applied to every prompt of a console, scheduled on a shared TimingWheel,
+// so a player who walks away costs the table one timeout instead of the rest of the game.
+// A table where nobody has answered for many prompts in a row is given up as abandoned.
+public final class PromptDeadlines {
+    public static final String TIMEOUT_NOTICE = "[TIME] No answer in time - the table moves on.";
+    public static final int DEFAULT_ABANDON_AFTER = 100;
+    private static final String TABLE_ABANDONED = "Table abandoned";
+
+    private final TimingWheel wheel;
+    private final long timeoutNanos;
+    private final int abandonAfter;
+
+    public PromptDeadlines(TimingWheel wheel, long timeout, TimeUnit unit) {
+        this(wheel, timeout, unit, DEFAULT_ABANDON_AFTER);
+    }
+
+    // Consoles give up once abandonAfter prompts in a row have gone unanswered
+    public PromptDeadlines(TimingWheel wheel, long timeout, TimeUnit unit, int abandonAfter) {
+        if (wheel == null || unit == null || timeout <= 0 || abandonAfter < 1) {
+            throw new IllegalArgumentException("Deadlines need a timing wheel, a positive timeout and abandon limit");
+        }
+        this.wheel = wheel;
+        this.timeoutNanos = unit.toNanos(timeout);
+        this.abandonAfter = abandonAfter;
+    }
+
+    // Reads the player's next line through the renderer, or returns null once the deadline passes
+    String readLine(InputSource input, TerminalRenderer renderer) {
+        return readLine(input, ticket -> renderer.acceptInput(input, ticket));
+    }
+
+    // Reads the next line straight from the source, or returns null once the deadline passes
+    public String readLine(InputSource input) {
+        return readLine(input, input::nextLine);
+    }
+
+    private String readLine(InputSource input, Function<Object, String> reader) {
+        Object ticket = new Object();
+        TimingWheel.Timeout timeout = wheel.schedule(() -> input.expire(ticket), timeoutNanos, TimeUnit.NANOSECONDS);
+        try {
+            return reader.apply(ticket);
+        } finally {
+            timeout.cancel();
+        }
+    }
+
+    // Counts one more unanswered prompt in a row; throws SessionEndedException once the table counts as abandoned
+    public int countMissed(int missedInRow) {
+        if (missedInRow + 1 >= abandonAfter) {
+            throw new SessionEndedException(TABLE_ABANDONED);
+        }
+        return missedInRow + 1;
+    }
+
+    public long getTimeout(TimeUnit unit) {
+        return unit.convert(timeoutNanos, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,134 @@
+package moonlightsgambit.utils;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import moonlightsgambit.interfaces.InputSource;
+
+// Input handed over by another thread, such as a network loop reading client sockets.
+// Producers never block: text arrives in arbitrary chunks and is split into lines here, and a client that
+// floods the table beyond its backlog has the excess dropped. The game thread blocks in nextLine as usual.
+public final class QueueInputSource implements InputSource {
+    public static final int DEFAULT_CAPACITY = 256;
+    private static final int MAX_LINE_LENGTH = 4096;
+    // Queued after the last line when the source closes
+    private static final Object END_OF_INPUT = new Object();
+
+    // Lines, plus the tickets of expired prompts and the end marker
+    private final BlockingQueue<Object> lines;
+    private final StringBuilder partial = new StringBuilder();
+    private volatile boolean closed;
+
+    public QueueInputSource() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    // Holds at most capacity entries that the game has not read yet
+    public QueueInputSource(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.lines = new LinkedBlockingQueue<>(capacity);
+    }
+
+    // Queues one complete line; false when the source is closed or the backlog is full
+    public boolean offer(String line) {
+        if (line == null) {
+            throw new IllegalArgumentException("Line cannot be null");
+        }
+        return !closed && lines.offer(line);
+    }
+
+    // Queues the complete lines in a chunk of received text and keeps the unfinished tail for the next chunk;
+    // false if any line was dropped. Meant for a single producer per source.
+    public boolean offerText(CharSequence chunk) {
+        boolean accepted = true;
+        synchronized (partial) {
+            for (int i = 0; i < chunk.length(); i++) {
+                char c = chunk.charAt(i);
+                if (c == '\n') {
+                    accepted &= offer(partial.toString());
+                    partial.setLength(0);
+                } else if (c != '\r' && partial.length() < MAX_LINE_LENGTH) {
+                    partial.append(c);
+                }
+            }
+        }
+        return accepted;
+    }
+
+    // Queues a line, waiting for room; for producers that may block, like a thread pumping a stream
+    void put(String line) throws InterruptedException {
+        if (!closed) {
+            lines.put(line);
+        }
+    }
+
+    // Next line if one is queued, otherwise null; never blocks
+    public String poll() {
+        for (Object item = lines.peek(); item != null && item != END_OF_INPUT; item = lines.peek()) {
+            lines.poll();
+            if (item instanceof String) {
+                return (String) item;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public String nextLine() {
+        return nextLine(null);
+    }
+
+    @Override
+    public String nextLine(Object ticket) {
+        try {
+            while (true) {
+                // Once closed, whatever is still queued is read without waiting
+                Object item = closed ? lines.poll() : lines.take();
+                if (item instanceof String) {
+                    return (String) item;
+                }
+                if (item == null || item == END_OF_INPUT) {
+                    // Leave the marker for any later read
+                    lines.offer(END_OF_INPUT);
+                    throw new SessionEndedException("Input closed");
+                }
+                if (ticket != null && item == ticket) {
+                    return null;
+                }
+                // The ticket of a prompt answered just before its deadline
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt(); // Restore interrupt status
+            throw new SessionEndedException("Interrupted while waiting for input", e);
+        }
+    }
+
+    @Override
+    public void expire(Object ticket) {
+        if (ticket != null && !closed) {
+            // A full backlog means the reader has lines to return anyway
+            lines.offer(ticket);
+        }
+    }
+
+    // Remote clients echo what their players type
+    @Override
+    public boolean isEchoed() {
+        return true;
+    }
+
+    // Lines already queued can still be read; after them nextLine fails
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            // When the backlog is full the reader drains it and then finds the source closed
+            lines.offer(END_OF_INPUT);
+        }
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+}
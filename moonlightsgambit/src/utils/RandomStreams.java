@@ -0,0 +1,41 @@
+package moonlightsgambit.utils;
+
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+// Derives one independent random stream per game from a master seed.
+// A game's stream depends only on the master seed and the game's index, never on the thread that plays it,
+// so parallel batches replay exactly and no generator state is ever shared between threads.
+public final class RandomStreams {
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private final long masterSeed;
+
+    public RandomStreams(long masterSeed) {
+        this.masterSeed = masterSeed;
+    }
+
+    // Streams from an unpredictable master seed
+    public static RandomStreams unseeded() {
+        return new RandomStreams(new SplittableRandom().nextLong());
+    }
+
+    public long getMasterSeed() {
+        return masterSeed;
+    }
+
+    // Stream for the game with the given index: a SplittableRandom seeded like the index-th split of the master
+    public RandomGenerator forGame(long gameIndex) {
+        if (gameIndex < 0) {
+            throw new IllegalArgumentException("Game index cannot be negative");
+        }
+        return new SplittableRandom(mix64(masterSeed + (gameIndex + 1) * GOLDEN_GAMMA));
+    }
+
+    // Stafford variant 13 finalizer, the same bit mixer SplittableRandom uses to spread its seeds
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,107 @@
+package moonlightsgambit.utils;
+
+import moonlightsgambit.interfaces.GameConsole;
+import moonlightsgambit.interfaces.InputSource;
+
+// Game I/O shared by the consoles drawn by a TerminalRenderer: output is queued on the renderer, input lines come
+// from an InputSource, and prompts with a default answer give up on it once the turn deadline (if any) passes.
+// Subclasses choose the streams and decide what closing releases.
+abstract class RenderedConsole implements GameConsole {
+    protected final InputSource input;
+    protected final TerminalRenderer renderer;
+    // Null while prompts wait indefinitely
+    private volatile PromptDeadlines deadlines;
+    private int missedInRow;
+
+    protected RenderedConsole(InputSource input, TerminalRenderer renderer) {
+        if (input == null) {
+            throw new IllegalArgumentException("Input source cannot be null");
+        }
+        this.input = input;
+        this.renderer = renderer;
+    }
+
+    @Override
+    public void clearScreen() {
+        renderer.clear();
+    }
+
+    @Override
+    public void print(String text) {
+        renderer.write(text);
+    }
+
+    @Override
+    public void println(String text) {
+        renderer.write(text + System.lineSeparator());
+    }
+
+    @Override
+    public void printf(String format, Object... args) {
+        renderer.write(String.format(format, args));
+    }
+
+    @Override
+    public void typeText(String text, int delayMs) {
+        renderer.type(text, delayMs);
+        renderer.write(System.lineSeparator());
+    }
+
+    @Override
+    public void waitForEnter() {
+        println("\n--- press enter to continue ---");
+        if (nextTimedLine() == null) {
+            println(PromptDeadlines.TIMEOUT_NOTICE);
+        }
+    }
+
+    @Override
+    public int readInt(int min, int max, String prompt) {
+        return GameUtils.safeReadInt(this, min, max, prompt);
+    }
+
+    @Override
+    public String readLine(String prompt) {
+        print(prompt);
+        return nextLine().trim();
+    }
+
+    @Override
+    public int readInt(int min, int max, String prompt, int onTimeout) {
+        return deadlines == null
+                ? readInt(min, max, prompt)
+                : GameUtils.safeReadInt(this, min, max, prompt, onTimeout);
+    }
+
+    @Override
+    public String readLine(String prompt, String onTimeout) {
+        print(prompt);
+        String line = nextTimedLine();
+        if (line == null) {
+            println("\n" + PromptDeadlines.TIMEOUT_NOTICE);
+            return onTimeout;
+        }
+        return line.trim();
+    }
+
+    // Gives every prompt that has a default answer a turn deadline (null waits indefinitely)
+    public void setPromptDeadlines(PromptDeadlines deadlines) {
+        this.deadlines = deadlines;
+    }
+
+    // Blocks for the next line; a closed source ends the session instead of spinning
+    private String nextLine() {
+        return renderer.acceptInput(input);
+    }
+
+    // Next line, or null once the turn deadline passes
+    private String nextTimedLine() {
+        PromptDeadlines current = deadlines;
+        if (current == null) {
+            return nextLine();
+        }
+        String line = current.readLine(input, renderer);
+        missedInRow = line == null ? current.countMissed(missedInRow) : 0;
+        return line;
+    }
+}
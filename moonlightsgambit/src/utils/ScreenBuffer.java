@@ -0,0 +1,155 @@
+package moonlightsgambit.utils;
+
+import java.util.Arrays;
+
+// Virtual screen for ANSI terminals. Text is drawn into a target grid; render() compares it with the
+// grid the terminal is known to show and emits cursor moves and characters for the changed spans only.
+public final class ScreenBuffer {
+    private static final String ESC = "\033[";
+    private static final String HIDE_CURSOR = ESC + "?25l";
+    private static final String SHOW_CURSOR = ESC + "?25h";
+    private static final String CLEAR_TO_END_OF_LINE = ESC + "K";
+    private static final String RESET_SCREEN = ESC + "H" + ESC + "2J";
+    private static final int TAB_WIDTH = 8;
+
+    private final Grid target;
+    private final Grid shown;
+    // Nothing is known about the terminal until the first render wipes it
+    private boolean primed;
+
+    public ScreenBuffer(int columns, int rows) {
+        this.target = new Grid(columns, rows);
+        this.shown = new Grid(columns, rows);
+    }
+
+    // Blank screen, cursor home
+    public void clear() {
+        target.clear();
+    }
+
+    // Draws text at the cursor: newlines, carriage returns and tabs move it, the last line scrolls
+    public void write(CharSequence text, int start, int end) {
+        for (int i = start; i < end; i++) {
+            target.put(text.charAt(i));
+        }
+    }
+
+    // Text the terminal has already shown by itself (the player's typed input and Enter):
+    // whatever is pending is rendered first, then both grids take the text
+    public void echo(CharSequence text, StringBuilder frame) {
+        render(frame);
+        for (int i = 0; i < text.length(); i++) {
+            target.put(text.charAt(i));
+            shown.put(text.charAt(i));
+        }
+    }
+
+    // Appends the escape sequences and characters that bring the terminal in line with the target
+    public void render(StringBuilder frame) {
+        int mark = frame.length();
+        if (!primed) {
+            frame.append(RESET_SCREEN);
+            shown.clear();
+            primed = true;
+        }
+        for (int row = 0; row < target.rows; row++) {
+            renderRow(frame, row);
+        }
+        if (frame.length() > mark || shown.row != target.row || shown.col != target.col) {
+            frame.append(ESC).append(target.row + 1).append(';').append(target.col + 1).append('H');
+            shown.row = target.row;
+            shown.col = target.col;
+            if (frame.length() > mark) {
+                frame.insert(mark, HIDE_CURSOR).append(SHOW_CURSOR);
+            }
+        }
+    }
+
+    private void renderRow(StringBuilder frame, int row) {
+        char[] want = target.cells[row];
+        char[] have = shown.cells[row];
+        int first = 0;
+        while (first < want.length && want[first] == have[first]) {
+            first++;
+        }
+        if (first == want.length) {
+            return;
+        }
+        int last = want.length - 1;
+        while (want[last] == have[last]) {
+            last--;
+        }
+        int lastText = want.length - 1;
+        while (lastText >= first && want[lastText] == ' ') {
+            lastText--;
+        }
+
+        frame.append(ESC).append(row + 1).append(';').append(first + 1).append('H');
+        if (last > lastText) {
+            // The rest of the row is blank: write up to the text and erase the remainder in one go
+            frame.append(want, first, lastText + 1 - first).append(CLEAR_TO_END_OF_LINE);
+        } else {
+            frame.append(want, first, last + 1 - first);
+        }
+        System.arraycopy(want, first, have, first, want.length - first);
+    }
+
+    // Character grid with a cursor
+    private static final class Grid {
+        private final int columns;
+        private final int rows;
+        private final char[][] cells;
+        private int row;
+        private int col;
+
+        Grid(int columns, int rows) {
+            this.columns = columns;
+            this.rows = rows;
+            this.cells = new char[rows][columns];
+            clear();
+        }
+
+        void clear() {
+            for (char[] line : cells) {
+                Arrays.fill(line, ' ');
+            }
+            row = 0;
+            col = 0;
+        }
+
+        void put(char c) {
+            switch (c) {
+                case '\n' -> newLine();
+                case '\r' -> col = 0;
+                case '\t' -> {
+                    int stop = Math.min(columns, (col / TAB_WIDTH + 1) * TAB_WIDTH);
+                    while (col < stop) {
+                        cells[row][col++] = ' ';
+                    }
+                }
+                default -> {
+                    if (c < ' ') {
+                        return;
+                    }
+                    if (col == columns) {
+                        newLine();
+                    }
+                    cells[row][col++] = c;
+                }
+            }
+        }
+
+        private void newLine() {
+            col = 0;
+            if (row < rows - 1) {
+                row++;
+                return;
+            }
+            // Scroll: the top line drops off and its array is reused for the new blank bottom line
+            char[] top = cells[0];
+            System.arraycopy(cells, 1, cells, 0, rows - 1);
+            Arrays.fill(top, ' ');
+            cells[rows - 1] = top;
+        }
+    }
+}
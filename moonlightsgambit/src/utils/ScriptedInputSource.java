@@ -0,0 +1,99 @@
+package moonlightsgambit.utils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import moonlightsgambit.interfaces.InputSource;
+
+// Replays a fixed list of input lines, e.g. a recorded session for batch regression runs.
+// Nobody typed them, so consoles print each line as it is consumed to keep the transcript whole.
+public final class ScriptedInputSource implements InputSource {
+    private final List<String> lines;
+    private volatile int position;
+    private volatile boolean closed;
+
+    public ScriptedInputSource(List<String> lines) {
+        if (lines == null) {
+            throw new IllegalArgumentException("Script lines must be non-null");
+        }
+        for (String line : lines) {
+            if (line == null) {
+                throw new IllegalArgumentException("Script lines must be non-null");
+            }
+        }
+        this.lines = List.copyOf(lines);
+    }
+
+    public static ScriptedInputSource of(String... lines) {
+        return new ScriptedInputSource(List.of(lines));
+    }
+
+    // One input per line of a UTF-8 text file
+    public static ScriptedInputSource fromFile(Path script) {
+        try {
+            return new ScriptedInputSource(Files.readAllLines(script, StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read input script " + script, e);
+        }
+    }
+
+    // Reads the whole stream up front, so the replay never waits on it
+    public static ScriptedInputSource fromStream(InputStream in) {
+        List<String> lines = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                lines.add(line);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read input script", e);
+        }
+        return new ScriptedInputSource(lines);
+    }
+
+    @Override
+    public String nextLine() {
+        if (closed) {
+            throw new SessionEndedException("Input closed");
+        }
+        if (position >= lines.size()) {
+            throw new SessionEndedException("Input script exhausted after " + lines.size() + " lines");
+        }
+        return lines.get(position++);
+    }
+
+    // A script never keeps anyone waiting, so deadlines have nothing to cut short
+    @Override
+    public String nextLine(Object ticket) {
+        return nextLine();
+    }
+
+    @Override
+    public void expire(Object ticket) {
+    }
+
+    @Override
+    public boolean isEchoed() {
+        return false;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+    }
+
+    // Lines consumed so far
+    public int getPosition() {
+        return position;
+    }
+
+    public int getRemaining() {
+        return lines.size() - position;
+    }
+}
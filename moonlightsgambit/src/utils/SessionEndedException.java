@@ -0,0 +1,16 @@
+package moonlightsgambit.utils;
+
+// Thrown when a table's session cannot go on: its input closed, its thread was interrupted or its players abandoned
+// it. These are how a session normally ends, not engine failures, so nothing should resume the game after one.
+// An IllegalStateException, as InputSource documents for a closed source.
+public class SessionEndedException extends IllegalStateException {
+    private static final long serialVersionUID = 1L;
+
+    public SessionEndedException(String message) {
+        super(message);
+    }
+
+    public SessionEndedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
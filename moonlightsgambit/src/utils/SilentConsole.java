@@ -0,0 +1,29 @@
+package moonlightsgambit.utils;
+
+import moonlightsgambit.interfaces.GameConsole;
+
+// Console that discards all output, used for headless games
+public final class SilentConsole implements GameConsole {
+    public static final SilentConsole INSTANCE = new SilentConsole();
+
+    private SilentConsole() {
+    }
+
+    @Override public void clearScreen() { }
+    @Override public void print(String text) { }
+    @Override public void println(String text) { }
+    @Override public void printf(String format, Object... args) { }
+    @Override public void typeText(String text, int delayMs) { }
+    @Override public void typef(int delayMs, String format, Object... args) { }
+    @Override public void waitForEnter() { }
+
+    @Override
+    public int readInt(int min, int max, String prompt) {
+        throw new UnsupportedOperationException("Headless games take decisions from their DecisionPolicy");
+    }
+
+    @Override
+    public String readLine(String prompt) {
+        throw new UnsupportedOperationException("Headless games take decisions from their DecisionPolicy");
+    }
+}
@@ -0,0 +1,55 @@
+package moonlightsgambit.utils;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executor;
+import moonlightsgambit.interfaces.InputSource;
+import moonlightsgambit.interfaces.TableConsole;
+
+// Console bound to its own pair of streams, so each table can have private I/O channels.
+// Output is drawn by a TerminalRenderer, so narration never holds up the table's session thread.
+public class StreamConsole extends RenderedConsole implements TableConsole {
+    private final PrintStream output;
+
+    // ANSI client of standard size, narrated in real time on the shared daemon render threads
+    public StreamConsole(InputStream in, OutputStream out) {
+        this(new StreamInputSource(in), out, TerminalCapabilities.ANSI, OutputPacing.INTERACTIVE, null);
+    }
+
+    // Reads from the given source and renders for the given client terminal with the given pacing on the
+    // given executor (e.g. the runtime's session threads); a null executor uses the shared render threads
+    public StreamConsole(InputSource input, OutputStream out, TerminalCapabilities capabilities, OutputPacing pacing,
+                         Executor renderThreads) {
+        this(input, printStream(input, out), capabilities, pacing, renderThreads);
+    }
+
+    private StreamConsole(InputSource input, PrintStream output, TerminalCapabilities capabilities,
+                          OutputPacing pacing, Executor renderThreads) {
+        super(input, renderThreads == null
+                ? new TerminalRenderer(output, capabilities, pacing)
+                : new TerminalRenderer(output, capabilities, pacing, renderThreads));
+        this.output = output;
+    }
+
+    // Blocks until all queued narration has been written
+    public void awaitOutput() throws InterruptedException {
+        renderer.awaitIdle();
+    }
+
+    // Writes pending output at once and closes both channels
+    @Override
+    public void close() {
+        renderer.close();
+        output.close();
+        input.close();
+    }
+
+    private static PrintStream printStream(InputSource input, OutputStream out) {
+        if (input == null || out == null) {
+            throw new IllegalArgumentException("Input source and output stream must be non-null");
+        }
+        return new PrintStream(out, false, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,148 @@
+package moonlightsgambit.utils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import moonlightsgambit.interfaces.InputSource;
+
+// Lines typed into a byte stream: the process console or a client connection.
+// All reads share one buffered reader, so no input is lost between prompts.
+// A blocking read cannot be cut short, so the first prompt with a deadline hands the reader to a pump task
+// that feeds a QueueInputSource; sources never read under a deadline never start one.
+public final class StreamInputSource implements InputSource {
+    private static final String INPUT_CLOSED = "Input closed";
+    private static final Object CONSOLE_LOCK = new Object();
+    private static StreamInputSource console;
+
+    private final InputStream source;
+    private final BufferedReader reader;
+    private final boolean closeable;
+    private final Executor pumpThreads;
+    // Set once the pump owns the reader
+    private volatile QueueInputSource pumped;
+
+    // Reads UTF-8 lines from a client stream; closing the source closes the stream
+    public StreamInputSource(InputStream in) {
+        this(in, null);
+    }
+
+    // As above, with the pump (if ever needed) run on the given executor; null starts a daemon thread
+    public StreamInputSource(InputStream in, Executor pumpThreads) {
+        this(in, StandardCharsets.UTF_8, true, pumpThreads);
+    }
+
+    private StreamInputSource(InputStream in, Charset charset, boolean closeable, Executor pumpThreads) {
+        if (in == null) {
+            throw new IllegalArgumentException("Input stream cannot be null");
+        }
+        this.source = in;
+        this.reader = new BufferedReader(new InputStreamReader(in, charset));
+        this.closeable = closeable;
+        this.pumpThreads = pumpThreads;
+    }
+
+    // The process console (System.in), shared by every console reading from it; it is never closed
+    public static StreamInputSource console() {
+        synchronized (CONSOLE_LOCK) {
+            if (console == null) {
+                console = new StreamInputSource(System.in, Charset.defaultCharset(), false, null);
+            }
+            return console;
+        }
+    }
+
+    @Override
+    public String nextLine() {
+        QueueInputSource queue = pumped;
+        return queue != null ? queue.nextLine() : readLine();
+    }
+
+    @Override
+    public String nextLine(Object ticket) {
+        return startPump().nextLine(ticket);
+    }
+
+    @Override
+    public void expire(Object ticket) {
+        startPump().expire(ticket);
+    }
+
+    private synchronized QueueInputSource startPump() {
+        if (pumped != null) {
+            return pumped;
+        }
+        QueueInputSource queue = new QueueInputSource();
+        Runnable pump = () -> pump(queue);
+        try {
+            if (pumpThreads != null) {
+                pumpThreads.execute(pump);
+            } else {
+                Thread thread = new Thread(pump, "input-pump");
+                thread.setDaemon(true);
+                thread.start();
+            }
+        } catch (RejectedExecutionException e) {
+            // The host is shutting down
+            queue.close();
+        }
+        pumped = queue;
+        return queue;
+    }
+
+    // Moves lines from the stream to the queue until the stream ends
+    private void pump(QueueInputSource queue) {
+        try {
+            while (true) {
+                queue.put(readLine());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt(); // Restore interrupt status
+        } catch (RuntimeException e) {
+            // End of stream, or the stream was closed under the read
+        } finally {
+            queue.close();
+        }
+    }
+
+    private String readLine() {
+        try {
+            String line = reader.readLine();
+            if (line == null) {
+                // A closed channel ends the session instead of spinning
+                throw new SessionEndedException(INPUT_CLOSED);
+            }
+            return line;
+        } catch (IOException e) {
+            throw new SessionEndedException(INPUT_CLOSED, e);
+        }
+    }
+
+    // The player's terminal shows what they type
+    @Override
+    public boolean isEchoed() {
+        return true;
+    }
+
+    @Override
+    public void close() {
+        if (!closeable) {
+            return;
+        }
+        QueueInputSource queue = pumped;
+        if (queue != null) {
+            queue.close();
+        }
+        try {
+            // Close the raw stream: the reader's lock may be held by a session blocked in nextLine
+            source.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
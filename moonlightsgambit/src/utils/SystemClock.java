@@ -0,0 +1,22 @@
+package moonlightsgambit.utils;
+
+import java.util.concurrent.TimeUnit;
+import moonlightsgambit.interfaces.GameClock;
+
+// Wall-clock time: delays really pass
+public final class SystemClock implements GameClock {
+    public static final SystemClock INSTANCE = new SystemClock();
+
+    private SystemClock() {
+    }
+
+    @Override
+    public long nanoTime() {
+        return System.nanoTime();
+    }
+
+    @Override
+    public void sleep(long nanos) throws InterruptedException {
+        TimeUnit.NANOSECONDS.sleep(nanos);
+    }
+}
@@ -0,0 +1,77 @@
+package moonlightsgambit.utils;
+
+import java.util.Locale;
+import java.util.Map;
+
+// What an output terminal understands, detected from the environment without starting any process
+public final class TerminalCapabilities {
+    public static final int DEFAULT_COLUMNS = 80;
+    public static final int DEFAULT_ROWS = 24;
+    private static final int MIN_SIZE = 8;
+    private static final int MAX_SIZE = 1000;
+
+    // Plain text only: screens are cleared by scrolling them away with blank lines
+    public static final TerminalCapabilities DUMB = new TerminalCapabilities(false, DEFAULT_COLUMNS, DEFAULT_ROWS);
+    // ANSI escape sequences on a standard-size terminal (the usual assumption for network clients)
+    public static final TerminalCapabilities ANSI = new TerminalCapabilities(true, DEFAULT_COLUMNS, DEFAULT_ROWS);
+
+    private final boolean ansi;
+    private final int columns;
+    private final int rows;
+
+    public TerminalCapabilities(boolean ansi, int columns, int rows) {
+        if (columns < MIN_SIZE || columns > MAX_SIZE || rows < MIN_SIZE || rows > MAX_SIZE) {
+            throw new IllegalArgumentException("Terminal size must be between " + MIN_SIZE + " and " + MAX_SIZE
+                    + " in both directions: " + columns + "x" + rows);
+        }
+        this.ansi = ansi;
+        this.columns = columns;
+        this.rows = rows;
+    }
+
+    // Capabilities of this process's terminal
+    public static TerminalCapabilities detect() {
+        return detect(System.getenv(), System.console() != null);
+    }
+
+    // ANSI when output is an interactive terminal that TERM (or Windows Terminal / ConEmu) says speaks VT
+    // sequences; the size comes from COLUMNS and LINES when the shell exports them
+    public static TerminalCapabilities detect(Map<String, String> env, boolean interactive) {
+        String term = env.getOrDefault("TERM", "").toLowerCase(Locale.ROOT);
+        boolean vt = !term.isEmpty() && !term.equals("dumb")
+                || env.containsKey("WT_SESSION")
+                || "ON".equalsIgnoreCase(env.get("ConEmuANSI"));
+        int columns = sizeFrom(env.get("COLUMNS"), DEFAULT_COLUMNS);
+        int rows = sizeFrom(env.get("LINES"), DEFAULT_ROWS);
+        return new TerminalCapabilities(interactive && vt, columns, rows);
+    }
+
+    private static int sizeFrom(String value, int fallback) {
+        if (value == null) {
+            return fallback;
+        }
+        try {
+            int size = Integer.parseInt(value.trim());
+            return size >= MIN_SIZE && size <= MAX_SIZE ? size : fallback;
+        } catch (NumberFormatException e) {
+            return fallback;
+        }
+    }
+
+    public boolean isAnsi() {
+        return ansi;
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    @Override
+    public String toString() {
+        return (ansi ? "ANSI " : "dumb ") + columns + "x" + rows;
+    }
+}
@@ -0,0 +1,31 @@
+package moonlightsgambit.utils;
+
+import moonlightsgambit.interfaces.InputSource;
+
+// Console bound to the process terminal (System.out, input from System.in unless a script is replayed);
+// output is drawn by a TerminalRenderer using whatever the terminal supports (see TerminalCapabilities.detect)
+public class TerminalConsole extends RenderedConsole {
+    // Narration typed out in real time
+    public TerminalConsole() {
+        this(OutputPacing.INTERACTIVE);
+    }
+
+    public TerminalConsole(OutputPacing pacing) {
+        this(StreamInputSource.console(), pacing);
+    }
+
+    // Reads from the given source, e.g. a ScriptedInputSource replaying a recorded session
+    public TerminalConsole(InputSource input, OutputPacing pacing) {
+        super(input, new TerminalRenderer(System.out, TerminalCapabilities.detect(), pacing));
+    }
+
+    // Lets queued narration finish playing, then stops the renderer
+    public void close() {
+        try {
+            renderer.awaitIdle();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt(); // Restore interrupt status
+        }
+        renderer.close();
+    }
+}
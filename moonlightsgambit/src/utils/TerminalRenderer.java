@@ -0,0 +1,317 @@
+package moonlightsgambit.utils;
+
+import java.io.PrintStream;
+import java.util.ArrayDeque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import moonlightsgambit.interfaces.GameClock;
+import moonlightsgambit.interfaces.InputSource;
+
+// Asynchronous console output: the game thread queues text and returns at once, while a render task
+// composes everything due into one frame per tick, including the typewriter effect, and writes it in
+// a single print and flush. The render task only runs while there is output queued.
+// ANSI terminals are drawn through a ScreenBuffer, so a frame only carries the cells that changed;
+// dumb terminals get the plain text, with screens cleared by a flood of blank lines.
+// Typewriter delays follow an OutputPacing, whose clock may be virtual so that no real time passes.
+public final class TerminalRenderer {
+    public static final int TICK_MS = 15;
+    private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(TICK_MS);
+    private static final String DUMB_CLEAR = "\n".repeat(50);
+    private static final long CLOSE_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final AtomicLong RENDER_THREADS = new AtomicLong(1);
+    // Daemon threads shared by renderers created without an executor; idle ones expire after a minute
+    private static final ExecutorService SHARED_RENDER_THREADS = Executors.newCachedThreadPool(task -> {
+        Thread thread = new Thread(task, "terminal-renderer-" + RENDER_THREADS.getAndIncrement());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final PrintStream out;
+    private final Executor renderThreads;
+    private final OutputPacing pacing;
+    private final GameClock clock;
+    // Null on dumb terminals
+    private final ScreenBuffer screen;
+    private final ArrayDeque<Segment> pending = new ArrayDeque<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition idle = lock.newCondition();
+    // True from the moment output is queued until the render task has written all of it
+    private boolean scheduled;
+    private boolean closing;
+    private long lastSequence;
+    // Typed segments up to this sequence number are shown in full
+    private long skipThrough;
+
+    // Renders in real time on the shared daemon render threads
+    public TerminalRenderer(PrintStream out, TerminalCapabilities capabilities) {
+        this(out, capabilities, OutputPacing.INTERACTIVE, SHARED_RENDER_THREADS);
+    }
+
+    // Renders with the given pacing on the shared daemon render threads
+    public TerminalRenderer(PrintStream out, TerminalCapabilities capabilities, OutputPacing pacing) {
+        this(out, capabilities, pacing, SHARED_RENDER_THREADS);
+    }
+
+    // Renders with the given pacing on the given executor, e.g. a runtime's virtual threads
+    public TerminalRenderer(PrintStream out, TerminalCapabilities capabilities, OutputPacing pacing,
+                            Executor renderThreads) {
+        if (out == null || capabilities == null || pacing == null || renderThreads == null) {
+            throw new IllegalArgumentException("Output, capabilities, pacing and render executor must be non-null");
+        }
+        this.out = out;
+        this.renderThreads = renderThreads;
+        this.pacing = pacing;
+        this.clock = pacing.getClock();
+        this.screen = capabilities.isAnsi() ? new ScreenBuffer(capabilities.getColumns(), capabilities.getRows()) : null;
+    }
+
+    // Queues text that appears on the next tick
+    public void write(String text) {
+        enqueue(new Segment(SegmentKind.TEXT, text, 0));
+    }
+
+    // Queues text revealed one character every delayMs (as paced) once everything before it is shown
+    public void type(String text, int delayMs) {
+        enqueue(new Segment(SegmentKind.TEXT, text, pacing.characterDelayNanos(delayMs)));
+    }
+
+    // Queues a blank screen with the cursor home
+    public void clear() {
+        enqueue(new Segment(SegmentKind.CLEAR, "", 0));
+    }
+
+    // Notes text the terminal echoed by itself, such as a line the player typed, so redraws keep it
+    public void echo(String text) {
+        enqueue(new Segment(SegmentKind.ECHO, text, 0));
+    }
+
+    // Shows everything queued so far in full on the next tick, cutting its typewriter effect short
+    public void skip() {
+        lock.lock();
+        try {
+            skipThrough = lastSequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Reads the player's next line and accounts for it on screen: echoed input is noted so redraws keep it,
+    // replayed input is printed; under fast-forward pacing it also cuts short the narration still being typed
+    public String acceptInput(InputSource input) {
+        return acceptInput(input, null);
+    }
+
+    // As above, but returns null when the ticket expires first (see InputSource.nextLine(Object))
+    public String acceptInput(InputSource input, Object ticket) {
+        String line = ticket == null ? input.nextLine() : input.nextLine(ticket);
+        if (line == null) {
+            return null;
+        }
+        if (pacing.skipsOnInput()) {
+            skip();
+        }
+        if (input.isEchoed()) {
+            echo(line + System.lineSeparator());
+        } else {
+            write(line + System.lineSeparator());
+        }
+        return line;
+    }
+
+    public OutputPacing getPacing() {
+        return pacing;
+    }
+
+    // Blocks until everything queued so far is on screen, animation included
+    public void awaitIdle() throws InterruptedException {
+        lock.lock();
+        try {
+            while (scheduled) {
+                idle.await();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Writes whatever is still queued without animation and stops accepting output;
+    // waits (briefly) only when there is output left to write
+    public void close() {
+        lock.lock();
+        try {
+            closing = true;
+            long remaining = CLOSE_TIMEOUT_NANOS;
+            while (scheduled && remaining > 0) {
+                remaining = idle.awaitNanos(remaining);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt(); // Restore interrupt status
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void enqueue(Segment segment) {
+        lock.lock();
+        try {
+            if (closing) {
+                return;
+            }
+            segment.sequence = ++lastSequence;
+            pending.addLast(segment);
+            if (scheduled) {
+                return;
+            }
+            scheduled = true;
+        } finally {
+            lock.unlock();
+        }
+        try {
+            renderThreads.execute(this::renderLoop);
+        } catch (RejectedExecutionException e) {
+            // The host is shutting down; nobody is left to read the output
+            lock.lock();
+            try {
+                pending.clear();
+                scheduled = false;
+                idle.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /* ---------- RENDER TASK ---------- */
+
+    private void renderLoop() {
+        StringBuilder frame = new StringBuilder();
+        try {
+            while (true) {
+                long wait;
+                lock.lock();
+                try {
+                    if (pending.isEmpty()) {
+                        scheduled = false;
+                        idle.signalAll();
+                        return;
+                    }
+                    wait = composeFrame(frame, clock.nanoTime());
+                } finally {
+                    lock.unlock();
+                }
+
+                writeFrame(frame);
+                if (wait > 0) {
+                    // At least a tick, so fast typing is batched into frames rather than sent per character
+                    clock.sleep(Math.max(TICK_NANOS, wait));
+                }
+            }
+        } catch (InterruptedException e) {
+            // The host is shutting down: skip the animation and leave with what is queued
+            lock.lock();
+            try {
+                closing = true;
+                composeFrame(frame, clock.nanoTime());
+                pending.clear();
+            } finally {
+                lock.unlock();
+            }
+            writeFrame(frame);
+            lock.lock();
+            try {
+                scheduled = false;
+                idle.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void writeFrame(StringBuilder frame) {
+        if (frame.length() > 0) {
+            out.print(frame);
+            out.flush();
+            frame.setLength(0);
+        }
+    }
+
+    // Appends everything due by now, stopping at text still being typed;
+    // returns how long until its next character is due, or 0 when nothing is left
+    private long composeFrame(StringBuilder frame, long now) {
+        long wait = 0;
+        while (!pending.isEmpty()) {
+            Segment segment = pending.peekFirst();
+            if (segment.kind == SegmentKind.CLEAR) {
+                if (screen != null) {
+                    screen.clear();
+                } else {
+                    frame.append(DUMB_CLEAR);
+                }
+                pending.pollFirst();
+                continue;
+            }
+            if (segment.kind == SegmentKind.ECHO) {
+                // While closing only the final screen matters, so the echo is simply drawn over
+                if (screen != null && closing) {
+                    screen.write(segment.text, 0, segment.text.length());
+                } else if (screen != null) {
+                    screen.echo(segment.text, frame);
+                }
+                pending.pollFirst();
+                continue;
+            }
+            String text = segment.text;
+            int due = text.length();
+            if (segment.delayNanos > 0 && !closing && segment.sequence > skipThrough) {
+                if (!segment.started) {
+                    segment.started = true;
+                    segment.startNanos = now;
+                }
+                due = (int) Math.min(text.length(), 1 + (now - segment.startNanos) / segment.delayNanos);
+            }
+            if (screen != null) {
+                screen.write(text, segment.shown, due);
+            } else {
+                frame.append(text, segment.shown, due);
+            }
+            segment.shown = due;
+            if (due < text.length()) {
+                wait = Math.max(1, segment.startNanos + due * segment.delayNanos - now);
+                break;
+            }
+            pending.pollFirst();
+        }
+        if (screen != null) {
+            screen.render(frame);
+        }
+        return wait;
+    }
+
+    private enum SegmentKind { TEXT, CLEAR, ECHO }
+
+    // Queued output: plain or typed text, a clear, or text the terminal echoed itself
+    private static final class Segment {
+        private final SegmentKind kind;
+        private final String text;
+        private final long delayNanos;
+        private long sequence;
+        private boolean started;
+        private long startNanos;
+        private int shown;
+
+        Segment(SegmentKind kind, String text, long delayNanos) {
+            if (text == null) {
+                throw new IllegalArgumentException("Text cannot be null");
+            }
+            this.kind = kind;
+            this.text = text;
+            this.delayNanos = delayNanos;
+        }
+    }
+}
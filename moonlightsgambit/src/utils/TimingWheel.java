@@ -0,0 +1,231 @@
+package moonlightsgambit.utils;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Hierarchical timing wheel: one thread serves any number of pending deadlines.
+// Level 0 has a slot per tick, each higher level a slot per full turn of the level below; a deadline sits on the
+// level of the highest tick digit in which it differs from now, and is cascaded down when that digit comes up.
+// Scheduling and cancelling are O(1) hand-offs to the wheel thread, and each tick only touches the slots due.
+// Expiry tasks run on the wheel thread, so they must be short and must not block.
+public final class TimingWheel implements AutoCloseable {
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 6;
+    // Longest delay the wheel can hold; later deadlines are clamped to it
+    private static final long MAX_TICKS = (1L << (SLOT_BITS * LEVELS)) - 1;
+    private static final AtomicLong WHEEL_THREADS = new AtomicLong(1);
+
+    private final long tickNanos;
+    private final long startNanos = System.nanoTime();
+    // Slot list heads, level by level; only touched by the wheel thread
+    private final Timeout[] slots = new Timeout[LEVELS * SLOTS];
+    private final Queue<Timeout> scheduled = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> cancelled = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final Object startLock = new Object();
+    private Thread worker;
+    private long currentTick;
+    private volatile boolean closed;
+
+    public TimingWheel(long tick, TimeUnit unit) {
+        if (tick <= 0 || unit == null) {
+            throw new IllegalArgumentException("Tick must be a positive duration");
+        }
+        this.tickNanos = unit.toNanos(tick);
+    }
+
+    // Runs task once the delay has passed (rounded up to whole ticks) unless the returned timeout is cancelled
+    public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        if (task == null || unit == null) {
+            throw new IllegalArgumentException("Task and time unit must be non-null");
+        }
+        if (closed) {
+            throw new IllegalStateException("Timing wheel is closed");
+        }
+        long elapsed = System.nanoTime() - startNanos + Math.max(0, unit.toNanos(delay));
+        Timeout timeout = new Timeout(this, task, (elapsed + tickNanos - 1) / tickNanos);
+        pending.incrementAndGet();
+        scheduled.add(timeout);
+        startWorker();
+        return timeout;
+    }
+
+    // Deadlines scheduled and neither expired nor cancelled yet
+    public int getPendingCount() {
+        return pending.get();
+    }
+
+    public long getTickNanos() {
+        return tickNanos;
+    }
+
+    // Stops the wheel thread; pending deadlines never fire
+    @Override
+    public void close() {
+        closed = true;
+        synchronized (startLock) {
+            if (worker != null) {
+                worker.interrupt();
+            }
+        }
+    }
+
+    private void startWorker() {
+        synchronized (startLock) {
+            if (worker == null && !closed) {
+                worker = new Thread(this::run, "timing-wheel-" + WHEEL_THREADS.getAndIncrement());
+                worker.setDaemon(true);
+                worker.start();
+            }
+        }
+    }
+
+    /* ---------- WHEEL THREAD ---------- */
+
+    private void run() {
+        try {
+            while (!closed) {
+                long nowTick = (System.nanoTime() - startNanos) / tickNanos;
+                while (currentTick < nowTick) {
+                    transferCancelled();
+                    transferScheduled();
+                    advance();
+                }
+                transferCancelled();
+                transferScheduled();
+                long nextTickNanos = startNanos + (currentTick + 1) * tickNanos;
+                TimeUnit.NANOSECONDS.sleep(Math.max(1, nextTickNanos - System.nanoTime()));
+            }
+        } catch (InterruptedException e) {
+            // Closed
+        }
+    }
+
+    private void transferScheduled() {
+        for (Timeout timeout = scheduled.poll(); timeout != null; timeout = scheduled.poll()) {
+            if (timeout.state.get() == Timeout.WAITING) {
+                place(timeout);
+            }
+        }
+    }
+
+    private void transferCancelled() {
+        for (Timeout timeout = cancelled.poll(); timeout != null; timeout = cancelled.poll()) {
+            // Only unlink what is actually on the wheel; a cancelled timeout still in the schedule queue is skipped there
+            if (timeout.slot >= 0) {
+                unlink(timeout);
+            }
+        }
+    }
+
+    // Moves time on by one tick: cascades the higher-level slots that come due, then expires level 0
+    private void advance() {
+        currentTick++;
+        for (int level = LEVELS - 1; level > 0; level--) {
+            if ((currentTick & ((1L << (SLOT_BITS * level)) - 1)) == 0) {
+                cascade(level * SLOTS + (int) ((currentTick >>> (SLOT_BITS * level)) & SLOT_MASK));
+            }
+        }
+        int slot = (int) (currentTick & SLOT_MASK);
+        for (Timeout timeout = slots[slot]; timeout != null; timeout = slots[slot]) {
+            unlink(timeout);
+            expire(timeout);
+        }
+    }
+
+    private void cascade(int slot) {
+        for (Timeout timeout = slots[slot]; timeout != null; timeout = slots[slot]) {
+            unlink(timeout);
+            place(timeout);
+        }
+    }
+
+    private void place(Timeout timeout) {
+        long deadline = Math.min(timeout.deadlineTick, currentTick + MAX_TICKS);
+        if (deadline <= currentTick) {
+            expire(timeout);
+            return;
+        }
+        int level = (63 - Long.numberOfLeadingZeros(deadline ^ currentTick)) / SLOT_BITS;
+        int slot = level * SLOTS + (int) ((deadline >>> (SLOT_BITS * level)) & SLOT_MASK);
+        timeout.deadlineTick = deadline;
+        timeout.slot = slot;
+        timeout.prev = null;
+        timeout.next = slots[slot];
+        if (timeout.next != null) {
+            timeout.next.prev = timeout;
+        }
+        slots[slot] = timeout;
+    }
+
+    private void unlink(Timeout timeout) {
+        if (timeout.prev != null) {
+            timeout.prev.next = timeout.next;
+        } else {
+            slots[timeout.slot] = timeout.next;
+        }
+        if (timeout.next != null) {
+            timeout.next.prev = timeout.prev;
+        }
+        timeout.prev = null;
+        timeout.next = null;
+        timeout.slot = -1;
+    }
+
+    private void expire(Timeout timeout) {
+        if (!timeout.state.compareAndSet(Timeout.WAITING, Timeout.EXPIRED)) {
+            return;
+        }
+        pending.decrementAndGet();
+        try {
+            timeout.task.run();
+        } catch (RuntimeException e) {
+            // A failing task must not stop the deadlines of every other table
+        }
+    }
+
+    // Handle of one scheduled deadline
+    public static final class Timeout {
+        private static final int WAITING = 0;
+        private static final int EXPIRED = 1;
+        private static final int CANCELLED = 2;
+
+        private final TimingWheel wheel;
+        private final Runnable task;
+        private final AtomicInteger state = new AtomicInteger(WAITING);
+        // Wheel-thread fields
+        private long deadlineTick;
+        private int slot = -1;
+        private Timeout prev;
+        private Timeout next;
+
+        private Timeout(TimingWheel wheel, Runnable task, long deadlineTick) {
+            this.wheel = wheel;
+            this.task = task;
+            this.deadlineTick = deadlineTick;
+        }
+
+        // Stops the task from running; false if it already ran or was cancelled before
+        public boolean cancel() {
+            if (!state.compareAndSet(WAITING, CANCELLED)) {
+                return false;
+            }
+            wheel.pending.decrementAndGet();
+            wheel.cancelled.add(this);
+            return true;
+        }
+
+        public boolean isExpired() {
+            return state.get() == EXPIRED;
+        }
+
+        public boolean isCancelled() {
+            return state.get() == CANCELLED;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package moonlightsgambit.utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+import moonlightsgambit.interfaces.GameClock;
+
+// Clock that jumps forward instead of sleeping, so paced output takes no real time.
+// It keeps a tally of every delay it was asked for; renderers sharing one clock share its timeline.
+public final class VirtualClock implements GameClock {
+    private final AtomicLong now = new AtomicLong();
+    private final AtomicLong sleeps = new AtomicLong();
+
+    @Override
+    public long nanoTime() {
+        return now.get();
+    }
+
+    @Override
+    public void sleep(long nanos) throws InterruptedException {
+        // Still honours interrupts, which is how hosts stop render tasks
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+        if (nanos > 0) {
+            now.addAndGet(nanos);
+            sleeps.incrementAndGet();
+        }
+    }
+
+    // Total delay that would have passed in real time
+    public long getElapsedNanos() {
+        return now.get();
+    }
+
+    // Number of delays taken
+    public long getSleepCount() {
+        return sleeps.get();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("VirtualClock[%.3f s in %d delays]", now.get() / 1e9, sleeps.get());
+    }
+}
@@ -0,0 +1,139 @@
+package moonlightsgambit.journal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import moonlightsgambit.enums.EventType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+// Reading and recovery stop at the first record that is not valid, whether its bytes were damaged or it was torn
+// mid-write, and never skip ahead to valid records behind it. Segments hold four records, so rollover is covered too.
+class EventJournalTest {
+    private static final int SEGMENT_BYTES = 4 * EventJournal.RECORD_BYTES;
+    private static final int SYNC_EVERY = 1;
+    // Offsets within a record
+    private static final int TYPE_BYTE = 0;
+    private static final int VALUE_BYTE = 8;
+
+    @Test
+    void readsBackEveryEventAcrossSegments(@TempDir Path directory) {
+        writeGames(directory, 2, 3);
+
+        List<GameEvent> events = new JournalReader(directory).readAll();
+        assertEquals(10, events.size());
+        assertEquals(EventType.GAME_START, events.get(0).getType());
+        assertEquals(1, events.get(0).getGame());
+        GameEvent vote = events.get(7);
+        assertEquals(EventType.VOTE, vote.getType());
+        assertEquals(2, vote.getGame());
+        assertEquals(2, vote.getCycle());
+        assertEquals(1, vote.getActor());
+        assertEquals(2, vote.getTarget());
+        assertEquals(-7, vote.getValue());
+        assertEquals(EventType.GAME_END, events.get(9).getType());
+    }
+
+    @Test
+    void readerStopsAtACorruptRecord(@TempDir Path directory) throws IOException {
+        writeGames(directory, 2, 3);
+        // The sixth record, second of the second segment, no longer matches its check byte
+        flipByte(directory, 1, 1, VALUE_BYTE);
+
+        assertEquals(5, new JournalReader(directory).readAll().size());
+    }
+
+    @Test
+    void readerStopsAtATornRecord(@TempDir Path directory) throws IOException {
+        writeGames(directory, 2, 3);
+        // The type code is written last, so a record torn before it reads as unused space
+        setByte(directory, 0, 2, TYPE_BYTE, 0);
+
+        assertEquals(2, new JournalReader(directory).readAll().size());
+    }
+
+    @Test
+    void readerStopsAtAnUnknownType(@TempDir Path directory) throws IOException {
+        writeGames(directory, 1, 3);
+        setByte(directory, 0, 1, TYPE_BYTE, 0xFF);
+
+        assertEquals(1, new JournalReader(directory).readAll().size());
+    }
+
+    @Test
+    void reopeningClearsEverythingFromTheFirstInvalidRecord(@TempDir Path directory) throws IOException {
+        // Eight records: the second segment is full
+        writeGames(directory, 1, 6);
+        flipByte(directory, 1, 1, VALUE_BYTE);
+
+        try (EventJournal journal = new EventJournal(directory, SEGMENT_BYTES, SYNC_EVERY)) {
+            journal.onEvent(EventType.DAWN, 3, 0, 0, 42);
+        }
+
+        // The valid records behind the damaged one were cleared, not picked up again
+        List<GameEvent> events = new JournalReader(directory).readAll();
+        assertEquals(6, events.size());
+        GameEvent dawn = events.get(5);
+        assertEquals(EventType.DAWN, dawn.getType());
+        assertEquals(42, dawn.getValue());
+        assertEquals(1, dawn.getGame());
+    }
+
+    @Test
+    void reopeningAfterATornFirstRecordKeepsTheGameCount(@TempDir Path directory) throws IOException {
+        // Five records: the second segment holds only the game's end
+        writeGames(directory, 1, 3);
+        setByte(directory, 1, 0, TYPE_BYTE, 0);
+
+        try (EventJournal journal = new EventJournal(directory, SEGMENT_BYTES, SYNC_EVERY)) {
+            journal.onEvent(EventType.DAWN, 3, 0, 0, 0);
+            journal.onEvent(EventType.GAME_START, 0, 0, 0, 0);
+        }
+
+        // The game count comes from the previous segment, as the newest one has no valid record left
+        List<GameEvent> events = new JournalReader(directory).readAll();
+        assertEquals(6, events.size());
+        assertEquals(EventType.DAWN, events.get(4).getType());
+        assertEquals(1, events.get(4).getGame());
+        assertEquals(2, events.get(5).getGame());
+    }
+
+    // Each game is a start, the given number of votes and an end
+    private static void writeGames(Path directory, int games, int votes) {
+        try (EventJournal journal = new EventJournal(directory, SEGMENT_BYTES, SYNC_EVERY)) {
+            for (int game = 0; game < games; game++) {
+                journal.onEvent(EventType.GAME_START, 0, 0, 0, 0);
+                for (int vote = 0; vote < votes; vote++) {
+                    journal.onEvent(EventType.VOTE, vote + 1, vote, vote + 1, -7);
+                }
+                journal.onEvent(EventType.GAME_END, votes, 0, 0, 0);
+            }
+        }
+    }
+
+    private static void flipByte(Path directory, int segment, int record, int offset) throws IOException {
+        setByte(directory, segment, record, offset, readByte(directory, segment, record, offset) ^ 0x01);
+    }
+
+    private static int readByte(Path directory, int segment, int record, int offset) throws IOException {
+        try (FileChannel channel = FileChannel.open(JournalReader.segmentPath(directory, segment),
+                StandardOpenOption.READ)) {
+            ByteBuffer one = ByteBuffer.allocate(1);
+            channel.read(one, (long) record * EventJournal.RECORD_BYTES + offset);
+            return one.get(0) & 0xFF;
+        }
+    }
+
+    private static void setByte(Path directory, int segment, int record, int offset, int value) throws IOException {
+        try (FileChannel channel = FileChannel.open(JournalReader.segmentPath(directory, segment),
+                StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] { (byte) value }),
+                    (long) record * EventJournal.RECORD_BYTES + offset);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package moonlightsgambit.runtime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+// Tables form from the closest-rated players within the window, the window widens with the longest wait, and a
+// table never seats two players whose names differ only in case. Ratings are compared in buckets of 50 points.
+class MatchmakerTest {
+    private final List<List<String>> tables = new ArrayList<>();
+
+    @Test
+    void unratedQueueSeatsPlayersInOrderOfArrival() {
+        Matchmaker<Void> matchmaker = new Matchmaker<>(2, this::seat);
+        for (String name : new String[] { "Ann", "Ben", "Cat", "Dan", "Eve" }) {
+            matchmaker.enqueue(name, Matchmaker.DEFAULT_RATING, null);
+        }
+
+        assertEquals(List.of(List.of("Ann", "Ben"), List.of("Cat", "Dan")), tables);
+        assertEquals(1, matchmaker.getWaitingCount());
+    }
+
+    @Test
+    void ratedQueueSeatsOnlyPlayersWithinTheWindow() {
+        Matchmaker<Void> matchmaker = new Matchmaker<>(2, 100, 0, this::seat);
+        matchmaker.enqueue("Ann", 1000, null);
+        matchmaker.enqueue("Ben", 1500, null);
+        assertEquals(List.of(), tables);
+
+        matchmaker.enqueue("Cat", 1550, null);
+        assertEquals(List.of(List.of("Ben", "Cat")), tables);
+        assertEquals(1, matchmaker.getWaitingCount());
+        assertEquals(0, matchmaker.sweep());
+    }
+
+    @Test
+    void closestRatedPlayerIsSeatedFirst() {
+        Matchmaker<Void> matchmaker = new Matchmaker<>(2, 300, 0, this::seat);
+        // 350 apart, so neither fits the other's window
+        matchmaker.enqueue("Ann", 1300, null);
+        matchmaker.enqueue("Ben", 1650, null);
+        assertEquals(List.of(), tables);
+
+        // Both fit Cat's window; Ben, three buckets away, is closer than Ann at four, though Ann waited longer
+        matchmaker.enqueue("Cat", 1500, null);
+        assertEquals(List.of(List.of("Ben", "Cat")), tables);
+    }
+
+    @Test
+    void windowWidensWhilePlayersWait() throws InterruptedException {
+        Matchmaker<Void> matchmaker = new Matchmaker<>(2, 0, 200, this::seat);
+        matchmaker.enqueue("Ann", 1500, null);
+        matchmaker.enqueue("Ben", 1700, null);
+        assertEquals(0, matchmaker.sweep());
+        assertEquals(List.of(), tables);
+
+        // After a second Ann's window is 200 wide, reaching Ben's bucket
+        Thread.sleep(1_100);
+        assertEquals(1, matchmaker.sweep());
+        assertEquals(List.of(List.of("Ann", "Ben")), tables);
+        assertEquals(0, matchmaker.getWaitingCount());
+    }
+
+    @Test
+    void tableNeverSeatsClashingNames() {
+        Matchmaker<Void> matchmaker = new Matchmaker<>(3, this::seat);
+        matchmaker.enqueue("Ann", Matchmaker.DEFAULT_RATING, null);
+        Matchmaker.Ticket<Void> second = matchmaker.enqueue("ANN", Matchmaker.DEFAULT_RATING, null);
+        matchmaker.enqueue("Ben", Matchmaker.DEFAULT_RATING, null);
+        assertEquals(List.of(), tables);
+
+        matchmaker.enqueue("Cat", Matchmaker.DEFAULT_RATING, null);
+        assertEquals(List.of(List.of("Ann", "Ben", "Cat")), tables);
+        assertTrue(second.isWaiting());
+
+        matchmaker.enqueue("Dan", Matchmaker.DEFAULT_RATING, null);
+        matchmaker.enqueue("Eve", Matchmaker.DEFAULT_RATING, null);
+        assertEquals(List.of("ANN", "Dan", "Eve"), tables.get(1));
+        assertTrue(second.isMatched());
+    }
+
+    @Test
+    void invalidNamesAreRejectedBeforeQueueing() {
+        Matchmaker<Void> matchmaker = new Matchmaker<>(2, this::seat);
+
+        assertThrows(IllegalArgumentException.class, () -> matchmaker.enqueue("Ann1", Matchmaker.DEFAULT_RATING, null));
+        assertThrows(IllegalArgumentException.class, () -> matchmaker.enqueue("", Matchmaker.DEFAULT_RATING, null));
+        assertEquals(0, matchmaker.getWaitingCount());
+    }
+
+    @Test
+    void cancelledPlayersAreNeverSeated() {
+        Matchmaker<Void> matchmaker = new Matchmaker<>(2, this::seat);
+        Matchmaker.Ticket<Void> ann = matchmaker.enqueue("Ann", Matchmaker.DEFAULT_RATING, null);
+        assertTrue(matchmaker.cancel(ann));
+        assertFalse(matchmaker.cancel(ann));
+
+        Matchmaker.Ticket<Void> ben = matchmaker.enqueue("Ben", Matchmaker.DEFAULT_RATING, null);
+        matchmaker.enqueue("Cat", Matchmaker.DEFAULT_RATING, null);
+        assertEquals(List.of(List.of("Ben", "Cat")), tables);
+        assertFalse(matchmaker.cancel(ben), "Cancelled after being seated");
+        assertFalse(ann.isWaiting());
+        assertFalse(ann.isMatched());
+    }
+
+    private void seat(List<Matchmaker.Ticket<Void>> table) {
+        List<String> names = new ArrayList<>();
+        for (Matchmaker.Ticket<Void> ticket : table) {
+            names.add(ticket.getName());
+        }
+        tables.add(names);
+    }
+}
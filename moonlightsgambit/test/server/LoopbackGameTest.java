@@ -0,0 +1,210 @@
+package moonlightsgambit.server;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import moonlightsgambit.LobbyConfig;
+import moonlightsgambit.enums.EventType;
+import moonlightsgambit.enums.FrameType;
+import moonlightsgambit.journal.GameEvent;
+import moonlightsgambit.journal.JournalReader;
+import moonlightsgambit.runtime.Table;
+import moonlightsgambit.runtime.TableRuntime;
+import moonlightsgambit.utils.OutputPacing;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+// A classic table played end to end over loopback: a GameServer on ephemeral ports, one GameClient per seat and a
+// spectator. Turns have no deadline. Players answer at random from 1 to 3, answering again when the table rejects it:
+// fixed answers can tie every vote forever, and a table of people has no cycle limit. The host declines to play
+// again. Players hold their first answer until the spectator is watching, so it sees the whole game.
+class LoopbackGameTest {
+    private static final String[] NAMES = { "Ann", "Ben", "Cat", "Dan" };
+    private static final long TIMEOUT_SECONDS = 60;
+    private static final String TABLE_FULL = "The table is full";
+    private static final String STORY_ENDS = "The story ends";
+    private static final String TABLE_CLOSED = "The table has closed.";
+    private static final String NO_SUCH_TABLE = "No such table.";
+    private static final String PLAY_AGAIN = "play again?";
+    private static final String NO_MORE_GAMES = "1";
+    private static final int HIGHEST_ANSWER = 3;
+    // Output meant for one seat only
+    private static final String[] PRIVATE_LINES = { "your turn to accuse", "Vote recorded.", "ROLE ASSIGNED!" };
+    // Players never leave unless told to
+    private static final int STAYS = Integer.MAX_VALUE;
+
+    @Test
+    void tablePlaysToTheEndOverLoopback(@TempDir Path journals) throws Exception {
+        Session session = play(journals, STAYS);
+
+        for (String transcript : session.players) {
+            assertTrue(transcript.contains(STORY_ENDS), "Player did not see the game end");
+            assertTrue(transcript.endsWith(TABLE_CLOSED), "Player was not told the table closed");
+            assertFalse(transcript.contains("[ERROR]"), "Player saw an error");
+        }
+        // At least three seats are alive for the first vote, and each votes in private
+        assertTrue(count(session.players, "your turn to accuse") >= 3, "Fewer than three ballots were asked for");
+
+        assertTrue(session.spectator.contains("VOTING RESULTS"), "Spectator missed the vote");
+        assertTrue(session.spectator.contains(STORY_ENDS), "Spectator did not see the game end");
+        assertTrue(session.spectator.endsWith(TABLE_CLOSED), "Spectator was not told the table closed");
+        for (String line : PRIVATE_LINES) {
+            assertFalse(session.spectator.contains(line), "Spectator saw private output: " + line);
+        }
+
+        assertNull(session.table.getFailure());
+        List<GameEvent> events = new JournalReader(journals.resolve("table-1")).readAll();
+        assertEquals(1, events.stream().filter(e -> e.getType() == EventType.GAME_END).count(), "Game endings");
+        assertTrue(events.stream().anyMatch(e -> e.getType() == EventType.VOTE_TALLY), "No vote was tallied");
+    }
+
+    // Without deadlines, a player who disconnects gets default answers and the others play on to the end
+    @Test
+    void tablePlaysOnWhenAPlayerDisconnects(@TempDir Path journals) throws Exception {
+        Session session = play(journals, NAMES.length - 1);
+
+        for (int seat = 0; seat < NAMES.length - 1; seat++) {
+            String transcript = session.players.get(seat);
+            assertTrue(transcript.contains(STORY_ENDS), NAMES[seat] + " did not see the game end");
+            assertFalse(transcript.contains("[ERROR]"), NAMES[seat] + " saw an error");
+        }
+        assertFalse(session.players.get(NAMES.length - 1).contains(STORY_ENDS), "The player who left saw the end");
+        assertNull(session.table.getFailure());
+    }
+
+    // Plays one table to the end; the player at leaver disconnects at their first prompt of the game
+    private static Session play(Path journals, int leaver) throws Exception {
+        InetAddress loopback = InetAddress.getLoopbackAddress();
+        ExecutorService clients = Executors.newCachedThreadPool();
+        try (TableRuntime runtime = new TableRuntime(journals, OutputPacing.INTERACTIVE);
+             GameServer server = new GameServer(new InetSocketAddress(loopback, 0), new InetSocketAddress(loopback, 0),
+                     LobbyConfig.CLASSIC, 2, runtime)) {
+            server.start();
+            InetSocketAddress players = new InetSocketAddress(loopback, server.getPort());
+            InetSocketAddress spectators = new InetSocketAddress(loopback, server.getSpectatorPort());
+            CountDownLatch seated = new CountDownLatch(1);
+            CountDownLatch watching = new CountDownLatch(1);
+
+            List<Future<String>> transcripts = new ArrayList<>();
+            for (int i = 0; i < NAMES.length; i++) {
+                String name = NAMES[i];
+                boolean leaves = i == leaver;
+                SplittableRandom random = new SplittableRandom(i);
+                transcripts.add(clients.submit(() -> player(players, name, leaves, random, seated, watching)));
+            }
+            Future<String> spectator = clients.submit(() -> spectator(spectators, seated, watching));
+
+            assertTrue(watching.await(TIMEOUT_SECONDS, TimeUnit.SECONDS), "Spectator never got to watch");
+            // Opened before the spectator could find its feed, and held open by the players waiting for it
+            Table table = runtime.getTable(1);
+            assertNotNull(table, "No table was opened");
+
+            Session session = new Session(table);
+            for (Future<String> transcript : transcripts) {
+                session.players.add(transcript.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+            }
+            session.spectator = spectator.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+            while (!table.isFinished() && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertTrue(table.isFinished(), "Session still running after the table closed");
+            return session;
+        } finally {
+            clients.shutdownNow();
+        }
+    }
+
+    // One seat: joins under its name, then answers every prompt until the table closes (or leaves at its first)
+    private static String player(InetSocketAddress server, String name, boolean leaves, SplittableRandom random,
+                                 CountDownLatch seated, CountDownLatch watching)
+            throws IOException, InterruptedException {
+        StringBuilder transcript = new StringBuilder();
+        boolean named = false;
+        try (GameClient client = new GameClient(server)) {
+            for (Frame frame = client.readFrame(); frame != null; frame = client.readFrame()) {
+                transcript.append(frame.getText());
+                if (frame.getText().contains(TABLE_FULL)) {
+                    seated.countDown();
+                }
+                if (frame.getType() == FrameType.CLOSE) {
+                    break;
+                }
+                if (frame.getType() != FrameType.PROMPT) {
+                    continue;
+                }
+                if (!named) {
+                    named = true;
+                    client.sendReply(name);
+                    continue;
+                }
+                watching.await();
+                if (leaves) {
+                    break;
+                }
+                // A rejected answer (out of range, or a vote for oneself) is followed by the prompt again
+                boolean playAgain = frame.getText().contains(PLAY_AGAIN);
+                client.sendReply(playAgain ? NO_MORE_GAMES : Integer.toString(random.nextInt(1, HIGHEST_ANSWER + 1)));
+            }
+        }
+        return transcript.toString();
+    }
+
+    // Watches the newest table once one is seated, retrying until its feed is registered
+    private static String spectator(InetSocketAddress server, CountDownLatch seated, CountDownLatch watching)
+            throws IOException, InterruptedException {
+        seated.await();
+        while (true) {
+            StringBuilder transcript = new StringBuilder();
+            try (GameClient client = new GameClient(server)) {
+                client.watch("");
+                for (Frame frame = client.readFrame(); frame != null; frame = client.readFrame()) {
+                    if (frame.getType() == FrameType.CLOSE && frame.getText().equals(NO_SUCH_TABLE)) {
+                        break;
+                    }
+                    watching.countDown();
+                    transcript.append(frame.getText());
+                    if (frame.getType() == FrameType.CLOSE) {
+                        return transcript.toString();
+                    }
+                }
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    private static int count(List<String> transcripts, String text) {
+        int count = 0;
+        for (String transcript : transcripts) {
+            for (int at = transcript.indexOf(text); at >= 0; at = transcript.indexOf(text, at + 1)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static final class Session {
+        final Table table;
+        final List<String> players = new ArrayList<>();
+        String spectator;
+
+        Session(Table table) {
+            this.table = table;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package moonlightsgambit.simulation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import moonlightsgambit.LobbyConfig;
+import moonlightsgambit.MoonlightsGambit;
+import moonlightsgambit.characters.GameCharacter;
+import moonlightsgambit.enums.Role;
+import moonlightsgambit.interfaces.DecisionPolicy;
+import moonlightsgambit.interfaces.PlayerController;
+import moonlightsgambit.utils.RandomStreams;
+import org.junit.jupiter.api.Test;
+
+// Once warmed up, a headless game cycle allocates nothing: the game loop, every phase, the night actions and the
+// vote count all run on preallocated state. Measured inside the game with the thread's allocated-bytes counter.
+// Console varargs are only gone once the JIT has compiled the phases, and when it gets there varies from run to run,
+// so measured games are played until one comes out clean; a real per-cycle allocation never does.
+class HeadlessAllocationTest {
+    private static final long SEED = 42L;
+    private static final int WARMUP_GAMES = 2_000;
+    private static final int MEASURED_GAMES = 50;
+    // Cycles of the measured game: first measured at the start of FIRST_CYCLE's vote, then MEASURED_CYCLES later
+    private static final int FIRST_CYCLE = 10;
+    private static final int MEASURED_CYCLES = 50;
+
+    @Test
+    void classicCycleAllocatesNothing() {
+        assertCycleAllocatesNothing(LobbyConfig.CLASSIC);
+    }
+
+    @Test
+    void lobbyCycleAllocatesNothing() {
+        assertCycleAllocatesNothing(LobbyConfig.ofSize(16));
+    }
+
+    private static void assertCycleAllocatesNothing(LobbyConfig config) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assertTrue(threads.isThreadAllocatedMemorySupported(), "JVM cannot count allocated bytes per thread");
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        StallingPolicy policy = new StallingPolicy(threads);
+        MoonlightsGambit game = new MoonlightsGambit(policy, config);
+        RandomStreams streams = new RandomStreams(SEED);
+        for (int i = 0; i < WARMUP_GAMES; i++) {
+            game.setRandom(streams.forGame(i));
+            game.startGame();
+        }
+
+        long allocated = -1;
+        for (int i = 0; i < MEASURED_GAMES && allocated != 0; i++) {
+            policy.measure();
+            game.setRandom(streams.forGame(WARMUP_GAMES + i));
+            game.startGame();
+            assertTrue(policy.end > 0, "Measured game ended before cycle " + (FIRST_CYCLE + MEASURED_CYCLES));
+            allocated = policy.end - policy.start;
+        }
+        assertEquals(0, allocated,
+                "Bytes allocated over " + MEASURED_CYCLES + " warmed-up cycles of " + config.getSeatCount() + " seats");
+    }
+
+    // Plays every night action except the hunt, and votes in a ring so every vote ties: nobody ever dies and the
+    // game runs its full cycle limit. While measuring, reads the allocation counter as seat 0 votes.
+    private static final class StallingPolicy implements DecisionPolicy {
+        private final com.sun.management.ThreadMXBean threads;
+        private boolean measuring;
+        long start;
+        long end;
+
+        StallingPolicy(com.sun.management.ThreadMXBean threads) {
+            this.threads = threads;
+        }
+
+        void measure() {
+            measuring = true;
+            start = 0;
+            end = 0;
+        }
+
+        @Override
+        public int chooseNightTarget(GameCharacter actor, List<GameCharacter> targets, MoonlightsGambit game) {
+            int pick = game.getRandom().nextInt(targets.size());
+            return actor.getRole() == Role.REAPER ? PlayerController.PASS : pick;
+        }
+
+        // Nobody has died, so the candidates are all seats in seat order
+        @Override
+        public int chooseVoteTarget(GameCharacter voter, List<GameCharacter> candidates, MoonlightsGambit game) {
+            if (measuring && voter.getSeat() == 0) {
+                if (game.getCycle() == FIRST_CYCLE) {
+                    start = threads.getCurrentThreadAllocatedBytes();
+                } else if (game.getCycle() == FIRST_CYCLE + MEASURED_CYCLES) {
+                    end = threads.getCurrentThreadAllocatedBytes();
+                }
+            }
+            return (voter.getSeat() + 1) % candidates.size();
+        }
+
+        @Override
+        public boolean choosePeace(GameCharacter player, GameCharacter partner, MoonlightsGambit game) {
+            return true;
+        }
+
+        @Override
+        public boolean keepCard(GameCharacter player, int card, int ownScore, int opponentScore,
+                                MoonlightsGambit game) {
+            return true;
+        }
+
+        @Override
+        public boolean usesProjection() {
+            return false;
+        }
+    }
+}
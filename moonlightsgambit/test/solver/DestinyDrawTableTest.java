@@ -0,0 +1,78 @@
+package moonlightsgambit.solver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import moonlightsgambit.utils.DestinyDraw;
+import org.junit.jupiter.api.Test;
+
+// A duel to one point is small enough to check by hand: every round that scores ends it, so a kept card c wins
+// c/10 of the time against a redraw (the tie bonus goes to the keeper), two redraws split 45/45 with 10% replayed,
+// and two kept cards go to the higher one with equal cards replayed.
+class DestinyDrawTableTest {
+    private static final double EXACT = 1e-9;
+    private static final int NEVER_KEEPS = DestinyDraw.MAX_CARD_VALUE + 1;
+
+    @Test
+    void oneRoundDuelKeepsSixAndUp() {
+        DestinyDrawTable table = DestinyDrawTable.solve(1, 1, 1);
+
+        for (int card = DestinyDraw.MIN_CARD_VALUE; card <= DestinyDraw.MAX_CARD_VALUE; card++) {
+            assertEquals(card >= 6 ? 1 : 0, table.keepProbability(card, 0, 0), EXACT, "Keeps " + card);
+        }
+        assertEquals(0, table.getMixedStateCount());
+        assertEquals(0.5, table.winProbability(0, 0), EXACT);
+        // Against its own policy: the duel is symmetric
+        assertEquals(0.5, table.winProbabilityAgainst(6), EXACT);
+    }
+
+    @Test
+    void oneRoundDuelBeatsAPlayerWhoAlwaysRedraws() {
+        // V = (6 + 7 + 8 + 9 + 10) / 100 + 1/2 (0.45 + 0.1 V), so V = 0.625 / 0.95
+        assertEquals(25.0 / 38, DestinyDrawTable.solve(1, 1, 1).winProbabilityAgainst(NEVER_KEEPS), EXACT);
+    }
+
+    @Test
+    void oneRoundDuelBeatsAPlayerWhoAlwaysKeeps() {
+        // Keeping 6 to 10 beats 35 of the 50 kept pairs and replays 5; redrawing 1 to 5 wins 0.45 against a keeper:
+        // V = 0.35 + 0.05 V + 1/2 (0.45), so V = 0.575 / 0.95
+        assertEquals(23.0 / 38, DestinyDrawTable.solve(1, 1, 1).winProbabilityAgainst(DestinyDraw.MIN_CARD_VALUE),
+                EXACT);
+    }
+
+    @Test
+    void extremeCardsHaveOneRightChoice() {
+        DestinyDrawTable table = DestinyDrawTable.standard();
+        int goal = table.getWinningScore();
+        for (int own = 0; own < goal; own++) {
+            for (int opponent = 0; opponent < goal; opponent++) {
+                // A 10 cannot be beaten by a redraw, and a 1 cannot beat anything a redraw could
+                assertEquals(1, table.keepProbability(DestinyDraw.MAX_CARD_VALUE, own, opponent), EXACT);
+                assertEquals(0, table.keepProbability(DestinyDraw.MIN_CARD_VALUE, own, opponent), EXACT);
+            }
+        }
+    }
+
+    @Test
+    void standardTableIsZeroSumAndFavoursTheLeader() {
+        DestinyDrawTable table = DestinyDrawTable.standard();
+        int goal = table.getWinningScore();
+        assertEquals(DestinyDraw.WINNING_SCORE, goal);
+        for (int own = 0; own < goal; own++) {
+            for (int opponent = 0; opponent < goal; opponent++) {
+                assertEquals(1, table.winProbability(own, opponent) + table.winProbability(opponent, own), 1e-6,
+                        own + "-" + opponent);
+                if (own + 1 < goal) {
+                    assertTrue(table.winProbability(own + 1, opponent) > table.winProbability(own, opponent),
+                            "A point more is worth having at " + own + "-" + opponent);
+                }
+                // Keeping is a threshold: a higher card is kept at least as often
+                for (int card = DestinyDraw.MIN_CARD_VALUE; card < DestinyDraw.MAX_CARD_VALUE; card++) {
+                    assertTrue(table.keepProbability(card + 1, own, opponent)
+                            >= table.keepProbability(card, own, opponent) - EXACT);
+                }
+            }
+        }
+        assertEquals(0.5, table.winProbability(0, 0), 1e-6);
+    }
+}
@@ -0,0 +1,120 @@
+package moonlightsgambit.solver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import moonlightsgambit.enums.Ending;
+import moonlightsgambit.enums.Role;
+import moonlightsgambit.enums.Team;
+import moonlightsgambit.state.PackedState;
+import org.junit.jupiter.api.Test;
+
+// Exact outcomes of positions small enough to work out by hand. Seats hold the Believer, Seeker, Reaper and
+// Saboteur in that order; each test kills off the seats it does not need.
+class GameSolverTest {
+    private static final double EXACT = 1e-12;
+    private static final Role[] ROLES = { Role.BELIEVER, Role.SEEKER, Role.REAPER, Role.SABOTEUR };
+    private static final int BELIEVER = 0;
+    private static final int SEEKER = 1;
+    private static final int REAPER = 2;
+    private static final int SABOTEUR = 3;
+
+    @Test
+    void teammatesLeftAloneWinTogether() {
+        OutcomeDistribution outcome = new GameSolver(new UniformSolverPolicy()).solve(finalists(BELIEVER, SEEKER));
+
+        assertEquals(1, outcome.getProbability(Ending.SAME_TEAM), EXACT);
+        assertEquals(1, outcome.getWinProbability(Team.GOOD), EXACT);
+        assertEquals(0, outcome.getWinProbability(Team.EVIL), EXACT);
+    }
+
+    // Both choose peace a quarter of the time; otherwise the symmetric duel is a coin flip
+    @Test
+    void loversMakePeaceOrDuel() {
+        OutcomeDistribution outcome = new GameSolver(new UniformSolverPolicy()).solve(finalists(BELIEVER, REAPER));
+
+        assertEquals(0.25, outcome.getProbability(Ending.LOVERS_PEACE), EXACT);
+        assertEquals(0.75, outcome.getProbability(Ending.DESTINY_DRAW), EXACT);
+        assertEquals(0.375, outcome.getWinProbability(Team.GOOD), EXACT);
+        assertEquals(0.375, outcome.getWinProbability(Team.EVIL), EXACT);
+    }
+
+    @Test
+    void friendsMakePeaceOrDuel() {
+        OutcomeDistribution outcome = new GameSolver(new UniformSolverPolicy()).solve(finalists(SEEKER, SABOTEUR));
+
+        assertEquals(0.25, outcome.getProbability(Ending.FRIENDS_PEACE), EXACT);
+        assertEquals(0.75, outcome.getProbability(Ending.DESTINY_DRAW), EXACT);
+    }
+
+    @Test
+    void strangersAlwaysDuel() {
+        OutcomeDistribution outcome = new GameSolver(new UniformSolverPolicy()).solve(finalists(BELIEVER, SABOTEUR));
+
+        assertEquals(1, outcome.getProbability(Ending.DESTINY_DRAW), EXACT);
+        assertEquals(0.5, outcome.getWinProbability(Team.GOOD), EXACT);
+        assertEquals(0.5, outcome.getWinProbability(Team.EVIL), EXACT);
+    }
+
+    // Believer, Seeker and Reaper alive. The Believer blesses herself and the Reaper hunts her or the Seeker at
+    // even odds, then everyone votes the Reaper out but the Reaper, who accuses the Believer:
+    //   hunt on the Believer (1/2): she is blessed, the vote banishes the Reaper and the good team is left alone
+    //   hunt on the Seeker (1/2): the lovers are left, as in loversMakePeaceOrDuel
+    @Test
+    void oneCycleEndsTheGame() {
+        long state = PackedState.withAlive(PackedState.initial(ROLES), SABOTEUR, false);
+        OutcomeDistribution outcome = new GameSolver(new ScriptedPolicy()).solve(state);
+
+        assertEquals(0.5, outcome.getProbability(Ending.SAME_TEAM), EXACT);
+        assertEquals(0.125, outcome.getProbability(Ending.LOVERS_PEACE), EXACT);
+        assertEquals(0.375, outcome.getProbability(Ending.DESTINY_DRAW), EXACT);
+        assertEquals(0.5 + 0.1875, outcome.getWinProbability(Team.GOOD), EXACT);
+        assertEquals(0.1875, outcome.getWinProbability(Team.EVIL), EXACT);
+    }
+
+    // Every game ends one way only, and the teams share exactly the games not ended in peace
+    @Test
+    void newGameOutcomesAddUp() {
+        OutcomeDistribution outcome = new GameSolver(new UniformSolverPolicy()).solveNewGame();
+
+        double endings = 0;
+        for (Ending ending : Ending.values()) {
+            endings += outcome.getProbability(ending);
+        }
+        assertEquals(1, endings, 1e-9);
+        double peace = outcome.getProbability(Ending.LOVERS_PEACE) + outcome.getProbability(Ending.FRIENDS_PEACE);
+        assertEquals(1 - peace, outcome.getWinProbability(Team.GOOD) + outcome.getWinProbability(Team.EVIL), 1e-9);
+    }
+
+    private static long finalists(int first, int second) {
+        long state = PackedState.initial(ROLES);
+        for (int seat = 0; seat < PackedState.SEATS; seat++) {
+            if (seat != first && seat != second) {
+                state = PackedState.withAlive(state, seat, false);
+            }
+        }
+        return state;
+    }
+
+    // The choices of oneCycleEndsTheGame; peace and cards as in UniformSolverPolicy
+    private static final class ScriptedPolicy extends UniformSolverPolicy {
+        @Override
+        public void nightTargetDistribution(long state, int actor, int[] targets, int count, double[] probs) {
+            Role role = PackedState.role(state, actor);
+            for (int i = 0; i < count; i++) {
+                if (role == Role.BELIEVER) {
+                    probs[i] = targets[i] == actor ? 1 : 0;
+                } else {
+                    probs[i] = targets[i] == BELIEVER || targets[i] == SEEKER ? 0.5 : 0;
+                }
+            }
+        }
+
+        @Override
+        public void voteDistribution(long state, int voter, int[] candidates, int count, double[] probs) {
+            int accused = voter == REAPER ? BELIEVER : REAPER;
+            for (int i = 0; i < count; i++) {
+                probs[i] = candidates[i] == accused ? 1 : 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package moonlightsgambit.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Test;
+
+// Deadlines on every level of the wheel fire in deadline order and never early, however they were scheduled:
+// with a 100 us tick, level 1 starts at 6.4 ms and level 2 at 409.6 ms, so the longest ones cascade down twice.
+// Cancelled deadlines never fire, wherever they sit on the wheel.
+class TimingWheelTest {
+    private static final long TICK_MICROS = 100;
+    // Delays far enough apart that scheduling them one after another cannot reorder them
+    private static final long[] DELAYS_MS = { 450, 10, 60, 500, 3, 200, 25, 415 };
+    private static final long WAIT_SECONDS = 10;
+
+    @Test
+    void deadlinesFireInOrderAndNeverEarly() throws InterruptedException {
+        try (TimingWheel wheel = new TimingWheel(TICK_MICROS, TimeUnit.MICROSECONDS)) {
+            List<Long> fired = new ArrayList<>();
+            List<Long> early = new ArrayList<>();
+            CountDownLatch done = new CountDownLatch(DELAYS_MS.length);
+            for (long delay : DELAYS_MS) {
+                long due = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delay);
+                wheel.schedule(() -> {
+                    if (System.nanoTime() < due) {
+                        early.add(delay);
+                    }
+                    fired.add(delay);
+                    done.countDown();
+                }, delay, TimeUnit.MILLISECONDS);
+            }
+
+            assertTrue(done.await(WAIT_SECONDS, TimeUnit.SECONDS), "Deadlines still pending: " + wheel.getPendingCount());
+            // Tasks run on the wheel thread, and the latch orders their writes before these reads
+            assertEquals(List.of(3L, 10L, 25L, 60L, 200L, 415L, 450L, 500L), fired);
+            assertEquals(List.of(), early);
+            assertEquals(0, wheel.getPendingCount());
+        }
+    }
+
+    @Test
+    void cancelledDeadlinesNeverFire() throws InterruptedException {
+        try (TimingWheel wheel = new TimingWheel(TICK_MICROS, TimeUnit.MICROSECONDS)) {
+            AtomicBoolean ran = new AtomicBoolean();
+            Runnable mustNotRun = () -> ran.set(true);
+            // Cancelled while still waiting to be handed to the wheel thread, or at once
+            TimingWheel.Timeout queued = wheel.schedule(mustNotRun, 3, TimeUnit.MILLISECONDS);
+            assertTrue(queued.cancel());
+            // Cancelled once placed on levels 1 and 2
+            TimingWheel.Timeout low = wheel.schedule(mustNotRun, 200, TimeUnit.MILLISECONDS);
+            TimingWheel.Timeout high = wheel.schedule(mustNotRun, 450, TimeUnit.MILLISECONDS);
+            CountDownLatch last = new CountDownLatch(1);
+            wheel.schedule(last::countDown, 500, TimeUnit.MILLISECONDS);
+            Thread.sleep(10);
+            assertTrue(low.cancel());
+            assertTrue(high.cancel());
+            assertFalse(high.cancel(), "Cancelled twice");
+            assertEquals(1, wheel.getPendingCount());
+
+            assertTrue(last.await(WAIT_SECONDS, TimeUnit.SECONDS), "Deadline after the cancelled ones never fired");
+            assertFalse(ran.get(), "A cancelled deadline fired");
+            assertTrue(high.isCancelled());
+            assertFalse(high.isExpired());
+            assertEquals(0, wheel.getPendingCount());
+        }
+    }
+
+    @Test
+    void anExpiredDeadlineCannotBeCancelled() throws InterruptedException {
+        try (TimingWheel wheel = new TimingWheel(TICK_MICROS, TimeUnit.MICROSECONDS)) {
+            CountDownLatch fired = new CountDownLatch(1);
+            TimingWheel.Timeout timeout = wheel.schedule(fired::countDown, 1, TimeUnit.MILLISECONDS);
+
+            assertTrue(fired.await(WAIT_SECONDS, TimeUnit.SECONDS));
+            assertTrue(timeout.isExpired());
+            assertFalse(timeout.cancel());
+            assertFalse(timeout.isCancelled());
+        }
+    }
+
+    @Test
+    void aFailingTaskDoesNotStopTheOthers() throws InterruptedException {
+        try (TimingWheel wheel = new TimingWheel(TICK_MICROS, TimeUnit.MICROSECONDS)) {
+            CountDownLatch after = new CountDownLatch(1);
+            wheel.schedule(() -> {
+                throw new IllegalStateException("Task failed");
+            }, 1, TimeUnit.MILLISECONDS);
+            wheel.schedule(after::countDown, 5, TimeUnit.MILLISECONDS);
+
+            assertTrue(after.await(WAIT_SECONDS, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void closedWheelRejectsDeadlines() {
+        TimingWheel wheel = new TimingWheel(TICK_MICROS, TimeUnit.MICROSECONDS);
+        wheel.close();
+
+        assertThrows(IllegalStateException.class, () -> wheel.schedule(() -> { }, 1, TimeUnit.MILLISECONDS));
+    }
+}